@@ -0,0 +1,273 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.abi;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.utils.Numeric;
+
+/**
+ * ABI encoding and decoding of individual values, used by contract wrappers generated with
+ * specialized codecs.
+ *
+ * <p>Generated wrappers know the layout of every function and event at build time, so rather than
+ * going through {@link FunctionEncoder} and {@link FunctionReturnDecoder} they encode and decode
+ * each value directly at its fixed position. Values are encoded as hex into a {@link
+ * StringBuilder}, dynamic values into a separate tail which follows the head of fixed size words,
+ * and are decoded from the hex encoded output by word index.
+ */
+public final class DirectCodec {
+
+    /** Decoder of the hex encoded output of a call. */
+    @FunctionalInterface
+    public interface Decoder<T> {
+        T decode(String output);
+    }
+
+    private static final int WORD_LENGTH = Type.MAX_BYTE_LENGTH * 2;
+    private static final int MAX_BIT_LENGTH = Type.MAX_BIT_LENGTH;
+    private static final int ADDRESS_LENGTH = Address.DEFAULT_LENGTH / Byte.SIZE;
+
+    private static final String ZEROS =
+            "0000000000000000000000000000000000000000000000000000000000000000";
+    private static final String ONES =
+            "ffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffff";
+
+    private DirectCodec() {}
+
+    /**
+     * Start encoding a function call.
+     *
+     * @param selector hex encoded function selector, with prefix
+     * @param headWords number of words in the head of the encoding
+     * @return builder to encode the arguments into
+     */
+    public static StringBuilder start(String selector, int headWords) {
+        return new StringBuilder(selector.length() + headWords * WORD_LENGTH).append(selector);
+    }
+
+    public static void encodeAddress(StringBuilder out, String address) {
+        encodeAddress(out, address, ADDRESS_LENGTH);
+    }
+
+    /**
+     * Encode an address.
+     *
+     * @param out builder to encode into
+     * @param address hex encoded address
+     * @param length address length in bytes
+     */
+    public static void encodeAddress(StringBuilder out, String address, int length) {
+        int start = Numeric.containsHexPrefix(address) ? 2 : 0;
+        // leading zeros beyond the address length are tolerated, as when parsed as a number
+        while (address.length() - start > length * 2 && address.charAt(start) == '0') {
+            start++;
+        }
+        int digits = address.length() - start;
+        if (digits > length * 2) {
+            throw new UnsupportedOperationException("Address exceeds " + length + " bytes");
+        }
+        pad(out, ZEROS, WORD_LENGTH - digits);
+        for (int i = start; i < address.length(); i++) {
+            char c = address.charAt(i);
+            if (Character.digit(c, 16) < 0) {
+                throw new UnsupportedOperationException("Invalid address: " + address);
+            }
+            out.append(Character.toLowerCase(c));
+        }
+    }
+
+    public static void encodeUint(StringBuilder out, BigInteger value, int bitSize) {
+        if (value.signum() < 0 || value.bitLength() > bitSize) {
+            throw new UnsupportedOperationException(
+                    "Value " + value + " out of range for uint" + bitSize);
+        }
+        String hex = value.toString(16);
+        pad(out, ZEROS, WORD_LENGTH - hex.length());
+        out.append(hex);
+    }
+
+    public static void encodeInt(StringBuilder out, BigInteger value, int bitSize) {
+        if (value.bitLength() > bitSize) {
+            throw new UnsupportedOperationException(
+                    "Value " + value + " out of range for int" + bitSize);
+        }
+        if (value.signum() >= 0) {
+            encodeUint(out, value, MAX_BIT_LENGTH);
+        } else {
+            String hex = value.add(BigInteger.ONE.shiftLeft(MAX_BIT_LENGTH)).toString(16);
+            pad(out, ONES, WORD_LENGTH - hex.length());
+            out.append(hex);
+        }
+    }
+
+    public static void encodeBool(StringBuilder out, boolean value) {
+        pad(out, ZEROS, WORD_LENGTH - 1);
+        out.append(value ? '1' : '0');
+    }
+
+    /** Encode a {@code bytesN} value, right padded to a full word. */
+    public static void encodeBytesN(StringBuilder out, byte[] value, int length) {
+        if (value.length != length) {
+            throw new UnsupportedOperationException(
+                    "Input byte array must be in range 0 < M <= 32 and length must match type");
+        }
+        appendHex(out, value);
+        pad(out, ZEROS, WORD_LENGTH - value.length * 2);
+    }
+
+    /**
+     * Encode the offset of the next dynamic value in the tail.
+     *
+     * @param out head to encode the offset into
+     * @param headBytes size of the head in bytes
+     * @param tail tail the dynamic value will be encoded into
+     */
+    public static void encodeOffset(StringBuilder out, int headBytes, StringBuilder tail) {
+        encodeUint(out, BigInteger.valueOf(headBytes + tail.length() / 2), MAX_BIT_LENGTH);
+    }
+
+    /** Encode a dynamic {@code bytes} value, length prefixed and right padded. */
+    public static void encodeBytes(StringBuilder tail, byte[] value) {
+        encodeUint(tail, BigInteger.valueOf(value.length), MAX_BIT_LENGTH);
+        appendHex(tail, value);
+        int remainder = value.length % Type.MAX_BYTE_LENGTH;
+        if (remainder != 0) {
+            pad(tail, ZEROS, (Type.MAX_BYTE_LENGTH - remainder) * 2);
+        }
+    }
+
+    public static void encodeString(StringBuilder tail, String value) {
+        encodeBytes(tail, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode an address.
+     *
+     * @param output hex encoded output, with prefix
+     * @param word index of the word holding the address
+     * @param length address length in bytes
+     * @return the address, with prefix
+     */
+    public static String decodeAddress(String output, int word, int length) {
+        int end = wordStart(output, word) + WORD_LENGTH;
+        char[] chars = new char[2 + length * 2];
+        chars[0] = '0';
+        chars[1] = 'x';
+        for (int i = 2, j = end - length * 2; j < end; i++, j++) {
+            chars[i] = Character.toLowerCase(output.charAt(j));
+        }
+        return new String(chars);
+    }
+
+    public static String decodeAddress(String output, int word) {
+        return decodeAddress(output, word, ADDRESS_LENGTH);
+    }
+
+    /**
+     * Decode an unsigned integer, from the low order bits of the word as {@link TypeDecoder}.
+     *
+     * @param output hex encoded output, with prefix
+     * @param word index of the word holding the value
+     * @param bitSize bit size of the type
+     * @return the value
+     */
+    public static BigInteger decodeUint(String output, int word, int bitSize) {
+        int end = wordStart(output, word) + WORD_LENGTH;
+        return new BigInteger(output.substring(end - bitSize / 4, end), 16);
+    }
+
+    /**
+     * Decode a signed integer, from the low order bits of the word as {@link TypeDecoder}.
+     *
+     * @param output hex encoded output, with prefix
+     * @param word index of the word holding the value
+     * @param bitSize bit size of the type
+     * @return the value
+     */
+    public static BigInteger decodeInt(String output, int word, int bitSize) {
+        BigInteger value = decodeUint(output, word, bitSize);
+        if (Character.digit(output.charAt(wordStart(output, word)), 16) >= 8) {
+            return value.subtract(BigInteger.ONE.shiftLeft(bitSize));
+        }
+        return value;
+    }
+
+    public static boolean decodeBool(String output, int word) {
+        int start = wordStart(output, word);
+        int last = start + WORD_LENGTH - 1;
+        for (int i = start; i < last; i++) {
+            if (output.charAt(i) != '0') {
+                return false;
+            }
+        }
+        return output.charAt(last) == '1';
+    }
+
+    public static byte[] decodeBytesN(String output, int word, int length) {
+        int start = wordStart(output, word);
+        byte[] value = new byte[length];
+        Numeric.hexStringToByteArray(output, start, length * 2, value, 0);
+        return value;
+    }
+
+    /**
+     * Decode a dynamic {@code bytes} value.
+     *
+     * @param output hex encoded output, with prefix
+     * @param word index of the word holding the offset of the value
+     * @return the value
+     */
+    public static byte[] decodeBytes(String output, int word) {
+        int offset = decodeUint(output, word, MAX_BIT_LENGTH).intValueExact();
+        if (offset % Type.MAX_BYTE_LENGTH != 0) {
+            throw new UnsupportedOperationException("Invalid offset: " + offset);
+        }
+        int lengthWord = offset / Type.MAX_BYTE_LENGTH;
+        int length = decodeUint(output, lengthWord, MAX_BIT_LENGTH).intValueExact();
+        byte[] value = new byte[length];
+        if (length > 0) {
+            int start = wordStart(output, lengthWord + 1);
+            if (start + length * 2 > output.length()) {
+                throw new UnsupportedOperationException("Output too short to hold value");
+            }
+            Numeric.hexStringToByteArray(output, start, length * 2, value, 0);
+        }
+        return value;
+    }
+
+    public static String decodeString(String output, int word) {
+        return new String(decodeBytes(output, word), StandardCharsets.UTF_8);
+    }
+
+    private static int wordStart(String output, int word) {
+        int start = (Numeric.containsHexPrefix(output) ? 2 : 0) + word * WORD_LENGTH;
+        if (start + WORD_LENGTH > output.length()) {
+            throw new UnsupportedOperationException("Output too short to hold word " + word);
+        }
+        return start;
+    }
+
+    private static void appendHex(StringBuilder out, byte[] value) {
+        char[] chars = new char[value.length * 2];
+        Numeric.toHexChars(value, 0, value.length, chars, 0);
+        out.append(chars);
+    }
+
+    private static void pad(StringBuilder out, String padding, int length) {
+        out.append(padding, 0, length);
+    }
+}
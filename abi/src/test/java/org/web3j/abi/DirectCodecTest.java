@@ -0,0 +1,148 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.abi;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Bool;
+import org.web3j.abi.datatypes.DynamicBytes;
+import org.web3j.abi.datatypes.Function;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.generated.Bytes4;
+import org.web3j.abi.datatypes.generated.Int16;
+import org.web3j.abi.datatypes.generated.Int256;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.abi.datatypes.generated.Uint8;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DirectCodecTest {
+
+    private static final String ADDRESS = "0xBE5422D15F39373EB0A97FF8C10FBD0E40E29338";
+    private static final String TEXT =
+            "Hello, world! A string longer than a single word, with ümlauts";
+
+    @Test
+    public void testEncodeMatchesFunctionEncoder() {
+        Function function =
+                new Function(
+                        "test",
+                        Arrays.<Type>asList(
+                                new Address(ADDRESS),
+                                new Utf8String(TEXT),
+                                new Uint8(BigInteger.valueOf(255)),
+                                new Int16(BigInteger.valueOf(-300)),
+                                new DynamicBytes(new byte[0]),
+                                new Bool(true),
+                                new Bytes4(new byte[] {1, 2, 3, 4}),
+                                new DynamicBytes(new byte[] {5, 6, 7})),
+                        Collections.emptyList());
+        String expected = FunctionEncoder.encode(function);
+
+        StringBuilder encoded = DirectCodec.start(expected.substring(0, 10), 8);
+        StringBuilder tail = new StringBuilder();
+        DirectCodec.encodeAddress(encoded, ADDRESS);
+        DirectCodec.encodeOffset(encoded, 256, tail);
+        DirectCodec.encodeString(tail, TEXT);
+        DirectCodec.encodeUint(encoded, BigInteger.valueOf(255), 8);
+        DirectCodec.encodeInt(encoded, BigInteger.valueOf(-300), 16);
+        DirectCodec.encodeOffset(encoded, 256, tail);
+        DirectCodec.encodeBytes(tail, new byte[0]);
+        DirectCodec.encodeBool(encoded, true);
+        DirectCodec.encodeBytesN(encoded, new byte[] {1, 2, 3, 4}, 4);
+        DirectCodec.encodeOffset(encoded, 256, tail);
+        DirectCodec.encodeBytes(tail, new byte[] {5, 6, 7});
+
+        assertEquals(expected, encoded.append(tail).toString());
+    }
+
+    @Test
+    public void testDecodeMatchesFunctionReturnDecoder() {
+        List<Type> values =
+                Arrays.<Type>asList(
+                        new Address(ADDRESS),
+                        new Utf8String(TEXT),
+                        new Uint8(BigInteger.valueOf(255)),
+                        new Int16(BigInteger.valueOf(-300)),
+                        new DynamicBytes(new byte[0]),
+                        new Bool(true),
+                        new Bytes4(new byte[] {1, 2, 3, 4}),
+                        new Int256(BigInteger.valueOf(Long.MIN_VALUE)));
+        String output = FunctionEncoder.encodeConstructor(values);
+
+        assertEquals(ADDRESS.toLowerCase(), DirectCodec.decodeAddress(output, 0));
+        assertEquals(TEXT, DirectCodec.decodeString(output, 1));
+        assertEquals(BigInteger.valueOf(255), DirectCodec.decodeUint(output, 2, 8));
+        assertEquals(BigInteger.valueOf(-300), DirectCodec.decodeInt(output, 3, 16));
+        assertArrayEquals(new byte[0], DirectCodec.decodeBytes(output, 4));
+        assertTrue(DirectCodec.decodeBool(output, 5));
+        assertFalse(DirectCodec.decodeBool(output, 2));
+        assertArrayEquals(new byte[] {1, 2, 3, 4}, DirectCodec.decodeBytesN(output, 6, 4));
+        assertEquals(BigInteger.valueOf(Long.MIN_VALUE), DirectCodec.decodeInt(output, 7, 256));
+    }
+
+    @Test
+    public void testDecodeWithoutPrefix() {
+        // encoded parameters have no prefix
+        String output = FunctionEncoder.encodeConstructor(Arrays.asList(new Uint256(55)));
+
+        assertEquals(BigInteger.valueOf(55), DirectCodec.decodeUint(output, 0, 256));
+    }
+
+    @Test
+    public void testEncodeOutOfRange() {
+        StringBuilder encoded = new StringBuilder();
+
+        assertThrows(
+                UnsupportedOperationException.class,
+                () -> DirectCodec.encodeUint(encoded, BigInteger.valueOf(256), 8));
+        assertThrows(
+                UnsupportedOperationException.class,
+                () -> DirectCodec.encodeUint(encoded, BigInteger.valueOf(-1), 256));
+        assertThrows(
+                UnsupportedOperationException.class,
+                () -> DirectCodec.encodeInt(encoded, BigInteger.valueOf(256), 8));
+        assertThrows(
+                UnsupportedOperationException.class,
+                () -> DirectCodec.encodeBytesN(encoded, new byte[3], 4));
+        assertThrows(
+                UnsupportedOperationException.class,
+                () -> DirectCodec.encodeAddress(encoded, ADDRESS + "00"));
+    }
+
+    @Test
+    public void testEncodeAddressWithLeadingZeros() {
+        StringBuilder encoded = new StringBuilder();
+        DirectCodec.encodeAddress(encoded, "0x00" + ADDRESS.substring(2));
+
+        assertEquals(TypeEncoder.encode(new Address(ADDRESS)), encoded.toString());
+    }
+
+    @Test
+    public void testDecodeTruncatedOutput() {
+        assertThrows(
+                UnsupportedOperationException.class,
+                () -> DirectCodec.decodeUint("0x0000", 0, 256));
+    }
+}
@@ -23,6 +23,7 @@ import org.web3j.protocol.admin.methods.response.BooleanResponse;
 import org.web3j.protocol.besu.response.BesuEthAccountsMapResponse;
 import org.web3j.protocol.besu.response.BesuFullDebugTraceResponse;
 import org.web3j.protocol.besu.response.BesuSignerMetrics;
+import org.web3j.protocol.besu.response.StructLogVisitor;
 import org.web3j.protocol.besu.response.privacy.PrivCreatePrivacyGroup;
 import org.web3j.protocol.besu.response.privacy.PrivFindPrivacyGroup;
 import org.web3j.protocol.besu.response.privacy.PrivGetPrivacyPrecompileAddress;
@@ -88,6 +89,21 @@ public interface Besu extends Eea, BesuRx {
     Request<?, BesuFullDebugTraceResponse> debugTraceTransaction(
             String transactionHash, Map<String, Boolean> options);
 
+    /**
+     * Trace a transaction, handing each struct log to the visitor while the response is being
+     * parsed rather than materializing the whole trace.
+     *
+     * @param transactionHash hash of the transaction to trace
+     * @param options trace options, {@code disableStack}, {@code disableMemory} and {@code
+     *     disableStorage} are also applied while parsing
+     * @param visitor visitor receiving the struct logs
+     * @return the response, with an empty list of struct logs
+     * @throws IOException thrown if failed to perform the request or parse the response
+     */
+    BesuFullDebugTraceResponse debugTraceTransaction(
+            String transactionHash, Map<String, Boolean> options, StructLogVisitor visitor)
+            throws IOException;
+
     Request<?, BooleanResponse> ibftDiscardValidatorVote(String address);
 
     Request<?, BesuEthAccountsMapResponse> ibftGetPendingVotes();
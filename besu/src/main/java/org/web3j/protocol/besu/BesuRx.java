@@ -12,12 +12,29 @@
  */
 package org.web3j.protocol.besu;
 
+import java.util.Map;
+
 import io.reactivex.Flowable;
 
+import org.web3j.protocol.besu.response.CompactStructLog;
 import org.web3j.protocol.core.methods.request.EthFilter;
 import org.web3j.protocol.core.methods.response.Log;
 
 public interface BesuRx {
 
     Flowable<Log> privLogFlowable(String privacyGroupId, EthFilter ethFilter);
+
+    /**
+     * Create a Flowable emitting the struct logs of a transaction trace as the response is parsed.
+     * Parsing happens on the subscribing thread and keeps pace with a synchronous subscriber, so
+     * only the steps retained by the subscriber are held in memory. At most 1024 steps are buffered
+     * ahead of a slower subscriber's requests, after which the trace is cancelled and the Flowable
+     * fails with a {@link io.reactivex.exceptions.MissingBackpressureException}.
+     *
+     * @param transactionHash hash of the transaction to trace
+     * @param options trace options, as for {@link Besu#debugTraceTransaction(String, Map)}
+     * @return a {@link Flowable} instance emitting the struct logs in execution order
+     */
+    Flowable<CompactStructLog> debugTraceTransactionFlowable(
+            String transactionHash, Map<String, Boolean> options);
 }
@@ -25,6 +25,7 @@ import java.util.stream.Collectors;
 import io.reactivex.Flowable;
 
 import org.web3j.crypto.Credentials;
+import org.web3j.protocol.Service;
 import org.web3j.protocol.Web3jService;
 import org.web3j.protocol.admin.methods.response.BooleanResponse;
 import org.web3j.protocol.besu.privacy.OnChainPrivacyTransactionBuilder;
@@ -32,6 +33,9 @@ import org.web3j.protocol.besu.request.CreatePrivacyGroupRequest;
 import org.web3j.protocol.besu.response.BesuEthAccountsMapResponse;
 import org.web3j.protocol.besu.response.BesuFullDebugTraceResponse;
 import org.web3j.protocol.besu.response.BesuSignerMetrics;
+import org.web3j.protocol.besu.response.CompactStructLog;
+import org.web3j.protocol.besu.response.DebugTraceParser;
+import org.web3j.protocol.besu.response.StructLogVisitor;
 import org.web3j.protocol.besu.response.privacy.PrivCreatePrivacyGroup;
 import org.web3j.protocol.besu.response.privacy.PrivFindPrivacyGroup;
 import org.web3j.protocol.besu.response.privacy.PrivGetPrivacyPrecompileAddress;
@@ -40,6 +44,7 @@ import org.web3j.protocol.besu.response.privacy.PrivGetTransactionReceipt;
 import org.web3j.protocol.besu.response.privacy.PrivateEnclaveKey;
 import org.web3j.protocol.besu.response.privacy.PrivateTransactionReceipt;
 import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.ExecutionConfigService;
 import org.web3j.protocol.core.Request;
 import org.web3j.protocol.core.methods.request.EthFilter;
 import org.web3j.protocol.core.methods.request.Transaction;
@@ -55,8 +60,8 @@ import org.web3j.protocol.core.methods.response.MinerStartResponse;
 import org.web3j.protocol.eea.JsonRpc2_0Eea;
 import org.web3j.protocol.exceptions.TransactionException;
 import org.web3j.tx.response.PollingPrivateTransactionReceiptProcessor;
-import org.web3j.utils.Async;
 import org.web3j.utils.Base64String;
+import org.web3j.utils.ExecutionConfig;
 
 import static java.util.Objects.requireNonNull;
 
@@ -67,7 +72,11 @@ public class JsonRpc2_0Besu extends JsonRpc2_0Eea implements Besu {
     private final OnChainPrivacyTransactionBuilder onChainPrivacyTransactionBuilder;
 
     public JsonRpc2_0Besu(final Web3jService web3jService) {
-        this(web3jService, DEFAULT_BLOCK_TIME, Async.defaultExecutorService());
+        this(
+                web3jService,
+                DEFAULT_BLOCK_TIME,
+                ExecutionConfig.defaultConfig(),
+                new OnChainPrivacyTransactionBuilder());
     }
 
     public JsonRpc2_0Besu(
@@ -86,9 +95,21 @@ public class JsonRpc2_0Besu extends JsonRpc2_0Eea implements Besu {
             long pollingInterval,
             ScheduledExecutorService scheduledExecutorService,
             OnChainPrivacyTransactionBuilder onChainPrivacyTransactionBuilder) {
-        super(web3jService, pollingInterval, scheduledExecutorService);
+        this(
+                web3jService,
+                pollingInterval,
+                ExecutionConfig.withScheduler(scheduledExecutorService),
+                onChainPrivacyTransactionBuilder);
+    }
+
+    public JsonRpc2_0Besu(
+            Web3jService web3jService,
+            long pollingInterval,
+            ExecutionConfig executionConfig,
+            OnChainPrivacyTransactionBuilder onChainPrivacyTransactionBuilder) {
+        super(web3jService, pollingInterval, executionConfig);
 
-        this.besuRx = new JsonRpc2_0BesuRx(this, scheduledExecutorService);
+        this.besuRx = new JsonRpc2_0BesuRx(this, executionConfig.getScheduler());
         this.blockTime = pollingInterval;
         this.onChainPrivacyTransactionBuilder = onChainPrivacyTransactionBuilder;
     }
@@ -160,6 +181,23 @@ public class JsonRpc2_0Besu extends JsonRpc2_0Eea implements Besu {
                 BesuFullDebugTraceResponse.class);
     }
 
+    @Override
+    public BesuFullDebugTraceResponse debugTraceTransaction(
+            String transactionHash, Map<String, Boolean> options, StructLogVisitor visitor)
+            throws IOException {
+        Web3jService service = ExecutionConfigService.unwrap(web3jService);
+        if (!(service instanceof Service)) {
+            throw new UnsupportedOperationException(
+                    String.format(
+                            "Service %s does not support streaming responses",
+                            service.getClass().getSimpleName()));
+        }
+        return ((Service) service)
+                .sendStreaming(
+                        debugTraceTransaction(transactionHash, options),
+                        new DebugTraceParser(options, visitor));
+    }
+
     public Request<?, BooleanResponse> ibftDiscardValidatorVote(String address) {
         return new Request<>(
                 "ibft_discardValidatorVote",
@@ -496,4 +534,10 @@ public class JsonRpc2_0Besu extends JsonRpc2_0Eea implements Besu {
     public Flowable<Log> privLogFlowable(final String privacyGroupId, final EthFilter ethFilter) {
         return besuRx.privLogFlowable(privacyGroupId, ethFilter, blockTime);
     }
+
+    @Override
+    public Flowable<CompactStructLog> debugTraceTransactionFlowable(
+            final String transactionHash, final Map<String, Boolean> options) {
+        return besuRx.debugTraceTransactionFlowable(transactionHash, options);
+    }
 }
@@ -12,6 +12,8 @@
  */
 package org.web3j.protocol.besu;
 
+import java.io.IOException;
+import java.util.Map;
 import java.util.concurrent.ScheduledExecutorService;
 
 import io.reactivex.BackpressureStrategy;
@@ -19,10 +21,15 @@ import io.reactivex.Flowable;
 import io.reactivex.FlowableEmitter;
 
 import org.web3j.protocol.besu.filters.PrivateLogFilter;
+import org.web3j.protocol.besu.response.BesuFullDebugTraceResponse;
+import org.web3j.protocol.besu.response.CompactStructLog;
 import org.web3j.protocol.core.methods.response.Log;
 
 public class JsonRpc2_0BesuRx {
 
+    // struct logs parsed ahead of a subscriber's requests, the trace fails when exceeded
+    static final int STRUCT_LOG_BUFFER_SIZE = 1024;
+
     private final Besu besu;
     private final ScheduledExecutorService scheduledExecutorService;
 
@@ -46,6 +53,31 @@ public class JsonRpc2_0BesuRx {
                 BackpressureStrategy.BUFFER);
     }
 
+    public Flowable<CompactStructLog> debugTraceTransactionFlowable(
+            String transactionHash, Map<String, Boolean> options) {
+        return Flowable.<CompactStructLog>create(
+                        subscriber -> {
+                            BesuFullDebugTraceResponse response =
+                                    besu.debugTraceTransaction(
+                                            transactionHash,
+                                            options,
+                                            structLog -> {
+                                                subscriber.onNext(structLog);
+                                                return !subscriber.isCancelled();
+                                            });
+                            if (response.hasError()) {
+                                subscriber.onError(
+                                        new IOException(
+                                                "Error processing request: "
+                                                        + response.getError().getMessage()));
+                            } else {
+                                subscriber.onComplete();
+                            }
+                        },
+                        BackpressureStrategy.MISSING)
+                .onBackpressureBuffer(STRUCT_LOG_BUFFER_SIZE);
+    }
+
     private <T> void run(
             org.web3j.protocol.core.filters.Filter<T> filter,
             FlowableEmitter<? super T> emitter,
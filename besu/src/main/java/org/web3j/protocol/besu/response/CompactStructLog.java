@@ -0,0 +1,166 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.besu.response;
+
+import java.math.BigInteger;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.web3j.utils.Numeric;
+
+/**
+ * Compact {@link StructLogs}, holding the stack and memory as packed 32 byte words rather than hex
+ * strings.
+ *
+ * <p>Memory which is unchanged from the previous step of the trace is shared with that step, so
+ * retaining a sequence of struct logs only retains memory as it changes. Stack, memory and storage
+ * are null when they were disabled in the trace options.
+ */
+public class CompactStructLog {
+
+    public static final int WORD_LENGTH = 32;
+
+    private final int pc;
+    private final String op;
+    private final long gas;
+    private final long gasCost;
+    private final int depth;
+    private final byte[] stack;
+    private final byte[] memory;
+    private final Map<String, String> storage;
+
+    public CompactStructLog(
+            int pc,
+            String op,
+            long gas,
+            long gasCost,
+            int depth,
+            byte[] stack,
+            byte[] memory,
+            Map<String, String> storage) {
+        this.pc = pc;
+        this.op = op;
+        this.gas = gas;
+        this.gasCost = gasCost;
+        this.depth = depth;
+        this.stack = stack;
+        this.memory = memory;
+        this.storage = storage;
+    }
+
+    public int getPc() {
+        return pc;
+    }
+
+    public String getOp() {
+        return op;
+    }
+
+    public long getGas() {
+        return gas;
+    }
+
+    public long getGasCost() {
+        return gasCost;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public int getStackSize() {
+        return stack == null ? 0 : stack.length / WORD_LENGTH;
+    }
+
+    /**
+     * Value of a stack item.
+     *
+     * @param index index of the item, from the bottom of the stack
+     * @return the unsigned value of the item
+     */
+    public BigInteger getStackValue(int index) {
+        return Numeric.toBigInt(stack, index * WORD_LENGTH, WORD_LENGTH);
+    }
+
+    /** Stack items as zero padded hex words, from the bottom of the stack. */
+    public List<String> getStack() {
+        return wordListView(stack);
+    }
+
+    public int getMemorySize() {
+        return memory == null ? 0 : memory.length / WORD_LENGTH;
+    }
+
+    public byte[] getMemoryBytes() {
+        return memory == null ? null : Arrays.copyOf(memory, memory.length);
+    }
+
+    /** Memory as zero padded hex words. */
+    public List<String> getMemory() {
+        return wordListView(memory);
+    }
+
+    /** Whether the memory is shared with, and so unchanged from, the given step. */
+    public boolean isMemoryUnchangedFrom(CompactStructLog previous) {
+        return memory != null && memory == previous.memory;
+    }
+
+    public Map<String, String> getStorage() {
+        return storage;
+    }
+
+    private static List<String> wordListView(byte[] words) {
+        if (words == null) {
+            return null;
+        }
+        return new AbstractList<String>() {
+            @Override
+            public String get(int index) {
+                if (index < 0 || index >= size()) {
+                    throw new IndexOutOfBoundsException("Index: " + index);
+                }
+                return Numeric.toHexString(words, index * WORD_LENGTH, WORD_LENGTH, true);
+            }
+
+            @Override
+            public int size() {
+                return words.length / WORD_LENGTH;
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "CompactStructLog{"
+                + "pc="
+                + pc
+                + ", op='"
+                + op
+                + '\''
+                + ", gas="
+                + gas
+                + ", gasCost="
+                + gasCost
+                + ", depth="
+                + depth
+                + ", stack="
+                + getStack()
+                + ", memorySize="
+                + getMemorySize()
+                + ", storage="
+                + storage
+                + '}';
+    }
+}
@@ -0,0 +1,279 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.besu.response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.CharBuffer;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import org.web3j.protocol.ObjectMapperFactory;
+import org.web3j.protocol.ResponseParser;
+import org.web3j.protocol.core.Response;
+import org.web3j.utils.Numeric;
+
+/**
+ * Streaming parser for {@code debug_traceTransaction} responses, handing each struct log to a
+ * {@link StructLogVisitor} as soon as it has been read, so that the trace is never held in memory
+ * as a whole.
+ *
+ * <p>The {@code disableStack}, {@code disableMemory} and {@code disableStorage} trace options are
+ * also applied while parsing, skipping those fields even if the node returns them.
+ *
+ * <p>The result's {@link FullDebugTraceInfo#getStructLogs()} is empty, as struct logs are only
+ * passed to the visitor. A parser instance can only be used once.
+ */
+public class DebugTraceParser implements ResponseParser<BesuFullDebugTraceResponse> {
+
+    public static final String DISABLE_STACK = "disableStack";
+    public static final String DISABLE_MEMORY = "disableMemory";
+    public static final String DISABLE_STORAGE = "disableStorage";
+
+    private static final JsonFactory JSON_FACTORY =
+            ObjectMapperFactory.getObjectMapper().getFactory();
+
+    private static final int WORD_LENGTH = CompactStructLog.WORD_LENGTH;
+
+    private final StructLogVisitor visitor;
+    private final boolean readStack;
+    private final boolean readMemory;
+    private final boolean readStorage;
+
+    // scratch buffer for words, grown as needed
+    private byte[] words = new byte[64 * WORD_LENGTH];
+    private byte[] previousMemory;
+    private boolean stopped;
+
+    public DebugTraceParser(Map<String, Boolean> options, StructLogVisitor visitor) {
+        this.visitor = visitor;
+        this.readStack = !isEnabled(options, DISABLE_STACK);
+        this.readMemory = !isEnabled(options, DISABLE_MEMORY);
+        this.readStorage = !isEnabled(options, DISABLE_STORAGE);
+    }
+
+    private static boolean isEnabled(Map<String, Boolean> options, String option) {
+        return options != null && Boolean.TRUE.equals(options.get(option));
+    }
+
+    @Override
+    public BesuFullDebugTraceResponse parse(InputStream result) throws IOException {
+        BesuFullDebugTraceResponse response = new BesuFullDebugTraceResponse();
+
+        try (JsonParser parser = JSON_FACTORY.createParser(result)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Invalid debug_traceTransaction response");
+            }
+
+            while (!stopped && parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                if (parser.nextToken() == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+                switch (name) {
+                    case "id":
+                        response.setId(parser.getValueAsLong());
+                        break;
+                    case "jsonrpc":
+                        response.setJsonrpc(parser.getText());
+                        break;
+                    case "result":
+                        response.setResult(readResult(parser));
+                        break;
+                    case "error":
+                        response.setError(parser.readValueAs(Response.Error.class));
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+        }
+
+        return response;
+    }
+
+    private FullDebugTraceInfo readResult(JsonParser parser) throws IOException {
+        int gas = 0;
+        boolean failed = false;
+        String returnValue = null;
+
+        while (!stopped && parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            if (parser.nextToken() == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            switch (name) {
+                case "gas":
+                    gas = parser.getValueAsInt();
+                    break;
+                case "failed":
+                    failed = parser.getValueAsBoolean();
+                    break;
+                case "returnValue":
+                    returnValue = parser.getText();
+                    break;
+                case "structLogs":
+                    readStructLogs(parser);
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+
+        return new FullDebugTraceInfo(gas, failed, returnValue, Collections.emptyList());
+    }
+
+    private void readStructLogs(JsonParser parser) throws IOException {
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            if (!visitor.visit(readStructLog(parser))) {
+                // the remainder of the response is left unread
+                stopped = true;
+                return;
+            }
+        }
+    }
+
+    private CompactStructLog readStructLog(JsonParser parser) throws IOException {
+        int pc = 0;
+        String op = null;
+        long gas = 0;
+        long gasCost = 0;
+        int depth = 0;
+        byte[] stack = null;
+        byte[] memory = null;
+        Map<String, String> storage = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            if (parser.nextToken() == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            switch (name) {
+                case "pc":
+                    pc = parser.getValueAsInt();
+                    break;
+                case "op":
+                    op = parser.getText().intern();
+                    break;
+                case "gas":
+                    gas = parser.getValueAsLong();
+                    break;
+                case "gasCost":
+                    gasCost = parser.getValueAsLong();
+                    break;
+                case "depth":
+                    depth = parser.getValueAsInt();
+                    break;
+                case "stack":
+                    if (readStack) {
+                        stack = readWords(parser, null);
+                    } else {
+                        parser.skipChildren();
+                    }
+                    break;
+                case "memory":
+                    if (readMemory) {
+                        memory = readWords(parser, previousMemory);
+                        previousMemory = memory;
+                    } else {
+                        parser.skipChildren();
+                    }
+                    break;
+                case "storage":
+                    if (readStorage) {
+                        storage = readStorage(parser);
+                    } else {
+                        parser.skipChildren();
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+
+        return new CompactStructLog(pc, op, gas, gasCost, depth, stack, memory, storage);
+    }
+
+    /**
+     * Read an array of words into a packed array, returning the previous array instead if the words
+     * are unchanged.
+     */
+    private byte[] readWords(JsonParser parser, byte[] previous) throws IOException {
+        int length = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (length + WORD_LENGTH > words.length) {
+                byte[] grown = new byte[words.length * 2];
+                System.arraycopy(words, 0, grown, 0, length);
+                words = grown;
+            }
+            readWord(parser, words, length);
+            length += WORD_LENGTH;
+        }
+
+        if (previous != null && equals(previous, words, length)) {
+            return previous;
+        }
+        byte[] result = new byte[length];
+        System.arraycopy(words, 0, result, 0, length);
+        return result;
+    }
+
+    /** Decode a hex word, with or without prefix, left padded to the full word length. */
+    private static void readWord(JsonParser parser, byte[] output, int outputOffset)
+            throws IOException {
+        char[] chars = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        int length = parser.getTextLength();
+        if (length >= 2 && chars[offset] == '0' && (chars[offset + 1] | 0x20) == 'x') {
+            offset += 2;
+            length -= 2;
+        }
+        if (length > 2 * WORD_LENGTH) {
+            throw new IOException("Invalid word: " + new String(chars, offset, length));
+        }
+
+        int padding = WORD_LENGTH - (length + 1) / 2;
+        for (int i = 0; i < padding; i++) {
+            output[outputOffset + i] = 0;
+        }
+        Numeric.hexStringToByteArray(
+                CharBuffer.wrap(chars), offset, length, output, outputOffset + padding);
+    }
+
+    private static Map<String, String> readStorage(JsonParser parser) throws IOException {
+        Map<String, String> storage = new LinkedHashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String slot = parser.getCurrentName();
+            parser.nextToken();
+            storage.put(slot, parser.getText());
+        }
+        return storage;
+    }
+
+    private static boolean equals(byte[] previous, byte[] words, int length) {
+        if (previous.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (previous[i] != words[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
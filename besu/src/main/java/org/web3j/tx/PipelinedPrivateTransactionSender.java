@@ -0,0 +1,199 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+
+import org.web3j.protocol.besu.Besu;
+import org.web3j.protocol.besu.response.privacy.PrivateTransactionReceipt;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthSendTransaction;
+import org.web3j.tx.response.BatchingPrivateTransactionReceiptProcessor;
+
+import static org.web3j.tx.TransactionManager.DEFAULT_POLLING_ATTEMPTS_PER_TX_HASH;
+import static org.web3j.tx.TransactionManager.DEFAULT_POLLING_FREQUENCY;
+
+/**
+ * Sends private transactions for a {@link PrivateTransactionManager} without waiting on the node
+ * between transactions.
+ *
+ * <p>Nonces are allocated locally by a {@link PrivateNonceTracker}, which is resynchronised with
+ * the node whenever a transaction is rejected. Signed transactions are submitted in nonce order,
+ * while a submission is in flight the transactions queued behind it are sent together as a single
+ * {@code eea_sendRawTransaction} batch. Receipts are resolved in batches by a {@link
+ * BatchingPrivateTransactionReceiptProcessor}.
+ */
+public class PipelinedPrivateTransactionSender {
+
+    public static final int DEFAULT_MAX_BATCH_SIZE = 50;
+
+    private final Besu besu;
+    private final PrivateTransactionManager transactionManager;
+    private final PrivateNonceTracker nonceTracker;
+    private final BatchingPrivateTransactionReceiptProcessor receiptProcessor;
+    private final int maxBatchSize;
+
+    private final Queue<Submission> queue = new ArrayDeque<>();
+    private boolean submitting;
+
+    public PipelinedPrivateTransactionSender(
+            Besu besu, PrivateTransactionManager transactionManager) {
+        this(
+                besu,
+                transactionManager,
+                new PrivateNonceTracker(besu),
+                new BatchingPrivateTransactionReceiptProcessor(
+                        besu, DEFAULT_POLLING_FREQUENCY, DEFAULT_POLLING_ATTEMPTS_PER_TX_HASH),
+                DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    public PipelinedPrivateTransactionSender(
+            Besu besu,
+            PrivateTransactionManager transactionManager,
+            PrivateNonceTracker nonceTracker,
+            BatchingPrivateTransactionReceiptProcessor receiptProcessor,
+            int maxBatchSize) {
+        this.besu = besu;
+        this.transactionManager = transactionManager;
+        this.nonceTracker = nonceTracker;
+        this.receiptProcessor = receiptProcessor;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Sign and submit a private transaction.
+     *
+     * @return a future completed with the transaction hash once the node accepted the transaction
+     */
+    public CompletableFuture<String> sendTransaction(
+            BigInteger gasPrice, BigInteger gasLimit, String to, String data) {
+        Submission submission;
+        synchronized (this) {
+            // nonces have to be allocated in submission order
+            BigInteger nonce;
+            try {
+                nonce =
+                        nonceTracker.nextNonce(
+                                transactionManager.getFromAddress(),
+                                transactionManager.getPrivacyGroupId());
+            } catch (IOException e) {
+                CompletableFuture<String> result = new CompletableFuture<>();
+                result.completeExceptionally(e);
+                return result;
+            }
+            submission =
+                    new Submission(
+                            transactionManager.sign(
+                                    transactionManager.createTransaction(
+                                            nonce, gasPrice, gasLimit, to, data)));
+            queue.add(submission);
+        }
+        submitNext();
+        return submission.result;
+    }
+
+    /**
+     * Sign and submit a private transaction, then wait for its receipt.
+     *
+     * @return a future completed with the private transaction receipt
+     */
+    public CompletableFuture<PrivateTransactionReceipt> executeTransaction(
+            BigInteger gasPrice, BigInteger gasLimit, String to, String data) {
+        return sendTransaction(gasPrice, gasLimit, to, data)
+                .thenCompose(receiptProcessor::getTransactionReceiptAsync);
+    }
+
+    private void submitNext() {
+        List<Submission> submissions = new ArrayList<>();
+        synchronized (this) {
+            if (submitting || queue.isEmpty()) {
+                return;
+            }
+            while (!queue.isEmpty() && submissions.size() < maxBatchSize) {
+                submissions.add(queue.poll());
+            }
+            submitting = true;
+        }
+
+        CompletableFuture<List<? extends Response<?>>> responses;
+        if (submissions.size() == 1) {
+            responses =
+                    besu.eeaSendRawTransaction(submissions.get(0).signedTransaction)
+                            .sendAsync()
+                            .thenApply(Collections::singletonList);
+        } else {
+            BatchRequest batchRequest = besu.newBatch();
+            for (Submission submission : submissions) {
+                batchRequest.add(besu.eeaSendRawTransaction(submission.signedTransaction));
+            }
+            responses = batchRequest.sendAsync().thenApply(response -> response.getResponses());
+        }
+
+        responses.whenComplete(
+                (result, e) -> {
+                    try {
+                        for (int i = 0; i < submissions.size(); i++) {
+                            Response<?> response =
+                                    result != null && i < result.size() ? result.get(i) : null;
+                            try {
+                                complete(submissions.get(i), response, e);
+                            } catch (RuntimeException completionError) {
+                                submissions.get(i).result.completeExceptionally(completionError);
+                            }
+                        }
+                    } finally {
+                        synchronized (this) {
+                            submitting = false;
+                        }
+                        submitNext();
+                    }
+                });
+    }
+
+    private void complete(Submission submission, Response<?> response, Throwable e) {
+        if (e == null && response == null) {
+            e = new IOException("No response received for transaction request");
+        } else if (e == null && response.hasError()) {
+            e =
+                    new IOException(
+                            "Error processing transaction request: "
+                                    + response.getError().getMessage());
+        }
+
+        if (e != null) {
+            // later nonces can't be used until the rejected one is, resynchronise with the node
+            nonceTracker.reset(
+                    transactionManager.getFromAddress(), transactionManager.getPrivacyGroupId());
+            submission.result.completeExceptionally(e);
+        } else {
+            submission.result.complete(((EthSendTransaction) response).getTransactionHash());
+        }
+    }
+
+    private static class Submission {
+        private final String signedTransaction;
+        private final CompletableFuture<String> result = new CompletableFuture<>();
+
+        Submission(String signedTransaction) {
+            this.signedTransaction = signedTransaction;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.web3j.protocol.besu.Besu;
+import org.web3j.protocol.core.methods.response.EthGetTransactionCount;
+import org.web3j.utils.Base64String;
+
+/**
+ * Tracks the nonces of private transactions locally, per sender and privacy group, so that
+ * consecutive transactions don't each have to query {@code priv_getTransactionCount}.
+ *
+ * <p>A nonce is fetched from the node the first time it is needed, and again after it has been
+ * {@link #reset(String, Base64String) reset}, which should be done once a transaction using a
+ * tracked nonce was rejected.
+ */
+public class PrivateNonceTracker {
+
+    private final Besu besu;
+    private final Map<String, Nonce> nonces = new ConcurrentHashMap<>();
+
+    public PrivateNonceTracker(Besu besu) {
+        this.besu = besu;
+    }
+
+    /**
+     * Allocate the next nonce of a sender within a privacy group.
+     *
+     * @param address sender address
+     * @param privacyGroupId privacy group the transaction is sent to
+     * @return the allocated nonce
+     * @throws IOException if the nonce had to be fetched, and could not be
+     */
+    public BigInteger nextNonce(String address, Base64String privacyGroupId) throws IOException {
+        Nonce nonce = nonces.computeIfAbsent(key(address, privacyGroupId), key -> new Nonce());
+        synchronized (nonce) {
+            if (nonce.next == null) {
+                nonce.next = fetchNonce(address, privacyGroupId);
+            }
+            BigInteger allocated = nonce.next;
+            nonce.next = allocated.add(BigInteger.ONE);
+            return allocated;
+        }
+    }
+
+    /** Discard the tracked nonce, so that it is fetched again when next needed. */
+    public void reset(String address, Base64String privacyGroupId) {
+        Nonce nonce = nonces.get(key(address, privacyGroupId));
+        if (nonce != null) {
+            synchronized (nonce) {
+                nonce.next = null;
+            }
+        }
+    }
+
+    /** The next nonce which will be allocated, or null if it is not tracked. */
+    public BigInteger getNextNonce(String address, Base64String privacyGroupId) {
+        Nonce nonce = nonces.get(key(address, privacyGroupId));
+        if (nonce == null) {
+            return null;
+        }
+        synchronized (nonce) {
+            return nonce.next;
+        }
+    }
+
+    private BigInteger fetchNonce(String address, Base64String privacyGroupId) throws IOException {
+        EthGetTransactionCount transactionCount =
+                besu.privGetTransactionCount(address, privacyGroupId).send();
+        if (transactionCount.hasError()) {
+            throw new IOException(
+                    "Error fetching private transaction count: "
+                            + transactionCount.getError().getMessage());
+        }
+        return transactionCount.getTransactionCount();
+    }
+
+    private static String key(String address, Base64String privacyGroupId) {
+        return address.toLowerCase() + '/' + privacyGroupId;
+    }
+
+    private static class Nonce {
+        private BigInteger next;
+    }
+}
@@ -23,6 +23,7 @@ import org.web3j.crypto.Credentials;
 import org.web3j.protocol.besu.Besu;
 import org.web3j.protocol.besu.response.privacy.PrivateEnclaveKey;
 import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.Request;
 import org.web3j.protocol.core.methods.request.Transaction;
 import org.web3j.protocol.core.methods.response.EthCall;
 import org.web3j.protocol.core.methods.response.EthGetCode;
@@ -118,7 +119,6 @@ public abstract class PrivateTransactionManager extends TransactionManager {
 
     protected abstract Object privacyGroupIdOrPrivateFor();
 
-    @SuppressWarnings("unchecked")
     @Override
     public EthSendTransaction sendTransaction(
             final BigInteger gasPrice,
@@ -134,34 +134,40 @@ public abstract class PrivateTransactionManager extends TransactionManager {
                         .send()
                         .getTransactionCount();
 
+        return signAndSend(createTransaction(nonce, gasPrice, gasLimit, to, data));
+    }
+
+    /** Create a restricted private transaction for this manager's privacy group or recipients. */
+    @SuppressWarnings("unchecked")
+    public RawPrivateTransaction createTransaction(
+            final BigInteger nonce,
+            final BigInteger gasPrice,
+            final BigInteger gasLimit,
+            final String to,
+            final String data) {
         final Object privacyGroupIdOrPrivateFor = privacyGroupIdOrPrivateFor();
 
-        final RawPrivateTransaction transaction;
         if (privacyGroupIdOrPrivateFor instanceof Base64String) {
-            transaction =
-                    RawPrivateTransaction.createTransaction(
-                            nonce,
-                            gasPrice,
-                            gasLimit,
-                            to,
-                            data,
-                            privateFrom,
-                            (Base64String) privacyGroupIdOrPrivateFor,
-                            RESTRICTED);
+            return RawPrivateTransaction.createTransaction(
+                    nonce,
+                    gasPrice,
+                    gasLimit,
+                    to,
+                    data,
+                    privateFrom,
+                    (Base64String) privacyGroupIdOrPrivateFor,
+                    RESTRICTED);
         } else {
-            transaction =
-                    RawPrivateTransaction.createTransaction(
-                            nonce,
-                            gasPrice,
-                            gasLimit,
-                            to,
-                            data,
-                            privateFrom,
-                            (List<Base64String>) privacyGroupIdOrPrivateFor,
-                            RESTRICTED);
+            return RawPrivateTransaction.createTransaction(
+                    nonce,
+                    gasPrice,
+                    gasLimit,
+                    to,
+                    data,
+                    privateFrom,
+                    (List<Base64String>) privacyGroupIdOrPrivateFor,
+                    RESTRICTED);
         }
-
-        return signAndSend(transaction);
     }
 
     public EthSendTransaction sendTransactionEIP1559(
@@ -214,15 +220,16 @@ public abstract class PrivateTransactionManager extends TransactionManager {
     public String sendCall(
             final String to, final String data, final DefaultBlockParameter defaultBlockParameter)
             throws IOException {
-        EthCall ethCall =
-                besu.privCall(
-                                getPrivacyGroupId().toString(),
-                                Transaction.createEthCallTransaction(getFromAddress(), to, data),
-                                defaultBlockParameter)
-                        .send();
-
-        assertCallNotReverted(ethCall);
-        return ethCall.getValue();
+        return callValue(createCallRequest(to, data, defaultBlockParameter).send());
+    }
+
+    @Override
+    public Request<?, EthCall> createCallRequest(
+            final String to, final String data, final DefaultBlockParameter defaultBlockParameter) {
+        return besu.privCall(
+                getPrivacyGroupId().toString(),
+                Transaction.createEthCallTransaction(getFromAddress(), to, data),
+                defaultBlockParameter);
     }
 
     private TransactionReceipt processResponse(final EthSendTransaction transactionResponse)
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx.response;
+
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.web3j.protocol.besu.Besu;
+import org.web3j.protocol.besu.response.privacy.PrivGetTransactionReceipt;
+import org.web3j.protocol.besu.response.privacy.PrivateTransactionReceipt;
+import org.web3j.protocol.core.Request;
+import org.web3j.utils.ExecutionConfig;
+
+/**
+ * Private transaction receipt processor resolving the receipts of all pending transactions
+ * together, with a single {@code priv_getTransactionReceipt} batch per polling interval.
+ */
+public class BatchingPrivateTransactionReceiptProcessor
+        extends BatchingReceiptProcessor<PrivateTransactionReceipt, PrivGetTransactionReceipt> {
+
+    private final Besu besu;
+
+    public BatchingPrivateTransactionReceiptProcessor(
+            Besu besu, long pollingFrequency, int attempts) {
+        this(
+                besu,
+                pollingFrequency,
+                attempts,
+                DEFAULT_MAX_BATCH_SIZE,
+                ExecutionConfig.sharedScheduler());
+    }
+
+    public BatchingPrivateTransactionReceiptProcessor(
+            Besu besu,
+            long pollingFrequency,
+            int attempts,
+            int maxBatchSize,
+            ScheduledExecutorService scheduler) {
+        super(besu, pollingFrequency, attempts, maxBatchSize, scheduler);
+        this.besu = besu;
+    }
+
+    @Override
+    protected Request<?, PrivGetTransactionReceipt> receiptRequest(String transactionHash) {
+        return besu.privGetTransactionReceipt(transactionHash);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.besu;
+
+import java.util.Collections;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.exceptions.MissingBackpressureException;
+import io.reactivex.subscribers.TestSubscriber;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.protocol.besu.response.BesuFullDebugTraceResponse;
+import org.web3j.protocol.besu.response.CompactStructLog;
+import org.web3j.protocol.besu.response.StructLogVisitor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class JsonRpc2_0BesuRxTest {
+
+    private final Besu besu = mock(Besu.class);
+    private final AtomicInteger visited = new AtomicInteger();
+
+    private ScheduledExecutorService scheduledExecutorService;
+    private JsonRpc2_0BesuRx besuRx;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
+        besuRx = new JsonRpc2_0BesuRx(besu, scheduledExecutorService);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        scheduledExecutorService.shutdownNow();
+    }
+
+    @Test
+    public void testDebugTraceTransactionFlowableEmitsAllStructLogs() throws Exception {
+        mockTrace(5000);
+
+        TestSubscriber<CompactStructLog> subscriber =
+                besuRx.debugTraceTransactionFlowable("0x1", Collections.emptyMap()).test();
+
+        subscriber.assertComplete();
+        subscriber.assertValueCount(5000);
+    }
+
+    @Test
+    public void testDebugTraceTransactionFlowableStopsWhenBufferIsFull() throws Exception {
+        mockTrace(5000);
+
+        TestSubscriber<CompactStructLog> subscriber =
+                besuRx.debugTraceTransactionFlowable("0x1", Collections.emptyMap()).test(0);
+
+        subscriber.assertError(MissingBackpressureException.class);
+        assertEquals(JsonRpc2_0BesuRx.STRUCT_LOG_BUFFER_SIZE + 1, visited.get());
+    }
+
+    private void mockTrace(int steps) throws Exception {
+        when(besu.debugTraceTransaction(anyString(), anyMap(), any(StructLogVisitor.class)))
+                .then(
+                        invocation -> {
+                            StructLogVisitor visitor = invocation.getArgument(2);
+                            for (int i = 0; i < steps; i++) {
+                                visited.incrementAndGet();
+                                if (!visitor.visit(
+                                        new CompactStructLog(
+                                                i, "PUSH1", 0, 3, 1, null, null, null))) {
+                                    break;
+                                }
+                            }
+                            return new BesuFullDebugTraceResponse();
+                        });
+    }
+}
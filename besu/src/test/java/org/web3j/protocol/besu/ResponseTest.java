@@ -13,8 +13,12 @@
 package org.web3j.protocol.besu;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
@@ -22,7 +26,11 @@ import org.junit.jupiter.api.Test;
 import org.web3j.protocol.ResponseTester;
 import org.web3j.protocol.admin.methods.response.BooleanResponse;
 import org.web3j.protocol.besu.response.BesuEthAccountsMapResponse;
+import org.web3j.protocol.besu.response.BesuFullDebugTraceResponse;
 import org.web3j.protocol.besu.response.BesuSignerMetrics;
+import org.web3j.protocol.besu.response.CompactStructLog;
+import org.web3j.protocol.besu.response.DebugTraceParser;
+import org.web3j.protocol.besu.response.FullDebugTraceInfo;
 import org.web3j.protocol.besu.response.privacy.PrivCreatePrivacyGroup;
 import org.web3j.protocol.besu.response.privacy.PrivFindPrivacyGroup;
 import org.web3j.protocol.besu.response.privacy.PrivGetPrivacyPrecompileAddress;
@@ -38,6 +46,9 @@ import org.web3j.protocol.core.methods.response.Log;
 import org.web3j.utils.Base64String;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class ResponseTest extends ResponseTester {
 
@@ -391,4 +402,108 @@ public class ResponseTest extends ResponseTester {
 
         assertEquals(privGetTransactionReceipt.getTransactionReceipt().get(), (transactionReceipt));
     }
+
+    @Test
+    public void testDebugTraceTransactionStreaming() {
+        buildResponse(DEBUG_TRACE_RESPONSE);
+
+        List<CompactStructLog> structLogs = new ArrayList<>();
+        BesuFullDebugTraceResponse response =
+                parseResponse(new DebugTraceParser(Collections.emptyMap(), structLogs::add));
+
+        assertEquals(response.getId(), 1);
+        FullDebugTraceInfo info = response.getFullDebugTraceInfo();
+        assertEquals(info.getGas(), 21068);
+        assertFalse(info.getFailed());
+        assertEquals(info.getReturnValue(), "");
+        assertTrue(info.getStructLogs().isEmpty());
+
+        assertEquals(structLogs.size(), 3);
+        CompactStructLog first = structLogs.get(0);
+        assertEquals(first.getPc(), 0);
+        assertEquals(first.getOp(), "PUSH1");
+        assertEquals(first.getGas(), 78932L);
+        assertEquals(first.getGasCost(), 3L);
+        assertEquals(first.getDepth(), 1);
+        assertEquals(first.getStackSize(), 0);
+        assertEquals(first.getMemorySize(), 0);
+
+        CompactStructLog second = structLogs.get(1);
+        assertEquals(second.getStackSize(), 2);
+        assertEquals(
+                second.getStack().get(1),
+                "0x0000000000000000000000000000000000000000000000000000000000000080");
+        assertEquals(second.getStackValue(0), BigInteger.valueOf(0x60));
+        assertEquals(second.getMemorySize(), 2);
+        assertEquals(
+                second.getMemory().get(1),
+                "0x00000000000000000000000000000000000000000000000000000000000000ff");
+        assertEquals(second.getStorage(), Collections.singletonMap("00", "01"));
+
+        CompactStructLog third = structLogs.get(2);
+        assertTrue(third.isMemoryUnchangedFrom(second));
+        assertEquals(third.getStorage(), Collections.emptyMap());
+    }
+
+    @Test
+    public void testDebugTraceTransactionStreamingSkipsDisabledFields() {
+        buildResponse(DEBUG_TRACE_RESPONSE);
+
+        Map<String, Boolean> options = new HashMap<>();
+        options.put(DebugTraceParser.DISABLE_MEMORY, true);
+        options.put(DebugTraceParser.DISABLE_STORAGE, true);
+
+        List<CompactStructLog> structLogs = new ArrayList<>();
+        parseResponse(new DebugTraceParser(options, structLogs::add));
+
+        CompactStructLog structLog = structLogs.get(1);
+        assertEquals(structLog.getStackSize(), 2);
+        assertNull(structLog.getMemory());
+        assertNull(structLog.getStorage());
+    }
+
+    @Test
+    public void testDebugTraceTransactionStreamingStopsReading() {
+        buildResponse(DEBUG_TRACE_RESPONSE);
+
+        List<CompactStructLog> structLogs = new ArrayList<>();
+        parseResponse(
+                new DebugTraceParser(
+                        Collections.emptyMap(),
+                        structLog -> {
+                            structLogs.add(structLog);
+                            return false;
+                        }));
+
+        assertEquals(structLogs.size(), 1);
+    }
+
+    private static final String DEBUG_TRACE_RESPONSE =
+            "{\n"
+                    + "  \"jsonrpc\": \"2.0\",\n"
+                    + "  \"id\": 1,\n"
+                    + "  \"result\": {\n"
+                    + "    \"gas\": 21068,\n"
+                    + "    \"failed\": false,\n"
+                    + "    \"returnValue\": \"\",\n"
+                    + "    \"structLogs\": [\n"
+                    + "      {\"pc\": 0, \"op\": \"PUSH1\", \"gas\": 78932, \"gasCost\": 3,"
+                    + " \"depth\": 1, \"stack\": [], \"memory\": [], \"storage\": {}},\n"
+                    + "      {\"pc\": 2, \"op\": \"MSTORE\", \"gas\": 78929, \"gasCost\": 12,"
+                    + " \"depth\": 1,"
+                    + " \"stack\": [\"0x60\","
+                    + " \"0000000000000000000000000000000000000000000000000000000000000080\"],"
+                    + " \"memory\": ["
+                    + "\"0000000000000000000000000000000000000000000000000000000000000000\","
+                    + " \"00000000000000000000000000000000000000000000000000000000000000ff\"],"
+                    + " \"storage\": {\"00\": \"01\"}},\n"
+                    + "      {\"pc\": 3, \"op\": \"STOP\", \"gas\": 78917, \"gasCost\": 0,"
+                    + " \"depth\": 1, \"stack\": [],"
+                    + " \"memory\": ["
+                    + "\"0000000000000000000000000000000000000000000000000000000000000000\","
+                    + " \"00000000000000000000000000000000000000000000000000000000000000ff\"],"
+                    + " \"storage\": {}}\n"
+                    + "    ]\n"
+                    + "  }\n"
+                    + "}";
 }
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import org.web3j.crypto.Credentials;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.besu.Besu;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthGetTransactionCount;
+import org.web3j.protocol.core.methods.response.EthSendTransaction;
+import org.web3j.tx.gas.BesuPrivacyGasProvider;
+import org.web3j.tx.response.BatchingPrivateTransactionReceiptProcessor;
+import org.web3j.utils.Base64String;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PipelinedPrivateTransactionSenderTest {
+
+    private static final long CHAIN_ID = 2018;
+    private static final Base64String PRIVATE_FROM =
+            Base64String.wrap("GGilEkXLaQ9yhhtbpBT03Me9iYa7U/mWXxrJhnbl1XY=");
+    private static final Base64String PRIVACY_GROUP_ID =
+            Base64String.wrap("OGD/4dkDZWb4VqgDfElovjYMDAcSiRUiB6fLtFRmugU=");
+    private static final Credentials CREDENTIALS =
+            Credentials.create("8f2a55949038a9610f50fb23b5883af3b4ecb3c3bb792cbcefbd1542c692be63");
+
+    private final Web3jService service = mock(Web3jService.class);
+    private final Besu besu = Besu.build(service);
+    private final PrivateNonceTracker nonceTracker = new PrivateNonceTracker(besu);
+    private PipelinedPrivateTransactionSender sender;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        EthGetTransactionCount transactionCount = new EthGetTransactionCount();
+        transactionCount.setResult("0x5");
+        when(service.send(any(), eq(EthGetTransactionCount.class))).thenReturn(transactionCount);
+
+        BesuPrivateTransactionManager transactionManager =
+                new BesuPrivateTransactionManager(
+                        besu,
+                        new BesuPrivacyGasProvider(BigInteger.ZERO),
+                        CREDENTIALS,
+                        CHAIN_ID,
+                        PRIVATE_FROM,
+                        PRIVACY_GROUP_ID);
+        sender =
+                new PipelinedPrivateTransactionSender(
+                        besu,
+                        transactionManager,
+                        nonceTracker,
+                        mock(BatchingPrivateTransactionReceiptProcessor.class),
+                        10);
+    }
+
+    @Test
+    void queuedTransactionsAreSubmittedAsOneBatch() throws Exception {
+        CompletableFuture<EthSendTransaction> firstSubmission = new CompletableFuture<>();
+        when(service.sendAsync(any(), eq(EthSendTransaction.class))).thenReturn(firstSubmission);
+        when(service.sendBatchAsync(any()))
+                .thenReturn(
+                        CompletableFuture.completedFuture(
+                                new BatchResponse(
+                                        null,
+                                        asList(transactionHash("0x2"), transactionHash("0x3")))));
+
+        CompletableFuture<String> first =
+                sender.sendTransaction(BigInteger.ZERO, gasLimit(), "0x", "");
+        CompletableFuture<String> second =
+                sender.sendTransaction(BigInteger.ZERO, gasLimit(), "0x", "");
+        CompletableFuture<String> third =
+                sender.sendTransaction(BigInteger.ZERO, gasLimit(), "0x", "");
+        assertFalse(second.isDone());
+
+        firstSubmission.complete(transactionHash("0x1"));
+
+        assertEquals(first.get(), "0x1");
+        assertEquals(second.get(), "0x2");
+        assertEquals(third.get(), "0x3");
+        ArgumentCaptor<BatchRequest> batch = ArgumentCaptor.forClass(BatchRequest.class);
+        verify(service).sendBatchAsync(batch.capture());
+        assertEquals(batch.getValue().getRequests().size(), 2);
+
+        // nonces are only fetched once
+        verify(service, times(1)).send(any(), eq(EthGetTransactionCount.class));
+        assertEquals(
+                nonceTracker.getNextNonce(CREDENTIALS.getAddress(), PRIVACY_GROUP_ID),
+                BigInteger.valueOf(8));
+    }
+
+    @Test
+    void rejectedTransactionResynchronisesNonce() throws Exception {
+        EthSendTransaction rejected = new EthSendTransaction();
+        rejected.setError(new Response.Error(-32000, "Private transaction nonce too low"));
+        when(service.sendAsync(any(), eq(EthSendTransaction.class)))
+                .thenReturn(CompletableFuture.completedFuture(rejected));
+
+        CompletableFuture<String> result =
+                sender.sendTransaction(BigInteger.ZERO, gasLimit(), "0x", "");
+
+        ExecutionException e = assertThrows(ExecutionException.class, result::get);
+        assertTrue(e.getCause() instanceof IOException);
+        assertNull(nonceTracker.getNextNonce(CREDENTIALS.getAddress(), PRIVACY_GROUP_ID));
+
+        sender.sendTransaction(BigInteger.ZERO, gasLimit(), "0x", "");
+        verify(service, times(2)).send(any(), eq(EthGetTransactionCount.class));
+    }
+
+    @Test
+    void shortBatchFailsUnmatchedTransactionsAndKeepsSending() throws Exception {
+        CompletableFuture<EthSendTransaction> firstSubmission = new CompletableFuture<>();
+        when(service.sendAsync(any(), eq(EthSendTransaction.class)))
+                .thenReturn(firstSubmission)
+                .thenReturn(CompletableFuture.completedFuture(transactionHash("0x4")));
+        when(service.sendBatchAsync(any()))
+                .thenReturn(
+                        CompletableFuture.completedFuture(
+                                new BatchResponse(null, asList(transactionHash("0x2")))));
+
+        sender.sendTransaction(BigInteger.ZERO, gasLimit(), "0x", "");
+        CompletableFuture<String> second =
+                sender.sendTransaction(BigInteger.ZERO, gasLimit(), "0x", "");
+        CompletableFuture<String> third =
+                sender.sendTransaction(BigInteger.ZERO, gasLimit(), "0x", "");
+
+        firstSubmission.complete(transactionHash("0x1"));
+
+        assertEquals(second.get(1, TimeUnit.SECONDS), "0x2");
+        ExecutionException e =
+                assertThrows(ExecutionException.class, () -> third.get(1, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof IOException);
+
+        CompletableFuture<String> fourth =
+                sender.sendTransaction(BigInteger.ZERO, gasLimit(), "0x", "");
+        assertEquals(fourth.get(1, TimeUnit.SECONDS), "0x4");
+    }
+
+    @Test
+    void nullResponseFailsTransactionAndKeepsSending() throws Exception {
+        when(service.sendAsync(any(), eq(EthSendTransaction.class)))
+                .thenReturn(CompletableFuture.completedFuture(null))
+                .thenReturn(CompletableFuture.completedFuture(transactionHash("0x2")));
+
+        CompletableFuture<String> first =
+                sender.sendTransaction(BigInteger.ZERO, gasLimit(), "0x", "");
+        ExecutionException e =
+                assertThrows(ExecutionException.class, () -> first.get(1, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof IOException);
+
+        CompletableFuture<String> second =
+                sender.sendTransaction(BigInteger.ZERO, gasLimit(), "0x", "");
+        assertEquals(second.get(1, TimeUnit.SECONDS), "0x2");
+    }
+
+    private static BigInteger gasLimit() {
+        return BigInteger.valueOf(3000000);
+    }
+
+    private static EthSendTransaction transactionHash(String hash) {
+        EthSendTransaction response = new EthSendTransaction();
+        response.setResult(hash);
+        return response;
+    }
+}
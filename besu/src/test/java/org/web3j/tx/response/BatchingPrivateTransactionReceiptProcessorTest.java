@@ -0,0 +1,145 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx.response;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.besu.Besu;
+import org.web3j.protocol.besu.response.privacy.PrivGetTransactionReceipt;
+import org.web3j.protocol.besu.response.privacy.PrivateTransactionReceipt;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.exceptions.TransactionException;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BatchingPrivateTransactionReceiptProcessorTest {
+
+    private final Web3jService service = mock(Web3jService.class);
+    private final Besu besu = Besu.build(service);
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
+    private final List<Integer> batchSizes = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void pendingReceiptsAreResolvedInBatches() throws Exception {
+        PrivateTransactionReceipt receiptA = mock(PrivateTransactionReceipt.class);
+        PrivateTransactionReceipt receiptB = mock(PrivateTransactionReceipt.class);
+        // the receipt of B is only available from the second poll
+        mockBatches(asList(receipt(receiptA), receipt(null)), asList(receipt(receiptB)));
+
+        BatchingPrivateTransactionReceiptProcessor processor =
+                new BatchingPrivateTransactionReceiptProcessor(besu, 10, 5, 100, scheduler);
+        CompletableFuture<PrivateTransactionReceipt> a =
+                processor.getTransactionReceiptAsync("0xa");
+        CompletableFuture<PrivateTransactionReceipt> b =
+                processor.getTransactionReceiptAsync("0xb");
+
+        assertSame(a.get(5, TimeUnit.SECONDS), receiptA);
+        assertSame(processor.waitForTransactionReceipt("0xb"), receiptB);
+        assertTrue(b.isDone());
+        assertEquals(batchSizes, asList(2, 1));
+        assertEquals(processor.getPendingCount(), 0);
+    }
+
+    @Test
+    void missingReceiptFailsAfterAttempts() throws Exception {
+        mockBatches(asList(receipt(null)));
+
+        BatchingPrivateTransactionReceiptProcessor processor =
+                new BatchingPrivateTransactionReceiptProcessor(besu, 10, 3, 100, scheduler);
+
+        assertThrows(TransactionException.class, () -> processor.waitForTransactionReceipt("0xa"));
+        assertEquals(batchSizes, asList(1, 1, 1));
+    }
+
+    @Test
+    void errorResponseFailsReceipt() throws Exception {
+        PrivGetTransactionReceipt error = new PrivGetTransactionReceipt();
+        error.setError(new Response.Error(-32000, "Enclave error"));
+        mockBatches(asList(error));
+
+        BatchingPrivateTransactionReceiptProcessor processor =
+                new BatchingPrivateTransactionReceiptProcessor(besu, 10, 3, 100, scheduler);
+
+        ExecutionException e =
+                assertThrows(
+                        ExecutionException.class,
+                        () -> processor.getTransactionReceiptAsync("0xa").get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof TransactionException);
+    }
+
+    @Test
+    void failedPollIsRetried() throws Exception {
+        PrivateTransactionReceipt receipt = mock(PrivateTransactionReceipt.class);
+        when(service.sendBatch(any()))
+                .thenThrow(new IOException("connection reset"))
+                .thenAnswer(
+                        invocation -> {
+                            BatchRequest batchRequest = invocation.getArgument(0);
+                            return new BatchResponse(
+                                    batchRequest.getRequests(), asList(receipt(receipt)));
+                        });
+
+        BatchingPrivateTransactionReceiptProcessor processor =
+                new BatchingPrivateTransactionReceiptProcessor(besu, 10, 3, 100, scheduler);
+
+        assertSame(processor.getTransactionReceiptAsync("0xa").get(5, TimeUnit.SECONDS), receipt);
+    }
+
+    /** Answer the batches with the given responses in turn, repeating the last ones. */
+    @SafeVarargs
+    private final void mockBatches(List<PrivGetTransactionReceipt>... responses)
+            throws IOException {
+        when(service.sendBatch(any()))
+                .thenAnswer(
+                        invocation -> {
+                            BatchRequest batchRequest = invocation.getArgument(0);
+                            List<Request<?, ? extends Response<?>>> requests =
+                                    batchRequest.getRequests();
+                            int poll = Math.min(batchSizes.size(), responses.length - 1);
+                            batchSizes.add(requests.size());
+                            return new BatchResponse(requests, responses[poll]);
+                        });
+    }
+
+    private static PrivGetTransactionReceipt receipt(PrivateTransactionReceipt receipt) {
+        PrivGetTransactionReceipt response = new PrivGetTransactionReceipt();
+        response.setResult(receipt);
+        return response;
+    }
+}
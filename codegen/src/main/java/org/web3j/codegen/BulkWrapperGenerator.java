@@ -0,0 +1,492 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.codegen;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.squareup.javapoet.TypeSpec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+import org.web3j.abi.datatypes.Address;
+import org.web3j.crypto.Hash;
+import org.web3j.protocol.ObjectMapperFactory;
+import org.web3j.protocol.core.methods.response.AbiDefinition;
+import org.web3j.tx.Contract;
+import org.web3j.utils.Numeric;
+import org.web3j.utils.Strings;
+import org.web3j.utils.Version;
+
+import static org.web3j.codegen.Console.exitError;
+import static org.web3j.codegen.FunctionWrapperGenerator.DIRECT_CODECS_ARG;
+import static org.web3j.codegen.FunctionWrapperGenerator.JAVA_TYPES_ARG;
+import static org.web3j.codegen.FunctionWrapperGenerator.PRIMITIVE_TYPES_ARG;
+import static org.web3j.codegen.FunctionWrapperGenerator.SOLIDITY_TYPES_ARG;
+import static org.web3j.codegen.FunctionWrapperGenerator.getFileNameNoExtension;
+import static org.web3j.utils.Collection.tail;
+import static picocli.CommandLine.Help.Visibility.ALWAYS;
+
+/**
+ * Java wrapper source code generator for many Solidity ABI files at once.
+ *
+ * <p>Contracts are generated in parallel. A manifest in the destination directory records a hash of
+ * each contract's ABI, binary and generator options, so that contracts which did not change since
+ * the last run, and whose wrapper still exists, are skipped. Identical ABI files are only parsed
+ * once, and struct types are built once per distinct struct and shared by all wrappers.
+ */
+public class BulkWrapperGenerator {
+    public static final String COMMAND_SOLIDITY = SolidityFunctionWrapperGenerator.COMMAND_SOLIDITY;
+    public static final String COMMAND_BULK = "bulk";
+    public static final String COMMAND_PREFIX = COMMAND_SOLIDITY + " " + COMMAND_BULK;
+
+    /** Name of the manifest file, written to the destination directory. */
+    public static final String MANIFEST_FILE = ".web3j-wrappers";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BulkWrapperGenerator.class);
+
+    private static final String ABI_EXTENSION = ".abi";
+    private static final String BIN_EXTENSION = ".bin";
+
+    private final List<ContractInput> inputs;
+    private final File destinationDir;
+    private final String basePackageName;
+    private final boolean useJavaNativeTypes;
+    private final boolean useJavaPrimitiveTypes;
+    private final boolean generateDirectCodecs;
+    private final int addressLength;
+    private final int parallelism;
+    private final boolean force;
+
+    private final Map<String, List<AbiDefinition>> parsedAbis = new ConcurrentHashMap<>();
+    private final Map<String, TypeSpec> structTypes = new ConcurrentHashMap<>();
+
+    /**
+     * Create a bulk generator.
+     *
+     * @param inputs contracts to generate, contract names must be unique
+     * @param destinationDir destination base directory
+     * @param basePackageName base package name
+     * @param useJavaNativeTypes use native Java types
+     * @param useJavaPrimitiveTypes use Java primitive types
+     * @param generateDirectCodecs generate specialized encoders and decoders
+     * @param addressLength address length
+     * @param parallelism number of contracts generated concurrently
+     * @param force regenerate all contracts, ignoring the manifest
+     */
+    public BulkWrapperGenerator(
+            List<ContractInput> inputs,
+            File destinationDir,
+            String basePackageName,
+            boolean useJavaNativeTypes,
+            boolean useJavaPrimitiveTypes,
+            boolean generateDirectCodecs,
+            int addressLength,
+            int parallelism,
+            boolean force) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        Set<String> classNames = new HashSet<>();
+        for (ContractInput input : inputs) {
+            if (!classNames.add(Strings.capitaliseFirstLetter(input.getContractName()))) {
+                throw new IllegalArgumentException(
+                        "Duplicate contract name: " + input.getContractName());
+            }
+        }
+        this.inputs = new ArrayList<>(inputs);
+        this.destinationDir = destinationDir;
+        this.basePackageName = basePackageName;
+        this.useJavaNativeTypes = useJavaNativeTypes;
+        this.useJavaPrimitiveTypes = useJavaPrimitiveTypes;
+        this.generateDirectCodecs = generateDirectCodecs;
+        this.addressLength = addressLength;
+        this.parallelism = parallelism;
+        this.force = force;
+    }
+
+    /**
+     * Find the contracts in a directory and its sub directories. Each {@code .abi} file is a
+     * contract, named after the file, with the {@code .bin} file of the same name as its binary if
+     * present.
+     */
+    public static List<ContractInput> findInputs(File directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory.toPath())) {
+            return paths.map(Path::toFile)
+                    .filter(file -> file.isFile() && file.getName().endsWith(ABI_EXTENSION))
+                    .sorted()
+                    .map(
+                            abiFile -> {
+                                String contractName = getFileNameNoExtension(abiFile.getName());
+                                File binFile =
+                                        new File(
+                                                abiFile.getParentFile(),
+                                                contractName + BIN_EXTENSION);
+                                return new ContractInput(
+                                        abiFile, binFile.isFile() ? binFile : null, contractName);
+                            })
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Generate the wrappers of all changed contracts and update the manifest. A contract which
+     * failed to generate does not prevent the others from being generated.
+     */
+    public Result generate() throws IOException, InterruptedException {
+        File manifestFile = new File(destinationDir, MANIFEST_FILE);
+        Properties manifest = loadManifest(manifestFile);
+        String options = options();
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        Map<ContractInput, Future<String>> tasks = new LinkedHashMap<>();
+        try {
+            for (ContractInput input : inputs) {
+                tasks.put(input, executor.submit(() -> generate(input, options, manifest)));
+            }
+
+            Result result = new Result();
+            for (Map.Entry<ContractInput, Future<String>> task : tasks.entrySet()) {
+                String className = qualifiedClassName(task.getKey());
+                try {
+                    String hash = task.getValue().get();
+                    if (hash == null) {
+                        result.skipped.add(className);
+                    } else {
+                        manifest.setProperty(className, hash);
+                        result.generated.add(className);
+                    }
+                } catch (ExecutionException e) {
+                    manifest.remove(className);
+                    result.failed.put(className, e.getCause());
+                }
+            }
+
+            storeManifest(manifest, manifestFile);
+            return result;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /** Generate a single contract, returns its new hash or null if it is unchanged. */
+    private String generate(ContractInput input, String options, Properties manifest)
+            throws Exception {
+        byte[] abi = Files.readAllBytes(input.getAbiFile().toPath());
+        byte[] bin =
+                input.getBinFile() != null ? Files.readAllBytes(input.getBinFile().toPath()) : null;
+
+        String abiHash = Numeric.toHexStringNoPrefix(Hash.sha256(abi));
+        String hash = hash(options, abiHash, bin);
+
+        String className = qualifiedClassName(input);
+        if (!force && hash.equals(manifest.getProperty(className)) && wrapperFile(input).isFile()) {
+            return null;
+        }
+
+        List<AbiDefinition> definitions = parsedAbis.get(abiHash);
+        if (definitions == null) {
+            definitions = parse(abi);
+            parsedAbis.putIfAbsent(abiHash, definitions);
+        }
+
+        if (!definitions.isEmpty()) {
+            new SolidityFunctionWrapper(
+                            useJavaNativeTypes,
+                            useJavaPrimitiveTypes,
+                            false,
+                            generateDirectCodecs,
+                            addressLength,
+                            new LogGenerationReporter(LOGGER),
+                            structTypes)
+                    .generateJavaFiles(
+                            Contract.class,
+                            input.getContractName(),
+                            bin != null
+                                    ? new String(bin, StandardCharsets.UTF_8)
+                                    : Contract.BIN_NOT_PROVIDED,
+                            definitions,
+                            destinationDir.toString(),
+                            basePackageName,
+                            null);
+        }
+        return hash;
+    }
+
+    private static List<AbiDefinition> parse(byte[] abi) throws IOException {
+        ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+        return Collections.unmodifiableList(
+                Arrays.asList(objectMapper.readValue(abi, AbiDefinition[].class)));
+    }
+
+    private String options() {
+        String version;
+        try {
+            version = Version.getVersion();
+        } catch (IOException | RuntimeException e) {
+            version = Version.DEFAULT;
+        }
+        return version
+                + ","
+                + basePackageName
+                + ","
+                + useJavaNativeTypes
+                + ","
+                + useJavaPrimitiveTypes
+                + ","
+                + generateDirectCodecs
+                + ","
+                + addressLength;
+    }
+
+    private static String hash(String options, String abiHash, byte[] bin) {
+        byte[] binHash = bin != null ? Hash.sha256(bin) : new byte[0];
+        String content = options + "|" + abiHash + "|" + Numeric.toHexStringNoPrefix(binHash);
+        return Numeric.toHexStringNoPrefix(Hash.sha256(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private String qualifiedClassName(ContractInput input) {
+        return basePackageName + "." + Strings.capitaliseFirstLetter(input.getContractName());
+    }
+
+    private File wrapperFile(ContractInput input) {
+        return new File(
+                destinationDir,
+                qualifiedClassName(input).replace('.', File.separatorChar) + ".java");
+    }
+
+    private static Properties loadManifest(File manifestFile) throws IOException {
+        Properties manifest = new Properties();
+        if (manifestFile.isFile()) {
+            try (InputStream in = Files.newInputStream(manifestFile.toPath())) {
+                manifest.load(in);
+            }
+        }
+        return manifest;
+    }
+
+    private static void storeManifest(Properties manifest, File manifestFile) throws IOException {
+        File directory = manifestFile.getAbsoluteFile().getParentFile();
+        Files.createDirectories(directory.toPath());
+
+        // sorted, without the timestamp comment of Properties.store, so that it diffs cleanly
+        Path temp = Files.createTempFile(directory.toPath(), MANIFEST_FILE, ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.ISO_8859_1)) {
+            for (Map.Entry<String, String> entry : sorted(manifest).entrySet()) {
+                writer.write(entry.getKey() + "=" + entry.getValue());
+                writer.newLine();
+            }
+        }
+        Files.move(temp, manifestFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static Map<String, String> sorted(Properties properties) {
+        Map<String, String> sorted = new TreeMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            sorted.put(name, properties.getProperty(name));
+        }
+        return sorted;
+    }
+
+    /** A contract to generate a wrapper for. */
+    public static class ContractInput {
+        private final File abiFile;
+        private final File binFile;
+        private final String contractName;
+
+        /**
+         * @param abiFile abi file with the contract definition
+         * @param binFile bin file with the compiled contract code, may be null
+         * @param contractName contract name
+         */
+        public ContractInput(File abiFile, File binFile, String contractName) {
+            this.abiFile = abiFile;
+            this.binFile = binFile;
+            this.contractName = contractName;
+        }
+
+        public File getAbiFile() {
+            return abiFile;
+        }
+
+        public File getBinFile() {
+            return binFile;
+        }
+
+        public String getContractName() {
+            return contractName;
+        }
+    }
+
+    /** Outcome of a bulk generation, by fully qualified wrapper class name. */
+    public static class Result {
+        private final List<String> generated = new ArrayList<>();
+        private final List<String> skipped = new ArrayList<>();
+        private final Map<String, Throwable> failed = new LinkedHashMap<>();
+
+        public List<String> getGenerated() {
+            return generated;
+        }
+
+        public List<String> getSkipped() {
+            return skipped;
+        }
+
+        public Map<String, Throwable> getFailed() {
+            return failed;
+        }
+    }
+
+    public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals(COMMAND_SOLIDITY)) {
+            args = tail(args);
+        }
+
+        if (args.length > 0 && args[0].equals(COMMAND_BULK)) {
+            args = tail(args);
+        }
+
+        CommandLine.run(new PicocliRunner(), args);
+    }
+
+    @Command(
+            name = COMMAND_PREFIX,
+            mixinStandardHelpOptions = true,
+            version = "4.0",
+            sortOptions = false)
+    private static class PicocliRunner implements Runnable {
+        @Option(
+                names = {"-i", "--inputDir"},
+                description = "directory searched for abi and bin files.",
+                required = true)
+        private File inputDir;
+
+        @Option(
+                names = {"-o", "--outputDir"},
+                description = "destination base directory.",
+                required = true)
+        private File destinationFileDir;
+
+        @Option(
+                names = {"-p", "--package"},
+                description = "base package name.",
+                required = true)
+        private String packageName;
+
+        @Option(
+                names = {"-al", "--addressLength"},
+                description = "address length in bytes (defaults to 20).",
+                required = false)
+        private int addressLength = Address.DEFAULT_LENGTH / Byte.SIZE;
+
+        @Option(
+                names = {"-jt", JAVA_TYPES_ARG},
+                description = "use native Java types.",
+                required = false,
+                showDefaultValue = ALWAYS)
+        private boolean javaTypes = true;
+
+        @Option(
+                names = {"-st", SOLIDITY_TYPES_ARG},
+                description = "use solidity types.",
+                required = false)
+        private boolean solidityTypes;
+
+        @Option(
+                names = {"-pt", PRIMITIVE_TYPES_ARG},
+                description = "use Java primitive types.",
+                required = false)
+        private boolean primitiveTypes = false;
+
+        @Option(
+                names = {"-dc", DIRECT_CODECS_ARG},
+                description = "generate specialized encoders and decoders.",
+                required = false)
+        private boolean directCodecs = false;
+
+        @Option(
+                names = {"-t", "--threads"},
+                description = "number of contracts generated concurrently.",
+                required = false)
+        private int threads = Runtime.getRuntime().availableProcessors();
+
+        @Option(
+                names = {"-f", "--force"},
+                description = "regenerate unchanged contracts.",
+                required = false)
+        private boolean force = false;
+
+        @Override
+        public void run() {
+            try {
+                Result result =
+                        new BulkWrapperGenerator(
+                                        findInputs(inputDir),
+                                        destinationFileDir,
+                                        packageName,
+                                        !solidityTypes,
+                                        primitiveTypes,
+                                        directCodecs,
+                                        addressLength,
+                                        threads,
+                                        force)
+                                .generate();
+
+                System.out.println(
+                        "Generated "
+                                + result.getGenerated().size()
+                                + ", unchanged "
+                                + result.getSkipped().size()
+                                + ", failed "
+                                + result.getFailed().size()
+                                + " wrappers in "
+                                + destinationFileDir);
+                for (Map.Entry<String, Throwable> failure : result.getFailed().entrySet()) {
+                    System.err.println(failure.getKey() + ": " + failure.getValue());
+                }
+                if (!result.getFailed().isEmpty()) {
+                    exitError("Failed to generate " + result.getFailed().size() + " wrappers");
+                }
+            } catch (Exception e) {
+                exitError(e);
+            }
+        }
+    }
+}
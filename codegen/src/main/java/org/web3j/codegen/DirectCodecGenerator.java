@@ -0,0 +1,309 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.codegen;
+
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+
+import org.web3j.abi.DirectCodec;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.crypto.Hash;
+import org.web3j.protocol.core.methods.response.AbiDefinition.NamedType;
+
+/**
+ * Generates straight-line calls to {@link DirectCodec} for functions and events whose layout is
+ * fully known at generation time.
+ *
+ * <p>Supported are the elementary types {@code address}, {@code bool}, {@code uintN}, {@code intN},
+ * {@code bytesN}, {@code bytes} and {@code string}, and structs made up only of static elementary
+ * types. Anything else is left to the generic encoders and decoders.
+ */
+final class DirectCodecGenerator {
+
+    static final String ENCODED_FUNCTION = "encodedFunction";
+    static final String OUTPUT = "output";
+
+    private static final String ENCODED = "encoded";
+    private static final String ENCODED_TAIL = "encodedTail";
+
+    private static final ClassName DIRECT_CODEC = ClassName.get(DirectCodec.class);
+
+    private static final Pattern INT_TYPE = Pattern.compile("(u?int)(\\d*)");
+    private static final Pattern BYTES_TYPE = Pattern.compile("bytes(\\d+)");
+
+    private final boolean useNativeJavaTypes;
+    private final Map<Integer, ClassName> structClassNameMap;
+
+    DirectCodecGenerator(boolean useNativeJavaTypes, Map<Integer, ClassName> structClassNameMap) {
+        this.useNativeJavaTypes = useNativeJavaTypes;
+        this.structClassNameMap = structClassNameMap;
+    }
+
+    /** Whether all the given function parameters can be encoded and decoded directly. */
+    boolean supports(List<NamedType> parameters) {
+        return parameters.stream().allMatch(this::supports);
+    }
+
+    /**
+     * Whether all the given event parameters can be decoded directly, indexed dynamic values are
+     * only available as their hash and are not supported.
+     */
+    boolean supportsEvent(List<NamedType> parameters) {
+        return parameters.stream()
+                .allMatch(
+                        p ->
+                                isElementary(p.getType())
+                                        && !(p.isIndexed() && isDynamic(p.getType())));
+    }
+
+    private boolean supports(NamedType parameter) {
+        if (parameter.getType().equals("tuple")) {
+            return structClassNameMap.containsKey(parameter.structIdentifier())
+                    && !parameter.getComponents().isEmpty()
+                    && parameter.getComponents().stream()
+                            .allMatch(c -> isElementary(c.getType()) && !isDynamic(c.getType()));
+        }
+        return isElementary(parameter.getType());
+    }
+
+    /** Canonical signature of a function or event, as used for its selector or topic. */
+    static String signature(String name, List<NamedType> parameters) {
+        return name
+                + "("
+                + parameters.stream()
+                        .map(DirectCodecGenerator::canonicalType)
+                        .collect(Collectors.joining(","))
+                + ")";
+    }
+
+    static String selector(String name, List<NamedType> parameters) {
+        return Hash.sha3String(signature(name, parameters)).substring(0, 10);
+    }
+
+    static String topic(String name, List<NamedType> parameters) {
+        return Hash.sha3String(signature(name, parameters));
+    }
+
+    private static String canonicalType(NamedType parameter) {
+        if (parameter.getType().equals("tuple")) {
+            return signature("", parameter.getComponents());
+        }
+        String type = trimStorageDeclaration(parameter.getType());
+        return type.equals("uint") || type.equals("int") ? type + Type.MAX_BIT_LENGTH : type;
+    }
+
+    /**
+     * Encode the selector and arguments of a function call into the local variable {@value
+     * #ENCODED_FUNCTION}.
+     *
+     * @param selector name of the selector constant
+     * @param inputs function parameters
+     * @param names names of the method parameters holding the arguments
+     * @return the encoding statements
+     */
+    CodeBlock buildEncoding(String selector, List<NamedType> inputs, List<String> names) {
+        int headWords = 0;
+        boolean dynamic = false;
+        for (NamedType input : inputs) {
+            headWords += headWords(input);
+            dynamic |= isDynamic(input.getType());
+        }
+
+        CodeBlock.Builder builder = CodeBlock.builder();
+        builder.addStatement(
+                "final $T $L = $T.start($N, $L)",
+                StringBuilder.class,
+                ENCODED,
+                DIRECT_CODEC,
+                selector,
+                headWords);
+        if (dynamic) {
+            builder.addStatement(
+                    "final $T $L = new $T()",
+                    StringBuilder.class,
+                    ENCODED_TAIL,
+                    StringBuilder.class);
+        }
+
+        String valueAccessor = useNativeJavaTypes ? "" : ".getValue()";
+        int headBytes = headWords * Type.MAX_BYTE_LENGTH;
+        for (int i = 0; i < inputs.size(); i++) {
+            NamedType input = inputs.get(i);
+            if (input.getType().equals("tuple")) {
+                for (NamedType component : input.getComponents()) {
+                    addEncoding(
+                            builder,
+                            component.getType(),
+                            names.get(i) + "." + component.getName() + valueAccessor,
+                            headBytes);
+                }
+            } else {
+                addEncoding(builder, input.getType(), names.get(i) + valueAccessor, headBytes);
+            }
+        }
+
+        builder.addStatement(
+                "final $T $L = $L$L.toString()",
+                String.class,
+                ENCODED_FUNCTION,
+                ENCODED,
+                dynamic ? ".append(" + ENCODED_TAIL + ")" : "");
+        return builder.build();
+    }
+
+    private static void addEncoding(
+            CodeBlock.Builder builder, String type, String value, int headBytes) {
+        String solidityType = trimStorageDeclaration(type);
+        Matcher intMatcher = INT_TYPE.matcher(solidityType);
+        Matcher bytesMatcher = BYTES_TYPE.matcher(solidityType);
+        if (solidityType.equals("address")) {
+            builder.addStatement("$T.encodeAddress($L, $L)", DIRECT_CODEC, ENCODED, value);
+        } else if (solidityType.equals("bool")) {
+            builder.addStatement("$T.encodeBool($L, $L)", DIRECT_CODEC, ENCODED, value);
+        } else if (intMatcher.matches()) {
+            builder.addStatement(
+                    "$T.$L($L, $L, $L)",
+                    DIRECT_CODEC,
+                    intMatcher.group(1).equals("uint") ? "encodeUint" : "encodeInt",
+                    ENCODED,
+                    value,
+                    bitSize(intMatcher));
+        } else if (bytesMatcher.matches()) {
+            builder.addStatement(
+                    "$T.encodeBytesN($L, $L, $L)",
+                    DIRECT_CODEC,
+                    ENCODED,
+                    value,
+                    bytesMatcher.group(1));
+        } else {
+            builder.addStatement(
+                    "$T.encodeOffset($L, $L, $L)", DIRECT_CODEC, ENCODED, headBytes, ENCODED_TAIL);
+            builder.addStatement(
+                    "$T.$L($L, $L)",
+                    DIRECT_CODEC,
+                    solidityType.equals("string") ? "encodeString" : "encodeBytes",
+                    ENCODED_TAIL,
+                    value);
+        }
+    }
+
+    /**
+     * Decode a value, or all fields of a struct, starting at the given word.
+     *
+     * @param parameter the type to decode
+     * @param source expression of the hex encoded data to decode from
+     * @param word index of the first word of the value
+     * @return expression of the decoded value, as a native or ABI type
+     */
+    CodeBlock buildDecoding(NamedType parameter, String source, int word)
+            throws ClassNotFoundException {
+        if (!parameter.getType().equals("tuple")) {
+            return buildElementaryDecoding(parameter.getType(), source, word);
+        }
+        CodeBlock.Builder builder =
+                CodeBlock.builder()
+                        .add("new $T(", structClassNameMap.get(parameter.structIdentifier()));
+        List<NamedType> components = parameter.getComponents();
+        for (int i = 0; i < components.size(); i++) {
+            builder.add(i > 0 ? ", " : "")
+                    .add(buildElementaryDecoding(components.get(i).getType(), source, word + i));
+        }
+        return builder.add(")").build();
+    }
+
+    private CodeBlock buildElementaryDecoding(String type, String source, int word)
+            throws ClassNotFoundException {
+        String solidityType = trimStorageDeclaration(type);
+        Matcher intMatcher = INT_TYPE.matcher(solidityType);
+        Matcher bytesMatcher = BYTES_TYPE.matcher(solidityType);
+
+        CodeBlock value;
+        if (solidityType.equals("address")) {
+            value = CodeBlock.of("$T.decodeAddress($L, $L)", DIRECT_CODEC, source, word);
+        } else if (solidityType.equals("bool")) {
+            value = CodeBlock.of("$T.decodeBool($L, $L)", DIRECT_CODEC, source, word);
+        } else if (intMatcher.matches()) {
+            value =
+                    CodeBlock.of(
+                            "$T.$L($L, $L, $L)",
+                            DIRECT_CODEC,
+                            intMatcher.group(1).equals("uint") ? "decodeUint" : "decodeInt",
+                            source,
+                            word,
+                            bitSize(intMatcher));
+        } else if (bytesMatcher.matches()) {
+            value =
+                    CodeBlock.of(
+                            "$T.decodeBytesN($L, $L, $L)",
+                            DIRECT_CODEC,
+                            source,
+                            word,
+                            bytesMatcher.group(1));
+        } else {
+            value =
+                    CodeBlock.of(
+                            "$T.$L($L, $L)",
+                            DIRECT_CODEC,
+                            solidityType.equals("string") ? "decodeString" : "decodeBytes",
+                            source,
+                            word);
+        }
+
+        if (useNativeJavaTypes) {
+            return value;
+        }
+        return CodeBlock.of("new $T($L)", SolidityFunctionWrapper.buildTypeName(type), value);
+    }
+
+    /** Number of head words taken by a parameter, static structs are encoded in place. */
+    static int headWords(NamedType parameter) {
+        return parameter.getType().equals("tuple") ? parameter.getComponents().size() : 1;
+    }
+
+    private static boolean isElementary(String type) {
+        String solidityType = trimStorageDeclaration(type);
+        Matcher intMatcher = INT_TYPE.matcher(solidityType);
+        Matcher bytesMatcher = BYTES_TYPE.matcher(solidityType);
+        if (intMatcher.matches()) {
+            int bitSize = bitSize(intMatcher);
+            return bitSize > 0 && bitSize <= Type.MAX_BIT_LENGTH && bitSize % 8 == 0;
+        } else if (bytesMatcher.matches()) {
+            int length = Integer.parseInt(bytesMatcher.group(1));
+            return length > 0 && length <= Type.MAX_BYTE_LENGTH;
+        }
+        return solidityType.equals("address")
+                || solidityType.equals("bool")
+                || solidityType.equals("bytes")
+                || solidityType.equals("string");
+    }
+
+    private static boolean isDynamic(String type) {
+        String solidityType = trimStorageDeclaration(type);
+        return solidityType.equals("bytes") || solidityType.equals("string");
+    }
+
+    private static int bitSize(Matcher intMatcher) {
+        String bits = intMatcher.group(2);
+        return bits.isEmpty() ? Type.MAX_BIT_LENGTH : Integer.parseInt(bits);
+    }
+
+    private static String trimStorageDeclaration(String type) {
+        return type.endsWith(" storage") || type.endsWith(" memory") ? type.split(" ")[0] : type;
+    }
+}
@@ -25,6 +25,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import javax.lang.model.SourceVersion;
@@ -46,6 +48,7 @@ import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.web3j.abi.DirectCodec;
 import org.web3j.abi.EventEncoder;
 import org.web3j.abi.FunctionEncoder;
 import org.web3j.abi.TypeReference;
@@ -68,6 +71,7 @@ import org.web3j.abi.datatypes.primitive.Short;
 import org.web3j.crypto.Credentials;
 import org.web3j.protocol.ObjectMapperFactory;
 import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
 import org.web3j.protocol.core.DefaultBlockParameter;
 import org.web3j.protocol.core.RemoteCall;
 import org.web3j.protocol.core.RemoteFunctionCall;
@@ -77,6 +81,7 @@ import org.web3j.protocol.core.methods.response.AbiDefinition.NamedType;
 import org.web3j.protocol.core.methods.response.BaseEventResponse;
 import org.web3j.protocol.core.methods.response.Log;
 import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.tx.BatchedCall;
 import org.web3j.tx.Contract;
 import org.web3j.tx.TransactionManager;
 import org.web3j.tx.gas.ContractGasProvider;
@@ -94,6 +99,7 @@ public class SolidityFunctionWrapper extends Generator {
     private static final String TRANSACTION_MANAGER = "transactionManager";
     private static final String INITIAL_VALUE = "initialWeiValue";
     private static final String CONTRACT_ADDRESS = "contractAddress";
+    private static final String BATCH_REQUEST = "batchRequest";
     private static final String GAS_PRICE = "gasPrice";
     private static final String GAS_LIMIT = "gasLimit";
     private static final String FILTER = "filter";
@@ -101,6 +107,7 @@ public class SolidityFunctionWrapper extends Generator {
     private static final String END_BLOCK = "endBlock";
     private static final String WEI_VALUE = "weiValue";
     private static final String FUNC_NAME_PREFIX = "FUNC_";
+    private static final String SELECTOR_PREFIX = "SELECTOR_";
     private static final String TYPE_FUNCTION = "function";
     private static final String TYPE_EVENT = "event";
     private static final String TYPE_CONSTRUCTOR = "constructor";
@@ -122,6 +129,7 @@ public class SolidityFunctionWrapper extends Generator {
     private final boolean useNativeJavaTypes;
     private final boolean useJavaPrimitiveTypes;
     private final boolean generateSendTxForCalls;
+    private final boolean generateDirectCodecs;
 
     private final int addressLength;
 
@@ -129,6 +137,12 @@ public class SolidityFunctionWrapper extends Generator {
 
     private final List<NamedType> structsNamedTypeList = new ArrayList<>();
 
+    private final DirectCodecGenerator directCodecs;
+
+    private final Map<String, FieldSpec> selectorConstants = new LinkedHashMap<>();
+
+    private final Map<String, TypeSpec> sharedStructTypes;
+
     private static final String regex = "(\\w+)(?:\\[(.*?)\\])(?:\\[(.*?)\\])?";
     private static final Pattern pattern = Pattern.compile(regex);
 
@@ -160,17 +174,88 @@ public class SolidityFunctionWrapper extends Generator {
                 new LogGenerationReporter(LOGGER));
     }
 
+    public SolidityFunctionWrapper(
+            boolean useNativeJavaTypes,
+            boolean useJavaPrimitiveTypes,
+            boolean generateSendTxForCalls,
+            boolean generateDirectCodecs,
+            int addressLength) {
+        this(
+                useNativeJavaTypes,
+                useJavaPrimitiveTypes,
+                generateSendTxForCalls,
+                generateDirectCodecs,
+                addressLength,
+                new LogGenerationReporter(LOGGER));
+    }
+
     public SolidityFunctionWrapper(
             boolean useNativeJavaTypes,
             boolean useJavaPrimitiveTypes,
             boolean generateSendTxForCalls,
             int addressLength,
             GenerationReporter reporter) {
+        this(
+                useNativeJavaTypes,
+                useJavaPrimitiveTypes,
+                generateSendTxForCalls,
+                false,
+                addressLength,
+                reporter);
+    }
+
+    /**
+     * Create a wrapper generator.
+     *
+     * @param useNativeJavaTypes use native Java types
+     * @param useJavaPrimitiveTypes use Java primitive types
+     * @param generateSendTxForCalls also generate transactions for constant functions
+     * @param generateDirectCodecs generate specialized encoding and decoding for functions and
+     *     events with elementary parameters and static structs, bypassing the generic, reflective
+     *     {@link FunctionEncoder} and {@link org.web3j.abi.FunctionReturnDecoder}; not applied with
+     *     Java primitive types or non-default address lengths
+     * @param addressLength address length
+     * @param reporter generation reporter
+     */
+    public SolidityFunctionWrapper(
+            boolean useNativeJavaTypes,
+            boolean useJavaPrimitiveTypes,
+            boolean generateSendTxForCalls,
+            boolean generateDirectCodecs,
+            int addressLength,
+            GenerationReporter reporter) {
+        this(
+                useNativeJavaTypes,
+                useJavaPrimitiveTypes,
+                generateSendTxForCalls,
+                generateDirectCodecs,
+                addressLength,
+                reporter,
+                null);
+    }
+
+    /**
+     * Create a wrapper generator sharing struct types with other generators.
+     *
+     * @param sharedStructTypes thread safe map of struct types, keyed by their definition, which
+     *     are reused instead of being rebuilt by each generator, may be null
+     */
+    SolidityFunctionWrapper(
+            boolean useNativeJavaTypes,
+            boolean useJavaPrimitiveTypes,
+            boolean generateSendTxForCalls,
+            boolean generateDirectCodecs,
+            int addressLength,
+            GenerationReporter reporter,
+            Map<String, TypeSpec> sharedStructTypes) {
         this.useNativeJavaTypes = useNativeJavaTypes;
         this.useJavaPrimitiveTypes = useJavaPrimitiveTypes;
         this.addressLength = addressLength;
         this.reporter = reporter;
         this.generateSendTxForCalls = generateSendTxForCalls;
+        this.generateDirectCodecs = generateDirectCodecs;
+        this.directCodecs = new DirectCodecGenerator(useNativeJavaTypes, structClassNameMap);
+        this.sharedStructTypes = sharedStructTypes;
     }
 
     public void generateJavaFiles(
@@ -218,6 +303,7 @@ public class SolidityFunctionWrapper extends Generator {
         classBuilder.addTypes(buildStructTypes(abi));
         buildStructsNamedTypesList(abi);
         classBuilder.addMethods(buildFunctionDefinitions(className, classBuilder, abi));
+        classBuilder.addFields(selectorConstants.values());
         classBuilder.addMethod(buildLoad(className, Credentials.class, CREDENTIALS, false));
         classBuilder.addMethod(
                 buildLoad(className, TransactionManager.class, TRANSACTION_MANAGER, false));
@@ -365,6 +451,10 @@ public class SolidityFunctionWrapper extends Generator {
         return eventName.toUpperCase() + "_EVENT";
     }
 
+    private String buildEventTopicName(String eventName) {
+        return buildEventDefinitionName(eventName) + "_TOPIC";
+    }
+
     private List<MethodSpec> buildFunctionDefinitions(
             String className,
             TypeSpec.Builder classBuilder,
@@ -399,83 +489,123 @@ public class SolidityFunctionWrapper extends Generator {
                 structName = internalType.substring(internalType.lastIndexOf(".") + 1);
             }
 
-            final TypeSpec.Builder builder =
-                    TypeSpec.classBuilder(structName)
-                            .addModifiers(Modifier.PUBLIC, Modifier.STATIC);
-
-            final MethodSpec.Builder constructorBuilder =
-                    MethodSpec.constructorBuilder()
-                            .addModifiers(Modifier.PUBLIC)
-                            .addStatement(
-                                    "super("
-                                            + buildStructConstructorParameterDefinition(
-                                                    namedType.getComponents(), useNativeJavaTypes)
-                                            + ")");
-
-            final MethodSpec.Builder nativeConstructorBuilder =
-                    MethodSpec.constructorBuilder()
-                            .addModifiers(Modifier.PUBLIC)
-                            .addStatement(
-                                    "super("
-                                            + buildStructConstructorParameterDefinition(
-                                                    namedType.getComponents(), false)
-                                            + ")");
-
-            for (AbiDefinition.NamedType component : namedType.getComponents()) {
-                if (component.getType().equals("tuple")) {
-                    final ClassName typeName = structClassNameMap.get(component.structIdentifier());
-                    builder.addField(typeName, component.getName(), Modifier.PUBLIC);
-                    constructorBuilder.addParameter(typeName, component.getName());
-                    nativeConstructorBuilder.addParameter(typeName, component.getName());
-
+            final TypeSpec struct;
+            if (sharedStructTypes != null) {
+                final String key = structTypeKey(namedType, structName);
+                final TypeSpec shared = sharedStructTypes.get(key);
+                if (shared != null) {
+                    struct = shared;
                 } else {
-                    final TypeName nativeTypeName =
-                            buildTypeName(component.getType(), useJavaPrimitiveTypes);
-                    final TypeName wrappedTypeName = getWrapperType(nativeTypeName);
-                    builder.addField(wrappedTypeName, component.getName(), Modifier.PUBLIC);
-                    constructorBuilder.addParameter(wrappedTypeName, component.getName());
-                    nativeConstructorBuilder.addParameter(nativeTypeName, component.getName());
+                    final TypeSpec built = buildStructType(namedType, structName);
+                    final TypeSpec existing = sharedStructTypes.putIfAbsent(key, built);
+                    struct = existing != null ? existing : built;
                 }
-                constructorBuilder.addStatement(
-                        "this." + component.getName() + " = " + component.getName());
-                nativeConstructorBuilder.addStatement(
-                        "this."
-                                + component.getName()
-                                + " = "
-                                + component.getName()
-                                + (useNativeJavaTypes
-                                                && structClassNameMap.keySet().stream()
-                                                        .noneMatch(
-                                                                i ->
-                                                                        i
-                                                                                == component
-                                                                                        .structIdentifier())
-                                        ? ".getValue()"
-                                        : ""));
-            }
-
-            builder.superclass(namedType.isDynamic() ? DynamicStruct.class : StaticStruct.class);
-            builder.addMethod(constructorBuilder.build());
-            if (useNativeJavaTypes
-                    && !namedType.getComponents().isEmpty()
-                    && namedType.getComponents().stream()
-                            .anyMatch(
-                                    component ->
-                                            structClassNameMap.keySet().stream()
-                                                    .noneMatch(
-                                                            i ->
-                                                                    i
-                                                                            == component
-                                                                                    .structIdentifier()))) {
-                builder.addMethod(nativeConstructorBuilder.build());
+            } else {
+                struct = buildStructType(namedType, structName);
             }
             structClassNameMap.put(namedType.structIdentifier(), ClassName.get("", structName));
-            structs.add(builder.build());
+            structs.add(struct);
             structCounter++;
         }
         return structs;
     }
 
+    private TypeSpec buildStructType(final NamedType namedType, final String structName)
+            throws ClassNotFoundException {
+        final TypeSpec.Builder builder =
+                TypeSpec.classBuilder(structName).addModifiers(Modifier.PUBLIC, Modifier.STATIC);
+
+        final MethodSpec.Builder constructorBuilder =
+                MethodSpec.constructorBuilder()
+                        .addModifiers(Modifier.PUBLIC)
+                        .addStatement(
+                                "super("
+                                        + buildStructConstructorParameterDefinition(
+                                                namedType.getComponents(), useNativeJavaTypes)
+                                        + ")");
+
+        final MethodSpec.Builder nativeConstructorBuilder =
+                MethodSpec.constructorBuilder()
+                        .addModifiers(Modifier.PUBLIC)
+                        .addStatement(
+                                "super("
+                                        + buildStructConstructorParameterDefinition(
+                                                namedType.getComponents(), false)
+                                        + ")");
+
+        for (AbiDefinition.NamedType component : namedType.getComponents()) {
+            if (component.getType().equals("tuple")) {
+                final ClassName typeName = structClassNameMap.get(component.structIdentifier());
+                builder.addField(typeName, component.getName(), Modifier.PUBLIC);
+                constructorBuilder.addParameter(typeName, component.getName());
+                nativeConstructorBuilder.addParameter(typeName, component.getName());
+
+            } else {
+                final TypeName nativeTypeName =
+                        buildTypeName(component.getType(), useJavaPrimitiveTypes);
+                final TypeName wrappedTypeName = getWrapperType(nativeTypeName);
+                builder.addField(wrappedTypeName, component.getName(), Modifier.PUBLIC);
+                constructorBuilder.addParameter(wrappedTypeName, component.getName());
+                nativeConstructorBuilder.addParameter(nativeTypeName, component.getName());
+            }
+            constructorBuilder.addStatement(
+                    "this." + component.getName() + " = " + component.getName());
+            nativeConstructorBuilder.addStatement(
+                    "this."
+                            + component.getName()
+                            + " = "
+                            + component.getName()
+                            + (useNativeJavaTypes
+                                            && structClassNameMap.keySet().stream()
+                                                    .noneMatch(
+                                                            i -> i == component.structIdentifier())
+                                    ? ".getValue()"
+                                    : ""));
+        }
+
+        builder.superclass(namedType.isDynamic() ? DynamicStruct.class : StaticStruct.class);
+        builder.addMethod(constructorBuilder.build());
+        if (useNativeJavaTypes
+                && !namedType.getComponents().isEmpty()
+                && namedType.getComponents().stream()
+                        .anyMatch(
+                                component ->
+                                        structClassNameMap.keySet().stream()
+                                                .noneMatch(
+                                                        i -> i == component.structIdentifier()))) {
+            builder.addMethod(nativeConstructorBuilder.build());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Key of a struct type, covering everything its generated class depends on: the generator's
+     * type options, the struct name, and the names, types and resolved struct classes of its
+     * components.
+     */
+    private String structTypeKey(final NamedType namedType, final String structName) {
+        final StringBuilder key = new StringBuilder();
+        key.append(useNativeJavaTypes)
+                .append(',')
+                .append(useJavaPrimitiveTypes)
+                .append(',')
+                .append(addressLength)
+                .append(',')
+                .append(namedType.isDynamic())
+                .append(',')
+                .append(structName)
+                .append('(');
+        for (final NamedType component : namedType.getComponents()) {
+            key.append(component.getType()).append(' ').append(component.getName());
+            final ClassName componentClass = structClassNameMap.get(component.structIdentifier());
+            if (componentClass != null) {
+                key.append(' ').append(componentClass.simpleName());
+            }
+            key.append(';');
+        }
+        return key.append(')').toString();
+    }
+
     private NamedType normalizeNamedType(NamedType namedType) {
         if (namedType.getType().endsWith("[]") && namedType.getInternalType().endsWith("[]")) {
             return new NamedType(
@@ -1303,14 +1433,28 @@ public class SolidityFunctionWrapper extends Generator {
         if (isFunctionDefinitionConstant) {
             // Avoid generating runtime exception call
             if (functionDefinition.hasOutputs()) {
-                buildConstantFunction(
-                        functionDefinition,
-                        methodBuilder,
-                        outputParameterTypes,
-                        inputParams,
-                        useUpperCase);
+                if (useDirectCodecs(functionDefinition)) {
+                    buildDirectConstantFunction(
+                            functionDefinition,
+                            methodBuilder,
+                            outputParameterTypes,
+                            inputParams,
+                            useUpperCase);
+                } else {
+                    buildConstantFunction(
+                            functionDefinition,
+                            methodBuilder,
+                            outputParameterTypes,
+                            inputParams,
+                            useUpperCase);
+                }
 
-                results.add(methodBuilder.build());
+                MethodSpec callMethod = methodBuilder.build();
+                results.add(callMethod);
+                if (generateDirectCodecs) {
+                    results.add(buildAsyncCallFunction(callMethod));
+                    results.add(buildBatchedCallFunction(callMethod));
+                }
             }
             if (generateSendTxForCalls) {
                 AbiDefinition sendFuncDefinition = new AbiDefinition(functionDefinition);
@@ -1320,13 +1464,64 @@ public class SolidityFunctionWrapper extends Generator {
         }
 
         if (!isFunctionDefinitionConstant) {
-            buildTransactionFunction(functionDefinition, methodBuilder, inputParams, useUpperCase);
+            if (useDirectCodecs(functionDefinition)) {
+                buildDirectTransactionFunction(
+                        functionDefinition, methodBuilder, inputParams, useUpperCase);
+            } else {
+                buildTransactionFunction(
+                        functionDefinition, methodBuilder, inputParams, useUpperCase);
+            }
             results.add(methodBuilder.build());
         }
 
         return results;
     }
 
+    /** Build the non-blocking variant of a constant function, named {@code <function>Async}. */
+    private MethodSpec buildAsyncCallFunction(MethodSpec callMethod) {
+        return MethodSpec.methodBuilder(callMethod.name + "Async")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameters(callMethod.parameters)
+                .returns(
+                        ParameterizedTypeName.get(
+                                ClassName.get(CompletableFuture.class), callResultType(callMethod)))
+                .addStatement(
+                        "return executeCallAsync($N($L))",
+                        callMethod.name,
+                        callArguments(callMethod))
+                .build();
+    }
+
+    /**
+     * Build the variant of a constant function adding the call to a batch, named {@code
+     * <function>Batched}.
+     */
+    private MethodSpec buildBatchedCallFunction(MethodSpec callMethod) {
+        return MethodSpec.methodBuilder(callMethod.name + "Batched")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(BatchRequest.class, BATCH_REQUEST)
+                .addParameters(callMethod.parameters)
+                .returns(
+                        ParameterizedTypeName.get(
+                                ClassName.get(BatchedCall.class), callResultType(callMethod)))
+                .addStatement(
+                        "return addToBatch($N, $N($L))",
+                        BATCH_REQUEST,
+                        callMethod.name,
+                        callArguments(callMethod))
+                .build();
+    }
+
+    private static TypeName callResultType(MethodSpec callMethod) {
+        return ((ParameterizedTypeName) callMethod.returnType).typeArguments.get(0);
+    }
+
+    private static String callArguments(MethodSpec callMethod) {
+        return callMethod.parameters.stream()
+                .map(parameter -> parameter.name)
+                .collect(Collectors.joining(", "));
+    }
+
     private void buildConstantFunction(
             AbiDefinition functionDefinition,
             MethodSpec.Builder methodBuilder,
@@ -1381,42 +1576,30 @@ public class SolidityFunctionWrapper extends Generator {
                     TypeName listType = ParameterizedTypeName.get(List.class, Type.class);
 
                     CodeBlock.Builder callCode = CodeBlock.builder();
-                    callCode.addStatement(
-                            "$T result = "
-                                    + "($T) executeCallSingleValueReturn(function, $T.class)",
-                            listType,
-                            listType,
-                            nativeReturnTypeName);
+                    if (generateDirectCodecs) {
+                        callCode.addStatement(
+                                "$T result = ($T) decodeSingleValueReturn(function, $T.class, $N)",
+                                listType,
+                                listType,
+                                nativeReturnTypeName,
+                                DirectCodecGenerator.OUTPUT);
+                    } else {
+                        callCode.addStatement(
+                                "$T result = "
+                                        + "($T) executeCallSingleValueReturn(function, $T.class)",
+                                listType,
+                                listType,
+                                nativeReturnTypeName);
+                    }
                     callCode.addStatement("return convertToNative(result)");
 
-                    TypeSpec callableType =
-                            TypeSpec.anonymousClassBuilder("")
-                                    .addSuperinterface(
-                                            ParameterizedTypeName.get(
-                                                    ClassName.get(Callable.class),
-                                                    nativeReturnTypeName))
-                                    .addMethod(
-                                            MethodSpec.methodBuilder("call")
-                                                    .addAnnotation(Override.class)
-                                                    .addAnnotation(
-                                                            AnnotationSpec.builder(
-                                                                            SuppressWarnings.class)
-                                                                    .addMember(
-                                                                            "value",
-                                                                            "$S",
-                                                                            "unchecked")
-                                                                    .build())
-                                                    .addModifiers(Modifier.PUBLIC)
-                                                    .addException(Exception.class)
-                                                    .returns(nativeReturnTypeName)
-                                                    .addCode(callCode.build())
-                                                    .build())
-                                    .build();
-
-                    methodBuilder.addStatement(
-                            "return new $T(function,\n$L)",
-                            buildRemoteFunctionCall(nativeReturnTypeName),
-                            callableType);
+                    addCallResult(
+                            methodBuilder,
+                            nativeReturnTypeName,
+                            callCode.build(),
+                            AnnotationSpec.builder(SuppressWarnings.class)
+                                    .addMember("value", "$S", "unchecked")
+                                    .build());
                 } else {
                     methodBuilder.addStatement(
                             "return executeRemoteCallSingleValueReturn(function, $T.class)",
@@ -1456,6 +1639,207 @@ public class SolidityFunctionWrapper extends Generator {
         }
     }
 
+    private boolean useDirectCodecs(AbiDefinition functionDefinition) {
+        return canUseDirectCodecs()
+                && directCodecs.supports(functionDefinition.getInputs())
+                && directCodecs.supports(functionDefinition.getOutputs());
+    }
+
+    private boolean useDirectEventCodecs(AbiDefinition eventDefinition) {
+        return canUseDirectCodecs() && directCodecs.supportsEvent(eventDefinition.getInputs());
+    }
+
+    private boolean canUseDirectCodecs() {
+        // the address length may be given in either bits or bytes
+        boolean defaultAddressLength =
+                addressLength == Address.DEFAULT_LENGTH
+                        || addressLength == Address.DEFAULT_LENGTH / java.lang.Byte.SIZE;
+        return generateDirectCodecs && !useJavaPrimitiveTypes && defaultAddressLength;
+    }
+
+    private void buildDirectConstantFunction(
+            AbiDefinition functionDefinition,
+            MethodSpec.Builder methodBuilder,
+            List<TypeName> outputParameterTypes,
+            String inputParams,
+            boolean useUpperCase)
+            throws ClassNotFoundException {
+
+        List<AbiDefinition.NamedType> outputs = functionDefinition.getOutputs();
+        List<TypeName> returnTypes = new ArrayList<>(outputs.size());
+        for (int i = 0; i < outputs.size(); i++) {
+            if (outputs.get(i).getType().equals("tuple")) {
+                returnTypes.add(structClassNameMap.get(outputs.get(i).structIdentifier()));
+            } else {
+                returnTypes.add(getWrapperType(outputParameterTypes.get(i)));
+            }
+        }
+
+        final TypeName returnType;
+        final CodeBlock decoding;
+        if (outputs.size() == 1) {
+            returnType = returnTypes.get(0);
+            decoding = directCodecs.buildDecoding(outputs.get(0), DirectCodecGenerator.OUTPUT, 0);
+        } else {
+            returnType =
+                    ParameterizedTypeName.get(
+                            ClassName.get(
+                                    "org.web3j.tuples.generated", "Tuple" + returnTypes.size()),
+                            returnTypes.toArray(new TypeName[0]));
+            CodeBlock.Builder tupleConstructor =
+                    CodeBlock.builder().add("new $T(", returnType).add("$>$>");
+            int word = 0;
+            for (int i = 0; i < outputs.size(); i++) {
+                tupleConstructor
+                        .add("\n")
+                        .add(
+                                directCodecs.buildDecoding(
+                                        outputs.get(i), DirectCodecGenerator.OUTPUT, word))
+                        .add(i < outputs.size() - 1 ? "," : ")");
+                word += DirectCodecGenerator.headWords(outputs.get(i));
+            }
+            decoding = tupleConstructor.add("$<$<").build();
+        }
+
+        methodBuilder.returns(buildRemoteFunctionCall(returnType));
+        methodBuilder.addCode(buildDirectEncoding(functionDefinition, useUpperCase));
+
+        List<Object> objects = new ArrayList<>();
+        objects.add(Function.class);
+        objects.add(funcNameToConst(functionDefinition.getName(), useUpperCase));
+        objects.add(Arrays.class);
+        objects.add(Type.class);
+        objects.add(inputParams);
+        objects.add(Arrays.class);
+        objects.add(TypeReference.class);
+        for (TypeName outputParameterType : outputParameterTypes) {
+            objects.add(TypeReference.class);
+            objects.add(outputParameterType);
+        }
+        CodeBlock function =
+                CodeBlock.of(
+                        "return new $T($N, \n$T.<$T>asList($L), \n$T.<$T<?>>asList("
+                                + Collection.join(
+                                        outputParameterTypes, ", ", typeName -> "new $T<$T>() {}")
+                                + "))",
+                        objects.toArray());
+
+        TypeSpec decoder =
+                TypeSpec.anonymousClassBuilder("")
+                        .addSuperinterface(
+                                ParameterizedTypeName.get(
+                                        ClassName.get(DirectCodec.Decoder.class), returnType))
+                        .addMethod(
+                                MethodSpec.methodBuilder("decode")
+                                        .addAnnotation(Override.class)
+                                        .addModifiers(Modifier.PUBLIC)
+                                        .addParameter(String.class, DirectCodecGenerator.OUTPUT)
+                                        .returns(returnType)
+                                        .addStatement("return $L", decoding)
+                                        .build())
+                        .build();
+
+        methodBuilder.addStatement(
+                "return executeRemoteCallDirect($L, \n$L, \n$L)",
+                DirectCodecGenerator.ENCODED_FUNCTION,
+                buildFunctionSupplier(function),
+                decoder);
+    }
+
+    private void buildDirectTransactionFunction(
+            AbiDefinition functionDefinition,
+            MethodSpec.Builder methodBuilder,
+            String inputParams,
+            boolean useUpperCase) {
+
+        if (functionDefinition.hasOutputs()) {
+            reporter.report(
+                    String.format(
+                            "Definition of the function %s returns a value but is not defined as a view function. "
+                                    + "Please ensure it contains the view modifier if you want to read the return value",
+                            functionDefinition.getName()));
+        }
+
+        if (functionDefinition.isPayable()) {
+            methodBuilder.addParameter(BigInteger.class, WEI_VALUE);
+        }
+
+        String funcNameConst = funcNameToConst(functionDefinition.getName(), useUpperCase);
+
+        methodBuilder.returns(buildRemoteFunctionCall(TypeName.get(TransactionReceipt.class)));
+        methodBuilder.addCode(buildDirectEncoding(functionDefinition, useUpperCase));
+
+        CodeBlock function =
+                CodeBlock.of(
+                        "return new $T(\n$N, \n$T.<$T>asList($L), \n$T.<$T<?>>emptyList())",
+                        Function.class,
+                        funcNameConst,
+                        Arrays.class,
+                        Type.class,
+                        inputParams,
+                        Collections.class,
+                        TypeReference.class);
+
+        if (functionDefinition.isPayable()) {
+            methodBuilder.addStatement(
+                    "return executeRemoteCallTransactionDirect($N, $L, \n$L, $N)",
+                    funcNameConst,
+                    DirectCodecGenerator.ENCODED_FUNCTION,
+                    buildFunctionSupplier(function),
+                    WEI_VALUE);
+        } else {
+            methodBuilder.addStatement(
+                    "return executeRemoteCallTransactionDirect($N, $L, \n$L)",
+                    funcNameConst,
+                    DirectCodecGenerator.ENCODED_FUNCTION,
+                    buildFunctionSupplier(function));
+        }
+    }
+
+    /**
+     * Encode a function call with a precomputed selector, which is declared as a constant of the
+     * wrapper.
+     */
+    private CodeBlock buildDirectEncoding(AbiDefinition functionDefinition, boolean useUpperCase) {
+        String functionName = functionDefinition.getName();
+        List<AbiDefinition.NamedType> inputs = functionDefinition.getInputs();
+        String selector = DirectCodecGenerator.selector(functionName, inputs);
+
+        // overloaded functions share their name, so are distinguished by selector
+        String selectorName =
+                useUpperCase
+                        ? SELECTOR_PREFIX + functionName.toUpperCase()
+                        : SELECTOR_PREFIX + functionName + "_" + selector.substring(2);
+        selectorConstants.computeIfAbsent(
+                selectorName,
+                name ->
+                        FieldSpec.builder(String.class, name)
+                                .addModifiers(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                                .initializer("$S", selector)
+                                .build());
+
+        List<String> names = new ArrayList<>(inputs.size());
+        for (int i = 0; i < inputs.size(); i++) {
+            names.add(createValidParamName(inputs.get(i).getName(), i));
+        }
+        return directCodecs.buildEncoding(selectorName, inputs, names);
+    }
+
+    private static TypeSpec buildFunctionSupplier(CodeBlock function) {
+        return TypeSpec.anonymousClassBuilder("")
+                .addSuperinterface(
+                        ParameterizedTypeName.get(
+                                ClassName.get(Supplier.class), ClassName.get(Function.class)))
+                .addMethod(
+                        MethodSpec.methodBuilder("get")
+                                .addAnnotation(Override.class)
+                                .addModifiers(Modifier.PUBLIC)
+                                .returns(Function.class)
+                                .addStatement("$L", function)
+                                .build())
+                .build();
+    }
+
     private static ParameterizedTypeName buildRemoteCall(TypeName typeName) {
         return ParameterizedTypeName.get(ClassName.get(RemoteCall.class), typeName);
     }
@@ -1602,6 +1986,11 @@ public class SolidityFunctionWrapper extends Generator {
     }
 
     MethodSpec buildDefaultEventFlowableFunction(String responseClassName, String functionName) {
+        return buildDefaultEventFlowableFunction(responseClassName, functionName, false);
+    }
+
+    private MethodSpec buildDefaultEventFlowableFunction(
+            String responseClassName, String functionName, boolean precomputedTopic) {
 
         String generatedFunctionName = Strings.lowercaseFirstLetter(functionName) + "EventFlowable";
         ParameterizedTypeName parameterizedTypeName =
@@ -1615,18 +2004,22 @@ public class SolidityFunctionWrapper extends Generator {
                         .addParameter(DefaultBlockParameter.class, END_BLOCK)
                         .returns(parameterizedTypeName);
 
-        flowableMethodBuilder
-                .addStatement(
-                        "$1T filter = new $1T($2L, $3L, " + "getContractAddress())",
-                        EthFilter.class,
-                        START_BLOCK,
-                        END_BLOCK)
-                .addStatement(
-                        "filter.addSingleTopic($T.encode("
-                                + buildEventDefinitionName(functionName)
-                                + "))",
-                        EventEncoder.class)
-                .addStatement("return " + generatedFunctionName + "(filter)");
+        flowableMethodBuilder.addStatement(
+                "$1T filter = new $1T($2L, $3L, " + "getContractAddress())",
+                EthFilter.class,
+                START_BLOCK,
+                END_BLOCK);
+        if (precomputedTopic) {
+            flowableMethodBuilder.addStatement(
+                    "filter.addSingleTopic($L)", buildEventTopicName(functionName));
+        } else {
+            flowableMethodBuilder.addStatement(
+                    "filter.addSingleTopic($T.encode("
+                            + buildEventDefinitionName(functionName)
+                            + "))",
+                    EventEncoder.class);
+        }
+        flowableMethodBuilder.addStatement("return " + generatedFunctionName + "(filter)");
 
         return flowableMethodBuilder.build();
     }
@@ -1674,6 +2067,111 @@ public class SolidityFunctionWrapper extends Generator {
         return transactionMethodBuilder.build();
     }
 
+    private MethodSpec buildDirectEventFromLogFunction(
+            String responseClassName,
+            String functionName,
+            List<NamedTypeName> indexedParameters,
+            List<NamedTypeName> nonIndexedParameters)
+            throws ClassNotFoundException {
+
+        ClassName responseType = ClassName.get("", responseClassName);
+        MethodSpec.Builder builder =
+                MethodSpec.methodBuilder(
+                                "get"
+                                        + Strings.capitaliseFirstLetter(functionName)
+                                        + "EventFromLog")
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .addParameter(Log.class, "log")
+                        .returns(responseType)
+                        .addStatement(
+                                "$T topics = log.getTopics()",
+                                ParameterizedTypeName.get(List.class, String.class))
+                        .beginControlFlow(
+                                "if (topics == null || topics.size() != $L "
+                                        + "|| !$L.equals(topics.get(0)))",
+                                indexedParameters.size() + 1,
+                                buildEventTopicName(functionName))
+                        .addStatement("return null")
+                        .endControlFlow()
+                        .addStatement("$1T typedResponse = new $1T()", responseType)
+                        .addStatement("typedResponse.log = log");
+
+        for (int i = 0; i < indexedParameters.size(); i++) {
+            builder.addStatement(
+                    "typedResponse.$L = $L",
+                    indexedParameters.get(i).getName(),
+                    directCodecs.buildDecoding(
+                            indexedParameters.get(i).namedType, "topics.get(" + (i + 1) + ")", 0));
+        }
+        if (!nonIndexedParameters.isEmpty()) {
+            builder.addStatement("$T data = log.getData()", String.class);
+        }
+        for (int i = 0; i < nonIndexedParameters.size(); i++) {
+            builder.addStatement(
+                    "typedResponse.$L = $L",
+                    nonIndexedParameters.get(i).getName(),
+                    directCodecs.buildDecoding(nonIndexedParameters.get(i).namedType, "data", i));
+        }
+        return builder.addStatement("return typedResponse").build();
+    }
+
+    private MethodSpec buildDirectEventTransactionReceiptFunction(
+            String responseClassName, String functionName) {
+
+        ClassName responseType = ClassName.get("", responseClassName);
+        return MethodSpec.methodBuilder(
+                        "get" + Strings.capitaliseFirstLetter(functionName) + "Events")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(TransactionReceipt.class, "transactionReceipt")
+                .returns(ParameterizedTypeName.get(ClassName.get(List.class), responseType))
+                .addStatement(
+                        "$1T responses = new $1T(transactionReceipt.getLogs().size())",
+                        ParameterizedTypeName.get(ClassName.get(ArrayList.class), responseType))
+                .beginControlFlow("for ($T log : transactionReceipt.getLogs())", Log.class)
+                .addStatement(
+                        "$T typedResponse = get$LEventFromLog(log)",
+                        responseType,
+                        Strings.capitaliseFirstLetter(functionName))
+                .beginControlFlow("if (typedResponse != null)")
+                .addStatement("responses.add(typedResponse)")
+                .endControlFlow()
+                .endControlFlow()
+                .addStatement("return responses")
+                .build();
+    }
+
+    private MethodSpec buildDirectEventFlowableFunction(
+            String responseClassName, String functionName) {
+
+        ClassName responseType = ClassName.get("", responseClassName);
+        TypeSpec converter =
+                TypeSpec.anonymousClassBuilder("")
+                        .addSuperinterface(
+                                ParameterizedTypeName.get(
+                                        ClassName.get(io.reactivex.functions.Function.class),
+                                        ClassName.get(Log.class),
+                                        responseType))
+                        .addMethod(
+                                MethodSpec.methodBuilder("apply")
+                                        .addAnnotation(Override.class)
+                                        .addModifiers(Modifier.PUBLIC)
+                                        .addParameter(Log.class, "log")
+                                        .returns(responseType)
+                                        .addStatement(
+                                                "return get$LEventFromLog(log)",
+                                                Strings.capitaliseFirstLetter(functionName))
+                                        .build())
+                        .build();
+
+        return MethodSpec.methodBuilder(
+                        Strings.lowercaseFirstLetter(functionName) + "EventFlowable")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(EthFilter.class, FILTER)
+                .returns(ParameterizedTypeName.get(ClassName.get(Flowable.class), responseType))
+                .addStatement("return web3j.ethLogFlowable(filter).map($L)", converter)
+                .build();
+    }
+
     List<MethodSpec> buildEventFunctions(
             AbiDefinition functionDefinition, TypeSpec.Builder classBuilder)
             throws ClassNotFoundException {
@@ -1711,6 +2209,25 @@ public class SolidityFunctionWrapper extends Generator {
                         responseClassName, indexedParameters, nonIndexedParameters));
 
         List<MethodSpec> methods = new ArrayList<>();
+        if (useDirectEventCodecs(functionDefinition)) {
+            classBuilder.addField(
+                    FieldSpec.builder(String.class, buildEventTopicName(functionName))
+                            .addModifiers(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                            .initializer("$S", DirectCodecGenerator.topic(functionName, inputs))
+                            .build());
+            methods.add(
+                    buildDirectEventFromLogFunction(
+                            responseClassName,
+                            functionName,
+                            indexedParameters,
+                            nonIndexedParameters));
+            methods.add(
+                    buildDirectEventTransactionReceiptFunction(responseClassName, functionName));
+            methods.add(buildDirectEventFlowableFunction(responseClassName, functionName));
+            methods.add(buildDefaultEventFlowableFunction(responseClassName, functionName, true));
+            return methods;
+        }
+
         methods.add(
                 buildEventTransactionReceiptFunction(
                         responseClassName, functionName, indexedParameters, nonIndexedParameters));
@@ -1872,12 +2389,17 @@ public class SolidityFunctionWrapper extends Generator {
         List<TypeName> typeArguments = tupleType.typeArguments;
 
         CodeBlock.Builder tupleConstructor = CodeBlock.builder();
-        tupleConstructor
-                .addStatement(
-                        "$T results = executeCallMultipleValueReturn(function)",
-                        ParameterizedTypeName.get(List.class, Type.class))
-                .add("return new $T(", tupleType)
-                .add("$>$>");
+        if (generateDirectCodecs) {
+            tupleConstructor.addStatement(
+                    "$T results = decodeMultipleValueReturn(function, $N)",
+                    ParameterizedTypeName.get(List.class, Type.class),
+                    DirectCodecGenerator.OUTPUT);
+        } else {
+            tupleConstructor.addStatement(
+                    "$T results = executeCallMultipleValueReturn(function)",
+                    ParameterizedTypeName.get(List.class, Type.class));
+        }
+        tupleConstructor.add("return new $T(", tupleType).add("$>$>");
 
         String resultStringNativeList = "\nconvertToNative(($T) results.get($L).getValue())";
 
@@ -1917,22 +2439,53 @@ public class SolidityFunctionWrapper extends Generator {
         }
         tupleConstructor.add("$<$<");
 
-        TypeSpec callableType =
+        addCallResult(methodBuilder, tupleType, tupleConstructor.build());
+    }
+
+    /**
+     * Return a remote function call producing its result with the given code. With direct codecs
+     * the code decodes the call output, so that the call can also be sent asynchronously or in a
+     * batch; otherwise it performs the call itself.
+     */
+    private void addCallResult(
+            MethodSpec.Builder methodBuilder,
+            TypeName resultType,
+            CodeBlock code,
+            AnnotationSpec... annotations) {
+        MethodSpec.Builder resultMethod =
+                MethodSpec.methodBuilder(generateDirectCodecs ? "decode" : "call")
+                        .addAnnotation(Override.class);
+        for (AnnotationSpec annotation : annotations) {
+            resultMethod.addAnnotation(annotation);
+        }
+        resultMethod.addModifiers(Modifier.PUBLIC);
+        if (generateDirectCodecs) {
+            resultMethod.addParameter(String.class, DirectCodecGenerator.OUTPUT);
+        } else {
+            resultMethod.addException(Exception.class);
+        }
+        resultMethod.returns(resultType).addCode(code);
+
+        TypeSpec resultProducer =
                 TypeSpec.anonymousClassBuilder("")
                         .addSuperinterface(
-                                ParameterizedTypeName.get(ClassName.get(Callable.class), tupleType))
-                        .addMethod(
-                                MethodSpec.methodBuilder("call")
-                                        .addAnnotation(Override.class)
-                                        .addModifiers(Modifier.PUBLIC)
-                                        .addException(Exception.class)
-                                        .returns(tupleType)
-                                        .addCode(tupleConstructor.build())
-                                        .build())
+                                ParameterizedTypeName.get(
+                                        ClassName.get(
+                                                generateDirectCodecs
+                                                        ? DirectCodec.Decoder.class
+                                                        : Callable.class),
+                                        resultType))
+                        .addMethod(resultMethod.build())
                         .build();
 
-        methodBuilder.addStatement(
-                "return new $T(function,\n$L)", buildRemoteFunctionCall(tupleType), callableType);
+        if (generateDirectCodecs) {
+            methodBuilder.addStatement("return executeRemoteCall(function,\n$L)", resultProducer);
+        } else {
+            methodBuilder.addStatement(
+                    "return new $T(function,\n$L)",
+                    buildRemoteFunctionCall(resultType),
+                    resultProducer);
+        }
     }
 
     private static CodeBlock buildVariableLengthEventInitializer(
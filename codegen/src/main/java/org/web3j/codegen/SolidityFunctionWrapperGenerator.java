@@ -54,6 +54,7 @@ public class SolidityFunctionWrapperGenerator extends FunctionWrapperGenerator {
      * -jt, --javaTypes       use native java types.
      * Default: true
      * -st, --solidityTypes   use solidity types.
+     * -dc, --directCodecs    generate specialized encoders and decoders.
      */
 
     private final File binFile;
@@ -65,6 +66,8 @@ public class SolidityFunctionWrapperGenerator extends FunctionWrapperGenerator {
 
     private final boolean generateSendTxForCalls;
 
+    private final boolean generateDirectCodecs;
+
     public SolidityFunctionWrapperGenerator(
             File binFile,
             File abiFile,
@@ -100,6 +103,33 @@ public class SolidityFunctionWrapperGenerator extends FunctionWrapperGenerator {
             Class<? extends Contract> contractClass,
             int addressLength) {
 
+        this(
+                binFile,
+                abiFile,
+                destinationDir,
+                contractName,
+                basePackageName,
+                useJavaNativeTypes,
+                useJavaPrimitiveTypes,
+                generateSendTxForCalls,
+                false,
+                contractClass,
+                addressLength);
+    }
+
+    protected SolidityFunctionWrapperGenerator(
+            File binFile,
+            File abiFile,
+            File destinationDir,
+            String contractName,
+            String basePackageName,
+            boolean useJavaNativeTypes,
+            boolean useJavaPrimitiveTypes,
+            boolean generateSendTxForCalls,
+            boolean generateDirectCodecs,
+            Class<? extends Contract> contractClass,
+            int addressLength) {
+
         super(
                 contractClass,
                 destinationDir,
@@ -112,6 +142,7 @@ public class SolidityFunctionWrapperGenerator extends FunctionWrapperGenerator {
         this.contractName = contractName;
         this.addressLength = addressLength;
         this.generateSendTxForCalls = generateSendTxForCalls;
+        this.generateDirectCodecs = generateDirectCodecs;
     }
 
     protected List<AbiDefinition> loadContractDefinition(File absFile) throws IOException {
@@ -137,6 +168,7 @@ public class SolidityFunctionWrapperGenerator extends FunctionWrapperGenerator {
                             useJavaNativeTypes,
                             useJavaPrimitiveTypes,
                             generateSendTxForCalls,
+                            generateDirectCodecs,
                             addressLength)
                     .generateJavaFiles(
                             contractClass,
@@ -228,6 +260,12 @@ public class SolidityFunctionWrapperGenerator extends FunctionWrapperGenerator {
                 required = false)
         private boolean primitiveTypes = false;
 
+        @Option(
+                names = {"-dc", DIRECT_CODECS_ARG},
+                description = "generate specialized encoders and decoders.",
+                required = false)
+        private boolean directCodecs = false;
+
         @Override
         public void run() {
             try {
@@ -247,6 +285,9 @@ public class SolidityFunctionWrapperGenerator extends FunctionWrapperGenerator {
                                 packageName,
                                 useJavaTypes,
                                 primitiveTypes,
+                                false,
+                                directCodecs,
+                                Contract.class,
                                 addressLength)
                         .generate();
             } catch (Exception e) {
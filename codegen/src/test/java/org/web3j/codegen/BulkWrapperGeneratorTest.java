@@ -0,0 +1,173 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.codegen;
+
+import java.io.File;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.TempFileProvider;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.codegen.BulkWrapperGenerator.ContractInput;
+import org.web3j.codegen.BulkWrapperGenerator.Result;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BulkWrapperGeneratorTest extends TempFileProvider {
+
+    private static final String PACKAGE = "org.web3j.unittests.bulk";
+
+    private String solidityBaseDir;
+
+    @Override
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+
+        URL url = BulkWrapperGeneratorTest.class.getResource("/solidity");
+        solidityBaseDir = url.getPath();
+    }
+
+    @Test
+    public void testFindInputs() throws Exception {
+        List<ContractInput> inputs =
+                BulkWrapperGenerator.findInputs(new File(solidityBaseDir, "greeter"));
+
+        assertEquals(2, inputs.size());
+        assertEquals("Greeter", inputs.get(0).getContractName());
+        assertEquals("Greeter.bin", inputs.get(0).getBinFile().getName());
+        assertEquals("Mortal", inputs.get(1).getContractName());
+    }
+
+    @Test
+    public void testUnchangedContractsAreSkipped() throws Exception {
+        File outputDir = new File(tempDirPath, "out");
+        List<ContractInput> inputs =
+                BulkWrapperGenerator.findInputs(new File(solidityBaseDir, "greeter"));
+
+        Result first = generator(inputs, outputDir, true).generate();
+        assertEquals(
+                Arrays.asList(PACKAGE + ".Greeter", PACKAGE + ".Mortal"), first.getGenerated());
+        assertTrue(first.getFailed().isEmpty());
+        assertTrue(new File(outputDir, BulkWrapperGenerator.MANIFEST_FILE).isFile());
+
+        Result second = generator(inputs, outputDir, true).generate();
+        assertTrue(second.getGenerated().isEmpty());
+        assertEquals(2, second.getSkipped().size());
+
+        assertTrue(wrapperFile(outputDir, "Mortal").delete());
+        Result third = generator(inputs, outputDir, true).generate();
+        assertEquals(Collections.singletonList(PACKAGE + ".Mortal"), third.getGenerated());
+        assertTrue(wrapperFile(outputDir, "Mortal").isFile());
+
+        Result changedOptions = generator(inputs, outputDir, false).generate();
+        assertEquals(2, changedOptions.getGenerated().size());
+    }
+
+    @Test
+    public void testChangedAbiIsRegenerated() throws Exception {
+        File inputDir = new File(tempDirPath, "in");
+        File outputDir = new File(tempDirPath, "out");
+        File abiFile = copy("greeter", "Greeter.abi", inputDir, "Greeter.abi");
+
+        List<ContractInput> inputs = BulkWrapperGenerator.findInputs(inputDir);
+        assertNull(inputs.get(0).getBinFile());
+        assertEquals(1, generator(inputs, outputDir, true).generate().getGenerated().size());
+        assertEquals(1, generator(inputs, outputDir, true).generate().getSkipped().size());
+
+        Files.copy(
+                new File(solidityBaseDir, "greeter/build/Mortal.abi").toPath(),
+                abiFile.toPath(),
+                StandardCopyOption.REPLACE_EXISTING);
+        assertEquals(1, generator(inputs, outputDir, true).generate().getGenerated().size());
+    }
+
+    @Test
+    public void testSharedStructs() throws Exception {
+        File inputDir = new File(tempDirPath, "in");
+        File outputDir = new File(tempDirPath, "out");
+        copy("complexstorage", "ComplexStorage.abi", inputDir, "First.abi");
+        copy("complexstorage", "ComplexStorage.abi", inputDir, "Second.abi");
+
+        Result result =
+                generator(BulkWrapperGenerator.findInputs(inputDir), outputDir, true).generate();
+
+        assertEquals(2, result.getGenerated().size());
+        String first = new String(Files.readAllBytes(wrapperFile(outputDir, "First").toPath()));
+        String second = new String(Files.readAllBytes(wrapperFile(outputDir, "Second").toPath()));
+        assertEquals(first.replace("First", "Second"), second);
+    }
+
+    @Test
+    public void testFailedContract() throws Exception {
+        File inputDir = new File(tempDirPath, "in");
+        File outputDir = new File(tempDirPath, "out");
+        copy("greeter", "Greeter.abi", inputDir, "Greeter.abi");
+        Files.write(new File(inputDir, "Broken.abi").toPath(), "{".getBytes());
+
+        Result result =
+                generator(BulkWrapperGenerator.findInputs(inputDir), outputDir, true).generate();
+
+        assertEquals(Collections.singletonList(PACKAGE + ".Greeter"), result.getGenerated());
+        assertEquals(1, result.getFailed().size());
+        assertTrue(result.getFailed().containsKey(PACKAGE + ".Broken"));
+    }
+
+    @Test
+    public void testDuplicateContractNames() {
+        ContractInput input = new ContractInput(new File("a/Greeter.abi"), null, "Greeter");
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> generator(Arrays.asList(input, input), new File(tempDirPath), true));
+    }
+
+    private BulkWrapperGenerator generator(
+            List<ContractInput> inputs, File outputDir, boolean useJavaNativeTypes) {
+        return new BulkWrapperGenerator(
+                inputs,
+                outputDir,
+                PACKAGE,
+                useJavaNativeTypes,
+                false,
+                false,
+                Address.DEFAULT_LENGTH / Byte.SIZE,
+                2,
+                false);
+    }
+
+    private File copy(String contract, String fileName, File targetDir, String targetName)
+            throws Exception {
+        Files.createDirectories(targetDir.toPath());
+        File target = new File(targetDir, targetName);
+        Files.copy(
+                new File(solidityBaseDir, contract + "/build/" + fileName).toPath(),
+                target.toPath(),
+                StandardCopyOption.REPLACE_EXISTING);
+        return target;
+    }
+
+    private static File wrapperFile(File outputDir, String className) {
+        return new File(
+                outputDir, (PACKAGE + "." + className).replace('.', File.separatorChar) + ".java");
+    }
+}
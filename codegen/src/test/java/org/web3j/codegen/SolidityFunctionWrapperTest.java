@@ -647,6 +647,95 @@ public class SolidityFunctionWrapperTest extends TempFileProvider {
         assertEquals(methodSpec.toString(), (expected));
     }
 
+    @Test
+    public void testBuildFunctionConstantDirectCodecs() throws Exception {
+        SolidityFunctionWrapper wrapper =
+                new SolidityFunctionWrapper(
+                        true, false, false, true, Address.DEFAULT_LENGTH, generationReporter);
+
+        AbiDefinition functionDefinition =
+                new AbiDefinition(
+                        true,
+                        Arrays.asList(
+                                new NamedType("param1", "address"),
+                                new NamedType("param2", "string")),
+                        "functionName",
+                        Arrays.asList(
+                                new NamedType("result1", "int8"),
+                                new NamedType("result2", "bytes")),
+                        "type",
+                        false);
+
+        MethodSpec methodSpec = wrapper.buildFunction(functionDefinition);
+
+        String expected =
+                "public org.web3j.protocol.core.RemoteFunctionCall<org.web3j.tuples.generated.Tuple2<java.math.BigInteger, byte[]>> functionName(java.lang.String param1, java.lang.String param2) {\n"
+                        + "  final java.lang.StringBuilder encoded = org.web3j.abi.DirectCodec.start(SELECTOR_FUNCTIONNAME, 2);\n"
+                        + "  final java.lang.StringBuilder encodedTail = new java.lang.StringBuilder();\n"
+                        + "  org.web3j.abi.DirectCodec.encodeAddress(encoded, param1);\n"
+                        + "  org.web3j.abi.DirectCodec.encodeOffset(encoded, 64, encodedTail);\n"
+                        + "  org.web3j.abi.DirectCodec.encodeString(encodedTail, param2);\n"
+                        + "  final java.lang.String encodedFunction = encoded.append(encodedTail).toString();\n"
+                        + "  return executeRemoteCallDirect(encodedFunction, \n"
+                        + "      new java.util.function.Supplier<org.web3j.abi.datatypes.Function>() {\n"
+                        + "        @java.lang.Override\n"
+                        + "        public org.web3j.abi.datatypes.Function get() {\n"
+                        + "          return new org.web3j.abi.datatypes.Function(FUNC_FUNCTIONNAME, \n"
+                        + "              java.util.Arrays.<org.web3j.abi.datatypes.Type>asList(new org.web3j.abi.datatypes.Address(param1), \n"
+                        + "              new org.web3j.abi.datatypes.Utf8String(param2)), \n"
+                        + "              java.util.Arrays.<org.web3j.abi.TypeReference<?>>asList(new org.web3j.abi.TypeReference<org.web3j.abi.datatypes.generated.Int8>() {}, new org.web3j.abi.TypeReference<org.web3j.abi.datatypes.DynamicBytes>() {}));\n"
+                        + "        }\n"
+                        + "      }, \n"
+                        + "      new org.web3j.abi.DirectCodec.Decoder<org.web3j.tuples.generated.Tuple2<java.math.BigInteger, byte[]>>() {\n"
+                        + "        @java.lang.Override\n"
+                        + "        public org.web3j.tuples.generated.Tuple2<java.math.BigInteger, byte[]> decode(java.lang.String output) {\n"
+                        + "          return new org.web3j.tuples.generated.Tuple2<java.math.BigInteger, byte[]>(\n"
+                        + "                  org.web3j.abi.DirectCodec.decodeInt(output, 0, 8),\n"
+                        + "                  org.web3j.abi.DirectCodec.decodeBytes(output, 1));\n"
+                        + "        }\n"
+                        + "      });\n"
+                        + "}\n";
+
+        assertEquals(methodSpec.toString(), (expected));
+    }
+
+    @Test
+    public void testBuildFunctionTransactionDirectCodecs() throws Exception {
+        SolidityFunctionWrapper wrapper =
+                new SolidityFunctionWrapper(
+                        false, false, false, true, Address.DEFAULT_LENGTH, generationReporter);
+
+        AbiDefinition functionDefinition =
+                new AbiDefinition(
+                        false,
+                        Arrays.asList(new NamedType("param", "uint8")),
+                        "functionName",
+                        Collections.emptyList(),
+                        "type",
+                        true);
+
+        MethodSpec methodSpec = wrapper.buildFunction(functionDefinition);
+
+        String expected =
+                "public org.web3j.protocol.core.RemoteFunctionCall<org.web3j.protocol.core.methods.response.TransactionReceipt> functionName(org.web3j.abi.datatypes.generated.Uint8 param, java.math.BigInteger weiValue) {\n"
+                        + "  final java.lang.StringBuilder encoded = org.web3j.abi.DirectCodec.start(SELECTOR_FUNCTIONNAME, 1);\n"
+                        + "  org.web3j.abi.DirectCodec.encodeUint(encoded, param.getValue(), 8);\n"
+                        + "  final java.lang.String encodedFunction = encoded.toString();\n"
+                        + "  return executeRemoteCallTransactionDirect(FUNC_FUNCTIONNAME, encodedFunction, \n"
+                        + "      new java.util.function.Supplier<org.web3j.abi.datatypes.Function>() {\n"
+                        + "        @java.lang.Override\n"
+                        + "        public org.web3j.abi.datatypes.Function get() {\n"
+                        + "          return new org.web3j.abi.datatypes.Function(\n"
+                        + "              FUNC_FUNCTIONNAME, \n"
+                        + "              java.util.Arrays.<org.web3j.abi.datatypes.Type>asList(param), \n"
+                        + "              java.util.Collections.<org.web3j.abi.TypeReference<?>>emptyList());\n"
+                        + "        }\n"
+                        + "      }, weiValue);\n"
+                        + "}\n";
+
+        assertEquals(methodSpec.toString(), (expected));
+    }
+
     @Test
     public void testBuildEventConstantMultipleValueReturn() throws Exception {
 
@@ -0,0 +1,355 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.crypto;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.web3j.utils.Numeric;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Loads and holds unlocked keystore credentials.
+ *
+ * <p>Keystore files are decrypted in parallel on a bounded pool. As a standard scrypt wallet needs
+ * 256 MiB for a single derivation, the number of concurrent derivations is further limited by a
+ * memory budget. Derived keys are kept, so unlocking the same file with the same password again
+ * skips the key derivation.
+ *
+ * <p>Unlocked credentials and derived keys are held in memory until {@link #lock(String)} or {@link
+ * #clear()} is called.
+ */
+public class KeystoreManager {
+
+    /** Receives progress of {@link #loadDirectory} calls, from the loading threads. */
+    public interface ProgressListener {
+
+        /**
+         * @param completed number of files processed so far
+         * @param total number of files being loaded
+         * @param file file which has just been processed
+         * @param error the failure if the file could not be loaded, null otherwise
+         */
+        void onProgress(int completed, int total, File file, Exception error);
+    }
+
+    private static final ObjectMapper objectMapper = WalletUtils.getObjectMapper();
+
+    private final int parallelism;
+    private final int memoryBudgetKib;
+    private final Semaphore kdfMemory;
+
+    private final Map<String, Credentials> credentials = new ConcurrentHashMap<>();
+    private final Map<String, DerivedKey> derivedKeys = new ConcurrentHashMap<>();
+
+    public KeystoreManager() {
+        this(Runtime.getRuntime().availableProcessors(), Runtime.getRuntime().maxMemory() / 2);
+    }
+
+    /**
+     * @param parallelism maximum number of files decrypted concurrently
+     * @param memoryBudget maximum memory in bytes used by concurrent scrypt derivations, a single
+     *     derivation exceeding the budget is run on its own
+     */
+    public KeystoreManager(int parallelism, long memoryBudget) {
+        if (parallelism <= 0 || memoryBudget <= 0) {
+            throw new IllegalArgumentException("Parallelism and memory budget must be positive");
+        }
+        this.parallelism = parallelism;
+        this.memoryBudgetKib = (int) Math.min(Integer.MAX_VALUE, Math.max(1, memoryBudget >> 10));
+        this.kdfMemory = new Semaphore(memoryBudgetKib, true);
+    }
+
+    /**
+     * Decrypt all keystore files of a directory with the same password.
+     *
+     * @see #loadDirectory(File, Function, ProgressListener)
+     */
+    public Result loadDirectory(File directory, String password, ProgressListener listener)
+            throws IOException {
+        return loadDirectory(directory, address -> password, listener);
+    }
+
+    /**
+     * Decrypt all keystore files of a directory in parallel. Files which cannot be read or
+     * decrypted are reported in the result, they do not stop the remaining files from loading.
+     *
+     * @param directory keystore directory, hidden files and sub-directories are ignored
+     * @param passwords password of each keystore, by its {@code 0x} prefixed lowercase address, a
+     *     null password skips the file
+     * @param listener progress listener, may be null
+     * @return the loaded credentials and failures
+     * @throws IOException if the directory cannot be listed
+     */
+    public Result loadDirectory(
+            File directory, Function<String, String> passwords, ProgressListener listener)
+            throws IOException {
+        File[] files = directory.listFiles(file -> file.isFile() && !file.isHidden());
+        if (files == null) {
+            throw new IOException("Unable to list keystore directory " + directory);
+        }
+        Arrays.sort(files);
+
+        Map<File, Future<Credentials>> futures = new LinkedHashMap<>();
+        AtomicInteger completed = new AtomicInteger();
+        ExecutorService executor =
+                Executors.newFixedThreadPool(Math.min(parallelism, Math.max(1, files.length)));
+        try {
+            for (File file : files) {
+                futures.put(
+                        file,
+                        executor.submit(
+                                () -> {
+                                    Credentials loaded = null;
+                                    Exception error = null;
+                                    try {
+                                        loaded = load(file, passwords);
+                                        return loaded;
+                                    } catch (Exception e) {
+                                        error = e;
+                                        throw e;
+                                    } catch (Error e) {
+                                        error = new ExecutionException(e);
+                                        throw e;
+                                    } finally {
+                                        if (listener != null) {
+                                            listener.onProgress(
+                                                    completed.incrementAndGet(),
+                                                    files.length,
+                                                    file,
+                                                    error);
+                                        }
+                                    }
+                                }));
+            }
+
+            List<Credentials> loaded = new ArrayList<>();
+            Map<File, Exception> failed = new LinkedHashMap<>();
+            for (Map.Entry<File, Future<Credentials>> entry : futures.entrySet()) {
+                try {
+                    Credentials result = entry.getValue().get();
+                    if (result != null) {
+                        loaded.add(result);
+                    }
+                } catch (ExecutionException e) {
+                    // errors are reported wrapped, as the failures of a result are exceptions
+                    Throwable cause = e.getCause();
+                    failed.put(entry.getKey(), cause instanceof Exception ? (Exception) cause : e);
+                }
+            }
+            return new Result(loaded, failed);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading keystore directory", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Unlock a keystore file, reusing the derived key of a previous unlock with the same password.
+     *
+     * @return the unlocked credentials, which are also available from {@link #getCredentials}
+     */
+    public Credentials unlock(File source, String password) throws IOException, CipherException {
+        return unlock(objectMapper.readValue(source, WalletFile.class), password);
+    }
+
+    /**
+     * Unlock a wallet file, reusing the derived key of a previous unlock with the same password.
+     *
+     * @return the unlocked credentials, which are also available from {@link #getCredentials}
+     * @throws CipherException if the password is invalid or the wallet is not supported
+     */
+    public Credentials unlock(WalletFile walletFile, String password) throws CipherException {
+        Wallet.validate(walletFile);
+
+        String cacheKey = cacheKey(walletFile, password);
+        DerivedKey derivedKey = derivedKeys.get(cacheKey);
+        byte[] key = derivedKey != null ? derivedKey.copy() : null;
+        if (key == null) {
+            key = deriveKey(walletFile, password);
+        }
+
+        try {
+            Credentials unlocked = Credentials.create(Wallet.decrypt(key, walletFile));
+            String address = unlocked.getAddress();
+            derivedKeys.putIfAbsent(cacheKey, new DerivedKey(address, key));
+            credentials.put(address, unlocked);
+            return unlocked;
+        } finally {
+            Arrays.fill(key, (byte) 0);
+        }
+    }
+
+    /**
+     * @param address account address, with or without {@code 0x} prefix
+     * @return the unlocked credentials of the address, or null if it is not unlocked
+     */
+    public Credentials getCredentials(String address) {
+        return credentials.get(normalise(address));
+    }
+
+    /** @return the unlocked addresses, in ascending order */
+    public Set<String> getAddresses() {
+        return Collections.unmodifiableSet(new TreeSet<>(credentials.keySet()));
+    }
+
+    /** Forget the credentials and derived keys of an address. */
+    public void lock(String address) {
+        String normalised = normalise(address);
+        credentials.remove(normalised);
+        derivedKeys
+                .entrySet()
+                .removeIf(
+                        entry -> {
+                            if (entry.getValue().address.equals(normalised)) {
+                                entry.getValue().destroy();
+                                return true;
+                            }
+                            return false;
+                        });
+    }
+
+    /** Forget all credentials and derived keys. */
+    public void clear() {
+        credentials.clear();
+        derivedKeys.values().forEach(DerivedKey::destroy);
+        derivedKeys.clear();
+    }
+
+    private Credentials load(File file, Function<String, String> passwords)
+            throws IOException, CipherException {
+        WalletFile walletFile = objectMapper.readValue(file, WalletFile.class);
+        if (walletFile.getAddress() == null) {
+            throw new CipherException("Keystore file has no address");
+        }
+        String password = passwords.apply(normalise(walletFile.getAddress()));
+        return password != null ? unlock(walletFile, password) : null;
+    }
+
+    private byte[] deriveKey(WalletFile walletFile, String password) throws CipherException {
+        int permits = (int) Math.min(memoryBudgetKib, kdfMemory(walletFile) >> 10);
+        if (permits == 0) {
+            return Wallet.deriveKey(password, walletFile);
+        }
+        kdfMemory.acquireUninterruptibly(permits);
+        try {
+            return Wallet.deriveKey(password, walletFile);
+        } finally {
+            kdfMemory.release(permits);
+        }
+    }
+
+    /** Memory used by the key derivation function, dominated by the scrypt {@code 128rN} block. */
+    static long kdfMemory(WalletFile walletFile) {
+        WalletFile.KdfParams kdfParams = walletFile.getCrypto().getKdfparams();
+        if (kdfParams instanceof WalletFile.ScryptKdfParams) {
+            WalletFile.ScryptKdfParams scrypt = (WalletFile.ScryptKdfParams) kdfParams;
+            return 128L * scrypt.getR() * ((long) scrypt.getN() + scrypt.getP());
+        }
+        return 0;
+    }
+
+    /**
+     * The derived key depends on the password and the key derivation parameters only, which are
+     * hashed together so that neither is kept in memory.
+     */
+    private static String cacheKey(WalletFile walletFile, String password) {
+        WalletFile.Crypto crypto = walletFile.getCrypto();
+        WalletFile.KdfParams kdfParams = crypto.getKdfparams();
+        StringBuilder builder =
+                new StringBuilder(crypto.getKdf())
+                        .append(':')
+                        .append(kdfParams.getDklen())
+                        .append(':')
+                        .append(Numeric.cleanHexPrefix(kdfParams.getSalt()).toLowerCase());
+        if (kdfParams instanceof WalletFile.ScryptKdfParams) {
+            WalletFile.ScryptKdfParams scrypt = (WalletFile.ScryptKdfParams) kdfParams;
+            builder.append(':')
+                    .append(scrypt.getN())
+                    .append(':')
+                    .append(scrypt.getR())
+                    .append(':')
+                    .append(scrypt.getP());
+        } else if (kdfParams instanceof WalletFile.Aes128CtrKdfParams) {
+            WalletFile.Aes128CtrKdfParams pbkdf2 = (WalletFile.Aes128CtrKdfParams) kdfParams;
+            builder.append(':').append(pbkdf2.getC()).append(':').append(pbkdf2.getPrf());
+        }
+        builder.append(':').append(password);
+        return Numeric.toHexStringNoPrefix(Hash.sha256(builder.toString().getBytes(UTF_8)));
+    }
+
+    private static String normalise(String address) {
+        return Numeric.prependHexPrefix(address).toLowerCase();
+    }
+
+    /** Credentials loaded from a directory, and the files which failed to load. */
+    public static class Result {
+        private final List<Credentials> loaded;
+        private final Map<File, Exception> failed;
+
+        Result(List<Credentials> loaded, Map<File, Exception> failed) {
+            this.loaded = Collections.unmodifiableList(loaded);
+            this.failed = Collections.unmodifiableMap(failed);
+        }
+
+        /** @return credentials in the order of their file names */
+        public List<Credentials> getLoaded() {
+            return loaded;
+        }
+
+        public Map<File, Exception> getFailed() {
+            return failed;
+        }
+    }
+
+    private static class DerivedKey {
+        private final String address;
+        private final byte[] key;
+        private boolean destroyed;
+
+        DerivedKey(String address, byte[] key) {
+            this.address = address;
+            this.key = key.clone();
+        }
+
+        synchronized byte[] copy() {
+            return destroyed ? null : key.clone();
+        }
+
+        synchronized void destroy() {
+            destroyed = true;
+            Arrays.fill(key, (byte) 0);
+        }
+    }
+}
@@ -43,6 +43,11 @@ public class WalletUtils {
         objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
     }
 
+    /** The object mapper used to read and write wallet files. */
+    static ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
     public static String generateFullNewWalletFile(String password, File destinationDirectory)
             throws NoSuchAlgorithmException, NoSuchProviderException,
                     InvalidAlgorithmParameterException, CipherException, IOException {
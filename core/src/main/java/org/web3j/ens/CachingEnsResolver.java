@@ -0,0 +1,549 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.ens;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.FunctionReturnDecoder;
+import org.web3j.abi.TypeReference;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Function;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.abi.datatypes.generated.Bytes32;
+import org.web3j.crypto.Keys;
+import org.web3j.crypto.WalletUtils;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.request.Transaction;
+import org.web3j.protocol.core.methods.response.EthCall;
+import org.web3j.utils.Numeric;
+
+/**
+ * {@link EnsResolver} caching its lookups.
+ *
+ * <p>Forward and reverse resolutions and resolver addresses are cached for a time to live, evicting
+ * the least recently used entries beyond a maximum size. The node sync check is only repeated after
+ * an interval, and the registry address is looked up once. Concurrent lookups of the same name
+ * share a single request.
+ *
+ * <p>{@link #resolveAll(Collection)} and {@link #reverseResolveAll(Collection)} resolve many names
+ * with two JSON-RPC batches, one for the missing resolver addresses and one for the records.
+ */
+public class CachingEnsResolver extends EnsResolver {
+
+    public static final long DEFAULT_TTL = TimeUnit.MINUTES.toMillis(5);
+    public static final int DEFAULT_MAX_ENTRIES = 10_000;
+    public static final long DEFAULT_SYNC_CHECK_INTERVAL = TimeUnit.SECONDS.toMillis(30);
+
+    private final Web3j web3j;
+    private final int addressLength;
+    private final long syncCheckInterval;
+    private final LongSupplier clock;
+
+    private final ExpiringCache addresses;
+    private final ExpiringCache names;
+    private final ExpiringCache resolvers;
+    private final Map<String, CompletableFuture<String>> pendingAddresses =
+            new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<String>> pendingNames = new ConcurrentHashMap<>();
+
+    private volatile String registryAddress;
+    private boolean synced;
+    private long syncCheckedAt;
+    private boolean syncChecked;
+
+    public CachingEnsResolver(Web3j web3j) {
+        this(web3j, DEFAULT_SYNC_THRESHOLD, Keys.ADDRESS_LENGTH_IN_HEX);
+    }
+
+    public CachingEnsResolver(Web3j web3j, long syncThreshold, int addressLength) {
+        this(
+                web3j,
+                syncThreshold,
+                addressLength,
+                DEFAULT_TTL,
+                DEFAULT_MAX_ENTRIES,
+                DEFAULT_SYNC_CHECK_INTERVAL);
+    }
+
+    /**
+     * @param web3j web3j instance
+     * @param syncThreshold maximum age in milliseconds of the latest block of a synced node
+     * @param addressLength address length in hex characters
+     * @param ttl time to live in milliseconds of cached lookups
+     * @param maxEntries maximum number of entries of each cache
+     * @param syncCheckInterval time in milliseconds a sync check result is reused for
+     */
+    public CachingEnsResolver(
+            Web3j web3j,
+            long syncThreshold,
+            int addressLength,
+            long ttl,
+            int maxEntries,
+            long syncCheckInterval) {
+        this(
+                web3j,
+                syncThreshold,
+                addressLength,
+                ttl,
+                maxEntries,
+                syncCheckInterval,
+                System::currentTimeMillis);
+    }
+
+    CachingEnsResolver(
+            Web3j web3j,
+            long syncThreshold,
+            int addressLength,
+            long ttl,
+            int maxEntries,
+            long syncCheckInterval,
+            LongSupplier clock) {
+        super(web3j, syncThreshold, addressLength);
+        this.web3j = web3j;
+        this.addressLength = addressLength;
+        this.syncCheckInterval = syncCheckInterval;
+        this.clock = clock;
+        this.addresses = new ExpiringCache(ttl, maxEntries, clock);
+        this.names = new ExpiringCache(ttl, maxEntries, clock);
+        this.resolvers = new ExpiringCache(ttl, maxEntries, clock);
+    }
+
+    @Override
+    public String resolve(String contractId) {
+        if (!isValidEnsName(contractId, addressLength)) {
+            return contractId;
+        }
+        String address = addresses.get(contractId);
+        if (address != null) {
+            return address;
+        }
+        address =
+                lookupOnce(
+                        pendingAddresses,
+                        contractId,
+                        () -> {
+                            String resolved = super.resolve(contractId);
+                            addresses.put(contractId, resolved);
+                            return resolved;
+                        });
+        if (address == null) {
+            throw new RuntimeException("Unable to resolve address for name: " + contractId);
+        }
+        return address;
+    }
+
+    @Override
+    public String reverseResolve(String address) {
+        String key = reverseKey(address);
+        String name = names.get(key);
+        if (name != null) {
+            return name;
+        }
+        name =
+                lookupOnce(
+                        pendingNames,
+                        key,
+                        () -> {
+                            String resolved = super.reverseResolve(address);
+                            names.put(key, resolved);
+                            return resolved;
+                        });
+        if (name == null) {
+            throw new RuntimeException("Unable to resolve name for address: " + address);
+        }
+        return name;
+    }
+
+    /**
+     * Resolve the addresses of many names, looking up those which are not cached in batches.
+     *
+     * @param ensNames ENS names, addresses are returned as is
+     * @return address by name, in the order of the given names, names without a valid address
+     *     record are absent
+     * @throws EnsResolutionException if the node is not synced
+     */
+    public Map<String, String> resolveAll(Collection<String> ensNames) {
+        List<String> lookups = new ArrayList<>();
+        for (String ensName : ensNames) {
+            if (isValidEnsName(ensName, addressLength)) {
+                lookups.add(ensName);
+            }
+        }
+        Map<String, String> resolved = lookupAll(lookups, false);
+
+        Map<String, String> result = new LinkedHashMap<>();
+        for (String ensName : ensNames) {
+            String address =
+                    isValidEnsName(ensName, addressLength) ? resolved.get(ensName) : ensName;
+            if (address != null) {
+                result.put(ensName, address);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Reverse resolve the names of many addresses, looking up those which are not cached in
+     * batches.
+     *
+     * @param addresses addresses
+     * @return name by address, in the order of the given addresses, addresses without a valid name
+     *     record are absent
+     * @throws EnsResolutionException if an address is invalid or the node is not synced
+     */
+    public Map<String, String> reverseResolveAll(Collection<String> addresses) {
+        List<String> lookups = new ArrayList<>();
+        for (String address : addresses) {
+            lookups.add(reverseKey(address));
+        }
+        Map<String, String> resolved = lookupAll(lookups, true);
+
+        Map<String, String> result = new LinkedHashMap<>();
+        for (String address : addresses) {
+            String name = resolved.get(reverseKey(address));
+            if (name != null) {
+                result.put(address, name);
+            }
+        }
+        return result;
+    }
+
+    /** Forget all cached lookups and the sync check result. */
+    public void clearCache() {
+        addresses.clear();
+        names.clear();
+        resolvers.clear();
+        synchronized (this) {
+            syncChecked = false;
+        }
+    }
+
+    @Override
+    boolean isSynced() throws Exception {
+        synchronized (this) {
+            if (syncChecked && clock.getAsLong() - syncCheckedAt < syncCheckInterval) {
+                return synced;
+            }
+        }
+        boolean result = super.isSynced();
+        synchronized (this) {
+            synced = result;
+            syncCheckedAt = clock.getAsLong();
+            syncChecked = true;
+        }
+        return result;
+    }
+
+    @Override
+    protected String lookupResolverAddress(String ensName) throws Exception {
+        String resolver = resolvers.get(ensName);
+        if (resolver == null) {
+            resolver = super.lookupResolverAddress(ensName);
+            resolvers.put(ensName, resolver);
+        }
+        return resolver;
+    }
+
+    @Override
+    protected String lookupRegistryAddress() throws Exception {
+        String registry = registryAddress;
+        if (registry == null) {
+            registry = super.lookupRegistryAddress();
+            registryAddress = registry;
+        }
+        return registry;
+    }
+
+    private Map<String, String> lookupAll(List<String> keys, boolean reverse) {
+        ExpiringCache cache = reverse ? names : addresses;
+        Map<String, CompletableFuture<String>> pending = reverse ? pendingNames : pendingAddresses;
+        Map<String, String> result = new LinkedHashMap<>();
+        Map<String, CompletableFuture<String>> owned = new LinkedHashMap<>();
+        Map<String, CompletableFuture<String>> joined = new LinkedHashMap<>();
+        for (String key : keys) {
+            String value = cache.get(key);
+            if (value != null) {
+                result.put(key, value);
+            } else if (!owned.containsKey(key) && !joined.containsKey(key)) {
+                CompletableFuture<String> future = new CompletableFuture<>();
+                CompletableFuture<String> existing = pending.putIfAbsent(key, future);
+                if (existing == null) {
+                    owned.put(key, future);
+                } else {
+                    joined.put(key, existing);
+                }
+            }
+        }
+
+        if (!owned.isEmpty()) {
+            try {
+                Map<String, String> resolved =
+                        lookupRecords(new ArrayList<>(owned.keySet()), reverse);
+                for (Map.Entry<String, CompletableFuture<String>> entry : owned.entrySet()) {
+                    String value = resolved.get(entry.getKey());
+                    if (value != null) {
+                        cache.put(entry.getKey(), value);
+                        result.put(entry.getKey(), value);
+                    }
+                    entry.getValue().complete(value);
+                }
+            } catch (RuntimeException e) {
+                owned.values().forEach(future -> future.completeExceptionally(e));
+                throw e;
+            } finally {
+                owned.forEach(pending::remove);
+            }
+        }
+
+        for (Map.Entry<String, CompletableFuture<String>> entry : joined.entrySet()) {
+            try {
+                String value = entry.getValue().join();
+                if (value != null) {
+                    result.put(entry.getKey(), value);
+                }
+            } catch (CompletionException e) {
+                // the concurrent lookup failed, leave the name unresolved
+            }
+        }
+        return result;
+    }
+
+    private Map<String, String> lookupRecords(List<String> keys, boolean reverse) {
+        try {
+            if (!isSynced()) {
+                throw new EnsResolutionException("Node is not currently synced");
+            }
+        } catch (EnsResolutionException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new EnsResolutionException("Unable to determine sync status of node", e);
+        }
+
+        try {
+            List<byte[]> nameHashes = new ArrayList<>(keys.size());
+            List<String> resolverAddresses = new ArrayList<>(keys.size());
+            List<Integer> missing = new ArrayList<>();
+            List<String> ensNames = new ArrayList<>(keys.size());
+            for (String key : keys) {
+                String name = reverse ? key + REVERSE_NAME_SUFFIX : key;
+                ensNames.add(name);
+                nameHashes.add(NameHash.nameHashAsBytes(name));
+                String resolver = resolvers.get(name);
+                if (resolver == null) {
+                    missing.add(resolverAddresses.size());
+                }
+                resolverAddresses.add(resolver);
+            }
+
+            if (!missing.isEmpty()) {
+                String registry = lookupRegistryAddress();
+                List<String> contracts = new ArrayList<>(missing.size());
+                List<Function> functions = new ArrayList<>(missing.size());
+                for (int index : missing) {
+                    contracts.add(registry);
+                    functions.add(resolverFunction(nameHashes.get(index)));
+                }
+                List<String> results = callAll(contracts, functions);
+                for (int i = 0; i < missing.size(); i++) {
+                    int index = missing.get(i);
+                    String resolver = results.get(i);
+                    if (resolver != null) {
+                        resolvers.put(ensNames.get(index), resolver);
+                    }
+                    resolverAddresses.set(index, resolver);
+                }
+            }
+
+            List<Integer> queried = new ArrayList<>();
+            List<String> contracts = new ArrayList<>();
+            List<Function> functions = new ArrayList<>();
+            for (int i = 0; i < keys.size(); i++) {
+                String resolver = resolverAddresses.get(i);
+                if (resolver != null && Numeric.toBigInt(resolver).signum() != 0) {
+                    queried.add(i);
+                    contracts.add(resolver);
+                    functions.add(
+                            reverse
+                                    ? nameFunction(nameHashes.get(i))
+                                    : addrFunction(nameHashes.get(i)));
+                }
+            }
+            List<String> records = callAll(contracts, functions);
+
+            Map<String, String> result = new LinkedHashMap<>();
+            for (int i = 0; i < queried.size(); i++) {
+                String record = records.get(i);
+                if (record != null
+                        && (reverse
+                                ? isValidEnsName(record, addressLength)
+                                : WalletUtils.isValidAddress(record))) {
+                    result.put(keys.get(queried.get(i)), record);
+                }
+            }
+            return result;
+        } catch (EnsResolutionException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Unable to execute Ethereum request", e);
+        }
+    }
+
+    /** Send calls as a single batch, returns the first return value of each, or null. */
+    private List<String> callAll(List<String> contracts, List<Function> functions)
+            throws IOException {
+        if (contracts.isEmpty()) {
+            return Collections.emptyList();
+        }
+        BatchRequest batch = web3j.newBatch();
+        for (int i = 0; i < contracts.size(); i++) {
+            batch.add(
+                    web3j.ethCall(
+                            Transaction.createEthCallTransaction(
+                                    null,
+                                    contracts.get(i),
+                                    FunctionEncoder.encode(functions.get(i))),
+                            DefaultBlockParameterName.LATEST));
+        }
+        List<? extends Response<?>> responses = batch.send().getResponses();
+
+        List<String> results = new ArrayList<>(contracts.size());
+        for (int i = 0; i < contracts.size(); i++) {
+            EthCall ethCall = (EthCall) responses.get(i);
+            List<Type> values =
+                    ethCall.isReverted()
+                            ? Collections.emptyList()
+                            : FunctionReturnDecoder.decode(
+                                    ethCall.getValue(), functions.get(i).getOutputParameters());
+            results.add(values.isEmpty() ? null : values.get(0).getValue().toString());
+        }
+        return results;
+    }
+
+    private String reverseKey(String address) {
+        if (!WalletUtils.isValidAddress(address, addressLength)) {
+            throw new EnsResolutionException("Address is invalid: " + address);
+        }
+        return Numeric.cleanHexPrefix(address).toLowerCase();
+    }
+
+    private static String lookupOnce(
+            Map<String, CompletableFuture<String>> pending, String key, Supplier<String> lookup) {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        CompletableFuture<String> existing = pending.putIfAbsent(key, future);
+        if (existing != null) {
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException
+                        ? (RuntimeException) e.getCause()
+                        : e;
+            }
+        }
+        try {
+            String value = lookup.get();
+            future.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            pending.remove(key, future);
+        }
+    }
+
+    private static Function resolverFunction(byte[] nameHash) {
+        return new Function(
+                "resolver",
+                Collections.singletonList(new Bytes32(nameHash)),
+                Collections.singletonList(new TypeReference<Address>() {}));
+    }
+
+    private static Function addrFunction(byte[] nameHash) {
+        return new Function(
+                "addr",
+                Collections.singletonList(new Bytes32(nameHash)),
+                Collections.singletonList(new TypeReference<Address>() {}));
+    }
+
+    private static Function nameFunction(byte[] nameHash) {
+        return new Function(
+                "name",
+                Collections.singletonList(new Bytes32(nameHash)),
+                Collections.singletonList(new TypeReference<Utf8String>() {}));
+    }
+
+    /** Time to live cache, evicting the least recently used entries beyond its maximum size. */
+    private static class ExpiringCache {
+        private final long ttl;
+        private final LongSupplier clock;
+        private final Map<String, CachedValue> entries;
+
+        ExpiringCache(long ttl, int maxEntries, LongSupplier clock) {
+            this.ttl = ttl;
+            this.clock = clock;
+            this.entries =
+                    new LinkedHashMap<String, CachedValue>(16, 0.75f, true) {
+                        @Override
+                        protected boolean removeEldestEntry(Map.Entry<String, CachedValue> eldest) {
+                            return size() > maxEntries;
+                        }
+                    };
+        }
+
+        synchronized String get(String key) {
+            CachedValue entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            } else if (clock.getAsLong() >= entry.expiresAt) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.value;
+        }
+
+        synchronized void put(String key, String value) {
+            entries.put(key, new CachedValue(value, clock.getAsLong() + ttl));
+        }
+
+        synchronized void clear() {
+            entries.clear();
+        }
+
+        private static class CachedValue {
+            private final String value;
+            private final long expiresAt;
+
+            CachedValue(String value, long expiresAt) {
+                this.value = value;
+                this.expiresAt = expiresAt;
+            }
+        }
+    }
+}
@@ -136,17 +136,41 @@ public class EnsResolver {
     }
 
     private PublicResolver lookupResolver(String ensName) throws Exception {
-        NetVersion netVersion = web3j.netVersion().send();
-        String registryContract = Contracts.resolveRegistryContract(netVersion.getNetVersion());
+        return PublicResolver.load(
+                lookupResolverAddress(ensName),
+                web3j,
+                transactionManager,
+                new DefaultGasProvider());
+    }
 
+    /**
+     * Look up the address of the resolver contract of a name in the ENS registry.
+     *
+     * @param ensName ENS name
+     * @return the resolver address
+     * @throws Exception if the registry cannot be queried
+     */
+    protected String lookupResolverAddress(String ensName) throws Exception {
         ENS ensRegistry =
-                ENS.load(registryContract, web3j, transactionManager, new DefaultGasProvider());
+                ENS.load(
+                        lookupRegistryAddress(),
+                        web3j,
+                        transactionManager,
+                        new DefaultGasProvider());
 
         byte[] nameHash = NameHash.nameHashAsBytes(ensName);
-        String resolverAddress = ensRegistry.resolver(nameHash).send();
+        return ensRegistry.resolver(nameHash).send();
+    }
 
-        return PublicResolver.load(
-                resolverAddress, web3j, transactionManager, new DefaultGasProvider());
+    /**
+     * Look up the address of the ENS registry of the connected network.
+     *
+     * @return the registry address
+     * @throws Exception if the network version cannot be retrieved
+     */
+    protected String lookupRegistryAddress() throws Exception {
+        NetVersion netVersion = web3j.netVersion().send();
+        return Contracts.resolveRegistryContract(netVersion.getNetVersion());
     }
 
     boolean isSynced() throws Exception {
@@ -23,6 +23,7 @@ import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 
 import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.compact.CompactResponseModule;
 import org.web3j.protocol.deserializer.RawResponseDeserializer;
 
 /** Factory for managing our ObjectMapper instances. */
@@ -30,6 +31,8 @@ public class ObjectMapperFactory {
 
     private static final ObjectMapper DEFAULT_OBJECT_MAPPER = new ObjectMapper();
 
+    private static volatile ObjectMapper compactObjectMapper;
+
     static {
         configureObjectMapper(DEFAULT_OBJECT_MAPPER, false);
     }
@@ -46,6 +49,36 @@ public class ObjectMapperFactory {
         return configureObjectMapper(new ObjectMapper(), true);
     }
 
+    /**
+     * Get an object mapper, optionally deserializing blocks, transactions, receipts and logs into
+     * their compact representations.
+     *
+     * @param shouldIncludeRawResponses whether the raw response should be retained
+     * @param compactResponses whether the {@link CompactResponseModule} should be registered
+     * @return the object mapper
+     */
+    public static ObjectMapper getObjectMapper(
+            boolean shouldIncludeRawResponses, boolean compactResponses) {
+        if (!compactResponses) {
+            return getObjectMapper(shouldIncludeRawResponses);
+        }
+        if (shouldIncludeRawResponses) {
+            return configureObjectMapper(new ObjectMapper(), true)
+                    .registerModule(new CompactResponseModule());
+        }
+
+        if (compactObjectMapper == null) {
+            synchronized (ObjectMapperFactory.class) {
+                if (compactObjectMapper == null) {
+                    compactObjectMapper =
+                            configureObjectMapper(new ObjectMapper(), false)
+                                    .registerModule(new CompactResponseModule());
+                }
+            }
+        }
+        return compactObjectMapper;
+    }
+
     public static ObjectReader getObjectReader() {
         return DEFAULT_OBJECT_MAPPER.reader();
     }
@@ -0,0 +1,318 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+
+/**
+ * Metrics of a single JSON-RPC request or batch, reported to a {@link ServiceInstrumentation}.
+ *
+ * <p>The latency of a request is split into the time taken to serialize it, the time until the
+ * response was received, including any queueing within the transport, and the time taken to parse
+ * the response. When a response is parsed as it is streamed from the connection, reading its body
+ * counts as parsing.
+ */
+public final class RequestMetrics {
+
+    /** Method reported for batch requests. */
+    public static final String BATCH_METHOD = "batch";
+
+    private static final long UNKNOWN = -1;
+
+    /** Shared metrics of requests performed without instrumentation, nothing is recorded. */
+    private static final RequestMetrics DISABLED =
+            new RequestMetrics(ServiceInstrumentation.NONE, "", Collections.emptyList(), false);
+
+    private final ServiceInstrumentation instrumentation;
+    private final String method;
+    private final List<String> methods;
+    private final boolean batch;
+    private final long startNanos = System.nanoTime();
+    private final AtomicBoolean completed = new AtomicBoolean();
+
+    private long serializedNanos;
+    private long receivedNanos;
+    private long completedNanos;
+    private long requestBytes = UNKNOWN;
+    private long responseBytes = UNKNOWN;
+    private final List<Integer> errorCodes = new ArrayList<>(1);
+    private Throwable exception;
+
+    private RequestMetrics(
+            ServiceInstrumentation instrumentation,
+            String method,
+            List<String> methods,
+            boolean batch) {
+        this.instrumentation = instrumentation;
+        this.method = method;
+        this.methods = methods;
+        this.batch = batch;
+    }
+
+    /**
+     * Start measuring a request, reporting it to the instrumentation. Without instrumentation, a
+     * shared instance recording nothing is returned.
+     */
+    public static RequestMetrics start(
+            ServiceInstrumentation instrumentation, Request<?, ?> request) {
+        if (instrumentation == ServiceInstrumentation.NONE) {
+            return DISABLED;
+        }
+        RequestMetrics metrics =
+                new RequestMetrics(
+                        instrumentation,
+                        request.getMethod(),
+                        Collections.singletonList(request.getMethod()),
+                        false);
+        instrumentation.requestStarted(metrics);
+        return metrics;
+    }
+
+    /**
+     * Start measuring a batch, reporting it to the instrumentation. Without instrumentation, a
+     * shared instance recording nothing is returned.
+     */
+    public static RequestMetrics start(
+            ServiceInstrumentation instrumentation, BatchRequest batchRequest) {
+        if (instrumentation == ServiceInstrumentation.NONE) {
+            return DISABLED;
+        }
+        List<String> methods = new ArrayList<>(batchRequest.getRequests().size());
+        for (Request<?, ?> request : batchRequest.getRequests()) {
+            methods.add(request.getMethod());
+        }
+        RequestMetrics metrics =
+                new RequestMetrics(
+                        instrumentation, BATCH_METHOD, Collections.unmodifiableList(methods), true);
+        instrumentation.requestStarted(metrics);
+        return metrics;
+    }
+
+    /** Record the serialized payload, ending the serialization phase. */
+    public void markSerialized(String payload) {
+        if (this == DISABLED) {
+            return;
+        }
+        serializedNanos = System.nanoTime();
+        requestBytes = utf8Length(payload);
+    }
+
+    /** Record the payload serialized as UTF-8, ending the serialization phase. */
+    public void markSerialized(byte[] payload) {
+        if (this == DISABLED) {
+            return;
+        }
+        serializedNanos = System.nanoTime();
+        requestBytes = payload.length;
+    }
+
+    /** Record that the response has been received, ending the network phase. */
+    public void markReceived() {
+        markReceived(System.nanoTime());
+    }
+
+    /**
+     * Record that the response has been received at the given time.
+     *
+     * @param nanoTime time as given by {@link System#nanoTime()}
+     */
+    public void markReceived(long nanoTime) {
+        if (this == DISABLED) {
+            return;
+        }
+        receivedNanos = nanoTime;
+    }
+
+    /** Record the size of a response which has been received as a whole. */
+    public void setResponseBytes(String response) {
+        if (this == DISABLED) {
+            return;
+        }
+        responseBytes = utf8Length(response);
+    }
+
+    /** Wrap a response stream, counting the bytes read from it as the response size. */
+    public InputStream countResponse(InputStream response) {
+        if (this == DISABLED) {
+            return response;
+        }
+        responseBytes = 0;
+        return new FilterInputStream(response) {
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b >= 0) {
+                    responseBytes++;
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int read = super.read(buffer, offset, length);
+                if (read > 0) {
+                    responseBytes += read;
+                }
+                return read;
+            }
+
+            @Override
+            public long skip(long n) throws IOException {
+                long skipped = super.skip(n);
+                responseBytes += skipped;
+                return skipped;
+            }
+        };
+    }
+
+    /** Record the JSON-RPC errors of a parsed {@link Response} or {@link BatchResponse}. */
+    public void markParsed(Object result) {
+        if (this == DISABLED) {
+            return;
+        }
+        if (result instanceof Response) {
+            addError((Response<?>) result);
+        } else if (result instanceof BatchResponse) {
+            for (Response<?> response : ((BatchResponse) result).getResponses()) {
+                addError(response);
+            }
+        }
+    }
+
+    private void addError(Response<?> response) {
+        if (response != null && response.hasError()) {
+            errorCodes.add(response.getError().getCode());
+        }
+    }
+
+    /** Record the exception a request failed with. */
+    public void failed(Throwable exception) {
+        if (this == DISABLED) {
+            return;
+        }
+        this.exception = exception;
+    }
+
+    /** Complete the request, reporting it to the instrumentation. Subsequent calls are ignored. */
+    public void complete() {
+        if (this != DISABLED && completed.compareAndSet(false, true)) {
+            completedNanos = System.nanoTime();
+            instrumentation.requestCompleted(this);
+        }
+    }
+
+    /**
+     * Complete the request once the given future is completed, recording its result or exception.
+     */
+    public void completeWhenDone(CompletableFuture<?> result) {
+        if (this == DISABLED) {
+            return;
+        }
+        result.whenComplete(
+                (value, e) -> {
+                    if (e != null) {
+                        failed(e);
+                    } else {
+                        markParsed(value);
+                    }
+                    complete();
+                });
+    }
+
+    /** The JSON-RPC method, or {@link #BATCH_METHOD} for a batch. */
+    public String getMethod() {
+        return method;
+    }
+
+    /** The JSON-RPC methods of the requests, a single method unless this is a batch. */
+    public List<String> getMethods() {
+        return methods;
+    }
+
+    public boolean isBatch() {
+        return batch;
+    }
+
+    public int getBatchSize() {
+        return methods.size();
+    }
+
+    public long getSerializeNanos() {
+        return serializedNanos != 0 ? serializedNanos - startNanos : 0;
+    }
+
+    public long getNetworkNanos() {
+        if (serializedNanos == 0) {
+            return 0;
+        }
+        return (receivedNanos != 0 ? receivedNanos : completedNanos) - serializedNanos;
+    }
+
+    public long getParseNanos() {
+        return receivedNanos != 0 ? completedNanos - receivedNanos : 0;
+    }
+
+    public long getTotalNanos() {
+        return completedNanos - startNanos;
+    }
+
+    /** Size of the serialized request in bytes, or -1 if it was not serialized. */
+    public long getRequestBytes() {
+        return requestBytes;
+    }
+
+    /** Size of the response in bytes, or -1 if no response was received. */
+    public long getResponseBytes() {
+        return responseBytes;
+    }
+
+    /** Codes of the JSON-RPC errors returned, one per failed request of a batch. */
+    public List<Integer> getErrorCodes() {
+        return errorCodes;
+    }
+
+    /** The exception the request failed with, if any. */
+    public Throwable getException() {
+        return exception;
+    }
+
+    public boolean isSuccessful() {
+        return exception == null && errorCodes.isEmpty();
+    }
+
+    private static long utf8Length(String value) {
+        long length = value.length();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x800) {
+                // surrogate pairs take four bytes, two per char
+                length += Character.isSurrogate(c) ? 1 : 2;
+            } else if (c >= 0x80) {
+                length++;
+            }
+        }
+        return length;
+    }
+}
@@ -14,10 +14,12 @@ package org.web3j.protocol;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
@@ -26,6 +28,7 @@ import io.reactivex.Flowable;
 import org.web3j.protocol.core.BatchRequest;
 import org.web3j.protocol.core.BatchResponse;
 import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.RequestTemplate;
 import org.web3j.protocol.core.Response;
 import org.web3j.protocol.websocket.events.Notification;
 import org.web3j.utils.Async;
@@ -35,19 +38,137 @@ public abstract class Service implements Web3jService {
 
     protected final ObjectMapper objectMapper;
 
+    private volatile ServiceInstrumentation instrumentation = ServiceInstrumentation.NONE;
+
     public Service(boolean includeRawResponses) {
-        objectMapper = ObjectMapperFactory.getObjectMapper(includeRawResponses);
+        this(includeRawResponses, false);
+    }
+
+    public Service(boolean includeRawResponses, boolean compactResponses) {
+        objectMapper = ObjectMapperFactory.getObjectMapper(includeRawResponses, compactResponses);
     }
 
     protected abstract InputStream performIO(String payload) throws IOException;
 
+    /**
+     * Perform a request serialized as UTF-8 JSON. By default the payload is decoded and passed to
+     * {@link #performIO(String)}, services able to write the bytes directly should override this.
+     */
+    protected InputStream performIO(byte[] payload) throws IOException {
+        return performIO(new String(payload, StandardCharsets.UTF_8));
+    }
+
+    public ServiceInstrumentation getInstrumentation() {
+        return instrumentation;
+    }
+
+    /**
+     * Report the requests performed by this service.
+     *
+     * @param instrumentation instrumentation to report to, or null to disable instrumentation
+     */
+    public void setInstrumentation(ServiceInstrumentation instrumentation) {
+        this.instrumentation =
+                instrumentation != null ? instrumentation : ServiceInstrumentation.NONE;
+    }
+
     @Override
     public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
-        String payload = objectMapper.writeValueAsString(request);
+        RequestMetrics metrics = RequestMetrics.start(instrumentation, request);
+        try {
+            byte[] payload = serialize(request, metrics);
 
+            try (InputStream result = performIO(payload)) {
+                metrics.markReceived();
+                if (result != null) {
+                    T response =
+                            objectMapper.readValue(metrics.countResponse(result), responseType);
+                    metrics.markParsed(response);
+                    return response;
+                } else {
+                    return null;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            metrics.failed(e);
+            throw e;
+        } finally {
+            metrics.complete();
+        }
+    }
+
+    /**
+     * Perform a synchronous JSON-RPC request, handing the response to the given parser as it is
+     * received rather than deserializing it first. Allows large responses to be processed
+     * incrementally.
+     *
+     * @param request request to perform
+     * @param parser parser reading the JSON-RPC response
+     * @param <T> type of the parsed result
+     * @return result of the parser
+     * @throws IOException thrown if failed to perform a request or parse the response
+     */
+    public <T> T sendStreaming(Request<?, ?> request, ResponseParser<T> parser) throws IOException {
+        return performStreaming(request, RequestMetrics.start(instrumentation, request), parser);
+    }
+
+    /**
+     * Perform a synchronous JSON-RPC batch request, handing the array of responses to the given
+     * parser as it is received.
+     *
+     * @param batchRequest requests to perform
+     * @param parser parser reading the JSON-RPC responses
+     * @param <T> type of the parsed result
+     * @return result of the parser
+     * @throws IOException thrown if failed to perform the batch request or parse the responses
+     * @see #sendStreaming(Request, ResponseParser)
+     */
+    public <T> T sendBatchStreaming(BatchRequest batchRequest, ResponseParser<T> parser)
+            throws IOException {
+        return performStreaming(
+                batchRequest.getRequests(),
+                RequestMetrics.start(instrumentation, batchRequest),
+                parser);
+    }
+
+    private <T> T performStreaming(Object request, RequestMetrics metrics, ResponseParser<T> parser)
+            throws IOException {
+        try {
+            byte[] payload = serialize(request, metrics);
+            return performIO(
+                    payload,
+                    result -> {
+                        metrics.markReceived();
+                        return parser.parse(metrics.countResponse(result));
+                    });
+        } catch (IOException | RuntimeException e) {
+            metrics.failed(e);
+            throw e;
+        } finally {
+            metrics.complete();
+        }
+    }
+
+    /**
+     * Serialize a request or list of batched requests to UTF-8 JSON, recording it in the given
+     * metrics. The payload is written straight into bytes, without building an intermediate string,
+     * and templated requests are patched into their pre-serialized form.
+     */
+    protected byte[] serialize(Object request, RequestMetrics metrics) throws IOException {
+        byte[] payload = RequestTemplate.writeValueAsBytes(objectMapper, request);
+        metrics.markSerialized(payload);
+        return payload;
+    }
+
+    /**
+     * Perform a request and parse its response. By default the response obtained from {@link
+     * #performIO(byte[])} is parsed, services able to parse directly from the underlying connection
+     * may override this.
+     */
+    protected <T> T performIO(byte[] payload, ResponseParser<T> parser) throws IOException {
         try (InputStream result = performIO(payload)) {
             if (result != null) {
-                return objectMapper.readValue(result, responseType);
+                return parser.parse(result);
             } else {
                 return null;
             }
@@ -60,38 +181,93 @@ public abstract class Service implements Web3jService {
         return Async.run(() -> send(jsonRpc20Request, responseType));
     }
 
+    /**
+     * Perform an asynchronous JSON-RPC request, running the blocking call on the given executor.
+     * Services with an asynchronous transport of their own may ignore the executor.
+     *
+     * @param jsonRpc20Request request to perform
+     * @param responseType class of a data item returned by the request
+     * @param executor executor to perform the request on
+     * @param <T> type of a data item returned by the request
+     * @return CompletableFuture that will be completed when a result is returned or if a request
+     *     has failed
+     */
+    public <T extends Response<?>> CompletableFuture<T> sendAsync(
+            Request<?, ?> jsonRpc20Request, Class<T> responseType, Executor executor) {
+        return Async.run(() -> send(jsonRpc20Request, responseType), executor);
+    }
+
     @Override
     public BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
         if (batchRequest.getRequests().isEmpty()) {
             return new BatchResponse(Collections.emptyList(), Collections.emptyList());
         }
 
-        String payload = objectMapper.writeValueAsString(batchRequest.getRequests());
+        RequestMetrics metrics = RequestMetrics.start(instrumentation, batchRequest);
+        try {
+            byte[] payload = serialize(batchRequest.getRequests(), metrics);
 
-        try (InputStream result = performIO(payload)) {
-            if (result != null) {
-                ArrayNode nodes = (ArrayNode) objectMapper.readTree(result);
-                List<Response<?>> responses = new ArrayList<>(nodes.size());
-
-                for (int i = 0; i < nodes.size(); i++) {
-                    Request<?, ? extends Response<?>> request = batchRequest.getRequests().get(i);
-                    Response<?> response =
-                            objectMapper.treeToValue(nodes.get(i), request.getResponseType());
-                    responses.add(response);
+            try (InputStream result = performIO(payload)) {
+                metrics.markReceived();
+                if (result != null) {
+                    BatchResponse response =
+                            processBatchResponse(batchRequest, metrics.countResponse(result));
+                    metrics.markParsed(response);
+                    return response;
+                } else {
+                    return null;
                 }
-
-                return new BatchResponse(batchRequest.getRequests(), responses);
-            } else {
-                return null;
             }
+        } catch (IOException | RuntimeException e) {
+            metrics.failed(e);
+            throw e;
+        } finally {
+            metrics.complete();
         }
     }
 
+    /**
+     * Deserialize the responses of a batch request, in the same order as the requests.
+     *
+     * @param batchRequest the batch request the responses belong to
+     * @param result stream containing the JSON-RPC batch response
+     * @return deserialized JSON-RPC responses
+     * @throws IOException thrown if the responses could not be parsed
+     */
+    protected BatchResponse processBatchResponse(BatchRequest batchRequest, InputStream result)
+            throws IOException {
+        ArrayNode nodes = (ArrayNode) objectMapper.readTree(result);
+        List<Response<?>> responses = new ArrayList<>(nodes.size());
+
+        for (int i = 0; i < nodes.size(); i++) {
+            Request<?, ? extends Response<?>> request = batchRequest.getRequests().get(i);
+            Response<?> response =
+                    objectMapper.treeToValue(nodes.get(i), request.getResponseType());
+            responses.add(response);
+        }
+
+        return new BatchResponse(batchRequest.getRequests(), responses);
+    }
+
     @Override
     public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
         return Async.run(() -> sendBatch(batchRequest));
     }
 
+    /**
+     * Perform an asynchronous JSON-RPC batch request, running the blocking call on the given
+     * executor. Services with an asynchronous transport of their own may ignore the executor.
+     *
+     * @param batchRequest batch request to perform
+     * @param executor executor to perform the request on
+     * @return CompletableFuture that will be completed when a result is returned or if a request
+     *     has failed
+     */
+    public CompletableFuture<BatchResponse> sendBatchAsync(
+            BatchRequest batchRequest, Executor executor) {
+        return Async.run(() -> sendBatch(batchRequest), executor);
+    }
+
     @Override
     public <T extends Notification<?>> Flowable<T> subscribe(
             Request request, String unsubscribeMethod, Class<T> responseType) {
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol;
+
+/**
+ * Instrumentation of the JSON-RPC requests performed by a service.
+ *
+ * <p>Every request and batch is reported once when it is started and once when it completes,
+ * successfully or not, so that implementations can maintain in-flight counts and record the
+ * latencies, payload sizes and errors of each JSON-RPC method. Callbacks are invoked on the thread
+ * performing the request, or the transport's callback thread for asynchronous requests, and should
+ * return quickly.
+ */
+public interface ServiceInstrumentation {
+
+    /** Instrumentation ignoring all requests. */
+    ServiceInstrumentation NONE = new ServiceInstrumentation() {};
+
+    /**
+     * Called before a request is serialized.
+     *
+     * @param metrics metrics of the request, only the method and batch size are known
+     */
+    default void requestStarted(RequestMetrics metrics) {}
+
+    /**
+     * Called once a request completed, failed or was cancelled.
+     *
+     * @param metrics metrics of the request
+     */
+    default void requestCompleted(RequestMetrics metrics) {}
+}
@@ -18,6 +18,7 @@ import org.web3j.protocol.core.Batcher;
 import org.web3j.protocol.core.Ethereum;
 import org.web3j.protocol.core.JsonRpc2_0Web3j;
 import org.web3j.protocol.rx.Web3jRx;
+import org.web3j.utils.ExecutionConfig;
 
 /** JSON-RPC Request object building factory. */
 public interface Web3j extends Ethereum, Web3jRx, Batcher {
@@ -48,6 +49,20 @@ public interface Web3j extends Ethereum, Web3jRx, Batcher {
         return new JsonRpc2_0Web3j(web3jService, pollingInterval, scheduledExecutorService);
     }
 
+    /**
+     * Construct a new Web3j instance.
+     *
+     * @param web3jService web3j service instance - i.e. HTTP or IPC
+     * @param pollingInterval polling interval for responses from network nodes
+     * @param executionConfig executors to use for blocking calls and scheduled tasks. They are
+     *     terminated on {@link #shutdown()}, unless this is the default configuration
+     * @return new Web3j instance
+     */
+    static Web3j build(
+            Web3jService web3jService, long pollingInterval, ExecutionConfig executionConfig) {
+        return new JsonRpc2_0Web3j(web3jService, pollingInterval, executionConfig);
+    }
+
     /** Shutdowns a Web3j instance and closes opened resources. */
     void shutdown();
 }
@@ -28,6 +28,7 @@ import org.web3j.protocol.core.JsonRpc2_0Web3j;
 import org.web3j.protocol.core.Request;
 import org.web3j.protocol.core.methods.request.Transaction;
 import org.web3j.protocol.core.methods.response.EthSendTransaction;
+import org.web3j.utils.ExecutionConfig;
 
 /** JSON-RPC 2.0 factory implementation for common Parity and Geth. */
 public class JsonRpc2_0Admin extends JsonRpc2_0Web3j implements Admin {
@@ -43,6 +44,11 @@ public class JsonRpc2_0Admin extends JsonRpc2_0Web3j implements Admin {
         super(web3jService, pollingInterval, scheduledExecutorService);
     }
 
+    public JsonRpc2_0Admin(
+            Web3jService web3jService, long pollingInterval, ExecutionConfig executionConfig) {
+        super(web3jService, pollingInterval, executionConfig);
+    }
+
     @Override
     public Request<?, PersonalListAccounts> personalListAccounts() {
         return new Request<>(
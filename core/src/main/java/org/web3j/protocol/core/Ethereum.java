@@ -52,6 +52,7 @@ import org.web3j.protocol.core.methods.response.EthSubmitWork;
 import org.web3j.protocol.core.methods.response.EthSyncing;
 import org.web3j.protocol.core.methods.response.EthTransaction;
 import org.web3j.protocol.core.methods.response.EthUninstallFilter;
+import org.web3j.protocol.core.methods.response.LazyEthBlock;
 import org.web3j.protocol.core.methods.response.NetListening;
 import org.web3j.protocol.core.methods.response.NetPeerCount;
 import org.web3j.protocol.core.methods.response.NetVersion;
@@ -152,6 +153,21 @@ public interface Ethereum {
     Request<?, EthBlock> ethGetBlockByNumber(
             DefaultBlockParameter defaultBlockParameter, boolean returnFullTransactionObjects);
 
+    /**
+     * Get a block with full transactions, deserializing each transaction only when it is accessed.
+     */
+    default Request<?, LazyEthBlock> ethGetLazyBlockByHash(String blockHash) {
+        throw new UnsupportedOperationException("Lazy blocks are not supported");
+    }
+
+    /**
+     * Get a block with full transactions, deserializing each transaction only when it is accessed.
+     */
+    default Request<?, LazyEthBlock> ethGetLazyBlockByNumber(
+            DefaultBlockParameter defaultBlockParameter) {
+        throw new UnsupportedOperationException("Lazy blocks are not supported");
+    }
+
     Request<?, EthTransaction> ethGetTransactionByHash(String transactionHash);
 
     Request<?, EthTransaction> ethGetTransactionByBlockHashAndIndex(
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.core;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import io.reactivex.Flowable;
+
+import org.web3j.protocol.Service;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.websocket.events.Notification;
+import org.web3j.utils.ExecutionConfig;
+
+/**
+ * View of a {@link Service} performing the asynchronous requests of one Web3j instance on the
+ * executor of its {@link ExecutionConfig}. The service itself is left unchanged, so it can be
+ * shared by instances with different configurations.
+ */
+public final class ExecutionConfigService implements Web3jService {
+
+    private final Service service;
+    private final Executor executor;
+
+    private ExecutionConfigService(Service service, Executor executor) {
+        this.service = service;
+        this.executor = executor;
+    }
+
+    /**
+     * Apply the executor of a configuration to a service. Services which do not run requests on an
+     * executor, and configurations using the default executor, return the service itself.
+     */
+    static Web3jService wrap(Web3jService service, ExecutionConfig executionConfig) {
+        if (!(service instanceof Service)
+                || executionConfig.getExecutor() == ExecutionConfig.defaultConfig().getExecutor()) {
+            return service;
+        }
+        return new ExecutionConfigService((Service) service, executionConfig.getExecutor());
+    }
+
+    /**
+     * The service performing the requests of the given one.
+     *
+     * @param service a service, which may be an execution config view
+     * @return the underlying service
+     */
+    public static Web3jService unwrap(Web3jService service) {
+        return service instanceof ExecutionConfigService
+                ? ((ExecutionConfigService) service).service
+                : service;
+    }
+
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        return service.send(request, responseType);
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(
+            Request request, Class<T> responseType) {
+        return service.sendAsync(request, responseType, executor);
+    }
+
+    @Override
+    public BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+        return service.sendBatch(batchRequest);
+    }
+
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        return service.sendBatchAsync(batchRequest, executor);
+    }
+
+    @Override
+    public <T extends Notification<?>> Flowable<T> subscribe(
+            Request request, String unsubscribeMethod, Class<T> responseType) {
+        return service.subscribe(request, unsubscribeMethod, responseType);
+    }
+
+    @Override
+    public void close() throws IOException {
+        service.close();
+    }
+}
@@ -66,6 +66,7 @@ import org.web3j.protocol.core.methods.response.EthSubscribe;
 import org.web3j.protocol.core.methods.response.EthSyncing;
 import org.web3j.protocol.core.methods.response.EthTransaction;
 import org.web3j.protocol.core.methods.response.EthUninstallFilter;
+import org.web3j.protocol.core.methods.response.LazyEthBlock;
 import org.web3j.protocol.core.methods.response.Log;
 import org.web3j.protocol.core.methods.response.NetListening;
 import org.web3j.protocol.core.methods.response.NetPeerCount;
@@ -84,10 +85,13 @@ import org.web3j.protocol.core.methods.response.Web3Sha3;
 import org.web3j.protocol.core.methods.response.admin.AdminDataDir;
 import org.web3j.protocol.core.methods.response.admin.AdminNodeInfo;
 import org.web3j.protocol.core.methods.response.admin.AdminPeers;
+import org.web3j.protocol.rx.BlockEvent;
 import org.web3j.protocol.rx.JsonRpc2_0Rx;
 import org.web3j.protocol.websocket.events.LogNotification;
 import org.web3j.protocol.websocket.events.NewHeadsNotification;
-import org.web3j.utils.Async;
+import org.web3j.protocol.websocket.events.PendingTransactionNotification;
+import org.web3j.protocol.websocket.events.PendingTransactionObjectNotification;
+import org.web3j.utils.ExecutionConfig;
 import org.web3j.utils.Numeric;
 
 /** JSON-RPC 2.0 factory implementation. */
@@ -98,20 +102,28 @@ public class JsonRpc2_0Web3j implements Web3j {
     protected final Web3jService web3jService;
     private final JsonRpc2_0Rx web3jRx;
     private final long blockTime;
-    private final ScheduledExecutorService scheduledExecutorService;
+    private final ExecutionConfig executionConfig;
 
     public JsonRpc2_0Web3j(Web3jService web3jService) {
-        this(web3jService, DEFAULT_BLOCK_TIME, Async.defaultExecutorService());
+        this(web3jService, DEFAULT_BLOCK_TIME, ExecutionConfig.defaultConfig());
     }
 
     public JsonRpc2_0Web3j(
             Web3jService web3jService,
             long pollingInterval,
             ScheduledExecutorService scheduledExecutorService) {
-        this.web3jService = web3jService;
-        this.web3jRx = new JsonRpc2_0Rx(this, scheduledExecutorService);
+        this(
+                web3jService,
+                pollingInterval,
+                ExecutionConfig.withScheduler(scheduledExecutorService));
+    }
+
+    public JsonRpc2_0Web3j(
+            Web3jService web3jService, long pollingInterval, ExecutionConfig executionConfig) {
+        this.web3jService = ExecutionConfigService.wrap(web3jService, executionConfig);
+        this.web3jRx = new JsonRpc2_0Rx(this, executionConfig.getScheduler());
         this.blockTime = pollingInterval;
-        this.scheduledExecutorService = scheduledExecutorService;
+        this.executionConfig = executionConfig;
     }
 
     @Override
@@ -383,6 +395,25 @@ public class JsonRpc2_0Web3j implements Web3j {
                 EthBlock.class);
     }
 
+    @Override
+    public Request<?, LazyEthBlock> ethGetLazyBlockByHash(String blockHash) {
+        return new Request<>(
+                "eth_getBlockByHash",
+                Arrays.asList(blockHash, true),
+                web3jService,
+                LazyEthBlock.class);
+    }
+
+    @Override
+    public Request<?, LazyEthBlock> ethGetLazyBlockByNumber(
+            DefaultBlockParameter defaultBlockParameter) {
+        return new Request<>(
+                "eth_getBlockByNumber",
+                Arrays.asList(defaultBlockParameter.getValue(), true),
+                web3jService,
+                LazyEthBlock.class);
+    }
+
     @Override
     public Request<?, EthTransaction> ethGetTransactionByHash(String transactionHash) {
         return new Request<>(
@@ -691,6 +722,31 @@ public class JsonRpc2_0Web3j implements Web3j {
                 NewHeadsNotification.class);
     }
 
+    @Override
+    public Flowable<PendingTransactionNotification> newPendingTransactionsNotifications() {
+        return web3jService.subscribe(
+                new Request<>(
+                        "eth_subscribe",
+                        Collections.singletonList("newPendingTransactions"),
+                        web3jService,
+                        EthSubscribe.class),
+                "eth_unsubscribe",
+                PendingTransactionNotification.class);
+    }
+
+    @Override
+    public Flowable<PendingTransactionObjectNotification>
+            newPendingTransactionObjectsNotifications() {
+        return web3jService.subscribe(
+                new Request<>(
+                        "eth_subscribe",
+                        Arrays.asList("newPendingTransactions", true),
+                        web3jService,
+                        EthSubscribe.class),
+                "eth_unsubscribe",
+                PendingTransactionObjectNotification.class);
+    }
+
     @Override
     public Flowable<LogNotification> logsNotifications(
             List<String> addresses, List<String> topics) {
@@ -750,6 +806,18 @@ public class JsonRpc2_0Web3j implements Web3j {
         return web3jRx.blockFlowable(fullTransactionObjects, blockTime);
     }
 
+    @Override
+    public Flowable<BlockEvent> blockEventFlowable(
+            int confirmations, boolean fullTransactionObjects) {
+        return web3jRx.blockEventFlowable(confirmations, fullTransactionObjects, blockTime);
+    }
+
+    @Override
+    public Flowable<EthBlock.Block> confirmedBlockFlowable(
+            int confirmations, boolean fullTransactionObjects) {
+        return web3jRx.confirmedBlockFlowable(confirmations, fullTransactionObjects, blockTime);
+    }
+
     @Override
     public Flowable<EthBlock> replayPastBlocksFlowable(
             DefaultBlockParameter startBlock,
@@ -811,7 +879,7 @@ public class JsonRpc2_0Web3j implements Web3j {
 
     @Override
     public void shutdown() {
-        scheduledExecutorService.shutdown();
+        executionConfig.shutdown();
         try {
             web3jService.close();
         } catch (IOException e) {
@@ -819,6 +887,10 @@ public class JsonRpc2_0Web3j implements Web3j {
         }
     }
 
+    public ExecutionConfig getExecutionConfig() {
+        return executionConfig;
+    }
+
     @Override
     public BatchRequest newBatch() {
         return new BatchRequest(web3jService);
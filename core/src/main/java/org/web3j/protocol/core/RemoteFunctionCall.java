@@ -14,7 +14,9 @@ package org.web3j.protocol.core;
 
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.function.Supplier;
 
+import org.web3j.abi.DirectCodec;
 import org.web3j.abi.FunctionEncoder;
 import org.web3j.abi.FunctionReturnDecoder;
 import org.web3j.abi.datatypes.Function;
@@ -27,11 +29,60 @@ import org.web3j.abi.datatypes.Type;
  */
 public class RemoteFunctionCall<T> extends RemoteCall<T> {
 
-    private final Function function;
+    private final Supplier<Function> function;
+    private final String encodedFunction;
+    private final DirectCodec.Decoder<T> resultDecoder;
 
     public RemoteFunctionCall(Function function, Callable<T> callable) {
+        this(function, null, callable);
+    }
+
+    /**
+     * Create a call of a constant function which can also be performed by sending the encoded
+     * function separately, as within a batch, and decoding its output.
+     *
+     * @param function the function
+     * @param resultDecoder decoder of the call's output, may be null
+     * @param callable performing the call
+     */
+    public RemoteFunctionCall(
+            Function function, DirectCodec.Decoder<T> resultDecoder, Callable<T> callable) {
+        super(callable);
+        this.function = () -> function;
+        this.encodedFunction = null;
+        this.resultDecoder = resultDecoder;
+    }
+
+    /**
+     * Create a call which has already been encoded, as by wrappers generated with specialized
+     * codecs. The function is only created if it is requested through this call.
+     *
+     * @param encodedFunction the encoded function call
+     * @param function supplier of the function
+     * @param callable performing the call
+     */
+    public RemoteFunctionCall(
+            String encodedFunction, Supplier<Function> function, Callable<T> callable) {
+        this(encodedFunction, function, null, callable);
+    }
+
+    /**
+     * Create a call which has already been encoded, with a decoder of its output.
+     *
+     * @param encodedFunction the encoded function call
+     * @param function supplier of the function
+     * @param resultDecoder decoder of the call's output, may be null
+     * @param callable performing the call
+     */
+    public RemoteFunctionCall(
+            String encodedFunction,
+            Supplier<Function> function,
+            DirectCodec.Decoder<T> resultDecoder,
+            Callable<T> callable) {
         super(callable);
         this.function = function;
+        this.encodedFunction = encodedFunction;
+        this.resultDecoder = resultDecoder;
     }
 
     /**
@@ -40,7 +91,7 @@ public class RemoteFunctionCall<T> extends RemoteCall<T> {
      * @return the function call, encoded.
      */
     public String encodeFunctionCall() {
-        return FunctionEncoder.encode(function);
+        return encodedFunction != null ? encodedFunction : FunctionEncoder.encode(function.get());
     }
 
     /**
@@ -50,6 +101,25 @@ public class RemoteFunctionCall<T> extends RemoteCall<T> {
      * @return list of abi types
      */
     public List<Type> decodeFunctionResponse(String response) {
-        return FunctionReturnDecoder.decode(response, function.getOutputParameters());
+        return FunctionReturnDecoder.decode(response, function.get().getOutputParameters());
+    }
+
+    /** @return true if the output of this call can be decoded with {@link #decodeResult(String)} */
+    public boolean hasResultDecoder() {
+        return resultDecoder != null;
+    }
+
+    /**
+     * decode the output of this call to its result, as returned when sending it
+     *
+     * @param response the encoded response
+     * @return the result
+     * @throws UnsupportedOperationException if this call has no result decoder
+     */
+    public T decodeResult(String response) {
+        if (resultDecoder == null) {
+            throw new UnsupportedOperationException("Call has no result decoder");
+        }
+        return resultDecoder.decode(response);
     }
 }
@@ -0,0 +1,340 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.core;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import org.web3j.protocol.ObjectMapperFactory;
+import org.web3j.protocol.Web3jService;
+
+/**
+ * Template of a frequently sent request. The method and params are serialized once, requests
+ * created from the template are serialized by patching their id and variable values into the
+ * pre-serialized JSON.
+ *
+ * <p>Variable values are marked in the params by {@link #placeholder(int)} strings. A placeholder
+ * may make up a whole string value, such as a block parameter, or a part of one, such as the
+ * arguments following the selector of encoded call data:
+ *
+ * <pre>
+ * RequestTemplate&lt;EthCall&gt; balanceOf =
+ *         new RequestTemplate&lt;&gt;(
+ *                 "eth_call",
+ *                 Arrays.asList(
+ *                         Transaction.createEthCallTransaction(
+ *                                 from, token, "0x70a08231" + RequestTemplate.placeholder(0)),
+ *                         RequestTemplate.placeholder(1)),
+ *                 web3jService,
+ *                 EthCall.class);
+ *
+ * EthCall balance = balanceOf.newRequest(encodedOwner, "latest").send();
+ * </pre>
+ *
+ * @param <T> response type of the requests
+ */
+public class RequestTemplate<T extends Response<?>> {
+
+    // a NUL character can't appear in any regular param, Jackson escapes it as below
+    private static final String PLACEHOLDER_MARK = "\u0000";
+    private static final byte[] ESCAPED_MARK = "\\u0000".getBytes(StandardCharsets.US_ASCII);
+
+    private static final long ID_MARK = Long.MIN_VALUE;
+    private static final byte[] ID_MEMBER =
+            ("\"id\":" + ID_MARK).getBytes(StandardCharsets.US_ASCII);
+    private static final int ID_SLOT = -1;
+
+    private final String method;
+    private final List<?> params;
+    private final Web3jService web3jService;
+    private final Class<T> responseType;
+
+    // JSON between the slots, and the value patched into each slot
+    private final byte[][] literals;
+    private final int[] slots;
+    private final int valueCount;
+
+    public RequestTemplate(
+            String method, List<?> params, Web3jService web3jService, Class<T> responseType) {
+        this.method = method;
+        this.params = Collections.unmodifiableList(new ArrayList<>(params));
+        this.web3jService = web3jService;
+        this.responseType = responseType;
+
+        Request<Object, T> prototype =
+                new Request<>(method, new ArrayList<>(params), web3jService, responseType);
+        prototype.setId(ID_MARK);
+        byte[] json;
+        try {
+            json = ObjectMapperFactory.getObjectMapper().writeValueAsBytes(prototype);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Params of " + method + " can't be serialized", e);
+        }
+
+        List<byte[]> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        int idIndex =
+                lastIndexOf(json, ID_MEMBER) + ID_MEMBER.length - Long.toString(ID_MARK).length();
+        int maxIndex = -1;
+        int start = 0;
+        for (int i = 0; i < json.length; ) {
+            int slot;
+            int end;
+            if (i == idIndex) {
+                slot = ID_SLOT;
+                end = i + Long.toString(ID_MARK).length();
+            } else if (startsWith(json, i, ESCAPED_MARK)) {
+                int digits = i + ESCAPED_MARK.length;
+                int index = 0;
+                while (digits < json.length && json[digits] >= '0' && json[digits] <= '9') {
+                    index = index * 10 + json[digits++] - '0';
+                }
+                if (digits == i + ESCAPED_MARK.length || !startsWith(json, digits, ESCAPED_MARK)) {
+                    throw new IllegalArgumentException("Malformed placeholder in " + method);
+                }
+                slot = index;
+                end = digits + ESCAPED_MARK.length;
+                maxIndex = Math.max(maxIndex, index);
+            } else {
+                i++;
+                continue;
+            }
+            literals.add(copyOfRange(json, start, i));
+            slots.add(slot);
+            start = i = end;
+        }
+        literals.add(copyOfRange(json, start, json.length));
+
+        this.literals = literals.toArray(new byte[0][]);
+        this.slots = new int[slots.size()];
+        for (int i = 0; i < this.slots.length; i++) {
+            this.slots[i] = slots.get(i);
+        }
+        this.valueCount = maxIndex + 1;
+    }
+
+    /**
+     * The placeholder marking a variable value in the params of a template.
+     *
+     * @param index index of the value, as passed to {@link #newRequest(String...)}
+     * @return the placeholder
+     */
+    public static String placeholder(int index) {
+        if (index < 0) {
+            throw new IllegalArgumentException("Negative placeholder index");
+        }
+        return PLACEHOLDER_MARK + index + PLACEHOLDER_MARK;
+    }
+
+    /**
+     * Create a request from the template.
+     *
+     * @param values values of the placeholders, in order of their indexes
+     * @return the request, its params are those of the template
+     */
+    public TemplatedRequest<T> newRequest(String... values) {
+        if (values.length != valueCount) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "Template of %s takes %d values, got %d",
+                            method, valueCount, values.length));
+        }
+        byte[][] encoded = new byte[values.length][];
+        for (int i = 0; i < values.length; i++) {
+            encoded[i] = encode(values[i]);
+        }
+        return new TemplatedRequest<>(this, encoded);
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public List<?> getParams() {
+        return params;
+    }
+
+    /** Number of values taken by {@link #newRequest(String...)}. */
+    public int getValueCount() {
+        return valueCount;
+    }
+
+    /**
+     * Serialize a request or a list of batched requests, writing templated requests from their
+     * pre-serialized form.
+     *
+     * @param objectMapper mapper serializing other requests
+     * @param request the request or list of requests
+     * @return the UTF-8 encoded JSON
+     * @throws IOException if a request could not be serialized
+     */
+    public static byte[] writeValueAsBytes(ObjectMapper objectMapper, Object request)
+            throws IOException {
+        if (request instanceof TemplatedRequest) {
+            return ((TemplatedRequest<?>) request).toJson();
+        } else if (!(request instanceof List) || !containsTemplatedRequest((List<?>) request)) {
+            return objectMapper.writeValueAsBytes(request);
+        }
+
+        List<?> requests = (List<?>) request;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write('[');
+        for (int i = 0; i < requests.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write(writeValueAsBytes(objectMapper, requests.get(i)));
+        }
+        out.write(']');
+        return out.toByteArray();
+    }
+
+    private static boolean containsTemplatedRequest(List<?> requests) {
+        for (Object request : requests) {
+            if (request instanceof TemplatedRequest) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private byte[] serialize(long id, byte[][] values) {
+        byte[] idValue = Long.toString(id).getBytes(StandardCharsets.US_ASCII);
+        int length = 0;
+        for (byte[] literal : literals) {
+            length += literal.length;
+        }
+        for (int slot : slots) {
+            length += slot == ID_SLOT ? idValue.length : values[slot].length;
+        }
+
+        byte[] json = new byte[length];
+        int position = 0;
+        for (int i = 0; i < slots.length; i++) {
+            position = append(json, position, literals[i]);
+            position = append(json, position, slots[i] == ID_SLOT ? idValue : values[slots[i]]);
+        }
+        append(json, position, literals[literals.length - 1]);
+        return json;
+    }
+
+    /** The contents of a JSON string holding the value, without the quotes. */
+    private static byte[] encode(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x20 || c >= 0x7f || c == '"' || c == '\\') {
+                return JsonStringEncoder.getInstance().quoteAsUTF8(value);
+            }
+        }
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static int append(byte[] target, int position, byte[] bytes) {
+        System.arraycopy(bytes, 0, target, position, bytes.length);
+        return position + bytes.length;
+    }
+
+    private static byte[] copyOfRange(byte[] bytes, int from, int to) {
+        byte[] range = new byte[to - from];
+        System.arraycopy(bytes, from, range, 0, range.length);
+        return range;
+    }
+
+    private static boolean startsWith(byte[] bytes, int offset, byte[] prefix) {
+        if (offset + prefix.length > bytes.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (bytes[offset + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int lastIndexOf(byte[] bytes, byte[] sequence) {
+        for (int i = bytes.length - sequence.length; i >= 0; i--) {
+            if (startsWith(bytes, i, sequence)) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Request id not found in serialized request");
+    }
+
+    /**
+     * Request created from a {@link RequestTemplate}, serialized by patching its id and values into
+     * the template.
+     *
+     * @param <T> response type of the request
+     */
+    @JsonSerialize(using = TemplatedRequest.Serializer.class)
+    public static class TemplatedRequest<T extends Response<?>> extends Request<Object, T> {
+
+        private final RequestTemplate<T> template;
+        private final byte[][] values;
+
+        @SuppressWarnings("unchecked")
+        TemplatedRequest(RequestTemplate<T> template, byte[][] values) {
+            super(
+                    template.method,
+                    (List<Object>) template.params,
+                    template.web3jService,
+                    template.responseType);
+            this.template = template;
+            this.values = values;
+        }
+
+        /** The UTF-8 encoded JSON of this request. */
+        public byte[] toJson() {
+            return template.serialize(getId(), values);
+        }
+
+        @Override
+        public void setJsonrpc(String jsonrpc) {
+            throw new UnsupportedOperationException("Version of a templated request is fixed");
+        }
+
+        @Override
+        public void setMethod(String method) {
+            throw new UnsupportedOperationException("Method of a templated request is fixed");
+        }
+
+        @Override
+        public void setParams(List<Object> params) {
+            throw new UnsupportedOperationException("Params of a templated request are fixed");
+        }
+
+        /** Used when the request is serialized by an object mapper, as part of another value. */
+        static class Serializer extends JsonSerializer<TemplatedRequest<?>> {
+            @Override
+            public void serialize(
+                    TemplatedRequest<?> request,
+                    JsonGenerator jsonGenerator,
+                    SerializerProvider serializerProvider)
+                    throws IOException {
+                jsonGenerator.writeRawValue(new String(request.toJson(), StandardCharsets.UTF_8));
+            }
+        }
+    }
+}
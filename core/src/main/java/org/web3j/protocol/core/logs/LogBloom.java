@@ -0,0 +1,82 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.core.logs;
+
+import java.nio.ByteBuffer;
+
+import org.web3j.crypto.Hash;
+
+/**
+ * 2048 bit bloom filter over log addresses and topics, using the same bit selection as the Ethereum
+ * {@code logsBloom}: three bits taken from the low 11 bits of the first three byte pairs of the
+ * value's Keccak-256 hash.
+ */
+final class LogBloom {
+
+    static final int BYTES = 256;
+
+    private final long[] bits;
+
+    LogBloom() {
+        this.bits = new long[BYTES / Long.BYTES];
+    }
+
+    private LogBloom(long[] bits) {
+        this.bits = bits;
+    }
+
+    static LogBloom read(ByteBuffer buffer) {
+        long[] bits = new long[BYTES / Long.BYTES];
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] = buffer.getLong();
+        }
+        return new LogBloom(bits);
+    }
+
+    void write(ByteBuffer buffer) {
+        for (long word : bits) {
+            buffer.putLong(word);
+        }
+    }
+
+    void add(byte[] value) {
+        for (int bit : bitsOf(value)) {
+            bits[bit >>> 6] |= 1L << (bit & 63);
+        }
+    }
+
+    void addAll(LogBloom other) {
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] |= other.bits[i];
+        }
+    }
+
+    /** Bit positions of a value, computed once per query value. */
+    static int[] bitsOf(byte[] value) {
+        byte[] hash = Hash.sha3(value);
+        int[] positions = new int[3];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = ((hash[2 * i] & 0x07) << 8 | (hash[2 * i + 1] & 0xff));
+        }
+        return positions;
+    }
+
+    boolean mayContain(int[] positions) {
+        for (int bit : positions) {
+            if ((bits[bit >>> 6] & (1L << (bit & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
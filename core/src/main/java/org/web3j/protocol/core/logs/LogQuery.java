@@ -0,0 +1,169 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.core.logs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.DefaultBlockParameterNumber;
+import org.web3j.protocol.core.methods.request.EthFilter;
+import org.web3j.protocol.core.methods.request.Filter;
+import org.web3j.utils.Numeric;
+
+/**
+ * An {@link EthFilter} decoded for matching against stored logs, with the addresses and topics as
+ * byte arrays and their bloom bit positions computed once.
+ */
+final class LogQuery {
+
+    final long fromBlock;
+    final long toBlock;
+
+    // empty if any address matches
+    private final List<byte[]> addresses;
+    private final List<int[]> addressBits;
+    // per topic position, null if any topic matches
+    private final List<List<byte[]>> topics;
+    private final List<List<int[]>> topicBits;
+
+    private LogQuery(
+            long fromBlock, long toBlock, List<byte[]> addresses, List<List<byte[]>> topics) {
+        this.fromBlock = fromBlock;
+        this.toBlock = toBlock;
+        this.addresses = addresses;
+        this.addressBits = bitsOf(addresses);
+        this.topics = topics;
+        this.topicBits = new ArrayList<>(topics.size());
+        for (List<byte[]> values : topics) {
+            topicBits.add(values != null ? bitsOf(values) : null);
+        }
+    }
+
+    static LogQuery of(EthFilter filter) {
+        if (filter.getBlockHash() != null) {
+            throw new IllegalArgumentException("Block hash filters are not supported");
+        }
+
+        List<byte[]> addresses = new ArrayList<>();
+        if (filter.getAddress() != null) {
+            for (String address : filter.getAddress()) {
+                addresses.add(Numeric.hexStringToByteArray(address));
+            }
+        }
+
+        List<List<byte[]>> topics = new ArrayList<>();
+        for (Filter.FilterTopic<?> topic : filter.getTopics()) {
+            topics.add(decodeTopic(topic));
+        }
+
+        return new LogQuery(
+                blockNumber(filter.getFromBlock()),
+                blockNumber(filter.getToBlock()),
+                addresses,
+                topics);
+    }
+
+    static long blockNumber(DefaultBlockParameter blockParameter) {
+        if (!(blockParameter instanceof DefaultBlockParameterNumber)) {
+            throw new IllegalArgumentException(
+                    "Only numeric block ranges can be queried, got: " + blockParameter);
+        }
+        return ((DefaultBlockParameterNumber) blockParameter).getBlockNumber().longValueExact();
+    }
+
+    private static List<byte[]> decodeTopic(Filter.FilterTopic<?> topic) {
+        Object value = topic.getValue();
+        if (value == null) {
+            return null;
+        } else if (value instanceof String) {
+            return Collections.singletonList(Numeric.hexStringToByteArray((String) value));
+        }
+
+        List<Filter.SingleTopic> options = ((Filter.ListTopic) topic).getValue();
+        if (options.isEmpty()) {
+            return null; // an empty list matches any topic, as eth_getLogs does
+        }
+        List<byte[]> values = new ArrayList<>(options.size());
+        for (Filter.SingleTopic option : options) {
+            if (option.getValue() == null) {
+                return null; // a null option matches any topic
+            }
+            values.add(Numeric.hexStringToByteArray(option.getValue()));
+        }
+        return values;
+    }
+
+    private static List<int[]> bitsOf(List<byte[]> values) {
+        List<int[]> bits = new ArrayList<>(values.size());
+        for (byte[] value : values) {
+            bits.add(LogBloom.bitsOf(value));
+        }
+        return bits;
+    }
+
+    boolean overlaps(long from, long to) {
+        return fromBlock <= to && toBlock >= from;
+    }
+
+    /** False if no log summarized by the bloom can match. */
+    boolean mayMatch(LogBloom bloom) {
+        if (!addresses.isEmpty() && !mayContainAny(bloom, addressBits)) {
+            return false;
+        }
+        for (List<int[]> bits : topicBits) {
+            if (bits != null && !mayContainAny(bloom, bits)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean mayContainAny(LogBloom bloom, List<int[]> values) {
+        for (int[] bits : values) {
+            if (bloom.mayContain(bits)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    boolean matchesAddress(byte[] address) {
+        return addresses.isEmpty() || containsValue(addresses, address);
+    }
+
+    /** Match topics as {@code eth_getLogs} does, a log needs at least as many topics as queried. */
+    boolean matchesTopics(List<byte[]> logTopics) {
+        if (topics.size() > logTopics.size()) {
+            return false;
+        }
+        for (int i = 0; i < topics.size(); i++) {
+            List<byte[]> values = topics.get(i);
+            if (values != null && !containsValue(values, logTopics.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean containsValue(List<byte[]> values, byte[] value) {
+        for (byte[] candidate : values) {
+            if (Arrays.equals(candidate, value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,361 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.core.logs;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.utils.Numeric;
+
+/**
+ * Immutable, memory-mapped file holding the logs of a block range.
+ *
+ * <p>Layout, all values big-endian:
+ *
+ * <pre>
+ * header:  magic, version, fromBlock, toBlock, recordCount, pageCount, bloom
+ * pages:   (offset, recordCount, bloom) per page of {@value #PAGE_SIZE} records
+ * records: length, blockNumber, transactionIndex, logIndex, address, blockHash,
+ *          transactionHash, topicCount, topics, data
+ * </pre>
+ *
+ * Quantities are stored as {@code long} values, {@code -1} if absent. Hashes, addresses and topics
+ * are stored as a length byte followed by their bytes, data as a length int followed by its bytes.
+ * A segment is first written to a temporary file and then moved into place, so only complete
+ * segments are ever opened.
+ */
+final class LogSegment {
+
+    static final String SUFFIX = ".seg";
+    static final int PAGE_SIZE = 128;
+
+    private static final int MAGIC = 0x57334c53;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 8 + 4 + 4 + LogBloom.BYTES;
+    private static final int PAGE_ENTRY_SIZE = 4 + 4 + LogBloom.BYTES;
+    private static final int NULL_LENGTH = 0xff;
+    private static final long ABSENT = -1;
+
+    private static final Comparator<Log> LOG_ORDER =
+            Comparator.comparing(Log::getBlockNumber)
+                    .thenComparing(
+                            log -> log.getLogIndexRaw() != null ? log.getLogIndex() : null,
+                            Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    final long fromBlock;
+    final long toBlock;
+    final int recordCount;
+
+    private final LogBloom bloom;
+    private final List<Page> pages;
+    private final MappedByteBuffer buffer;
+
+    private LogSegment(
+            long fromBlock,
+            long toBlock,
+            int recordCount,
+            LogBloom bloom,
+            List<Page> pages,
+            MappedByteBuffer buffer) {
+        this.fromBlock = fromBlock;
+        this.toBlock = toBlock;
+        this.recordCount = recordCount;
+        this.bloom = bloom;
+        this.pages = pages;
+        this.buffer = buffer;
+    }
+
+    static String fileName(long fromBlock, long toBlock) {
+        return String.format("%020d-%020d%s", fromBlock, toBlock, SUFFIX);
+    }
+
+    /** Write the logs of a block range to a new segment in the directory and open it. */
+    static LogSegment write(Path directory, long fromBlock, long toBlock, List<? extends Log> logs)
+            throws IOException {
+        List<Log> sorted = new ArrayList<>(logs);
+        sorted.sort(LOG_ORDER);
+
+        List<byte[]> records = new ArrayList<>(sorted.size());
+        List<LogBloom> recordBlooms = new ArrayList<>(sorted.size());
+        int recordsSize = 0;
+        for (Log log : sorted) {
+            long blockNumber = log.getBlockNumber().longValueExact();
+            if (blockNumber < fromBlock || blockNumber > toBlock) {
+                throw new IllegalArgumentException(
+                        "Log of block " + blockNumber + " outside of the segment range");
+            }
+            byte[] record = encode(log);
+            records.add(record);
+            recordBlooms.add(bloomOf(log));
+            recordsSize += record.length;
+        }
+
+        int pageCount = (records.size() + PAGE_SIZE - 1) / PAGE_SIZE;
+        ByteBuffer file =
+                ByteBuffer.allocate(HEADER_SIZE + pageCount * PAGE_ENTRY_SIZE + recordsSize);
+        LogBloom segmentBloom = new LogBloom();
+        file.position(HEADER_SIZE);
+        int offset = HEADER_SIZE + pageCount * PAGE_ENTRY_SIZE;
+        for (int page = 0; page < pageCount; page++) {
+            int first = page * PAGE_SIZE;
+            int last = Math.min(first + PAGE_SIZE, records.size());
+            LogBloom pageBloom = new LogBloom();
+            for (int i = first; i < last; i++) {
+                pageBloom.addAll(recordBlooms.get(i));
+            }
+            segmentBloom.addAll(pageBloom);
+            file.putInt(offset).putInt(last - first);
+            pageBloom.write(file);
+            for (int i = first; i < last; i++) {
+                offset += records.get(i).length;
+            }
+        }
+        for (byte[] record : records) {
+            file.put(record);
+        }
+
+        file.position(0);
+        file.putInt(MAGIC).putInt(VERSION).putLong(fromBlock).putLong(toBlock);
+        file.putInt(records.size()).putInt(pageCount);
+        segmentBloom.write(file);
+
+        Path path = directory.resolve(fileName(fromBlock, toBlock));
+        Path temporary = directory.resolve(path.getFileName() + ".tmp");
+        try (FileChannel channel =
+                FileChannel.open(
+                        temporary,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.WRITE)) {
+            file.rewind();
+            while (file.hasRemaining()) {
+                channel.write(file);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE);
+        return open(path);
+    }
+
+    static LogSegment open(Path path) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (buffer.limit() < HEADER_SIZE
+                || buffer.getInt() != MAGIC
+                || buffer.getInt() != VERSION) {
+            throw new IOException("Not a log segment: " + path);
+        }
+        long fromBlock = buffer.getLong();
+        long toBlock = buffer.getLong();
+        int recordCount = buffer.getInt();
+        int pageCount = buffer.getInt();
+        LogBloom bloom = LogBloom.read(buffer);
+
+        List<Page> pages = new ArrayList<>(pageCount);
+        for (int i = 0; i < pageCount; i++) {
+            int offset = buffer.getInt();
+            int count = buffer.getInt();
+            pages.add(new Page(offset, count, LogBloom.read(buffer)));
+        }
+        return new LogSegment(fromBlock, toBlock, recordCount, bloom, pages, buffer);
+    }
+
+    /**
+     * Add the logs matching the query to the results, in block and log index order. Pages whose
+     * bloom rules out the query's addresses or topics are skipped, and only matching records are
+     * decoded into {@link Log} objects.
+     */
+    void query(LogQuery query, List<Log> results) {
+        if (!query.overlaps(fromBlock, toBlock) || !query.mayMatch(bloom)) {
+            return;
+        }
+
+        // private cursor, as the mapped buffer is shared by concurrent queries
+        ByteBuffer records = buffer.duplicate();
+        for (Page page : pages) {
+            if (!query.mayMatch(page.bloom)) {
+                continue;
+            }
+            records.position(page.offset);
+            for (int i = 0; i < page.count; i++) {
+                int length = records.getInt();
+                int next = records.position() + length;
+                Log log = readIfMatching(query, records);
+                if (log != null) {
+                    results.add(log);
+                }
+                records.position(next);
+            }
+        }
+    }
+
+    private static Log readIfMatching(LogQuery query, ByteBuffer record) {
+        long blockNumber = record.getLong();
+        if (blockNumber < query.fromBlock || blockNumber > query.toBlock) {
+            return null;
+        }
+        long transactionIndex = record.getLong();
+        long logIndex = record.getLong();
+
+        byte[] address = readBytes(record);
+        if (!query.matchesAddress(address)) {
+            return null;
+        }
+        byte[] blockHash = readBytes(record);
+        byte[] transactionHash = readBytes(record);
+
+        int topicCount = record.get() & 0xff;
+        List<byte[]> topics = new ArrayList<>(topicCount);
+        for (int i = 0; i < topicCount; i++) {
+            topics.add(readBytes(record));
+        }
+        if (!query.matchesTopics(topics)) {
+            return null;
+        }
+
+        byte[] data = new byte[record.getInt()];
+        record.get(data);
+
+        List<String> topicValues = new ArrayList<>(topicCount);
+        for (byte[] topic : topics) {
+            topicValues.add(toHex(topic));
+        }
+        return new Log(
+                false,
+                toQuantity(logIndex),
+                toQuantity(transactionIndex),
+                toHex(transactionHash),
+                toHex(blockHash),
+                toQuantity(blockNumber),
+                toHex(address),
+                Numeric.toHexString(data),
+                null,
+                topicValues);
+    }
+
+    private static byte[] encode(Log log) {
+        byte[] address = fromHex(log.getAddress());
+        byte[] blockHash = fromHex(log.getBlockHash());
+        byte[] transactionHash = fromHex(log.getTransactionHash());
+        List<String> topicValues = log.getTopics() != null ? log.getTopics() : new ArrayList<>();
+        List<byte[]> topics = new ArrayList<>(topicValues.size());
+        for (String topic : topicValues) {
+            topics.add(fromHex(topic));
+        }
+        byte[] data = Numeric.hexStringToByteArray(log.getData() != null ? log.getData() : "");
+
+        int length = 8 + 8 + 8 + size(address) + size(blockHash) + size(transactionHash) + 1;
+        for (byte[] topic : topics) {
+            length += size(topic);
+        }
+        length += 4 + data.length;
+
+        ByteBuffer record = ByteBuffer.allocate(4 + length);
+        record.putInt(length);
+        record.putLong(log.getBlockNumber().longValueExact());
+        record.putLong(
+                log.getTransactionIndexRaw() != null
+                        ? log.getTransactionIndex().longValueExact()
+                        : ABSENT);
+        record.putLong(log.getLogIndexRaw() != null ? log.getLogIndex().longValueExact() : ABSENT);
+        putBytes(record, address);
+        putBytes(record, blockHash);
+        putBytes(record, transactionHash);
+        if (topics.size() > 0xff) {
+            throw new IllegalArgumentException("Too many topics: " + topics.size());
+        }
+        record.put((byte) topics.size());
+        for (byte[] topic : topics) {
+            putBytes(record, topic);
+        }
+        record.putInt(data.length).put(data);
+        return record.array();
+    }
+
+    private static LogBloom bloomOf(Log log) {
+        LogBloom bloom = new LogBloom();
+        if (log.getAddress() != null) {
+            bloom.add(Numeric.hexStringToByteArray(log.getAddress()));
+        }
+        if (log.getTopics() != null) {
+            for (String topic : log.getTopics()) {
+                if (topic != null) {
+                    bloom.add(Numeric.hexStringToByteArray(topic));
+                }
+            }
+        }
+        return bloom;
+    }
+
+    private static byte[] fromHex(String value) {
+        return value != null ? Numeric.hexStringToByteArray(value) : null;
+    }
+
+    private static String toHex(byte[] value) {
+        return value != null ? Numeric.toHexString(value) : null;
+    }
+
+    private static String toQuantity(long value) {
+        return value != ABSENT ? Numeric.encodeQuantity(BigInteger.valueOf(value)) : null;
+    }
+
+    private static int size(byte[] value) {
+        return 1 + (value != null ? value.length : 0);
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.put((byte) NULL_LENGTH);
+        } else if (value.length >= NULL_LENGTH) {
+            throw new IllegalArgumentException("Value too long: " + value.length + " bytes");
+        } else {
+            buffer.put((byte) value.length).put(value);
+        }
+    }
+
+    private static byte[] readBytes(ByteBuffer buffer) {
+        int length = buffer.get() & 0xff;
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] value = new byte[length];
+        buffer.get(value);
+        return value;
+    }
+
+    private static class Page {
+        private final int offset;
+        private final int count;
+        private final LogBloom bloom;
+
+        Page(int offset, int count, LogBloom bloom) {
+            this.offset = offset;
+            this.count = count;
+            this.bloom = bloom;
+        }
+    }
+}
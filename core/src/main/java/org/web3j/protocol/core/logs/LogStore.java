@@ -0,0 +1,248 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.core.logs;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameterNumber;
+import org.web3j.protocol.core.methods.request.EthFilter;
+import org.web3j.protocol.core.methods.response.EthLog;
+import org.web3j.protocol.core.methods.response.Log;
+
+/**
+ * Embedded, append-only store of the logs emitted by a set of contracts, answering {@link
+ * EthFilter} queries locally and fetching from the node only the block ranges it does not hold.
+ *
+ * <p>Logs are kept in immutable, memory-mapped {@link LogSegment segment files} in a compact binary
+ * layout, each covering a block range. Every segment, and every page of records within it, carries
+ * a bloom filter over the addresses and topics of its logs, so queries skip the pages which cannot
+ * match and only decode matching logs.
+ *
+ * <p>The store holds all logs of its addresses, or of all contracts if none are given, so queries
+ * may narrow the addresses and filter on any topics. Stored ranges are never refreshed: only block
+ * ranges which can no longer be reorganized should be queried.
+ */
+public class LogStore {
+
+    public static final long DEFAULT_MAX_BLOCK_RANGE = 2000;
+
+    private static final String ADDRESSES_FILE = "addresses";
+
+    private final Path directory;
+    private final List<String> addresses;
+    private final Set<String> addressSet = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+    private final long maxBlockRange;
+
+    private final NavigableMap<Long, LogSegment> segments = new TreeMap<>();
+    private final Object fetchLock = new Object();
+
+    public LogStore(Path directory, List<String> addresses) throws IOException {
+        this(directory, addresses, DEFAULT_MAX_BLOCK_RANGE);
+    }
+
+    /**
+     * Open a store, creating it if the directory holds none.
+     *
+     * @param directory directory of the store
+     * @param addresses contracts whose logs are stored, or an empty list for all contracts
+     * @param maxBlockRange maximum number of blocks fetched with a single {@code eth_getLogs}
+     *     request
+     * @throws IOException if the store could not be read or was created for other addresses
+     */
+    public LogStore(Path directory, List<String> addresses, long maxBlockRange) throws IOException {
+        this.directory = directory;
+        this.addresses = new ArrayList<>(addresses);
+        this.addressSet.addAll(addresses);
+        this.maxBlockRange = maxBlockRange;
+
+        Files.createDirectories(directory);
+        checkAddresses(directory.resolve(ADDRESSES_FILE));
+        try (DirectoryStream<Path> paths =
+                Files.newDirectoryStream(directory, "*" + LogSegment.SUFFIX)) {
+            for (Path path : paths) {
+                LogSegment segment = LogSegment.open(path);
+                segments.put(segment.fromBlock, segment);
+            }
+        }
+    }
+
+    private void checkAddresses(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            Files.write(path, addressSet, StandardCharsets.UTF_8);
+            return;
+        }
+        Set<String> stored = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        stored.addAll(Files.readAllLines(path, StandardCharsets.UTF_8));
+        if (!stored.equals(addressSet)) {
+            throw new IOException("Log store " + directory + " holds the logs of " + stored);
+        }
+    }
+
+    /**
+     * Get the logs matching a filter, first fetching the block ranges of the filter which are not
+     * stored yet.
+     *
+     * @param web3j node to fetch missing logs from
+     * @param filter filter with a numeric block range
+     * @return the matching logs, in block and log index order
+     * @throws IOException if missing logs could not be fetched, the ranges fetched until then are
+     *     kept
+     */
+    public List<Log> getLogs(Web3j web3j, EthFilter filter) throws IOException {
+        LogQuery query = createQuery(filter);
+        synchronized (fetchLock) {
+            for (long[] range : getMissingRanges(query.fromBlock, query.toBlock)) {
+                for (long from = range[0]; from <= range[1]; from += maxBlockRange) {
+                    long to = Math.min(range[1], from + maxBlockRange - 1);
+                    append(from, to, fetchLogs(web3j, from, to));
+                }
+            }
+        }
+        return query(query);
+    }
+
+    /**
+     * Get the stored logs matching a filter, without fetching the block ranges not stored yet.
+     *
+     * @param filter filter with a numeric block range
+     * @return the matching logs, in block and log index order
+     */
+    public List<Log> getStoredLogs(EthFilter filter) {
+        return query(createQuery(filter));
+    }
+
+    /**
+     * Store the logs of a block range, obtained elsewhere, such as from a subscription.
+     *
+     * @param fromBlock first block of the range
+     * @param toBlock last block of the range
+     * @param logs all logs of the store's addresses within the range
+     * @throws IOException if the logs could not be written
+     * @throws IllegalArgumentException if the range overlaps a stored range
+     */
+    public synchronized void append(long fromBlock, long toBlock, List<? extends Log> logs)
+            throws IOException {
+        List<long[]> missing = getMissingRanges(fromBlock, toBlock);
+        if (missing.size() != 1 || missing.get(0)[0] != fromBlock || missing.get(0)[1] != toBlock) {
+            throw new IllegalArgumentException(
+                    "Blocks " + fromBlock + " to " + toBlock + " are already stored");
+        }
+        LogSegment segment = LogSegment.write(directory, fromBlock, toBlock, logs);
+        segments.put(segment.fromBlock, segment);
+    }
+
+    /**
+     * The block ranges within the given range which are not stored.
+     *
+     * @return the missing ranges as {@code [fromBlock, toBlock]} pairs, in ascending order
+     */
+    public synchronized List<long[]> getMissingRanges(long fromBlock, long toBlock) {
+        List<long[]> missing = new ArrayList<>();
+        long next = fromBlock;
+        Map.Entry<Long, LogSegment> previous = segments.floorEntry(fromBlock);
+        if (previous != null) {
+            next = Math.max(next, previous.getValue().toBlock + 1);
+        }
+        for (LogSegment segment : segments.subMap(fromBlock, false, toBlock, true).values()) {
+            if (segment.fromBlock > next) {
+                missing.add(new long[] {next, segment.fromBlock - 1});
+            }
+            next = Math.max(next, segment.toBlock + 1);
+        }
+        if (next <= toBlock) {
+            missing.add(new long[] {next, toBlock});
+        }
+        return missing;
+    }
+
+    public List<String> getAddresses() {
+        return Collections.unmodifiableList(addresses);
+    }
+
+    /** Number of logs stored. */
+    public synchronized long getLogCount() {
+        long count = 0;
+        for (LogSegment segment : segments.values()) {
+            count += segment.recordCount;
+        }
+        return count;
+    }
+
+    private LogQuery createQuery(EthFilter filter) {
+        if (!addressSet.isEmpty()) {
+            if (filter.getAddress() == null || filter.getAddress().isEmpty()) {
+                throw new IllegalArgumentException("Filter must be limited to " + addresses);
+            }
+            for (String address : filter.getAddress()) {
+                if (!addressSet.contains(address)) {
+                    throw new IllegalArgumentException("Logs of " + address + " are not stored");
+                }
+            }
+        }
+        return LogQuery.of(filter);
+    }
+
+    private List<Log> query(LogQuery query) {
+        List<LogSegment> overlapping = new ArrayList<>();
+        synchronized (this) {
+            Long first = segments.floorKey(query.fromBlock);
+            overlapping.addAll(
+                    segments.subMap(
+                                    first != null ? first : query.fromBlock,
+                                    true,
+                                    query.toBlock,
+                                    true)
+                            .values());
+        }
+
+        List<Log> logs = new ArrayList<>();
+        for (LogSegment segment : overlapping) {
+            segment.query(query, logs);
+        }
+        return logs;
+    }
+
+    private List<Log> fetchLogs(Web3j web3j, long fromBlock, long toBlock) throws IOException {
+        EthFilter filter =
+                new EthFilter(
+                        new DefaultBlockParameterNumber(BigInteger.valueOf(fromBlock)),
+                        new DefaultBlockParameterNumber(BigInteger.valueOf(toBlock)),
+                        addresses.isEmpty() ? null : addresses);
+        EthLog ethLog = web3j.ethGetLogs(filter).send();
+        if (ethLog.hasError()) {
+            throw new IOException("Error fetching logs: " + ethLog.getError().getMessage());
+        }
+
+        List<Log> logs = new ArrayList<>();
+        for (EthLog.LogResult<?> result : ethLog.getLogs()) {
+            if (result instanceof EthLog.LogObject && !((Log) result).isRemoved()) {
+                logs.add((Log) result);
+            }
+        }
+        return logs;
+    }
+}
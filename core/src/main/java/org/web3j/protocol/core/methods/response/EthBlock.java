@@ -15,17 +15,14 @@ package org.web3j.protocol.core.methods.response;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 
-import org.web3j.protocol.ObjectMapperFactory;
 import org.web3j.protocol.core.Response;
 import org.web3j.utils.Numeric;
 
@@ -80,6 +77,7 @@ public class EthBlock extends Response<EthBlock.Block> {
         private List<TransactionResult> transactions;
         private List<String> uncles;
         private List<String> sealFields;
+        private String baseFeePerGas;
 
         public Block() {}
 
@@ -339,6 +337,19 @@ public class EthBlock extends Response<EthBlock.Block> {
             this.sealFields = sealFields;
         }
 
+        /** The base fee of the block, or null before EIP-1559 activation. */
+        public BigInteger getBaseFeePerGas() {
+            return baseFeePerGas != null ? Numeric.decodeQuantity(baseFeePerGas) : null;
+        }
+
+        public String getBaseFeePerGasRaw() {
+            return baseFeePerGas;
+        }
+
+        public void setBaseFeePerGas(String baseFeePerGas) {
+            this.baseFeePerGas = baseFeePerGas;
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) {
@@ -453,9 +464,14 @@ public class EthBlock extends Response<EthBlock.Block> {
                     : block.getUncles() != null) {
                 return false;
             }
-            return getSealFields() != null
-                    ? getSealFields().equals(block.getSealFields())
-                    : block.getSealFields() == null;
+            if (getSealFields() != null
+                    ? !getSealFields().equals(block.getSealFields())
+                    : block.getSealFields() != null) {
+                return false;
+            }
+            return getBaseFeePerGasRaw() != null
+                    ? getBaseFeePerGasRaw().equals(block.getBaseFeePerGasRaw())
+                    : block.getBaseFeePerGasRaw() == null;
         }
 
         @Override
@@ -490,6 +506,11 @@ public class EthBlock extends Response<EthBlock.Block> {
             result = 31 * result + (getTransactions() != null ? getTransactions().hashCode() : 0);
             result = 31 * result + (getUncles() != null ? getUncles().hashCode() : 0);
             result = 31 * result + (getSealFields() != null ? getSealFields().hashCode() : 0);
+            result =
+                    31 * result
+                            + (getBaseFeePerGasRaw() != null
+                                    ? getBaseFeePerGasRaw().hashCode()
+                                    : 0);
             return result;
         }
     }
@@ -527,12 +548,12 @@ public class EthBlock extends Response<EthBlock.Block> {
 
             TransactionHash that = (TransactionHash) o;
 
-            return value != null ? value.equals(that.value) : that.value == null;
+            return get() != null ? get().equals(that.get()) : that.get() == null;
         }
 
         @Override
         public int hashCode() {
-            return value != null ? value.hashCode() : 0;
+            return get() != null ? get().hashCode() : 0;
         }
     }
 
@@ -587,8 +608,6 @@ public class EthBlock extends Response<EthBlock.Block> {
     public static class ResultTransactionDeserialiser
             extends JsonDeserializer<List<TransactionResult>> {
 
-        private ObjectReader objectReader = ObjectMapperFactory.getObjectReader();
-
         @Override
         public List<TransactionResult> deserialize(
                 JsonParser jsonParser, DeserializationContext deserializationContext)
@@ -598,18 +617,16 @@ public class EthBlock extends Response<EthBlock.Block> {
             JsonToken nextToken = jsonParser.nextToken();
 
             if (nextToken == JsonToken.START_OBJECT) {
-                Iterator<TransactionObject> transactionObjectIterator =
-                        objectReader.readValues(jsonParser, TransactionObject.class);
-                while (transactionObjectIterator.hasNext()) {
-                    transactionResults.add(transactionObjectIterator.next());
+                while (jsonParser.currentToken() == JsonToken.START_OBJECT) {
+                    transactionResults.add(
+                            deserializationContext.readValue(jsonParser, TransactionObject.class));
+                    jsonParser.nextToken();
                 }
             } else if (nextToken == JsonToken.VALUE_STRING) {
-                jsonParser.getValueAsString();
-
-                Iterator<TransactionHash> transactionHashIterator =
-                        objectReader.readValues(jsonParser, TransactionHash.class);
-                while (transactionHashIterator.hasNext()) {
-                    transactionResults.add(transactionHashIterator.next());
+                while (jsonParser.currentToken() == JsonToken.VALUE_STRING) {
+                    transactionResults.add(
+                            deserializationContext.readValue(jsonParser, TransactionHash.class));
+                    jsonParser.nextToken();
                 }
             }
 
@@ -619,14 +636,12 @@ public class EthBlock extends Response<EthBlock.Block> {
 
     public static class ResponseDeserialiser extends JsonDeserializer<Block> {
 
-        private ObjectReader objectReader = ObjectMapperFactory.getObjectReader();
-
         @Override
         public Block deserialize(
                 JsonParser jsonParser, DeserializationContext deserializationContext)
                 throws IOException {
             if (jsonParser.getCurrentToken() != JsonToken.VALUE_NULL) {
-                return objectReader.readValue(jsonParser, Block.class);
+                return deserializationContext.readValue(jsonParser, Block.class);
             } else {
                 return null; // null is wrapped by Optional in above getter
             }
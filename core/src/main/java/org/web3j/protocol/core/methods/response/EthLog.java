@@ -14,17 +14,14 @@ package org.web3j.protocol.core.methods.response;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 
-import org.web3j.protocol.ObjectMapperFactory;
 import org.web3j.protocol.core.Response;
 
 /**
@@ -129,8 +126,6 @@ public class EthLog extends Response<List<EthLog.LogResult>> {
 
     public static class LogResultDeserialiser extends JsonDeserializer<List<LogResult>> {
 
-        private ObjectReader objectReader = ObjectMapperFactory.getObjectReader();
-
         @Override
         public List<LogResult> deserialize(
                 JsonParser jsonParser, DeserializationContext deserializationContext)
@@ -140,18 +135,14 @@ public class EthLog extends Response<List<EthLog.LogResult>> {
             JsonToken nextToken = jsonParser.nextToken();
 
             if (nextToken == JsonToken.START_OBJECT) {
-                Iterator<LogObject> logObjectIterator =
-                        objectReader.readValues(jsonParser, LogObject.class);
-                while (logObjectIterator.hasNext()) {
-                    logResults.add(logObjectIterator.next());
+                while (jsonParser.currentToken() == JsonToken.START_OBJECT) {
+                    logResults.add(deserializationContext.readValue(jsonParser, LogObject.class));
+                    jsonParser.nextToken();
                 }
             } else if (nextToken == JsonToken.VALUE_STRING) {
-                jsonParser.getValueAsString();
-
-                Iterator<Hash> transactionHashIterator =
-                        objectReader.readValues(jsonParser, Hash.class);
-                while (transactionHashIterator.hasNext()) {
-                    logResults.add(transactionHashIterator.next());
+                while (jsonParser.currentToken() == JsonToken.VALUE_STRING) {
+                    logResults.add(deserializationContext.readValue(jsonParser, Hash.class));
+                    jsonParser.nextToken();
                 }
             }
             return logResults;
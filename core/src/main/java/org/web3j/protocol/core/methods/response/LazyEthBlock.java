@@ -0,0 +1,82 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.core.methods.response;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import org.web3j.protocol.core.methods.response.compact.LazyTransaction;
+
+/**
+ * eth_getBlockByHash / eth_getBlockByNumber with full transactions, which are only deserialized
+ * when accessed.
+ *
+ * @see LazyTransaction
+ */
+public class LazyEthBlock extends EthBlock {
+
+    @Override
+    @JsonDeserialize(using = LazyEthBlock.ResponseDeserialiser.class)
+    public void setResult(Block result) {
+        super.setResult(result);
+    }
+
+    @Override
+    public LazyBlock getBlock() {
+        return (LazyBlock) getResult();
+    }
+
+    /** Block whose full transactions are {@link LazyTransaction} instances. */
+    public static class LazyBlock extends Block {
+
+        @Override
+        @JsonDeserialize(using = LazyTransaction.ListDeserialiser.class)
+        public void setTransactions(List<TransactionResult> transactions) {
+            super.setTransactions(transactions);
+        }
+
+        /** The full transactions of the block, not yet deserialized. */
+        public List<LazyTransaction> getLazyTransactions() {
+            List<LazyTransaction> transactions = new ArrayList<>();
+            if (getTransactions() != null) {
+                for (TransactionResult<?> transaction : getTransactions()) {
+                    if (transaction instanceof LazyTransaction) {
+                        transactions.add((LazyTransaction) transaction);
+                    }
+                }
+            }
+            return transactions;
+        }
+    }
+
+    public static class ResponseDeserialiser extends JsonDeserializer<Block> {
+
+        @Override
+        public Block deserialize(
+                JsonParser jsonParser, DeserializationContext deserializationContext)
+                throws IOException {
+            if (jsonParser.getCurrentToken() != JsonToken.VALUE_NULL) {
+                return deserializationContext.readValue(jsonParser, LazyBlock.class);
+            } else {
+                return null;
+            }
+        }
+    }
+}
@@ -221,9 +221,9 @@ public class TransactionReceipt {
                 : that.getTransactionHash() != null) {
             return false;
         }
-        if (transactionIndex != null
-                ? !transactionIndex.equals(that.transactionIndex)
-                : that.transactionIndex != null) {
+        if (getTransactionIndexRaw() != null
+                ? !getTransactionIndexRaw().equals(that.getTransactionIndexRaw())
+                : that.getTransactionIndexRaw() != null) {
             return false;
         }
         if (getBlockHash() != null
@@ -231,17 +231,19 @@ public class TransactionReceipt {
                 : that.getBlockHash() != null) {
             return false;
         }
-        if (blockNumber != null
-                ? !blockNumber.equals(that.blockNumber)
-                : that.blockNumber != null) {
+        if (getBlockNumberRaw() != null
+                ? !getBlockNumberRaw().equals(that.getBlockNumberRaw())
+                : that.getBlockNumberRaw() != null) {
             return false;
         }
-        if (cumulativeGasUsed != null
-                ? !cumulativeGasUsed.equals(that.cumulativeGasUsed)
-                : that.cumulativeGasUsed != null) {
+        if (getCumulativeGasUsedRaw() != null
+                ? !getCumulativeGasUsedRaw().equals(that.getCumulativeGasUsedRaw())
+                : that.getCumulativeGasUsedRaw() != null) {
             return false;
         }
-        if (gasUsed != null ? !gasUsed.equals(that.gasUsed) : that.gasUsed != null) {
+        if (getGasUsedRaw() != null
+                ? !getGasUsedRaw().equals(that.getGasUsedRaw())
+                : that.getGasUsedRaw() != null) {
             return false;
         }
         if (getContractAddress() != null
@@ -279,11 +281,19 @@ public class TransactionReceipt {
     @Override
     public int hashCode() {
         int result = getTransactionHash() != null ? getTransactionHash().hashCode() : 0;
-        result = 31 * result + (transactionIndex != null ? transactionIndex.hashCode() : 0);
+        result =
+                31 * result
+                        + (getTransactionIndexRaw() != null
+                                ? getTransactionIndexRaw().hashCode()
+                                : 0);
         result = 31 * result + (getBlockHash() != null ? getBlockHash().hashCode() : 0);
-        result = 31 * result + (blockNumber != null ? blockNumber.hashCode() : 0);
-        result = 31 * result + (cumulativeGasUsed != null ? cumulativeGasUsed.hashCode() : 0);
-        result = 31 * result + (gasUsed != null ? gasUsed.hashCode() : 0);
+        result = 31 * result + (getBlockNumberRaw() != null ? getBlockNumberRaw().hashCode() : 0);
+        result =
+                31 * result
+                        + (getCumulativeGasUsedRaw() != null
+                                ? getCumulativeGasUsedRaw().hashCode()
+                                : 0);
+        result = 31 * result + (getGasUsedRaw() != null ? getGasUsedRaw().hashCode() : 0);
         result = 31 * result + (getContractAddress() != null ? getContractAddress().hashCode() : 0);
         result = 31 * result + (getRoot() != null ? getRoot().hashCode() : 0);
         result = 31 * result + (getStatus() != null ? getStatus().hashCode() : 0);
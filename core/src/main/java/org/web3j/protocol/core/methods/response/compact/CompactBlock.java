@@ -0,0 +1,494 @@
+/*
+ * Copyright 2021 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.core.methods.response.compact;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+
+import org.web3j.protocol.core.methods.response.EthBlock;
+
+import static org.web3j.protocol.core.methods.response.compact.CompactValues.ABSENT;
+
+/**
+ * Compact {@link EthBlock.Block}, holding quantities as {@code long} or pre-parsed {@link
+ * BigInteger} values and hashes, addresses and data as byte arrays. Transactions are deserialized
+ * as {@link CompactTransaction} or {@link CompactTransactionHash} instances.
+ */
+public class CompactBlock extends EthBlock.Block {
+
+    private long number = ABSENT;
+    private Object hash;
+    private Object parentHash;
+    private BigInteger nonce;
+    private Object sha3Uncles;
+    private Object logsBloom;
+    private Object transactionsRoot;
+    private Object stateRoot;
+    private Object receiptsRoot;
+    private Object author;
+    private Object miner;
+    private Object mixHash;
+    private BigInteger difficulty;
+    private BigInteger totalDifficulty;
+    private Object extraData;
+    private long size = ABSENT;
+    private long gasLimit = ABSENT;
+    private long gasUsed = ABSENT;
+    private long timestamp = ABSENT;
+    private List<EthBlock.TransactionResult> transactions;
+    private List<Object> uncles;
+    private List<String> sealFields;
+    private BigInteger baseFeePerGas;
+
+    public CompactBlock() {}
+
+    @Override
+    public BigInteger getNumber() {
+        return number != ABSENT ? BigInteger.valueOf(number) : super.getNumber();
+    }
+
+    @Override
+    public String getNumberRaw() {
+        return number != ABSENT ? CompactValues.quantityToHex(number) : super.getNumberRaw();
+    }
+
+    @Override
+    public void setNumber(String number) {
+        this.number = CompactValues.parseQuantity(number);
+        super.setNumber(this.number == ABSENT ? number : null);
+    }
+
+    @Override
+    public String getHash() {
+        return CompactValues.hexToString(hash);
+    }
+
+    @Override
+    public void setHash(String hash) {
+        this.hash = CompactValues.compactHex(hash);
+    }
+
+    @Override
+    public String getParentHash() {
+        return CompactValues.hexToString(parentHash);
+    }
+
+    @Override
+    public void setParentHash(String parentHash) {
+        this.parentHash = CompactValues.compactHex(parentHash);
+    }
+
+    @Override
+    public BigInteger getNonce() {
+        return nonce != null ? nonce : super.getNonce();
+    }
+
+    @Override
+    public String getNonceRaw() {
+        return nonce != null ? CompactValues.bigQuantityToHex(nonce) : super.getNonceRaw();
+    }
+
+    @Override
+    public void setNonce(String nonce) {
+        this.nonce = CompactValues.parseBigQuantity(nonce);
+        super.setNonce(this.nonce == null ? nonce : null);
+    }
+
+    @Override
+    public String getSha3Uncles() {
+        return CompactValues.hexToString(sha3Uncles);
+    }
+
+    @Override
+    public void setSha3Uncles(String sha3Uncles) {
+        this.sha3Uncles = CompactValues.compactHex(sha3Uncles);
+    }
+
+    @Override
+    public String getLogsBloom() {
+        return CompactValues.hexToString(logsBloom);
+    }
+
+    @Override
+    public void setLogsBloom(String logsBloom) {
+        this.logsBloom = CompactValues.compactHex(logsBloom);
+    }
+
+    @Override
+    public String getTransactionsRoot() {
+        return CompactValues.hexToString(transactionsRoot);
+    }
+
+    @Override
+    public void setTransactionsRoot(String transactionsRoot) {
+        this.transactionsRoot = CompactValues.compactHex(transactionsRoot);
+    }
+
+    @Override
+    public String getStateRoot() {
+        return CompactValues.hexToString(stateRoot);
+    }
+
+    @Override
+    public void setStateRoot(String stateRoot) {
+        this.stateRoot = CompactValues.compactHex(stateRoot);
+    }
+
+    @Override
+    public String getReceiptsRoot() {
+        return CompactValues.hexToString(receiptsRoot);
+    }
+
+    @Override
+    public void setReceiptsRoot(String receiptsRoot) {
+        this.receiptsRoot = CompactValues.compactHex(receiptsRoot);
+    }
+
+    @Override
+    public String getAuthor() {
+        return CompactValues.hexToString(author);
+    }
+
+    @Override
+    public void setAuthor(String author) {
+        this.author = CompactValues.compactAddress(author);
+    }
+
+    @Override
+    public String getMiner() {
+        return CompactValues.hexToString(miner);
+    }
+
+    @Override
+    public void setMiner(String miner) {
+        this.miner = CompactValues.compactAddress(miner);
+    }
+
+    @Override
+    public String getMixHash() {
+        return CompactValues.hexToString(mixHash);
+    }
+
+    @Override
+    public void setMixHash(String mixHash) {
+        this.mixHash = CompactValues.compactHex(mixHash);
+    }
+
+    @Override
+    public BigInteger getDifficulty() {
+        return difficulty != null ? difficulty : super.getDifficulty();
+    }
+
+    @Override
+    public String getDifficultyRaw() {
+        return difficulty != null
+                ? CompactValues.bigQuantityToHex(difficulty)
+                : super.getDifficultyRaw();
+    }
+
+    @Override
+    public void setDifficulty(String difficulty) {
+        this.difficulty = CompactValues.parseBigQuantity(difficulty);
+        super.setDifficulty(this.difficulty == null ? difficulty : null);
+    }
+
+    @Override
+    public BigInteger getTotalDifficulty() {
+        return totalDifficulty != null ? totalDifficulty : super.getTotalDifficulty();
+    }
+
+    @Override
+    public String getTotalDifficultyRaw() {
+        return totalDifficulty != null
+                ? CompactValues.bigQuantityToHex(totalDifficulty)
+                : super.getTotalDifficultyRaw();
+    }
+
+    @Override
+    public void setTotalDifficulty(String totalDifficulty) {
+        this.totalDifficulty = CompactValues.parseBigQuantity(totalDifficulty);
+        super.setTotalDifficulty(this.totalDifficulty == null ? totalDifficulty : null);
+    }
+
+    @Override
+    public String getExtraData() {
+        return CompactValues.hexToString(extraData);
+    }
+
+    @Override
+    public void setExtraData(String extraData) {
+        this.extraData = CompactValues.compactHex(extraData);
+    }
+
+    @Override
+    public BigInteger getSize() {
+        return size != ABSENT ? BigInteger.valueOf(size) : super.getSize();
+    }
+
+    @Override
+    public String getSizeRaw() {
+        return size != ABSENT ? CompactValues.quantityToHex(size) : super.getSizeRaw();
+    }
+
+    @Override
+    public void setSize(String size) {
+        this.size = CompactValues.parseQuantity(size);
+        super.setSize(this.size == ABSENT ? size : null);
+    }
+
+    @Override
+    public BigInteger getGasLimit() {
+        return gasLimit != ABSENT ? BigInteger.valueOf(gasLimit) : super.getGasLimit();
+    }
+
+    @Override
+    public String getGasLimitRaw() {
+        return gasLimit != ABSENT ? CompactValues.quantityToHex(gasLimit) : super.getGasLimitRaw();
+    }
+
+    @Override
+    public void setGasLimit(String gasLimit) {
+        this.gasLimit = CompactValues.parseQuantity(gasLimit);
+        super.setGasLimit(this.gasLimit == ABSENT ? gasLimit : null);
+    }
+
+    @Override
+    public BigInteger getGasUsed() {
+        return gasUsed != ABSENT ? BigInteger.valueOf(gasUsed) : super.getGasUsed();
+    }
+
+    @Override
+    public String getGasUsedRaw() {
+        return gasUsed != ABSENT ? CompactValues.quantityToHex(gasUsed) : super.getGasUsedRaw();
+    }
+
+    @Override
+    public void setGasUsed(String gasUsed) {
+        this.gasUsed = CompactValues.parseQuantity(gasUsed);
+        super.setGasUsed(this.gasUsed == ABSENT ? gasUsed : null);
+    }
+
+    @Override
+    public BigInteger getTimestamp() {
+        return timestamp != ABSENT ? BigInteger.valueOf(timestamp) : super.getTimestamp();
+    }
+
+    @Override
+    public String getTimestampRaw() {
+        return timestamp != ABSENT
+                ? CompactValues.quantityToHex(timestamp)
+                : super.getTimestampRaw();
+    }
+
+    @Override
+    public void setTimestamp(String timestamp) {
+        this.timestamp = CompactValues.parseQuantity(timestamp);
+        super.setTimestamp(this.timestamp == ABSENT ? timestamp : null);
+    }
+
+    @Override
+    public List<EthBlock.TransactionResult> getTransactions() {
+        return transactions;
+    }
+
+    @Override
+    public void setTransactions(List<EthBlock.TransactionResult> transactions) {
+        this.transactions = transactions;
+    }
+
+    @Override
+    public List<String> getUncles() {
+        return CompactValues.hexListView(uncles);
+    }
+
+    @Override
+    public void setUncles(List<String> uncles) {
+        this.uncles = CompactValues.compactHexList(uncles);
+    }
+
+    @Override
+    public List<String> getSealFields() {
+        return sealFields;
+    }
+
+    @Override
+    public void setSealFields(List<String> sealFields) {
+        this.sealFields = sealFields;
+    }
+
+    @Override
+    public BigInteger getBaseFeePerGas() {
+        return baseFeePerGas != null ? baseFeePerGas : super.getBaseFeePerGas();
+    }
+
+    @Override
+    public String getBaseFeePerGasRaw() {
+        return baseFeePerGas != null
+                ? CompactValues.bigQuantityToHex(baseFeePerGas)
+                : super.getBaseFeePerGasRaw();
+    }
+
+    @Override
+    public void setBaseFeePerGas(String baseFeePerGas) {
+        this.baseFeePerGas = CompactValues.parseBigQuantity(baseFeePerGas);
+        super.setBaseFeePerGas(this.baseFeePerGas == null ? baseFeePerGas : null);
+    }
+
+    public static class Deserialiser extends CompactDeserialiser<CompactBlock> {
+
+        private final CompactTransaction.Deserialiser transactionDeserialiser =
+                new CompactTransaction.Deserialiser();
+        private final CompactTransactionHash.Deserialiser transactionHashDeserialiser =
+                new CompactTransactionHash.Deserialiser();
+
+        @Override
+        CompactBlock create() {
+            return new CompactBlock();
+        }
+
+        @Override
+        boolean readField(
+                CompactBlock block,
+                String name,
+                JsonParser jsonParser,
+                DeserializationContext deserializationContext)
+                throws IOException {
+            switch (name) {
+                case "number":
+                    block.number = CompactValues.readQuantity(jsonParser);
+                    if (block.number == ABSENT) {
+                        block.setNumber(jsonParser.getText());
+                    }
+                    return true;
+                case "hash":
+                    block.hash = CompactValues.readHex(jsonParser);
+                    return true;
+                case "parentHash":
+                    block.parentHash = CompactValues.readHex(jsonParser);
+                    return true;
+                case "nonce":
+                    block.nonce = CompactValues.readBigQuantity(jsonParser);
+                    if (block.nonce == null) {
+                        block.setNonce(jsonParser.getText());
+                    }
+                    return true;
+                case "sha3Uncles":
+                    block.sha3Uncles = CompactValues.readHex(jsonParser);
+                    return true;
+                case "logsBloom":
+                    block.logsBloom = CompactValues.readHex(jsonParser);
+                    return true;
+                case "transactionsRoot":
+                    block.transactionsRoot = CompactValues.readHex(jsonParser);
+                    return true;
+                case "stateRoot":
+                    block.stateRoot = CompactValues.readHex(jsonParser);
+                    return true;
+                case "receiptsRoot":
+                    block.receiptsRoot = CompactValues.readHex(jsonParser);
+                    return true;
+                case "author":
+                    block.author = CompactValues.readAddress(jsonParser);
+                    return true;
+                case "miner":
+                    block.miner = CompactValues.readAddress(jsonParser);
+                    return true;
+                case "mixHash":
+                    block.mixHash = CompactValues.readHex(jsonParser);
+                    return true;
+                case "difficulty":
+                    block.difficulty = CompactValues.readBigQuantity(jsonParser);
+                    if (block.difficulty == null) {
+                        block.setDifficulty(jsonParser.getText());
+                    }
+                    return true;
+                case "totalDifficulty":
+                    block.totalDifficulty = CompactValues.readBigQuantity(jsonParser);
+                    if (block.totalDifficulty == null) {
+                        block.setTotalDifficulty(jsonParser.getText());
+                    }
+                    return true;
+                case "extraData":
+                    block.extraData = CompactValues.readHex(jsonParser);
+                    return true;
+                case "size":
+                    block.size = CompactValues.readQuantity(jsonParser);
+                    if (block.size == ABSENT) {
+                        block.setSize(jsonParser.getText());
+                    }
+                    return true;
+                case "gasLimit":
+                    block.gasLimit = CompactValues.readQuantity(jsonParser);
+                    if (block.gasLimit == ABSENT) {
+                        block.setGasLimit(jsonParser.getText());
+                    }
+                    return true;
+                case "gasUsed":
+                    block.gasUsed = CompactValues.readQuantity(jsonParser);
+                    if (block.gasUsed == ABSENT) {
+                        block.setGasUsed(jsonParser.getText());
+                    }
+                    return true;
+                case "timestamp":
+                    block.timestamp = CompactValues.readQuantity(jsonParser);
+                    if (block.timestamp == ABSENT) {
+                        block.setTimestamp(jsonParser.getText());
+                    }
+                    return true;
+                case "transactions":
+                    block.transactions = readTransactions(jsonParser, deserializationContext);
+                    return true;
+                case "uncles":
+                    block.uncles = CompactValues.readHexList(jsonParser);
+                    return true;
+                case "sealFields":
+                    block.sealFields = CompactValues.readStringList(jsonParser);
+                    return true;
+                case "baseFeePerGas":
+                    block.baseFeePerGas = CompactValues.readBigQuantity(jsonParser);
+                    if (block.baseFeePerGas == null) {
+                        block.setBaseFeePerGas(jsonParser.getText());
+                    }
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        private List<EthBlock.TransactionResult> readTransactions(
+                JsonParser jsonParser, DeserializationContext deserializationContext)
+                throws IOException {
+            List<EthBlock.TransactionResult> transactions = new ArrayList<>();
+            JsonToken token = jsonParser.nextToken();
+            while (token != JsonToken.END_ARRAY) {
+                if (token == JsonToken.START_OBJECT) {
+                    transactions.add(
+                            transactionDeserialiser.deserialize(
+                                    jsonParser, deserializationContext));
+                } else {
+                    transactions.add(
+                            transactionHashDeserialiser.deserialize(
+                                    jsonParser, deserializationContext));
+                }
+                token = jsonParser.nextToken();
+            }
+            return transactions;
+        }
+    }
+}
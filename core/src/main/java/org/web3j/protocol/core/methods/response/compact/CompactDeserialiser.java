@@ -0,0 +1,66 @@
+/*
+ * Copyright 2021 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.core.methods.response.compact;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+
+/**
+ * Streaming deserializer for the compact response types. Fields are decoded directly from the
+ * parser's text buffer, without materializing intermediate strings, and unknown fields are skipped.
+ *
+ * @param <T> compact type being deserialized
+ */
+abstract class CompactDeserialiser<T> extends JsonDeserializer<T> {
+
+    @Override
+    public T deserialize(JsonParser jsonParser, DeserializationContext deserializationContext)
+            throws IOException {
+        T value = create();
+
+        JsonToken token = jsonParser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = jsonParser.nextToken();
+        }
+
+        while (token == JsonToken.FIELD_NAME) {
+            String name = jsonParser.getCurrentName();
+            JsonToken valueToken = jsonParser.nextToken();
+            if (valueToken != JsonToken.VALUE_NULL
+                    && !readField(value, name, jsonParser, deserializationContext)) {
+                jsonParser.skipChildren();
+            }
+            token = jsonParser.nextToken();
+        }
+
+        return value;
+    }
+
+    abstract T create();
+
+    /**
+     * Read the value of a single field, the parser is positioned on the value token.
+     *
+     * @return false if the field is not known and should be skipped
+     */
+    abstract boolean readField(
+            T value,
+            String name,
+            JsonParser jsonParser,
+            DeserializationContext deserializationContext)
+            throws IOException;
+}
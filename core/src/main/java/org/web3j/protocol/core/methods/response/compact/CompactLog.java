@@ -0,0 +1,251 @@
+/*
+ * Copyright 2021 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.core.methods.response.compact;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+
+import org.web3j.protocol.core.methods.response.EthLog;
+
+import static org.web3j.protocol.core.methods.response.compact.CompactValues.ABSENT;
+
+/**
+ * Compact {@link org.web3j.protocol.core.methods.response.Log}, holding quantities as {@code long}
+ * values and hashes, addresses and data as byte arrays.
+ */
+public class CompactLog extends EthLog.LogObject {
+
+    private long logIndex = ABSENT;
+    private long transactionIndex = ABSENT;
+    private long blockNumber = ABSENT;
+    private Object transactionHash;
+    private Object blockHash;
+    private Object address;
+    private Object data;
+    private String type;
+    private List<Object> topics;
+
+    public CompactLog() {}
+
+    @Override
+    public BigInteger getLogIndex() {
+        return logIndex != ABSENT ? BigInteger.valueOf(logIndex) : super.getLogIndex();
+    }
+
+    @Override
+    public String getLogIndexRaw() {
+        return logIndex != ABSENT ? CompactValues.quantityToHex(logIndex) : super.getLogIndexRaw();
+    }
+
+    @Override
+    public void setLogIndex(String logIndex) {
+        this.logIndex = CompactValues.parseQuantity(logIndex);
+        super.setLogIndex(this.logIndex == ABSENT ? logIndex : null);
+    }
+
+    @Override
+    public BigInteger getTransactionIndex() {
+        return transactionIndex != ABSENT
+                ? BigInteger.valueOf(transactionIndex)
+                : super.getTransactionIndex();
+    }
+
+    @Override
+    public String getTransactionIndexRaw() {
+        return transactionIndex != ABSENT
+                ? CompactValues.quantityToHex(transactionIndex)
+                : super.getTransactionIndexRaw();
+    }
+
+    @Override
+    public void setTransactionIndex(String transactionIndex) {
+        this.transactionIndex = CompactValues.parseQuantity(transactionIndex);
+        super.setTransactionIndex(this.transactionIndex == ABSENT ? transactionIndex : null);
+    }
+
+    @Override
+    public String getTransactionHash() {
+        return CompactValues.hexToString(transactionHash);
+    }
+
+    @Override
+    public void setTransactionHash(String transactionHash) {
+        this.transactionHash = CompactValues.compactHex(transactionHash);
+    }
+
+    @Override
+    public String getBlockHash() {
+        return CompactValues.hexToString(blockHash);
+    }
+
+    @Override
+    public void setBlockHash(String blockHash) {
+        this.blockHash = CompactValues.compactHex(blockHash);
+    }
+
+    @Override
+    public BigInteger getBlockNumber() {
+        return blockNumber != ABSENT ? BigInteger.valueOf(blockNumber) : super.getBlockNumber();
+    }
+
+    @Override
+    public String getBlockNumberRaw() {
+        return blockNumber != ABSENT
+                ? CompactValues.quantityToHex(blockNumber)
+                : super.getBlockNumberRaw();
+    }
+
+    @Override
+    public void setBlockNumber(String blockNumber) {
+        this.blockNumber = CompactValues.parseQuantity(blockNumber);
+        super.setBlockNumber(this.blockNumber == ABSENT ? blockNumber : null);
+    }
+
+    @Override
+    public String getAddress() {
+        return CompactValues.hexToString(address);
+    }
+
+    @Override
+    public void setAddress(String address) {
+        this.address = CompactValues.compactAddress(address);
+    }
+
+    @Override
+    public String getData() {
+        return CompactValues.hexToString(data);
+    }
+
+    @Override
+    public void setData(String data) {
+        this.data = CompactValues.compactHex(data);
+    }
+
+    @Override
+    public String getType() {
+        return type;
+    }
+
+    @Override
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    @Override
+    public List<String> getTopics() {
+        return CompactValues.hexListView(topics);
+    }
+
+    @Override
+    public void setTopics(List<String> topics) {
+        this.topics = CompactValues.compactHexList(topics);
+    }
+
+    @Override
+    public String toString() {
+        return "CompactLog{"
+                + "removed="
+                + isRemoved()
+                + ", logIndex='"
+                + getLogIndexRaw()
+                + '\''
+                + ", transactionIndex='"
+                + getTransactionIndexRaw()
+                + '\''
+                + ", transactionHash='"
+                + getTransactionHash()
+                + '\''
+                + ", blockHash='"
+                + getBlockHash()
+                + '\''
+                + ", blockNumber='"
+                + getBlockNumberRaw()
+                + '\''
+                + ", address='"
+                + getAddress()
+                + '\''
+                + ", data='"
+                + getData()
+                + '\''
+                + ", type='"
+                + type
+                + '\''
+                + ", topics="
+                + getTopics()
+                + '}';
+    }
+
+    public static class Deserialiser extends CompactDeserialiser<CompactLog> {
+
+        @Override
+        CompactLog create() {
+            return new CompactLog();
+        }
+
+        @Override
+        boolean readField(
+                CompactLog log,
+                String name,
+                JsonParser jsonParser,
+                DeserializationContext deserializationContext)
+                throws IOException {
+            switch (name) {
+                case "removed":
+                    log.setRemoved(jsonParser.getValueAsBoolean());
+                    return true;
+                case "logIndex":
+                    log.logIndex = CompactValues.readQuantity(jsonParser);
+                    if (log.logIndex == ABSENT) {
+                        log.setLogIndex(jsonParser.getText());
+                    }
+                    return true;
+                case "transactionIndex":
+                    log.transactionIndex = CompactValues.readQuantity(jsonParser);
+                    if (log.transactionIndex == ABSENT) {
+                        log.setTransactionIndex(jsonParser.getText());
+                    }
+                    return true;
+                case "transactionHash":
+                    log.transactionHash = CompactValues.readHex(jsonParser);
+                    return true;
+                case "blockHash":
+                    log.blockHash = CompactValues.readHex(jsonParser);
+                    return true;
+                case "blockNumber":
+                    log.blockNumber = CompactValues.readQuantity(jsonParser);
+                    if (log.blockNumber == ABSENT) {
+                        log.setBlockNumber(jsonParser.getText());
+                    }
+                    return true;
+                case "address":
+                    log.address = CompactValues.readAddress(jsonParser);
+                    return true;
+                case "data":
+                    log.data = CompactValues.readHex(jsonParser);
+                    return true;
+                case "type":
+                    log.type = jsonParser.getValueAsString();
+                    return true;
+                case "topics":
+                    log.topics = CompactValues.readHexList(jsonParser);
+                    return true;
+                default:
+                    return false;
+            }
+        }
+    }
+}
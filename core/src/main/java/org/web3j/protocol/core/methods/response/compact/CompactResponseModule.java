@@ -0,0 +1,52 @@
+/*
+ * Copyright 2021 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.core.methods.response.compact;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.EthLog;
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.protocol.core.methods.response.Transaction;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+/**
+ * Jackson module which deserializes blocks, transactions, receipts and logs into their compact
+ * counterparts.
+ *
+ * <p>The compact types extend the regular response types, so existing code keeps working unchanged,
+ * but they decode quantities once at parse time and store hashes, addresses and data as byte
+ * arrays, considerably reducing the memory held by large numbers of responses. Addresses are shared
+ * between instances where possible.
+ *
+ * <p>Only the exact response types are replaced, subclasses such as those of the private
+ * transaction APIs are deserialized as before.
+ *
+ * @see org.web3j.protocol.ObjectMapperFactory#getObjectMapper(boolean, boolean)
+ */
+public class CompactResponseModule extends SimpleModule {
+
+    private static final long serialVersionUID = 1L;
+
+    public CompactResponseModule() {
+        super(CompactResponseModule.class.getSimpleName());
+
+        addDeserializer(EthBlock.Block.class, new CompactBlock.Deserialiser());
+        addDeserializer(EthBlock.TransactionHash.class, new CompactTransactionHash.Deserialiser());
+        addDeserializer(EthBlock.TransactionObject.class, new CompactTransaction.Deserialiser());
+        addDeserializer(Transaction.class, new CompactTransaction.Deserialiser());
+        addDeserializer(TransactionReceipt.class, new CompactTransactionReceipt.Deserialiser());
+        addDeserializer(EthLog.LogObject.class, new CompactLog.Deserialiser());
+        addDeserializer(Log.class, new CompactLog.Deserialiser());
+    }
+}
@@ -0,0 +1,347 @@
+/*
+ * Copyright 2021 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.core.methods.response.compact;
+
+import java.io.IOException;
+import java.math.BigInteger;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+
+import org.web3j.protocol.core.methods.response.EthBlock;
+
+import static org.web3j.protocol.core.methods.response.compact.CompactValues.ABSENT;
+
+/**
+ * Compact {@link org.web3j.protocol.core.methods.response.Transaction}, holding quantities as
+ * {@code long} or pre-parsed {@link BigInteger} values and hashes, addresses and data as byte
+ * arrays.
+ */
+public class CompactTransaction extends EthBlock.TransactionObject {
+
+    private Object hash;
+    private BigInteger nonce;
+    private Object blockHash;
+    private long blockNumber = ABSENT;
+    private long transactionIndex = ABSENT;
+    private Object from;
+    private Object to;
+    private BigInteger value;
+    private BigInteger gasPrice;
+    private long gas = ABSENT;
+    private Object input;
+    private Object creates;
+    private Object publicKey;
+    private Object raw;
+    private Object r;
+    private Object s;
+
+    public CompactTransaction() {}
+
+    @Override
+    public String getHash() {
+        return CompactValues.hexToString(hash);
+    }
+
+    @Override
+    public void setHash(String hash) {
+        this.hash = CompactValues.compactHex(hash);
+    }
+
+    @Override
+    public BigInteger getNonce() {
+        return nonce != null ? nonce : super.getNonce();
+    }
+
+    @Override
+    public String getNonceRaw() {
+        return nonce != null ? CompactValues.bigQuantityToHex(nonce) : super.getNonceRaw();
+    }
+
+    @Override
+    public void setNonce(String nonce) {
+        this.nonce = CompactValues.parseBigQuantity(nonce);
+        super.setNonce(this.nonce == null ? nonce : null);
+    }
+
+    @Override
+    public String getBlockHash() {
+        return CompactValues.hexToString(blockHash);
+    }
+
+    @Override
+    public void setBlockHash(String blockHash) {
+        this.blockHash = CompactValues.compactHex(blockHash);
+    }
+
+    @Override
+    public BigInteger getBlockNumber() {
+        return blockNumber != ABSENT ? BigInteger.valueOf(blockNumber) : super.getBlockNumber();
+    }
+
+    @Override
+    public String getBlockNumberRaw() {
+        return blockNumber != ABSENT
+                ? CompactValues.quantityToHex(blockNumber)
+                : super.getBlockNumberRaw();
+    }
+
+    @Override
+    public void setBlockNumber(String blockNumber) {
+        this.blockNumber = CompactValues.parseQuantity(blockNumber);
+        super.setBlockNumber(this.blockNumber == ABSENT ? blockNumber : null);
+    }
+
+    @Override
+    public BigInteger getTransactionIndex() {
+        return transactionIndex != ABSENT
+                ? BigInteger.valueOf(transactionIndex)
+                : super.getTransactionIndex();
+    }
+
+    @Override
+    public String getTransactionIndexRaw() {
+        return transactionIndex != ABSENT
+                ? CompactValues.quantityToHex(transactionIndex)
+                : super.getTransactionIndexRaw();
+    }
+
+    @Override
+    public void setTransactionIndex(String transactionIndex) {
+        this.transactionIndex = CompactValues.parseQuantity(transactionIndex);
+        super.setTransactionIndex(this.transactionIndex == ABSENT ? transactionIndex : null);
+    }
+
+    @Override
+    public String getFrom() {
+        return CompactValues.hexToString(from);
+    }
+
+    @Override
+    public void setFrom(String from) {
+        this.from = CompactValues.compactAddress(from);
+    }
+
+    @Override
+    public String getTo() {
+        return CompactValues.hexToString(to);
+    }
+
+    @Override
+    public void setTo(String to) {
+        this.to = CompactValues.compactAddress(to);
+    }
+
+    @Override
+    public BigInteger getValue() {
+        return value != null ? value : super.getValue();
+    }
+
+    @Override
+    public String getValueRaw() {
+        return value != null ? CompactValues.bigQuantityToHex(value) : super.getValueRaw();
+    }
+
+    @Override
+    public void setValue(String value) {
+        this.value = CompactValues.parseBigQuantity(value);
+        super.setValue(this.value == null ? value : null);
+    }
+
+    @Override
+    public BigInteger getGasPrice() {
+        return gasPrice != null ? gasPrice : super.getGasPrice();
+    }
+
+    @Override
+    public String getGasPriceRaw() {
+        return gasPrice != null ? CompactValues.bigQuantityToHex(gasPrice) : super.getGasPriceRaw();
+    }
+
+    @Override
+    public void setGasPrice(String gasPrice) {
+        this.gasPrice = CompactValues.parseBigQuantity(gasPrice);
+        super.setGasPrice(this.gasPrice == null ? gasPrice : null);
+    }
+
+    @Override
+    public BigInteger getGas() {
+        return gas != ABSENT ? BigInteger.valueOf(gas) : super.getGas();
+    }
+
+    @Override
+    public String getGasRaw() {
+        return gas != ABSENT ? CompactValues.quantityToHex(gas) : super.getGasRaw();
+    }
+
+    @Override
+    public void setGas(String gas) {
+        this.gas = CompactValues.parseQuantity(gas);
+        super.setGas(this.gas == ABSENT ? gas : null);
+    }
+
+    @Override
+    public String getInput() {
+        return CompactValues.hexToString(input);
+    }
+
+    @Override
+    public void setInput(String input) {
+        this.input = CompactValues.compactHex(input);
+    }
+
+    @Override
+    public String getCreates() {
+        return CompactValues.hexToString(creates);
+    }
+
+    @Override
+    public void setCreates(String creates) {
+        this.creates = CompactValues.compactAddress(creates);
+    }
+
+    @Override
+    public String getPublicKey() {
+        return CompactValues.hexToString(publicKey);
+    }
+
+    @Override
+    public void setPublicKey(String publicKey) {
+        this.publicKey = CompactValues.compactHex(publicKey);
+    }
+
+    @Override
+    public String getRaw() {
+        return CompactValues.hexToString(raw);
+    }
+
+    @Override
+    public void setRaw(String raw) {
+        this.raw = CompactValues.compactHex(raw);
+    }
+
+    @Override
+    public String getR() {
+        return CompactValues.hexToString(r);
+    }
+
+    @Override
+    public void setR(String r) {
+        this.r = CompactValues.compactHex(r);
+    }
+
+    @Override
+    public String getS() {
+        return CompactValues.hexToString(s);
+    }
+
+    @Override
+    public void setS(String s) {
+        this.s = CompactValues.compactHex(s);
+    }
+
+    public static class Deserialiser extends CompactDeserialiser<CompactTransaction> {
+
+        @Override
+        CompactTransaction create() {
+            return new CompactTransaction();
+        }
+
+        @Override
+        boolean readField(
+                CompactTransaction transaction,
+                String name,
+                JsonParser jsonParser,
+                DeserializationContext deserializationContext)
+                throws IOException {
+            switch (name) {
+                case "hash":
+                    transaction.hash = CompactValues.readHex(jsonParser);
+                    return true;
+                case "nonce":
+                    transaction.nonce = CompactValues.readBigQuantity(jsonParser);
+                    if (transaction.nonce == null) {
+                        transaction.setNonce(jsonParser.getText());
+                    }
+                    return true;
+                case "blockHash":
+                    transaction.blockHash = CompactValues.readHex(jsonParser);
+                    return true;
+                case "blockNumber":
+                    transaction.blockNumber = CompactValues.readQuantity(jsonParser);
+                    if (transaction.blockNumber == ABSENT) {
+                        transaction.setBlockNumber(jsonParser.getText());
+                    }
+                    return true;
+                case "transactionIndex":
+                    transaction.transactionIndex = CompactValues.readQuantity(jsonParser);
+                    if (transaction.transactionIndex == ABSENT) {
+                        transaction.setTransactionIndex(jsonParser.getText());
+                    }
+                    return true;
+                case "from":
+                    transaction.from = CompactValues.readAddress(jsonParser);
+                    return true;
+                case "to":
+                    transaction.to = CompactValues.readAddress(jsonParser);
+                    return true;
+                case "value":
+                    transaction.value = CompactValues.readBigQuantity(jsonParser);
+                    if (transaction.value == null) {
+                        transaction.setValue(jsonParser.getText());
+                    }
+                    return true;
+                case "gasPrice":
+                    transaction.gasPrice = CompactValues.readBigQuantity(jsonParser);
+                    if (transaction.gasPrice == null) {
+                        transaction.setGasPrice(jsonParser.getText());
+                    }
+                    return true;
+                case "gas":
+                    transaction.gas = CompactValues.readQuantity(jsonParser);
+                    if (transaction.gas == ABSENT) {
+                        transaction.setGas(jsonParser.getText());
+                    }
+                    return true;
+                case "input":
+                    transaction.input = CompactValues.readHex(jsonParser);
+                    return true;
+                case "creates":
+                    transaction.creates = CompactValues.readAddress(jsonParser);
+                    return true;
+                case "publicKey":
+                    transaction.publicKey = CompactValues.readHex(jsonParser);
+                    return true;
+                case "raw":
+                    transaction.raw = CompactValues.readHex(jsonParser);
+                    return true;
+                case "r":
+                    transaction.r = CompactValues.readHex(jsonParser);
+                    return true;
+                case "s":
+                    transaction.s = CompactValues.readHex(jsonParser);
+                    return true;
+                case "v":
+                    if (jsonParser.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+                        transaction.setV(jsonParser.getLongValue());
+                    } else {
+                        transaction.setV(jsonParser.getValueAsString());
+                    }
+                    return true;
+                default:
+                    return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2021 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.core.methods.response.compact;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+
+import org.web3j.protocol.core.methods.response.EthBlock;
+
+/** Compact {@link EthBlock.TransactionHash}, holding the hash as a byte array. */
+public class CompactTransactionHash extends EthBlock.TransactionHash {
+
+    private Object value;
+
+    public CompactTransactionHash() {}
+
+    public CompactTransactionHash(String value) {
+        this.value = CompactValues.compactHex(value);
+    }
+
+    @Override
+    public String get() {
+        return CompactValues.hexToString(value);
+    }
+
+    @Override
+    public void setValue(String value) {
+        this.value = CompactValues.compactHex(value);
+    }
+
+    public static class Deserialiser extends JsonDeserializer<CompactTransactionHash> {
+
+        @Override
+        public CompactTransactionHash deserialize(
+                JsonParser jsonParser, DeserializationContext deserializationContext)
+                throws IOException {
+            CompactTransactionHash transactionHash = new CompactTransactionHash();
+            transactionHash.value = CompactValues.readHex(jsonParser);
+            return transactionHash;
+        }
+    }
+}
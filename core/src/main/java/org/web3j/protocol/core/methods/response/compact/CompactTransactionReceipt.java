@@ -0,0 +1,359 @@
+/*
+ * Copyright 2021 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.core.methods.response.compact;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+import static org.web3j.protocol.core.methods.response.compact.CompactValues.ABSENT;
+
+/**
+ * Compact {@link TransactionReceipt}, holding quantities as {@code long} values and hashes,
+ * addresses and data as byte arrays. Logs are deserialized as {@link CompactLog} instances.
+ */
+public class CompactTransactionReceipt extends TransactionReceipt {
+
+    private Object transactionHash;
+    private long transactionIndex = ABSENT;
+    private Object blockHash;
+    private long blockNumber = ABSENT;
+    private long cumulativeGasUsed = ABSENT;
+    private long gasUsed = ABSENT;
+    private Object contractAddress;
+    private Object root;
+    private String status;
+    private Object from;
+    private Object to;
+    private List<Log> logs;
+    private Object logsBloom;
+    private String revertReason;
+
+    public CompactTransactionReceipt() {}
+
+    @Override
+    public String getTransactionHash() {
+        return CompactValues.hexToString(transactionHash);
+    }
+
+    @Override
+    public void setTransactionHash(String transactionHash) {
+        this.transactionHash = CompactValues.compactHex(transactionHash);
+    }
+
+    @Override
+    public BigInteger getTransactionIndex() {
+        return transactionIndex != ABSENT
+                ? BigInteger.valueOf(transactionIndex)
+                : super.getTransactionIndex();
+    }
+
+    @Override
+    public String getTransactionIndexRaw() {
+        return transactionIndex != ABSENT
+                ? CompactValues.quantityToHex(transactionIndex)
+                : super.getTransactionIndexRaw();
+    }
+
+    @Override
+    public void setTransactionIndex(String transactionIndex) {
+        this.transactionIndex = CompactValues.parseQuantity(transactionIndex);
+        super.setTransactionIndex(this.transactionIndex == ABSENT ? transactionIndex : null);
+    }
+
+    @Override
+    public String getBlockHash() {
+        return CompactValues.hexToString(blockHash);
+    }
+
+    @Override
+    public void setBlockHash(String blockHash) {
+        this.blockHash = CompactValues.compactHex(blockHash);
+    }
+
+    @Override
+    public BigInteger getBlockNumber() {
+        return blockNumber != ABSENT ? BigInteger.valueOf(blockNumber) : super.getBlockNumber();
+    }
+
+    @Override
+    public String getBlockNumberRaw() {
+        return blockNumber != ABSENT
+                ? CompactValues.quantityToHex(blockNumber)
+                : super.getBlockNumberRaw();
+    }
+
+    @Override
+    public void setBlockNumber(String blockNumber) {
+        this.blockNumber = CompactValues.parseQuantity(blockNumber);
+        super.setBlockNumber(this.blockNumber == ABSENT ? blockNumber : null);
+    }
+
+    @Override
+    public BigInteger getCumulativeGasUsed() {
+        return cumulativeGasUsed != ABSENT
+                ? BigInteger.valueOf(cumulativeGasUsed)
+                : super.getCumulativeGasUsed();
+    }
+
+    @Override
+    public String getCumulativeGasUsedRaw() {
+        return cumulativeGasUsed != ABSENT
+                ? CompactValues.quantityToHex(cumulativeGasUsed)
+                : super.getCumulativeGasUsedRaw();
+    }
+
+    @Override
+    public void setCumulativeGasUsed(String cumulativeGasUsed) {
+        this.cumulativeGasUsed = CompactValues.parseQuantity(cumulativeGasUsed);
+        super.setCumulativeGasUsed(this.cumulativeGasUsed == ABSENT ? cumulativeGasUsed : null);
+    }
+
+    @Override
+    public BigInteger getGasUsed() {
+        return gasUsed != ABSENT ? BigInteger.valueOf(gasUsed) : super.getGasUsed();
+    }
+
+    @Override
+    public String getGasUsedRaw() {
+        return gasUsed != ABSENT ? CompactValues.quantityToHex(gasUsed) : super.getGasUsedRaw();
+    }
+
+    @Override
+    public void setGasUsed(String gasUsed) {
+        this.gasUsed = CompactValues.parseQuantity(gasUsed);
+        super.setGasUsed(this.gasUsed == ABSENT ? gasUsed : null);
+    }
+
+    @Override
+    public String getContractAddress() {
+        return CompactValues.hexToString(contractAddress);
+    }
+
+    @Override
+    public void setContractAddress(String contractAddress) {
+        this.contractAddress = CompactValues.compactAddress(contractAddress);
+    }
+
+    @Override
+    public String getRoot() {
+        return CompactValues.hexToString(root);
+    }
+
+    @Override
+    public void setRoot(String root) {
+        this.root = CompactValues.compactHex(root);
+    }
+
+    @Override
+    public String getStatus() {
+        return status;
+    }
+
+    @Override
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    @Override
+    public String getFrom() {
+        return CompactValues.hexToString(from);
+    }
+
+    @Override
+    public void setFrom(String from) {
+        this.from = CompactValues.compactAddress(from);
+    }
+
+    @Override
+    public String getTo() {
+        return CompactValues.hexToString(to);
+    }
+
+    @Override
+    public void setTo(String to) {
+        this.to = CompactValues.compactAddress(to);
+    }
+
+    @Override
+    public List<Log> getLogs() {
+        return logs;
+    }
+
+    @Override
+    public void setLogs(List<Log> logs) {
+        this.logs = logs;
+    }
+
+    @Override
+    public String getLogsBloom() {
+        return CompactValues.hexToString(logsBloom);
+    }
+
+    @Override
+    public void setLogsBloom(String logsBloom) {
+        this.logsBloom = CompactValues.compactHex(logsBloom);
+    }
+
+    @Override
+    public String getRevertReason() {
+        return revertReason;
+    }
+
+    @Override
+    public void setRevertReason(String revertReason) {
+        this.revertReason = revertReason;
+    }
+
+    @Override
+    public String toString() {
+        return "CompactTransactionReceipt{"
+                + "transactionHash='"
+                + getTransactionHash()
+                + '\''
+                + ", transactionIndex='"
+                + getTransactionIndexRaw()
+                + '\''
+                + ", blockHash='"
+                + getBlockHash()
+                + '\''
+                + ", blockNumber='"
+                + getBlockNumberRaw()
+                + '\''
+                + ", cumulativeGasUsed='"
+                + getCumulativeGasUsedRaw()
+                + '\''
+                + ", gasUsed='"
+                + getGasUsedRaw()
+                + '\''
+                + ", contractAddress='"
+                + getContractAddress()
+                + '\''
+                + ", root='"
+                + getRoot()
+                + '\''
+                + ", status='"
+                + status
+                + '\''
+                + ", from='"
+                + getFrom()
+                + '\''
+                + ", to='"
+                + getTo()
+                + '\''
+                + ", logs="
+                + logs
+                + ", logsBloom='"
+                + getLogsBloom()
+                + '\''
+                + ", revertReason='"
+                + revertReason
+                + '\''
+                + '}';
+    }
+
+    public static class Deserialiser extends CompactDeserialiser<CompactTransactionReceipt> {
+
+        private final CompactLog.Deserialiser logDeserialiser = new CompactLog.Deserialiser();
+
+        @Override
+        CompactTransactionReceipt create() {
+            return new CompactTransactionReceipt();
+        }
+
+        @Override
+        boolean readField(
+                CompactTransactionReceipt receipt,
+                String name,
+                JsonParser jsonParser,
+                DeserializationContext deserializationContext)
+                throws IOException {
+            switch (name) {
+                case "transactionHash":
+                    receipt.transactionHash = CompactValues.readHex(jsonParser);
+                    return true;
+                case "transactionIndex":
+                    receipt.transactionIndex = CompactValues.readQuantity(jsonParser);
+                    if (receipt.transactionIndex == ABSENT) {
+                        receipt.setTransactionIndex(jsonParser.getText());
+                    }
+                    return true;
+                case "blockHash":
+                    receipt.blockHash = CompactValues.readHex(jsonParser);
+                    return true;
+                case "blockNumber":
+                    receipt.blockNumber = CompactValues.readQuantity(jsonParser);
+                    if (receipt.blockNumber == ABSENT) {
+                        receipt.setBlockNumber(jsonParser.getText());
+                    }
+                    return true;
+                case "cumulativeGasUsed":
+                    receipt.cumulativeGasUsed = CompactValues.readQuantity(jsonParser);
+                    if (receipt.cumulativeGasUsed == ABSENT) {
+                        receipt.setCumulativeGasUsed(jsonParser.getText());
+                    }
+                    return true;
+                case "gasUsed":
+                    receipt.gasUsed = CompactValues.readQuantity(jsonParser);
+                    if (receipt.gasUsed == ABSENT) {
+                        receipt.setGasUsed(jsonParser.getText());
+                    }
+                    return true;
+                case "contractAddress":
+                    receipt.contractAddress = CompactValues.readAddress(jsonParser);
+                    return true;
+                case "root":
+                    receipt.root = CompactValues.readHex(jsonParser);
+                    return true;
+                case "status":
+                    receipt.status = CompactValues.readStatus(jsonParser);
+                    return true;
+                case "from":
+                    receipt.from = CompactValues.readAddress(jsonParser);
+                    return true;
+                case "to":
+                    receipt.to = CompactValues.readAddress(jsonParser);
+                    return true;
+                case "logs":
+                    receipt.logs = readLogs(jsonParser, deserializationContext);
+                    return true;
+                case "logsBloom":
+                    receipt.logsBloom = CompactValues.readHex(jsonParser);
+                    return true;
+                case "revertReason":
+                    receipt.revertReason = jsonParser.getValueAsString();
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        private List<Log> readLogs(
+                JsonParser jsonParser, DeserializationContext deserializationContext)
+                throws IOException {
+            List<Log> logs = new ArrayList<>();
+            while (jsonParser.nextToken() == JsonToken.START_OBJECT) {
+                logs.add(logDeserialiser.deserialize(jsonParser, deserializationContext));
+            }
+            return logs;
+        }
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2021 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.core.methods.response.compact;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import org.web3j.utils.Numeric;
+
+/**
+ * Conversions between the hex encoded JSON values and their compact representations.
+ *
+ * <p>Quantities are held as {@code long} values, using {@link #ABSENT} for missing values, or as
+ * {@link BigInteger} when they may exceed 63 bits. Hex data is held as a {@code byte[]} when it is
+ * a lowercase, even length, hex string. In both cases values which could not be re-encoded exactly
+ * are left to the regular {@link String} representation.
+ */
+final class CompactValues {
+
+    static final long ABSENT = -1;
+
+    private static final String STATUS_OK = "0x1";
+    private static final String STATUS_FAILED = "0x0";
+
+    private static final int ADDRESS_LENGTH = 20;
+    private static final int ADDRESS_CACHE_SIZE = 4096;
+
+    // direct mapped cache, so that repeated addresses share a single array
+    private static final AtomicReferenceArray<byte[]> ADDRESS_CACHE =
+            new AtomicReferenceArray<>(ADDRESS_CACHE_SIZE);
+
+    private CompactValues() {}
+
+    static long readQuantity(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.VALUE_STRING) {
+            return ABSENT;
+        }
+        return parseQuantity(
+                parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+    }
+
+    static BigInteger readBigQuantity(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.VALUE_STRING) {
+            return null;
+        }
+        return parseBigQuantity(
+                parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+    }
+
+    static Object readHex(JsonParser parser) throws IOException {
+        char[] chars = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        int length = parser.getTextLength();
+        byte[] bytes = decodeHex(chars, offset, length);
+        return bytes != null ? bytes : new String(chars, offset, length);
+    }
+
+    static Object readAddress(JsonParser parser) throws IOException {
+        return intern(readHex(parser));
+    }
+
+    /** Read a receipt status, sharing the common success and failure values. */
+    static String readStatus(JsonParser parser) throws IOException {
+        String status = parser.getValueAsString();
+        if (STATUS_OK.equals(status)) {
+            return STATUS_OK;
+        } else if (STATUS_FAILED.equals(status)) {
+            return STATUS_FAILED;
+        }
+        return status;
+    }
+
+    static List<Object> readHexList(JsonParser parser) throws IOException {
+        List<Object> values = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            values.add(parser.currentToken() == JsonToken.VALUE_NULL ? null : readHex(parser));
+        }
+        return values;
+    }
+
+    static List<String> readStringList(JsonParser parser) throws IOException {
+        List<String> values = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            values.add(parser.getValueAsString());
+        }
+        return values;
+    }
+
+    static long parseQuantity(String value) {
+        if (value == null) {
+            return ABSENT;
+        }
+        return parseQuantity(value.toCharArray(), 0, value.length());
+    }
+
+    static BigInteger parseBigQuantity(String value) {
+        if (value == null) {
+            return null;
+        }
+        return parseBigQuantity(value.toCharArray(), 0, value.length());
+    }
+
+    static Object compactHex(String value) {
+        if (value == null) {
+            return null;
+        }
+        byte[] bytes = decodeHex(value.toCharArray(), 0, value.length());
+        return bytes != null ? bytes : value;
+    }
+
+    static Object compactAddress(String value) {
+        return intern(compactHex(value));
+    }
+
+    static List<Object> compactHexList(List<String> values) {
+        if (values == null) {
+            return null;
+        }
+        List<Object> result = new ArrayList<>(values.size());
+        for (String value : values) {
+            result.add(compactHex(value));
+        }
+        return result;
+    }
+
+    static String quantityToHex(long value) {
+        return "0x" + Long.toHexString(value);
+    }
+
+    static String bigQuantityToHex(BigInteger value) {
+        return value == null ? null : Numeric.encodeQuantity(value);
+    }
+
+    static String hexToString(Object value) {
+        if (value instanceof byte[]) {
+            return Numeric.toHexString((byte[]) value);
+        }
+        return (String) value;
+    }
+
+    static List<String> hexListView(List<Object> values) {
+        if (values == null) {
+            return null;
+        }
+        return new AbstractList<String>() {
+            @Override
+            public String get(int index) {
+                return hexToString(values.get(index));
+            }
+
+            @Override
+            public int size() {
+                return values.size();
+            }
+        };
+    }
+
+    /** Parse a canonical hex quantity fitting into 63 bits, returns {@link #ABSENT} otherwise. */
+    static long parseQuantity(char[] chars, int offset, int length) {
+        if (length > 17 || !isCanonicalQuantity(chars, offset, length)) {
+            return ABSENT;
+        }
+        long result = 0;
+        for (int i = offset + 2; i < offset + length; i++) {
+            result = (result << 4) | lowercaseHexDigit(chars[i]);
+        }
+        return result < 0 ? ABSENT : result;
+    }
+
+    /** Parse a canonical hex quantity, returns null otherwise. */
+    static BigInteger parseBigQuantity(char[] chars, int offset, int length) {
+        long value = parseQuantity(chars, offset, length);
+        if (value != ABSENT) {
+            return BigInteger.valueOf(value);
+        } else if (!isCanonicalQuantity(chars, offset, length)) {
+            return null;
+        }
+        return new BigInteger(new String(chars, offset + 2, length - 2), 16);
+    }
+
+    /**
+     * Only lowercase hex quantities without leading zeros are canonical, as produced by {@link
+     * Numeric#encodeQuantity(BigInteger)}, so that the raw values can be re-encoded exactly.
+     */
+    private static boolean isCanonicalQuantity(char[] chars, int offset, int length) {
+        if (length < 3
+                || chars[offset] != '0'
+                || chars[offset + 1] != 'x'
+                || (length > 3 && chars[offset + 2] == '0')) {
+            return false;
+        }
+        for (int i = offset + 2; i < offset + length; i++) {
+            if (lowercaseHexDigit(chars[i]) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Decode lowercase, even length, {@code 0x} prefixed hex, returns null for other input. */
+    static byte[] decodeHex(char[] chars, int offset, int length) {
+        if (length < 2 || (length & 1) != 0 || chars[offset] != '0' || chars[offset + 1] != 'x') {
+            return null;
+        }
+        byte[] bytes = new byte[(length - 2) / 2];
+        for (int i = 0, pos = offset + 2; i < bytes.length; i++, pos += 2) {
+            int high = lowercaseHexDigit(chars[pos]);
+            int low = lowercaseHexDigit(chars[pos + 1]);
+            if (high < 0 || low < 0) {
+                return null;
+            }
+            bytes[i] = (byte) ((high << 4) | low);
+        }
+        return bytes;
+    }
+
+    private static int lowercaseHexDigit(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        } else if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        return -1;
+    }
+
+    private static Object intern(Object value) {
+        if (!(value instanceof byte[]) || ((byte[]) value).length != ADDRESS_LENGTH) {
+            return value;
+        }
+        byte[] address = (byte[]) value;
+        int slot = (Arrays.hashCode(address) & 0x7fffffff) % ADDRESS_CACHE_SIZE;
+        byte[] cached = ADDRESS_CACHE.get(slot);
+        if (cached != null && Arrays.equals(cached, address)) {
+            return cached;
+        }
+        ADDRESS_CACHE.set(slot, address);
+        return address;
+    }
+}
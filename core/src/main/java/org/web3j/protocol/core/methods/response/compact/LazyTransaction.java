@@ -0,0 +1,235 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.core.methods.response.compact;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.Transaction;
+import org.web3j.utils.Numeric;
+
+/**
+ * Transaction of a full block which is kept as its JSON and only deserialized on access, so that
+ * consumers of a few transactions of large blocks don't pay for decoding all of them.
+ *
+ * <p>The sender, recipient and function selector are captured while the block is read, so that
+ * transactions can be filtered by {@link #isFrom(String)}, {@link #isTo(String)} and {@link
+ * #hasSelector(String)} without being deserialized.
+ */
+public class LazyTransaction implements EthBlock.TransactionResult<Transaction> {
+
+    private static final int SELECTOR_LENGTH = 10; // 0x prefix and 4 bytes
+
+    private final byte[] json;
+    private final ObjectCodec codec;
+    private Object from;
+    private Object to;
+    private Object selector;
+
+    private volatile Transaction transaction;
+
+    LazyTransaction(byte[] json, ObjectCodec codec) {
+        this.json = json;
+        this.codec = codec;
+    }
+
+    /**
+     * The transaction, deserialized on the first call.
+     *
+     * @throws UncheckedIOException if the transaction can't be deserialized
+     */
+    @Override
+    public Transaction get() {
+        Transaction result = transaction;
+        if (result == null) {
+            try (JsonParser jsonParser = codec.getFactory().createParser(json)) {
+                result = codec.readValue(jsonParser, EthBlock.TransactionObject.class);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to deserialize transaction", e);
+            }
+            transaction = result;
+        }
+        return result;
+    }
+
+    /** Whether the transaction has been deserialized. */
+    public boolean isDecoded() {
+        return transaction != null;
+    }
+
+    public String getFrom() {
+        return CompactValues.hexToString(from);
+    }
+
+    /** The recipient, null for contract creations. */
+    public String getTo() {
+        return CompactValues.hexToString(to);
+    }
+
+    public boolean isFrom(String address) {
+        return matches(from, address);
+    }
+
+    public boolean isTo(String address) {
+        return matches(to, address);
+    }
+
+    /**
+     * Whether the input starts with the given function selector.
+     *
+     * @param selector hex encoded selector, such as {@code 0xa9059cbb}
+     */
+    public boolean hasSelector(String selector) {
+        if (this.selector == null) {
+            return false;
+        }
+        return matches(this.selector, selector);
+    }
+
+    /** The transaction's JSON, as received. */
+    public byte[] getJson() {
+        return json.clone();
+    }
+
+    private static boolean matches(Object value, String hex) {
+        if (value == null || hex == null) {
+            return value == null && hex == null;
+        } else if (value instanceof byte[]) {
+            String lowercase = Numeric.prependHexPrefix(hex).toLowerCase();
+            byte[] bytes = CompactValues.decodeHex(lowercase.toCharArray(), 0, lowercase.length());
+            return Arrays.equals((byte[]) value, bytes);
+        }
+        return ((String) value).equalsIgnoreCase(hex);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LazyTransaction)) {
+            return false;
+        }
+        return Arrays.equals(json, ((LazyTransaction) o).json);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(json);
+    }
+
+    /**
+     * Deserializer of the transactions of a block, keeping full transactions as {@link
+     * LazyTransaction} instances. Transaction hashes are deserialized as usual.
+     */
+    public static class ListDeserialiser
+            extends JsonDeserializer<List<EthBlock.TransactionResult<?>>> {
+
+        @Override
+        public List<EthBlock.TransactionResult<?>> deserialize(
+                JsonParser jsonParser, DeserializationContext deserializationContext)
+                throws IOException {
+            List<EthBlock.TransactionResult<?>> transactions = new ArrayList<>();
+            JsonToken token = jsonParser.nextToken();
+
+            if (token == JsonToken.START_OBJECT) {
+                ObjectCodec codec = jsonParser.getCodec();
+                ByteArrayBuilder buffer = new ByteArrayBuilder();
+                try (JsonGenerator jsonGenerator = codec.getFactory().createGenerator(buffer)) {
+                    jsonGenerator.setRootValueSeparator(null);
+                    while (jsonParser.currentToken() == JsonToken.START_OBJECT) {
+                        transactions.add(read(jsonParser, jsonGenerator, buffer, codec));
+                        jsonParser.nextToken();
+                    }
+                }
+            } else {
+                while (jsonParser.currentToken() == JsonToken.VALUE_STRING) {
+                    transactions.add(
+                            deserializationContext.readValue(
+                                    jsonParser, EthBlock.TransactionHash.class));
+                    jsonParser.nextToken();
+                }
+            }
+
+            return transactions;
+        }
+
+        /**
+         * Copy a transaction object to the buffer, the tokens are re-encoded without building any
+         * values apart from the captured fields.
+         */
+        private static LazyTransaction read(
+                JsonParser jsonParser,
+                JsonGenerator jsonGenerator,
+                ByteArrayBuilder buffer,
+                ObjectCodec codec)
+                throws IOException {
+            Object from = null;
+            Object to = null;
+            Object selector = null;
+
+            jsonGenerator.writeStartObject();
+            while (jsonParser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = jsonParser.getCurrentName();
+                jsonGenerator.writeFieldName(name);
+                if (jsonParser.nextToken() == JsonToken.VALUE_STRING) {
+                    switch (name) {
+                        case "from":
+                            from = CompactValues.readAddress(jsonParser);
+                            break;
+                        case "to":
+                            to = CompactValues.readAddress(jsonParser);
+                            break;
+                        case "input":
+                            selector = readSelector(jsonParser);
+                            break;
+                        default:
+                            break;
+                    }
+                }
+                jsonGenerator.copyCurrentStructure(jsonParser);
+            }
+            jsonGenerator.writeEndObject();
+            jsonGenerator.flush();
+
+            LazyTransaction transaction = new LazyTransaction(buffer.toByteArray(), codec);
+            buffer.reset();
+            transaction.from = from;
+            transaction.to = to;
+            transaction.selector = selector;
+            return transaction;
+        }
+
+        private static Object readSelector(JsonParser jsonParser) throws IOException {
+            if (jsonParser.getTextLength() < SELECTOR_LENGTH) {
+                return null;
+            }
+            char[] chars = jsonParser.getTextCharacters();
+            int offset = jsonParser.getTextOffset();
+            byte[] bytes = CompactValues.decodeHex(chars, offset, SELECTOR_LENGTH);
+            return bytes != null ? bytes : new String(chars, offset, SELECTOR_LENGTH);
+        }
+    }
+}
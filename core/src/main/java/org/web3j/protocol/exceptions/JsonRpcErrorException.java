@@ -0,0 +1,37 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.exceptions;
+
+import java.io.IOException;
+
+import org.web3j.protocol.core.Response;
+
+/** A request answered with a JSON-RPC error. */
+public class JsonRpcErrorException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final int METHOD_NOT_FOUND = -32601;
+    public static final int INVALID_PARAMS = -32602;
+
+    private final Response.Error error;
+
+    public JsonRpcErrorException(Response.Error error) {
+        super(error.getMessage());
+        this.error = error;
+    }
+
+    public Response.Error getError() {
+        return error;
+    }
+}
@@ -16,11 +16,19 @@ import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
 
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.CipherSuite;
 import okhttp3.ConnectionSpec;
 import okhttp3.Headers;
@@ -34,12 +42,29 @@ import okio.BufferedSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.web3j.protocol.RequestMetrics;
+import org.web3j.protocol.ResponseParser;
 import org.web3j.protocol.Service;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
 import org.web3j.protocol.exceptions.ClientConnectionException;
 
 import static okhttp3.ConnectionSpec.CLEARTEXT;
 
-/** HTTP implementation of our services API. */
+/**
+ * HTTP implementation of our services API.
+ *
+ * <p>Asynchronous requests are dispatched using OkHttp's asynchronous {@link okhttp3.Dispatcher},
+ * so no thread is held while a request is in flight. The number of concurrent asynchronous requests
+ * is bounded by the dispatcher's {@link okhttp3.Dispatcher#setMaxRequests(int)} and {@link
+ * okhttp3.Dispatcher#setMaxRequestsPerHost(int)} settings, further requests are queued.
+ *
+ * <p>Requests can be throttled on the client side with a {@link RateLimiter}. Requests rejected by
+ * the provider as rate limited, with HTTP status 429 or JSON-RPC error -32005, are then retried
+ * after backing off, and batches are always retried as a whole.
+ */
 public class HttpService extends Service {
 
     /** Copied from {@link ConnectionSpec#APPROVED_CIPHER_SUITES}. */
@@ -99,8 +124,24 @@ public class HttpService extends Service {
 
     private HashMap<String, String> headers = new HashMap<>();
 
+    private volatile RateLimiter rateLimiter;
+
     public HttpService(String url, OkHttpClient httpClient, boolean includeRawResponses) {
-        super(includeRawResponses);
+        this(url, httpClient, includeRawResponses, false);
+    }
+
+    /**
+     * Create a service, optionally deserializing blocks, transactions, receipts and logs into their
+     * compact representations.
+     *
+     * @see org.web3j.protocol.core.methods.response.compact.CompactResponseModule
+     */
+    public HttpService(
+            String url,
+            OkHttpClient httpClient,
+            boolean includeRawResponses,
+            boolean compactResponses) {
+        super(includeRawResponses, compactResponses);
         this.url = url;
         this.httpClient = httpClient;
         this.includeRawResponse = includeRawResponses;
@@ -155,29 +196,242 @@ public class HttpService extends Service {
 
     @Override
     protected InputStream performIO(String request) throws IOException {
+        return performIO(request.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    protected InputStream performIO(byte[] request) throws IOException {
+        okhttp3.Request httpRequest = buildHttpRequest(request);
+
+        try (okhttp3.Response response = execute(request, httpRequest)) {
+            return processResponse(response);
+        }
+    }
+
+    /**
+     * Parses the response directly from the connection, unless raw responses are included, in which
+     * case the response has to be buffered.
+     */
+    @Override
+    protected <T> T performIO(byte[] request, ResponseParser<T> parser) throws IOException {
+        if (includeRawResponse) {
+            return super.performIO(request, parser);
+        }
+
+        try (okhttp3.Response response = execute(request, buildHttpRequest(request))) {
+            checkResponse(response);
+            ResponseBody responseBody = response.body();
+            return responseBody != null ? parser.parse(responseBody.byteStream()) : null;
+        }
+    }
+
+    private okhttp3.Response execute(byte[] request, okhttp3.Request httpRequest)
+            throws IOException {
+        RateLimiter limiter = rateLimiter;
+        if (limiter != null) {
+            return executeRateLimited(limiter, request, httpRequest);
+        }
+        return httpClient.newCall(httpRequest).execute();
+    }
+
+    private okhttp3.Response executeRateLimited(
+            RateLimiter limiter, byte[] request, okhttp3.Request httpRequest) throws IOException {
+        RateLimiter.Priority priority = RateLimits.priorityOf(request);
+        int permits = RateLimits.permitsOf(request);
+
+        for (int attempt = 0; ; attempt++) {
+            try {
+                limiter.acquire(priority, permits);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted waiting for rate limiter");
+            }
+
+            okhttp3.Response response = httpClient.newCall(httpRequest).execute();
+            if (!RateLimits.isRateLimited(response)) {
+                limiter.onSuccess();
+            } else if (attempt < limiter.getMaxRetries()) {
+                log.debug("Request rate limited by {}, backing off", url);
+                limiter.backoff(RateLimits.retryAfter(response));
+                response.close();
+                continue;
+            }
+            return response;
+        }
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(
+            Request jsonRpc20Request, Class<T> responseType) {
+        return performAsyncIO(
+                jsonRpc20Request,
+                RequestMetrics.start(getInstrumentation(), jsonRpc20Request),
+                result -> objectMapper.readValue(result, responseType));
+    }
+
+    /** Requests are performed by OkHttp's dispatcher, the executor is not used. */
+    @Override
+    public <T extends Response<?>> CompletableFuture<T> sendAsync(
+            Request<?, ?> jsonRpc20Request, Class<T> responseType, Executor executor) {
+        return sendAsync(jsonRpc20Request, responseType);
+    }
+
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        if (batchRequest.getRequests().isEmpty()) {
+            return CompletableFuture.completedFuture(
+                    new BatchResponse(Collections.emptyList(), Collections.emptyList()));
+        }
 
+        return performAsyncIO(
+                batchRequest.getRequests(),
+                RequestMetrics.start(getInstrumentation(), batchRequest),
+                result -> processBatchResponse(batchRequest, result));
+    }
+
+    /** Requests are performed by OkHttp's dispatcher, the executor is not used. */
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(
+            BatchRequest batchRequest, Executor executor) {
+        return sendBatchAsync(batchRequest);
+    }
+
+    private <T> CompletableFuture<T> performAsyncIO(
+            Object request, RequestMetrics metrics, ResponseParser<T> parser) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        metrics.completeWhenDone(result);
+
+        byte[] payload;
+        try {
+            payload = serialize(request, metrics);
+        } catch (IOException e) {
+            result.completeExceptionally(e);
+            return result;
+        }
+
+        ResponseParser<T> measuredParser =
+                stream -> {
+                    metrics.markReceived();
+                    return parser.parse(metrics.countResponse(stream));
+                };
+        okhttp3.Request httpRequest = buildHttpRequest(payload);
+        RateLimiter limiter = rateLimiter;
+        if (limiter != null) {
+            performRateLimitedAsyncIO(limiter, payload, httpRequest, measuredParser, result, 0);
+        } else {
+            enqueue(httpRequest, measuredParser, result, response -> false);
+        }
+        return result;
+    }
+
+    private <T> void performRateLimitedAsyncIO(
+            RateLimiter limiter,
+            byte[] payload,
+            okhttp3.Request httpRequest,
+            ResponseParser<T> parser,
+            CompletableFuture<T> result,
+            int attempt) {
+        CompletableFuture<Void> admission =
+                limiter.acquireAsync(RateLimits.priorityOf(payload), RateLimits.permitsOf(payload));
+        // withdraw from the queue if the request is cancelled while waiting
+        result.whenComplete((value, e) -> admission.cancel(false));
+
+        admission.thenRun(
+                () ->
+                        enqueue(
+                                httpRequest,
+                                parser,
+                                result,
+                                response -> {
+                                    if (!RateLimits.isRateLimited(response)) {
+                                        limiter.onSuccess();
+                                    } else if (attempt < limiter.getMaxRetries()) {
+                                        log.debug("Request rate limited by {}, backing off", url);
+                                        limiter.backoff(RateLimits.retryAfter(response));
+                                        response.close();
+                                        performRateLimitedAsyncIO(
+                                                limiter,
+                                                payload,
+                                                httpRequest,
+                                                parser,
+                                                result,
+                                                attempt + 1);
+                                        return true;
+                                    }
+                                    return false;
+                                }));
+    }
+
+    /**
+     * Enqueue a call, the retry predicate is given the chance to take over the response before it
+     * is parsed.
+     */
+    private <T> void enqueue(
+            okhttp3.Request httpRequest,
+            ResponseParser<T> parser,
+            CompletableFuture<T> result,
+            Predicate<okhttp3.Response> retry) {
+        if (result.isDone()) {
+            return;
+        }
+
+        Call call = httpClient.newCall(httpRequest);
+        call.enqueue(
+                new Callback() {
+                    @Override
+                    public void onFailure(Call call, IOException e) {
+                        result.completeExceptionally(e);
+                    }
+
+                    @Override
+                    public void onResponse(Call call, okhttp3.Response httpResponse) {
+                        if (retry.test(httpResponse)) {
+                            return;
+                        }
+                        try (okhttp3.Response response = httpResponse;
+                                InputStream stream = processResponse(response)) {
+                            result.complete(stream != null ? parser.parse(stream) : null);
+                        } catch (Throwable e) {
+                            result.completeExceptionally(e);
+                        }
+                    }
+                });
+
+        // propagate cancellation of the future to the in-flight call
+        result.whenComplete(
+                (value, e) -> {
+                    if (result.isCancelled()) {
+                        call.cancel();
+                    }
+                });
+    }
+
+    /** The serialized payload is written to the connection as is, without being copied again. */
+    private okhttp3.Request buildHttpRequest(byte[] request) {
         RequestBody requestBody = RequestBody.create(request, JSON_MEDIA_TYPE);
         Headers headers = buildHeaders();
 
-        okhttp3.Request httpRequest =
-                new okhttp3.Request.Builder().url(url).headers(headers).post(requestBody).build();
+        return new okhttp3.Request.Builder().url(url).headers(headers).post(requestBody).build();
+    }
+
+    private InputStream processResponse(okhttp3.Response response) throws IOException {
+        checkResponse(response);
+        ResponseBody responseBody = response.body();
+        if (responseBody != null) {
+            return buildInputStream(responseBody);
+        } else {
+            return null;
+        }
+    }
 
-        try (okhttp3.Response response = httpClient.newCall(httpRequest).execute()) {
-            processHeaders(response.headers());
+    private void checkResponse(okhttp3.Response response) throws IOException {
+        processHeaders(response.headers());
+        if (!response.isSuccessful()) {
             ResponseBody responseBody = response.body();
-            if (response.isSuccessful()) {
-                if (responseBody != null) {
-                    return buildInputStream(responseBody);
-                } else {
-                    return null;
-                }
-            } else {
-                int code = response.code();
-                String text = responseBody == null ? "N/A" : responseBody.string();
-
-                throw new ClientConnectionException(
-                        "Invalid response received: " + code + "; " + text);
-            }
+            int code = response.code();
+            String text = responseBody == null ? "N/A" : responseBody.string();
+
+            throw new ClientConnectionException("Invalid response received: " + code + "; " + text);
         }
     }
 
@@ -234,6 +488,19 @@ public class HttpService extends Service {
         return url;
     }
 
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * Throttle requests sent by this service.
+     *
+     * @param rateLimiter rate limiter to admit requests through, or null to disable rate limiting
+     */
+    public void setRateLimiter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
     @Override
     public void close() throws IOException {}
 }
@@ -0,0 +1,300 @@
+/*
+ * Copyright 2021 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.http;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.web3j.utils.ExecutionConfig;
+
+/**
+ * Client side token bucket rate limiter for {@link HttpService}.
+ *
+ * <p>Permits are refilled at a fixed rate up to a maximum burst. Requests which cannot be admitted
+ * immediately are queued, and queued {@link Priority#WRITE} requests are always admitted before
+ * {@link Priority#READ} requests. A batch acquires one permit per request in a single step, so it
+ * is never split.
+ *
+ * <p>The bucket is also driven by feedback from the provider: {@link #update(long, Instant)} caps
+ * the available permits to the quota remaining in the provider's window, and {@link
+ * #backoff(Duration)} suspends admission after the provider rejected a request as rate limited,
+ * backing off exponentially while rejections continue.
+ */
+public class RateLimiter {
+
+    /** Admission priority of a request, in order of precedence. */
+    public enum Priority {
+        WRITE,
+        READ;
+
+        private static final Set<String> WRITE_METHODS =
+                new HashSet<>(
+                        Arrays.asList(
+                                "eth_sendRawTransaction",
+                                "eth_sendTransaction",
+                                "personal_sendTransaction",
+                                "eea_sendRawTransaction",
+                                "priv_distributeRawTransaction"));
+
+        public static Priority of(String method) {
+            return WRITE_METHODS.contains(method) ? WRITE : READ;
+        }
+    }
+
+    public static final int DEFAULT_MAX_RETRIES = 5;
+
+    private static final long INITIAL_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long MAX_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private final double permitsPerNano;
+    private final double maxPermits;
+    private final int maxRetries;
+    private final ScheduledExecutorService scheduler;
+    private final LongSupplier nanoClock;
+
+    private final List<ArrayDeque<Waiter>> queues = new ArrayList<>();
+
+    private double storedPermits;
+    private long lastRefillNanos;
+    private long pausedUntilNanos;
+    private int consecutiveBackoffs;
+
+    private ScheduledFuture<?> scheduledDrain;
+    private long scheduledDrainNanos;
+
+    public RateLimiter(double permitsPerSecond) {
+        this(permitsPerSecond, (int) Math.max(1, Math.ceil(permitsPerSecond)));
+    }
+
+    public RateLimiter(double permitsPerSecond, int maxBurst) {
+        this(permitsPerSecond, maxBurst, DEFAULT_MAX_RETRIES, ExecutionConfig.sharedScheduler());
+    }
+
+    public RateLimiter(
+            double permitsPerSecond,
+            int maxBurst,
+            int maxRetries,
+            ScheduledExecutorService scheduler) {
+        this(permitsPerSecond, maxBurst, maxRetries, scheduler, System::nanoTime);
+    }
+
+    RateLimiter(
+            double permitsPerSecond,
+            int maxBurst,
+            int maxRetries,
+            ScheduledExecutorService scheduler,
+            LongSupplier nanoClock) {
+        if (permitsPerSecond <= 0 || maxBurst <= 0) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.maxPermits = maxBurst;
+        this.maxRetries = maxRetries;
+        this.scheduler = scheduler;
+        this.nanoClock = nanoClock;
+        this.storedPermits = maxBurst;
+        this.lastRefillNanos = nanoClock.getAsLong();
+        this.pausedUntilNanos = lastRefillNanos;
+        for (int i = 0; i < Priority.values().length; i++) {
+            queues.add(new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Wait until the given number of permits have been granted.
+     *
+     * @param priority admission priority
+     * @param permits number of permits, one per request of a batch
+     * @throws InterruptedException if interrupted while waiting, no permits are consumed
+     */
+    public void acquire(Priority priority, int permits) throws InterruptedException {
+        CompletableFuture<Void> admission = acquireAsync(priority, permits);
+        try {
+            admission.get();
+        } catch (InterruptedException e) {
+            admission.cancel(false);
+            throw e;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Queue a request for admission.
+     *
+     * @param priority admission priority
+     * @param permits number of permits, one per request of a batch
+     * @return a future completed once the permits have been granted, cancelling it withdraws the
+     *     request
+     */
+    public CompletableFuture<Void> acquireAsync(Priority priority, int permits) {
+        Waiter waiter = new Waiter(permits);
+        synchronized (this) {
+            queues.get(priority.ordinal()).add(waiter);
+        }
+        drain();
+        return waiter.admission;
+    }
+
+    /**
+     * Apply rate limit feedback from the provider, such as rate limit response headers.
+     *
+     * @param remaining requests remaining in the provider's current window
+     * @param resetTime when the provider's window resets, may be null
+     */
+    public void update(long remaining, Instant resetTime) {
+        synchronized (this) {
+            long now = nanoClock.getAsLong();
+            refill(now);
+            storedPermits = Math.min(storedPermits, remaining);
+            if (remaining <= 0 && resetTime != null) {
+                long untilReset = Duration.between(Instant.now(), resetTime).toNanos();
+                pausedUntilNanos = Math.max(pausedUntilNanos, now + untilReset);
+            }
+        }
+        drain();
+    }
+
+    /**
+     * Suspend admission after the provider rejected a request as rate limited.
+     *
+     * @param retryAfter delay requested by the provider, or null to back off exponentially
+     */
+    public void backoff(Duration retryAfter) {
+        synchronized (this) {
+            long now = nanoClock.getAsLong();
+            refill(now);
+            consecutiveBackoffs++;
+            long delay =
+                    retryAfter != null
+                            ? retryAfter.toNanos()
+                            : Math.min(
+                                    INITIAL_BACKOFF_NANOS << Math.min(consecutiveBackoffs - 1, 16),
+                                    MAX_BACKOFF_NANOS);
+            pausedUntilNanos = Math.max(pausedUntilNanos, now + delay);
+            storedPermits = Math.min(storedPermits, 0);
+        }
+        drain();
+    }
+
+    /** Record a request which was not rate limited, resetting the exponential backoff. */
+    public synchronized void onSuccess() {
+        consecutiveBackoffs = 0;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public synchronized double getAvailablePermits() {
+        refill(nanoClock.getAsLong());
+        return storedPermits;
+    }
+
+    public synchronized int getQueueLength() {
+        int length = 0;
+        for (ArrayDeque<Waiter> queue : queues) {
+            length += queue.size();
+        }
+        return length;
+    }
+
+    private void drain() {
+        List<Waiter> admitted = new ArrayList<>();
+        synchronized (this) {
+            long now = nanoClock.getAsLong();
+            refill(now);
+            if (scheduledDrainNanos <= now) {
+                scheduledDrain = null; // due, possibly the one currently running
+            }
+
+            Waiter waiter;
+            while ((waiter = nextWaiter()) != null) {
+                if (pausedUntilNanos > now) {
+                    scheduleDrain(pausedUntilNanos, now);
+                    break;
+                }
+                // batches larger than the burst are admitted once the bucket is full
+                double required = Math.min(waiter.permits, maxPermits);
+                if (storedPermits < required) {
+                    long wait = (long) Math.ceil((required - storedPermits) / permitsPerNano);
+                    scheduleDrain(now + wait, now);
+                    break;
+                }
+                storedPermits -= waiter.permits;
+                queues.get(waiter.queueIndex).poll();
+                admitted.add(waiter);
+            }
+        }
+        // complete outside of the lock, as dependent stages run synchronously
+        for (Waiter w : admitted) {
+            w.admission.complete(null);
+        }
+    }
+
+    private Waiter nextWaiter() {
+        for (int i = 0; i < queues.size(); i++) {
+            ArrayDeque<Waiter> queue = queues.get(i);
+            Waiter waiter;
+            while ((waiter = queue.peek()) != null && waiter.admission.isDone()) {
+                queue.poll(); // withdrawn
+            }
+            if (waiter != null) {
+                waiter.queueIndex = i;
+                return waiter;
+            }
+        }
+        return null;
+    }
+
+    private void refill(long now) {
+        if (now > lastRefillNanos) {
+            storedPermits =
+                    Math.min(maxPermits, storedPermits + (now - lastRefillNanos) * permitsPerNano);
+            lastRefillNanos = now;
+        }
+    }
+
+    private void scheduleDrain(long at, long now) {
+        if (scheduledDrain != null) {
+            if (scheduledDrainNanos <= at) {
+                return;
+            }
+            scheduledDrain.cancel(false);
+        }
+        scheduledDrainNanos = at;
+        scheduledDrain = scheduler.schedule(this::drain, at - now, TimeUnit.NANOSECONDS);
+    }
+
+    private static class Waiter {
+        private final int permits;
+        private final CompletableFuture<Void> admission = new CompletableFuture<>();
+        private int queueIndex;
+
+        Waiter(int permits) {
+            this.permits = permits;
+        }
+    }
+}
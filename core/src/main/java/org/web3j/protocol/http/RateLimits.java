@@ -0,0 +1,188 @@
+/*
+ * Copyright 2021 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.http;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import okhttp3.ResponseBody;
+
+/**
+ * Helpers classifying serialized requests and provider responses for {@link RateLimiter}.
+ *
+ * <p>Requests are classified by scanning the UTF-8 serialized payload for its {@code "method"}
+ * members. Quotes within parameters are always escaped, so only the request objects themselves
+ * match. Responses are classified from at most their first 16KB, which is only parsed up to the
+ * top-level {@code result} or {@code error} members, so successful responses are never read in
+ * full.
+ */
+final class RateLimits {
+
+    static final int HTTP_TOO_MANY_REQUESTS = 429;
+
+    /** Error code used by providers such as Infura to signal an exceeded request rate. */
+    static final int LIMIT_EXCEEDED = -32005;
+
+    // rate limit errors are small, so only the start of the body is inspected
+    private static final long PEEK_BYTES = 16 * 1024;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final byte[] METHOD_MEMBER = "\"method\":\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] QUOTE = {'"'};
+
+    private RateLimits() {}
+
+    /** Batches containing any write are admitted as writes. */
+    static RateLimiter.Priority priorityOf(byte[] payload) {
+        int index = indexOf(payload, METHOD_MEMBER, 0);
+        while (index >= 0) {
+            int start = index + METHOD_MEMBER.length;
+            int end = indexOf(payload, QUOTE, start);
+            if (end < 0) {
+                break;
+            }
+            String method = new String(payload, start, end - start, StandardCharsets.UTF_8);
+            if (RateLimiter.Priority.of(method) == RateLimiter.Priority.WRITE) {
+                return RateLimiter.Priority.WRITE;
+            }
+            index = indexOf(payload, METHOD_MEMBER, end);
+        }
+        return RateLimiter.Priority.READ;
+    }
+
+    /** Number of requests in the payload, one for a single request. */
+    static int permitsOf(byte[] payload) {
+        int count = 0;
+        int index = indexOf(payload, METHOD_MEMBER, 0);
+        while (index >= 0) {
+            count++;
+            index = indexOf(payload, METHOD_MEMBER, index + METHOD_MEMBER.length);
+        }
+        return Math.max(count, 1);
+    }
+
+    /**
+     * Index of an ASCII sequence in UTF-8 encoded JSON, bytes of multi-byte characters never match
+     * ASCII.
+     */
+    private static int indexOf(byte[] payload, byte[] sequence, int from) {
+        outer:
+        for (int i = from; i <= payload.length - sequence.length; i++) {
+            for (int j = 0; j < sequence.length; j++) {
+                if (payload[i + j] != sequence[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Whether the provider rejected the request for its rate, either with a 429 status or a {@link
+     * #LIMIT_EXCEEDED} error. Batches only count as limited when every entry was rejected, so
+     * requests that already succeeded are never resent.
+     */
+    static boolean isRateLimited(okhttp3.Response response) {
+        if (response.code() == HTTP_TOO_MANY_REQUESTS) {
+            return true;
+        }
+        if (response.body() == null) {
+            return false;
+        }
+        try (ResponseBody peeked = response.peekBody(PEEK_BYTES);
+                JsonParser parser = JSON_FACTORY.createParser(peeked.byteStream())) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_OBJECT) {
+                return isLimitExceeded(parser);
+            } else if (token != JsonToken.START_ARRAY) {
+                return false;
+            }
+            boolean limited = false;
+            while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+                if (!isLimitExceeded(parser)) {
+                    return false;
+                }
+                limited = true;
+            }
+            return limited && token == JsonToken.END_ARRAY;
+        } catch (IOException e) {
+            return false; // left to the regular response processing
+        }
+    }
+
+    /**
+     * Reads a response object up to its result or error member, consuming the rest of the object
+     * only when the rate limit was exceeded.
+     */
+    private static boolean isLimitExceeded(JsonParser parser) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if ("result".equals(name)) {
+                return false;
+            } else if ("error".equals(name) && value == JsonToken.START_OBJECT) {
+                if (!isLimitExceededError(parser)) {
+                    return false;
+                }
+                skipToEnd(parser);
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    /** Reads an error object up to its code member, consuming the rest of it when matched. */
+    private static boolean isLimitExceededError(JsonParser parser) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if ("code".equals(name)) {
+                if (value != JsonToken.VALUE_NUMBER_INT || parser.getIntValue() != LIMIT_EXCEEDED) {
+                    return false;
+                }
+                skipToEnd(parser);
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    /** Skips the remaining members of the current object. */
+    private static void skipToEnd(JsonParser parser) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            parser.nextToken();
+            parser.skipChildren();
+        }
+    }
+
+    /** The delay requested in a Retry-After header in seconds, if any. */
+    static Duration retryAfter(okhttp3.Response response) {
+        String retryAfter = response.header("Retry-After");
+        if (retryAfter != null) {
+            try {
+                return Duration.ofSeconds(Long.parseLong(retryAfter.trim()));
+            } catch (NumberFormatException e) {
+                // HTTP dates are not supported, fall back to exponential backoff
+            }
+        }
+        return null;
+    }
+}
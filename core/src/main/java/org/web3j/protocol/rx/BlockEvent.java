@@ -0,0 +1,69 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.rx;
+
+import org.web3j.protocol.core.methods.response.EthBlock;
+
+/** Change to the canonical chain, as reported by a {@link ChainTracker}. */
+public class BlockEvent {
+
+    public enum Type {
+        /** Block added to the canonical chain. */
+        ADDED,
+        /** Block removed from the canonical chain by a reorganization. */
+        REMOVED,
+        /** Canonical block which reached the configured confirmation depth. */
+        CONFIRMED
+    }
+
+    private final Type type;
+    private final EthBlock.Block block;
+
+    public BlockEvent(Type type, EthBlock.Block block) {
+        this.type = type;
+        this.block = block;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public EthBlock.Block getBlock() {
+        return block;
+    }
+
+    public boolean isAdded() {
+        return type == Type.ADDED;
+    }
+
+    public boolean isRemoved() {
+        return type == Type.REMOVED;
+    }
+
+    public boolean isConfirmed() {
+        return type == Type.CONFIRMED;
+    }
+
+    @Override
+    public String toString() {
+        return "BlockEvent{"
+                + "type="
+                + type
+                + ", number="
+                + block.getNumberRaw()
+                + ", hash='"
+                + block.getHash()
+                + '\''
+                + '}';
+    }
+}
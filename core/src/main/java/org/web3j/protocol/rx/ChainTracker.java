@@ -0,0 +1,236 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.rx;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.DefaultBlockParameterNumber;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthBlock;
+
+/**
+ * Tracks the canonical chain from the node's latest block, reporting the blocks added to and
+ * removed from it.
+ *
+ * <p>The most recent blocks are kept in a bounded buffer. A new head is linked to the buffered
+ * chain by its parent hashes, heights skipped since the last update are fetched in batches, and a
+ * parent hash not matching the buffered block at its height is handled as a reorganization: the
+ * buffered blocks above the common ancestor are removed and the blocks of the new branch are added,
+ * in order. A reorganization deeper than the buffer removes all buffered blocks.
+ *
+ * <p>Each canonical block is also reported once as confirmed when the given number of blocks have
+ * been built on top of it. If a reorganization replaces confirmed blocks, their replacements are
+ * confirmed again.
+ */
+public class ChainTracker {
+
+    public static final int DEFAULT_HISTORY_SIZE = 128;
+    public static final int DEFAULT_BATCH_SIZE = 50;
+
+    private final Web3j web3j;
+    private final int historySize;
+    private final int confirmations;
+    private final int batchSize;
+    private final boolean fullTransactionObjects;
+
+    // canonical chain, in ascending order without gaps
+    private final Deque<EthBlock.Block> chain = new ArrayDeque<>();
+    private long lastConfirmed = -1;
+
+    public ChainTracker(Web3j web3j, int confirmations, boolean fullTransactionObjects) {
+        this(
+                web3j,
+                Math.max(DEFAULT_HISTORY_SIZE, confirmations + 1),
+                confirmations,
+                DEFAULT_BATCH_SIZE,
+                fullTransactionObjects);
+    }
+
+    public ChainTracker(
+            Web3j web3j,
+            int historySize,
+            int confirmations,
+            int batchSize,
+            boolean fullTransactionObjects) {
+        if (historySize <= confirmations) {
+            throw new IllegalArgumentException("History must be deeper than the confirmations");
+        }
+        this.web3j = web3j;
+        this.historySize = historySize;
+        this.confirmations = confirmations;
+        this.batchSize = batchSize;
+        this.fullTransactionObjects = fullTransactionObjects;
+    }
+
+    /**
+     * Fetch the node's latest block and update the tracked chain.
+     *
+     * @return the resulting events, removals before additions, in chain order
+     * @throws IOException if a block could not be fetched, the tracked chain is left unchanged
+     */
+    public List<BlockEvent> update() throws IOException {
+        EthBlock latest =
+                web3j.ethGetBlockByNumber(DefaultBlockParameterName.LATEST, fullTransactionObjects)
+                        .send();
+        return update(checkBlock(latest));
+    }
+
+    /**
+     * Update the tracked chain with a new head, such as one received from a new heads subscription.
+     * Heads which are already part of the tracked chain are ignored.
+     *
+     * @param head new head of the chain
+     * @return the resulting events, removals before additions, in chain order
+     * @throws IOException if a block could not be fetched, the tracked chain is left unchanged
+     */
+    public synchronized List<BlockEvent> update(EthBlock.Block head) throws IOException {
+        EthBlock.Block known = blockAt(number(head));
+        if (known != null && known.getHash().equals(head.getHash())) {
+            return Collections.emptyList();
+        }
+
+        Deque<EthBlock.Block> branch = linkBranch(head);
+        long ancestor = number(branch.getFirst()) - 1;
+
+        List<BlockEvent> events = new ArrayList<>();
+        while (!chain.isEmpty() && number(chain.getLast()) > ancestor) {
+            events.add(new BlockEvent(BlockEvent.Type.REMOVED, chain.removeLast()));
+        }
+        for (EthBlock.Block block : branch) {
+            chain.addLast(block);
+            events.add(new BlockEvent(BlockEvent.Type.ADDED, block));
+        }
+
+        lastConfirmed = Math.min(lastConfirmed, ancestor);
+        long confirmedUpTo = number(head) - confirmations;
+        for (EthBlock.Block block : chain) {
+            long number = number(block);
+            if (number > lastConfirmed && number <= confirmedUpTo) {
+                events.add(new BlockEvent(BlockEvent.Type.CONFIRMED, block));
+                lastConfirmed = number;
+            }
+        }
+
+        while (chain.size() > historySize) {
+            chain.removeFirst();
+        }
+        return events;
+    }
+
+    /** The tracked canonical chain, in ascending order. */
+    public synchronized List<EthBlock.Block> getChain() {
+        return new ArrayList<>(chain);
+    }
+
+    /**
+     * Collect the blocks of the branch leading to the head, back to the common ancestor with the
+     * tracked chain or the start of the tracked history.
+     */
+    private Deque<EthBlock.Block> linkBranch(EthBlock.Block head) throws IOException {
+        Deque<EthBlock.Block> branch = new ArrayDeque<>();
+        branch.addFirst(head);
+        if (chain.isEmpty()) {
+            return branch;
+        }
+
+        long oldest = number(chain.getFirst());
+        long tip = number(chain.getLast());
+        EthBlock.Block cursor = head;
+        while (number(cursor) - 1 >= oldest) {
+            long parentNumber = number(cursor) - 1;
+            EthBlock.Block known = blockAt(parentNumber);
+            if (known != null && known.getHash().equals(cursor.getParentHash())) {
+                break;
+            }
+
+            if (parentNumber > tip) {
+                // heights skipped since the last update, fetched by number and linked by hash
+                List<EthBlock.Block> range =
+                        fetchRange(Math.max(tip + 1, parentNumber - batchSize + 1), parentNumber);
+                for (int i = range.size() - 1; i >= 0; i--) {
+                    EthBlock.Block block = range.get(i);
+                    if (block == null || !block.getHash().equals(cursor.getParentHash())) {
+                        break;
+                    }
+                    branch.addFirst(block);
+                    cursor = block;
+                }
+                if (number(cursor) - 1 < parentNumber) {
+                    continue;
+                }
+            }
+
+            // the chain changed underneath, follow the parent hashes instead
+            cursor = fetchByHash(cursor.getParentHash());
+            branch.addFirst(cursor);
+        }
+        return branch;
+    }
+
+    private EthBlock.Block blockAt(long number) {
+        Iterator<EthBlock.Block> iterator = chain.descendingIterator();
+        while (iterator.hasNext()) {
+            EthBlock.Block block = iterator.next();
+            long blockNumber = number(block);
+            if (blockNumber == number) {
+                return block;
+            } else if (blockNumber < number) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private List<EthBlock.Block> fetchRange(long from, long to) throws IOException {
+        BatchRequest batchRequest = web3j.newBatch();
+        for (long number = from; number <= to; number++) {
+            batchRequest.add(
+                    web3j.ethGetBlockByNumber(
+                            new DefaultBlockParameterNumber(BigInteger.valueOf(number)),
+                            fullTransactionObjects));
+        }
+
+        List<EthBlock.Block> blocks = new ArrayList<>();
+        for (Response<?> response : batchRequest.send().getResponses()) {
+            blocks.add(((EthBlock) response).getBlock());
+        }
+        return blocks;
+    }
+
+    private EthBlock.Block fetchByHash(String hash) throws IOException {
+        return checkBlock(web3j.ethGetBlockByHash(hash, fullTransactionObjects).send());
+    }
+
+    private static EthBlock.Block checkBlock(EthBlock ethBlock) throws IOException {
+        if (ethBlock.hasError()) {
+            throw new IOException("Error fetching block: " + ethBlock.getError().getMessage());
+        } else if (ethBlock.getBlock() == null) {
+            throw new IOException("Block not found");
+        }
+        return ethBlock.getBlock();
+    }
+
+    private static long number(EthBlock.Block block) {
+        return block.getNumber().longValue();
+    }
+}
@@ -14,32 +14,58 @@ package org.web3j.protocol.rx;
 
 import java.io.IOException;
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+import io.reactivex.BackpressureOverflowStrategy;
 import io.reactivex.BackpressureStrategy;
 import io.reactivex.Flowable;
 import io.reactivex.FlowableEmitter;
 import io.reactivex.Scheduler;
 import io.reactivex.schedulers.Schedulers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
 import org.web3j.protocol.core.DefaultBlockParameter;
 import org.web3j.protocol.core.DefaultBlockParameterName;
 import org.web3j.protocol.core.DefaultBlockParameterNumber;
 import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
 import org.web3j.protocol.core.filters.BlockFilter;
 import org.web3j.protocol.core.filters.LogFilter;
 import org.web3j.protocol.core.filters.PendingTransactionFilter;
+import org.web3j.protocol.core.filters.PendingTransactionsFilter;
 import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.EthTransaction;
 import org.web3j.protocol.core.methods.response.Log;
 import org.web3j.protocol.core.methods.response.Transaction;
+import org.web3j.protocol.exceptions.JsonRpcErrorException;
 import org.web3j.utils.Flowables;
 
 /** web3j reactive API implementation. */
 public class JsonRpc2_0Rx {
 
+    public static final int DEFAULT_PENDING_BATCH_SIZE = 100;
+    public static final int DEFAULT_PENDING_MAX_CONCURRENCY = 4;
+    public static final int DEFAULT_PENDING_MAX_QUEUED_BATCHES = 16;
+
+    private static final int SEEN_PENDING_TRANSACTIONS = 16384;
+
+    private static final Logger log = LoggerFactory.getLogger(JsonRpc2_0Rx.class);
+
     private final Web3j web3j;
     private final ScheduledExecutorService scheduledExecutorService;
     private final Scheduler scheduler;
@@ -95,12 +121,191 @@ public class JsonRpc2_0Rx {
     }
 
     public Flowable<Transaction> pendingTransactionFlowable(long pollingInterval) {
-        return ethPendingTransactionHashFlowable(pollingInterval)
-                .flatMap(
-                        transactionHash ->
-                                web3j.ethGetTransactionByHash(transactionHash).flowable())
-                .filter(ethTransaction -> ethTransaction.getTransaction().isPresent())
-                .map(ethTransaction -> ethTransaction.getTransaction().get());
+        return pendingTransactionFlowable(
+                pollingInterval,
+                DEFAULT_PENDING_BATCH_SIZE,
+                DEFAULT_PENDING_MAX_CONCURRENCY,
+                DEFAULT_PENDING_MAX_QUEUED_BATCHES);
+    }
+
+    /**
+     * Emit pending transactions, using the first source supported by the node: a full transaction
+     * pending subscription, a pending transaction hash subscription, or a polled pending
+     * transaction filter. Duplicate transactions are dropped.
+     *
+     * <p>Transactions only known by their hash are fetched in batches, with a bounded number of
+     * batches in flight. Further batches are queued, and once the queue is full the oldest are
+     * dropped, as their transactions have most likely left the pool by then.
+     *
+     * @param pollingInterval polling interval of the filter, and longest time hashes are collected
+     *     for a batch
+     * @param batchSize maximum number of transactions fetched per batch
+     * @param maxConcurrency maximum number of batches in flight
+     * @param maxQueuedBatches maximum number of batches queued
+     * @return a {@link Flowable} instance to emit pending transactions
+     */
+    public Flowable<Transaction> pendingTransactionFlowable(
+            long pollingInterval, int batchSize, int maxConcurrency, int maxQueuedBatches) {
+        return Flowable.defer(
+                () -> {
+                    Set<String> seen = recentlySeenSet();
+                    Flowable<Transaction> filterSource =
+                            fetchPendingTransactions(
+                                    pendingTransactionHashBatchFlowable(pollingInterval),
+                                    seen,
+                                    batchSize,
+                                    maxConcurrency,
+                                    maxQueuedBatches);
+                    Flowable<Transaction> hashSource =
+                            orIfUnsupported(
+                                    () ->
+                                            fetchPendingTransactions(
+                                                    web3j.newPendingTransactionsNotifications()
+                                                            .map(n -> n.getParams().getResult())
+                                                            .buffer(
+                                                                    pollingInterval,
+                                                                    TimeUnit.MILLISECONDS,
+                                                                    scheduler,
+                                                                    batchSize)
+                                                            .filter(hashes -> !hashes.isEmpty()),
+                                                    seen,
+                                                    batchSize,
+                                                    maxConcurrency,
+                                                    maxQueuedBatches),
+                                    filterSource);
+                    return orIfUnsupported(
+                            () ->
+                                    web3j.newPendingTransactionObjectsNotifications()
+                                            .map(n -> n.getParams().getResult())
+                                            .filter(transaction -> seen.add(transaction.getHash())),
+                            hashSource);
+                });
+    }
+
+    private Flowable<List<String>> pendingTransactionHashBatchFlowable(long pollingInterval) {
+        return Flowable.create(
+                subscriber -> {
+                    PendingTransactionsFilter pendingTransactionsFilter =
+                            new PendingTransactionsFilter(web3j, subscriber::onNext);
+
+                    run(pendingTransactionsFilter, subscriber, pollingInterval);
+                },
+                BackpressureStrategy.BUFFER);
+    }
+
+    private Flowable<Transaction> fetchPendingTransactions(
+            Flowable<List<String>> hashes,
+            Set<String> seen,
+            int batchSize,
+            int maxConcurrency,
+            int maxQueuedBatches) {
+        return hashes.concatMapIterable(batch -> unseenBatches(batch, seen, batchSize))
+                .onBackpressureBuffer(
+                        maxQueuedBatches,
+                        () -> log.debug("Dropping stale pending transaction batch"),
+                        BackpressureOverflowStrategy.DROP_OLDEST)
+                .flatMap(this::fetchTransactions, maxConcurrency);
+    }
+
+    private static List<List<String>> unseenBatches(
+            List<String> hashes, Set<String> seen, int batchSize) {
+        List<List<String>> batches = new ArrayList<>();
+        List<String> batch = new ArrayList<>(Math.min(hashes.size(), batchSize));
+        for (String hash : hashes) {
+            if (!seen.add(hash)) {
+                continue;
+            }
+            if (batch.size() == batchSize) {
+                batches.add(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+            batch.add(hash);
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    private Flowable<Transaction> fetchTransactions(List<String> hashes) {
+        return Flowable.<BatchResponse>create(
+                        emitter -> {
+                            BatchRequest batchRequest = web3j.newBatch();
+                            for (String hash : hashes) {
+                                batchRequest.add(web3j.ethGetTransactionByHash(hash));
+                            }
+                            CompletableFuture<BatchResponse> response = batchRequest.sendAsync();
+                            emitter.setCancellable(() -> response.cancel(false));
+                            response.whenComplete(
+                                    (result, e) -> {
+                                        if (e != null) {
+                                            emitter.tryOnError(e);
+                                        } else {
+                                            emitter.onNext(result);
+                                            emitter.onComplete();
+                                        }
+                                    });
+                        },
+                        BackpressureStrategy.BUFFER)
+                .onErrorResumeNext(
+                        e -> {
+                            // transactions only pending for a moment are not worth retrying
+                            log.warn("Failed to fetch {} pending transactions", hashes.size(), e);
+                            return Flowable.empty();
+                        })
+                .flatMapIterable(JsonRpc2_0Rx::toPendingTransactions);
+    }
+
+    private static List<Transaction> toPendingTransactions(BatchResponse batchResponse) {
+        List<Transaction> transactions = new ArrayList<>(batchResponse.getResponses().size());
+        for (Response<?> response : batchResponse.getResponses()) {
+            Optional<Transaction> transaction = ((EthTransaction) response).getTransaction();
+            transaction.ifPresent(transactions::add);
+        }
+        return transactions;
+    }
+
+    /**
+     * Subscribe to the primary source, switching to the fallback if the node or service does not
+     * support it. Any other error is passed on.
+     */
+    private static <T> Flowable<T> orIfUnsupported(
+            Callable<Flowable<T>> primary, Flowable<T> fallback) {
+        return Flowable.defer(primary)
+                .onErrorResumeNext(
+                        e -> {
+                            if (!isUnsupported(e)) {
+                                return Flowable.error(e);
+                            }
+                            log.debug("Pending transaction source not available", e);
+                            return fallback;
+                        });
+    }
+
+    private static boolean isUnsupported(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof UnsupportedOperationException) {
+                return true;
+            }
+            if (cause instanceof JsonRpcErrorException) {
+                int code = ((JsonRpcErrorException) cause).getError().getCode();
+                // invalid params: the node does not accept the full transaction objects flag
+                return code == JsonRpcErrorException.METHOD_NOT_FOUND
+                        || code == JsonRpcErrorException.INVALID_PARAMS;
+            }
+        }
+        return false;
+    }
+
+    private static Set<String> recentlySeenSet() {
+        return Collections.synchronizedSet(
+                Collections.newSetFromMap(
+                        new LinkedHashMap<String, Boolean>() {
+                            @Override
+                            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                                return size() > SEEN_PENDING_TRANSACTIONS;
+                            }
+                        }));
     }
 
     public Flowable<EthBlock> blockFlowable(boolean fullTransactionObjects, long pollingInterval) {
@@ -111,6 +316,35 @@ public class JsonRpc2_0Rx {
                                         .flowable());
     }
 
+    public Flowable<BlockEvent> blockEventFlowable(
+            int confirmations, boolean fullTransactionObjects, long pollingInterval) {
+        return Flowable.defer(
+                () -> {
+                    ChainTracker chainTracker =
+                            new ChainTracker(web3j, confirmations, fullTransactionObjects);
+                    return Flowable.interval(0, pollingInterval, TimeUnit.MILLISECONDS, scheduler)
+                            .onBackpressureDrop()
+                            .concatMapIterable(tick -> updateChain(chainTracker));
+                });
+    }
+
+    public Flowable<EthBlock.Block> confirmedBlockFlowable(
+            int confirmations, boolean fullTransactionObjects, long pollingInterval) {
+        return blockEventFlowable(confirmations, fullTransactionObjects, pollingInterval)
+                .filter(BlockEvent::isConfirmed)
+                .map(BlockEvent::getBlock);
+    }
+
+    private static List<BlockEvent> updateChain(ChainTracker chainTracker) {
+        try {
+            return chainTracker.update();
+        } catch (IOException e) {
+            // retried on the next poll, the tracked chain is unchanged
+            log.warn("Failed to update the tracked chain", e);
+            return Collections.emptyList();
+        }
+    }
+
     public Flowable<EthBlock> replayBlocksFlowable(
             DefaultBlockParameter startBlock,
             DefaultBlockParameter endBlock,
@@ -23,6 +23,8 @@ import org.web3j.protocol.core.methods.response.Log;
 import org.web3j.protocol.core.methods.response.Transaction;
 import org.web3j.protocol.websocket.events.LogNotification;
 import org.web3j.protocol.websocket.events.NewHeadsNotification;
+import org.web3j.protocol.websocket.events.PendingTransactionNotification;
+import org.web3j.protocol.websocket.events.PendingTransactionObjectNotification;
 
 /** The Flowables JSON-RPC client event API. */
 public interface Web3jRx {
@@ -77,6 +79,37 @@ public interface Web3jRx {
      */
     Flowable<EthBlock> blockFlowable(boolean fullTransactionObjects);
 
+    /**
+     * Create an {@link Flowable} instance that follows the canonical chain, emitting the blocks
+     * added to and removed from it, including those removed by a chain reorganization, and each
+     * canonical block once it has the requested number of confirmations.
+     *
+     * @param confirmations number of blocks built on top of a block before it is confirmed
+     * @param fullTransactionObjects if true, provides transactions embedded in blocks, otherwise
+     *     transaction hashes
+     * @return a {@link Flowable} instance that emits {@link BlockEvent}s in chain order
+     * @see ChainTracker
+     */
+    default Flowable<BlockEvent> blockEventFlowable(
+            int confirmations, boolean fullTransactionObjects) {
+        return Flowable.error(new UnsupportedOperationException("Block events are not supported"));
+    }
+
+    /**
+     * Create an {@link Flowable} instance that emits canonical blocks once they have the requested
+     * number of confirmations.
+     *
+     * @param confirmations number of blocks built on top of a block before it is emitted
+     * @param fullTransactionObjects if true, provides transactions embedded in blocks, otherwise
+     *     transaction hashes
+     * @return a {@link Flowable} instance that emits confirmed blocks in ascending order
+     */
+    default Flowable<EthBlock.Block> confirmedBlockFlowable(
+            int confirmations, boolean fullTransactionObjects) {
+        return Flowable.error(
+                new UnsupportedOperationException("Confirmed blocks are not supported"));
+    }
+
     /**
      * Create an {@link Flowable} instance that emits all blocks from the blockchain contained
      * within the requested range.
@@ -205,4 +238,29 @@ public interface Web3jRx {
      * @return a {@link Flowable} instance that emits logs included in new blocks
      */
     Flowable<LogNotification> logsNotifications(List<String> addresses, List<String> topics);
+
+    /**
+     * Creates a {@link Flowable} instance that emits the hashes of transactions added to the node's
+     * pending transaction pool.
+     *
+     * @return a {@link Flowable} instance that emits a notification for every pending transaction
+     */
+    default Flowable<PendingTransactionNotification> newPendingTransactionsNotifications() {
+        return Flowable.error(
+                new UnsupportedOperationException(
+                        "Pending transaction notifications are not supported"));
+    }
+
+    /**
+     * As per {@link #newPendingTransactionsNotifications()}, except that full transaction objects
+     * are emitted. Only supported by some clients, the subscription fails otherwise.
+     *
+     * @return a {@link Flowable} instance that emits a notification for every pending transaction
+     */
+    default Flowable<PendingTransactionObjectNotification>
+            newPendingTransactionObjectsNotifications() {
+        return Flowable.error(
+                new UnsupportedOperationException(
+                        "Pending transaction notifications are not supported"));
+    }
 }
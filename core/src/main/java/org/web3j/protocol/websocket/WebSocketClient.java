@@ -13,9 +13,11 @@
 package org.web3j.protocol.websocket;
 
 import java.net.URI;
+import java.nio.ByteBuffer;
 import java.util.Map;
 import java.util.Optional;
 
+import org.java_websocket.framing.TextFrame;
 import org.java_websocket.handshake.ServerHandshake;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,6 +40,19 @@ public class WebSocketClient extends org.java_websocket.client.WebSocketClient {
         super(serverUri, httpHeaders);
     }
 
+    /**
+     * Send a text message already encoded as UTF-8, without decoding it to a string first. Each
+     * message is sent as a single, new frame, so that concurrent senders share no framing state.
+     *
+     * @param payload UTF-8 encoded text
+     */
+    public void sendText(byte[] payload) {
+        TextFrame frame = new TextFrame();
+        frame.setPayload(ByteBuffer.wrap(payload));
+        frame.setFin(true);
+        sendFrame(frame);
+    }
+
     @Override
     public void onOpen(ServerHandshake serverHandshake) {
         log.debug("Opened WebSocket connection to {}", uri);
@@ -14,6 +14,8 @@ package org.web3j.protocol.websocket;
 
 import java.util.concurrent.CompletableFuture;
 
+import org.web3j.protocol.RequestMetrics;
+
 /**
  * Objects necessary to process a reply for a request sent via WebSocket protocol.
  *
@@ -22,10 +24,17 @@ import java.util.concurrent.CompletableFuture;
 class WebSocketRequest<T> {
     private CompletableFuture<T> onReply;
     private Class<T> responseType;
+    private RequestMetrics metrics;
 
     public WebSocketRequest(CompletableFuture<T> onReply, Class<T> responseType) {
+        this(onReply, responseType, null);
+    }
+
+    public WebSocketRequest(
+            CompletableFuture<T> onReply, Class<T> responseType, RequestMetrics metrics) {
         this.onReply = onReply;
         this.responseType = responseType;
+        this.metrics = metrics;
     }
 
     public CompletableFuture<T> getOnReply() {
@@ -35,4 +44,9 @@ class WebSocketRequest<T> {
     public Class<T> getResponseType() {
         return responseType;
     }
+
+    /** Metrics of the request, may be null. */
+    public RequestMetrics getMetrics() {
+        return metrics;
+    }
 }
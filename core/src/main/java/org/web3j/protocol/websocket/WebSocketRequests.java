@@ -15,6 +15,7 @@ package org.web3j.protocol.websocket;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
+import org.web3j.protocol.RequestMetrics;
 import org.web3j.protocol.core.BatchResponse;
 import org.web3j.protocol.core.Request;
 import org.web3j.protocol.core.Response;
@@ -29,8 +30,16 @@ public class WebSocketRequests extends WebSocketRequest<BatchResponse> {
             CompletableFuture<BatchResponse> onReply,
             List<Request<?, ? extends Response<?>>> requests,
             Long originId) {
+        this(onReply, requests, originId, null);
+    }
+
+    public WebSocketRequests(
+            CompletableFuture<BatchResponse> onReply,
+            List<Request<?, ? extends Response<?>>> requests,
+            Long originId,
+            RequestMetrics metrics) {
 
-        super(onReply, BatchResponse.class);
+        super(onReply, BatchResponse.class, metrics);
         this.requests = requests;
         this.originId = originId;
     }
@@ -16,6 +16,7 @@ import java.io.IOException;
 import java.net.ConnectException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -29,7 +30,6 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
@@ -41,13 +41,17 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.web3j.protocol.ObjectMapperFactory;
+import org.web3j.protocol.RequestMetrics;
+import org.web3j.protocol.ServiceInstrumentation;
 import org.web3j.protocol.Web3jService;
 import org.web3j.protocol.core.BatchRequest;
 import org.web3j.protocol.core.BatchResponse;
 import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.RequestTemplate;
 import org.web3j.protocol.core.Response;
 import org.web3j.protocol.core.methods.response.EthSubscribe;
 import org.web3j.protocol.core.methods.response.EthUnsubscribe;
+import org.web3j.protocol.exceptions.JsonRpcErrorException;
 import org.web3j.protocol.websocket.events.Notification;
 
 /**
@@ -85,6 +89,8 @@ public class WebSocketService implements Web3jService {
     // Map of a subscription id to objects necessary to process incoming events
     private Map<String, WebSocketSubscription<?>> subscriptionForId = new ConcurrentHashMap<>();
 
+    private volatile ServiceInstrumentation instrumentation = ServiceInstrumentation.NONE;
+
     public WebSocketService(String serverUrl, boolean includeRawResponses) {
         this(new WebSocketClient(parseURI(serverUrl)), includeRawResponses);
     }
@@ -180,10 +186,13 @@ public class WebSocketService implements Web3jService {
             Request request, Class<T> responseType) {
 
         CompletableFuture<T> result = new CompletableFuture<>();
+        RequestMetrics metrics = RequestMetrics.start(instrumentation, request);
+        metrics.completeWhenDone(result);
+
         long requestId = request.getId();
-        requestForId.put(requestId, new WebSocketRequest<>(result, responseType));
+        requestForId.put(requestId, new WebSocketRequest<>(result, responseType, metrics));
         try {
-            sendRequest(request, requestId);
+            sendRequest(request, requestId, metrics);
         } catch (IOException e) {
             closeRequest(requestId, e);
         }
@@ -210,6 +219,8 @@ public class WebSocketService implements Web3jService {
     @Override
     public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest requests) {
         CompletableFuture<BatchResponse> result = new CompletableFuture<>();
+        RequestMetrics metrics = RequestMetrics.start(instrumentation, requests);
+        metrics.completeWhenDone(result);
 
         // replace first batch elements's id to handle response
         long requestId = nextBatchId.getAndIncrement();
@@ -218,10 +229,11 @@ public class WebSocketService implements Web3jService {
         requests.getRequests().get(0).setId(requestId);
 
         requestForId.put(
-                requestId, new WebSocketRequests(result, requests.getRequests(), originId));
+                requestId,
+                new WebSocketRequests(result, requests.getRequests(), originId, metrics));
 
         try {
-            sendBatchRequest(requests, requestId);
+            sendBatchRequest(requests, requestId, metrics);
         } catch (IOException e) {
             closeRequest(requestId, e);
         }
@@ -229,18 +241,25 @@ public class WebSocketService implements Web3jService {
         return result;
     }
 
-    private void sendRequest(Request request, long requestId) throws JsonProcessingException {
-        String payload = objectMapper.writeValueAsString(request);
-        log.debug("Sending request: {}", payload);
-        webSocketClient.send(payload);
+    private void sendRequest(Request<?, ?> request, long requestId, RequestMetrics metrics)
+            throws IOException {
+        byte[] payload = RequestTemplate.writeValueAsBytes(objectMapper, request);
+        metrics.markSerialized(payload);
+        if (log.isDebugEnabled()) {
+            log.debug("Sending request: {}", new String(payload, StandardCharsets.UTF_8));
+        }
+        webSocketClient.sendText(payload);
         setRequestTimeout(requestId);
     }
 
-    private void sendBatchRequest(BatchRequest request, long requestId)
-            throws JsonProcessingException {
-        String payload = objectMapper.writeValueAsString(request.getRequests());
-        log.debug("Sending batch request: {}", payload);
-        webSocketClient.send(payload);
+    private void sendBatchRequest(BatchRequest request, long requestId, RequestMetrics metrics)
+            throws IOException {
+        byte[] payload = RequestTemplate.writeValueAsBytes(objectMapper, request.getRequests());
+        metrics.markSerialized(payload);
+        if (log.isDebugEnabled()) {
+            log.debug("Sending batch request: {}", new String(payload, StandardCharsets.UTF_8));
+        }
+        webSocketClient.sendText(payload);
         setRequestTimeout(requestId);
     }
 
@@ -262,12 +281,13 @@ public class WebSocketService implements Web3jService {
     }
 
     void onWebSocketMessage(String messageStr) throws IOException {
+        long receivedNanos = System.nanoTime();
         JsonNode replyJson = parseToTree(messageStr);
 
         if (isReply(replyJson)) {
-            processRequestReply(messageStr, replyJson);
+            processRequestReply(messageStr, replyJson, receivedNanos);
         } else if (isBatchReply(replyJson)) {
-            processBatchRequestReply(messageStr, (ArrayNode) replyJson);
+            processBatchRequestReply(messageStr, (ArrayNode) replyJson, receivedNanos);
         } else if (isSubscriptionEvent(replyJson)) {
             processSubscriptionEvent(messageStr, replyJson);
         } else {
@@ -276,9 +296,11 @@ public class WebSocketService implements Web3jService {
     }
 
     @SuppressWarnings("unchecked")
-    private void processRequestReply(String replyStr, JsonNode replyJson) throws IOException {
+    private void processRequestReply(String replyStr, JsonNode replyJson, long receivedNanos)
+            throws IOException {
         long replyId = getReplyId(replyJson);
         WebSocketRequest request = getAndRemoveRequest(replyId);
+        markReceived(request, replyStr, receivedNanos);
         try {
             Object reply = objectMapper.convertValue(replyJson, request.getResponseType());
             // Instead of sending a reply to a caller asynchronously we need to process it here
@@ -293,9 +315,11 @@ public class WebSocketService implements Web3jService {
         }
     }
 
-    private void processBatchRequestReply(String replyStr, ArrayNode replyJson) throws IOException {
+    private void processBatchRequestReply(String replyStr, ArrayNode replyJson, long receivedNanos)
+            throws IOException {
         long replyId = getReplyId(replyJson.get(0));
         WebSocketRequests webSocketRequests = (WebSocketRequests) getAndRemoveRequest(replyId);
+        markReceived(webSocketRequests, replyStr, receivedNanos);
         try {
             // rollback request id of first batch elt
             ((ObjectNode) replyJson.get(0)).put("id", webSocketRequests.getOriginId());
@@ -316,6 +340,14 @@ public class WebSocketService implements Web3jService {
         }
     }
 
+    private void markReceived(WebSocketRequest<?> request, String replyStr, long receivedNanos) {
+        RequestMetrics metrics = request.getMetrics();
+        if (metrics != null) {
+            metrics.markReceived(receivedNanos);
+            metrics.setResponseBytes(replyStr);
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private void processSubscriptionResponse(long replyId, EthSubscribe reply) throws IOException {
         WebSocketSubscription subscription = subscriptionRequestForId.get(replyId);
@@ -355,7 +387,8 @@ public class WebSocketService implements Web3jService {
         subject.onError(
                 new IOException(
                         String.format(
-                                "Subscription request failed with error: %s", error.getMessage())));
+                                "Subscription request failed with error: %s", error.getMessage()),
+                        new JsonRpcErrorException(error)));
     }
 
     @SuppressWarnings("unchecked")
@@ -515,6 +548,20 @@ public class WebSocketService implements Web3jService {
                 EthUnsubscribe.class);
     }
 
+    public ServiceInstrumentation getInstrumentation() {
+        return instrumentation;
+    }
+
+    /**
+     * Report the requests performed by this service. Subscription notifications are not reported.
+     *
+     * @param instrumentation instrumentation to report to, or null to disable instrumentation
+     */
+    public void setInstrumentation(ServiceInstrumentation instrumentation) {
+        this.instrumentation =
+                instrumentation != null ? instrumentation : ServiceInstrumentation.NONE;
+    }
+
     @Override
     public void close() {
         webSocketClient.close();
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx;
+
+import java.util.List;
+
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.RemoteFunctionCall;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthCall;
+
+/**
+ * Handle of a contract call which was added to a {@link org.web3j.protocol.core.BatchRequest},
+ * giving access to the call's typed result once the batch has been sent.
+ *
+ * @param <T> the result type
+ */
+public class BatchedCall<T> {
+
+    private final Request<?, EthCall> request;
+    private final RemoteFunctionCall<T> remoteCall;
+
+    public BatchedCall(Request<?, EthCall> request, RemoteFunctionCall<T> remoteCall) {
+        this.request = request;
+        this.remoteCall = remoteCall;
+    }
+
+    public Request<?, EthCall> getRequest() {
+        return request;
+    }
+
+    /**
+     * Get the result of the call from the response of its batch.
+     *
+     * @param batchResponse the response of the batch the call was added to
+     * @return the decoded result
+     * @throws org.web3j.tx.exceptions.ContractCallException if the call was reverted
+     * @throws IllegalArgumentException if the call is not part of the batch
+     */
+    public T get(BatchResponse batchResponse) {
+        List<Request<?, ? extends Response<?>>> requests = batchResponse.getRequests();
+        for (int i = 0; i < requests.size(); i++) {
+            if (requests.get(i) == request) {
+                EthCall ethCall = (EthCall) batchResponse.getResponses().get(i);
+                return remoteCall.decodeResult(TransactionManager.callValue(ethCall));
+            }
+        }
+        throw new IllegalArgumentException("Call is not part of the batch response");
+    }
+}
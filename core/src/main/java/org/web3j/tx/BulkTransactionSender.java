@@ -0,0 +1,316 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiFunction;
+
+import org.web3j.crypto.Hash;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.methods.response.EthSendTransaction;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.protocol.exceptions.TransactionException;
+import org.web3j.tx.exceptions.TxHashMismatchException;
+import org.web3j.tx.response.BatchingTransactionReceiptProcessor;
+
+import static org.web3j.tx.TransactionManager.DEFAULT_POLLING_ATTEMPTS_PER_TX_HASH;
+import static org.web3j.tx.TransactionManager.DEFAULT_POLLING_FREQUENCY;
+
+/**
+ * Sends large numbers of transactions from the account of a {@link RawTransactionManager}.
+ *
+ * <p>Transactions are assigned sequential nonces up front and signed in parallel on the signing
+ * executor, by default the common fork join pool. The signed transactions are submitted in {@code
+ * eth_sendRawTransaction} batches, in nonce order, each batch once it is signed and the previous
+ * batch was answered.
+ *
+ * <p>The outcome is reported per transaction: a transaction which could not be signed or was
+ * rejected by the node fails its own {@link Submission} only. As later transactions cannot be mined
+ * before the nonce of a rejected one is used, callers should resend or replace rejected
+ * transactions with the same nonce.
+ */
+public class BulkTransactionSender {
+
+    public static final int DEFAULT_BATCH_SIZE = 100;
+
+    private final Web3j web3j;
+    private final RawTransactionManager transactionManager;
+    private final int batchSize;
+    private final Executor signingExecutor;
+    private final BatchingTransactionReceiptProcessor receiptProcessor;
+
+    public BulkTransactionSender(Web3j web3j, RawTransactionManager transactionManager) {
+        this(
+                web3j,
+                transactionManager,
+                DEFAULT_BATCH_SIZE,
+                ForkJoinPool.commonPool(),
+                new BatchingTransactionReceiptProcessor(
+                        web3j, DEFAULT_POLLING_FREQUENCY, DEFAULT_POLLING_ATTEMPTS_PER_TX_HASH));
+    }
+
+    public BulkTransactionSender(
+            Web3j web3j,
+            RawTransactionManager transactionManager,
+            int batchSize,
+            Executor signingExecutor,
+            BatchingTransactionReceiptProcessor receiptProcessor) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.web3j = web3j;
+        this.transactionManager = transactionManager;
+        this.batchSize = batchSize;
+        this.signingExecutor = signingExecutor;
+        this.receiptProcessor = receiptProcessor;
+    }
+
+    /**
+     * Sign and send legacy transactions.
+     *
+     * @param intents transactions to send, in nonce order
+     * @param gasPrice gas price of all transactions
+     * @return one submission per intent, in the same order
+     * @throws IOException if the starting nonce could not be obtained, nothing is sent
+     */
+    public List<Submission> sendTransactions(List<TransactionIntent> intents, BigInteger gasPrice)
+            throws IOException {
+        return send(intents, (intent, nonce) -> intent.toRawTransaction(nonce, gasPrice));
+    }
+
+    /**
+     * Sign and send EIP-1559 transactions.
+     *
+     * @param intents transactions to send, in nonce order
+     * @param gasPremium priority fee of all transactions
+     * @param feeCap maximum fee of all transactions
+     * @return one submission per intent, in the same order
+     * @throws IOException if the starting nonce could not be obtained, nothing is sent
+     */
+    public List<Submission> sendTransactionsEIP1559(
+            List<TransactionIntent> intents, BigInteger gasPremium, BigInteger feeCap)
+            throws IOException {
+        return send(intents, (intent, nonce) -> intent.toRawTransaction(nonce, gasPremium, feeCap));
+    }
+
+    private List<Submission> send(
+            List<TransactionIntent> intents,
+            BiFunction<TransactionIntent, BigInteger, RawTransaction> transactionFactory)
+            throws IOException {
+        if (intents.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        BigInteger nonce = reserveNonces(intents.size());
+        List<Submission> submissions = new ArrayList<>(intents.size());
+        CompletableFuture<Void> previousBatch = CompletableFuture.completedFuture(null);
+        for (int from = 0; from < intents.size(); from += batchSize) {
+            List<Submission> batch = new ArrayList<>();
+            List<CompletableFuture<Void>> signing = new ArrayList<>();
+            for (TransactionIntent intent :
+                    intents.subList(from, Math.min(from + batchSize, intents.size()))) {
+                Submission submission = new Submission(intent, nonce, receiptProcessor);
+                RawTransaction rawTransaction = transactionFactory.apply(intent, nonce);
+                signing.add(
+                        CompletableFuture.runAsync(
+                                () -> submission.sign(transactionManager, rawTransaction),
+                                signingExecutor));
+                batch.add(submission);
+                nonce = nonce.add(BigInteger.ONE);
+            }
+            submissions.addAll(batch);
+
+            // a failed batch fails its own submissions only, later batches are still sent
+            previousBatch =
+                    CompletableFuture.allOf(signing.toArray(new CompletableFuture<?>[0]))
+                            .thenCombine(previousBatch, (signed, previous) -> batch)
+                            .thenCompose(this::submit)
+                            .handle(
+                                    (ignored, throwable) -> {
+                                        if (throwable != null) {
+                                            fail(batch, unwrap(throwable));
+                                        }
+                                        return null;
+                                    });
+        }
+        return submissions;
+    }
+
+    /** Reserve a range of nonces, keeping a {@link FastRawTransactionManager} in step. */
+    private BigInteger reserveNonces(int count) throws IOException {
+        if (transactionManager instanceof FastRawTransactionManager) {
+            FastRawTransactionManager fastTransactionManager =
+                    (FastRawTransactionManager) transactionManager;
+            synchronized (fastTransactionManager) {
+                BigInteger nonce = fastTransactionManager.getNonce();
+                fastTransactionManager.setNonce(nonce.add(BigInteger.valueOf(count - 1)));
+                return nonce;
+            }
+        }
+        return transactionManager.getNonce();
+    }
+
+    private CompletableFuture<Void> submit(List<Submission> batch) {
+        BatchRequest batchRequest = web3j.newBatch();
+        List<Submission> signed = new ArrayList<>();
+        for (Submission submission : batch) {
+            if (submission.signedTransaction != null) {
+                batchRequest.add(web3j.ethSendRawTransaction(submission.signedTransaction));
+                signed.add(submission);
+            }
+        }
+        if (signed.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return batchRequest
+                .sendAsync()
+                .handle(
+                        (batchResponse, throwable) -> {
+                            if (throwable != null) {
+                                fail(signed, unwrap(throwable));
+                                return null;
+                            }
+                            for (int i = 0; i < signed.size(); i++) {
+                                Submission submission = signed.get(i);
+                                try {
+                                    submission.processResponse(
+                                            transactionManager, responseAt(batchResponse, i));
+                                } catch (RuntimeException e) {
+                                    submission.transactionHash.completeExceptionally(e);
+                                }
+                            }
+                            return null;
+                        });
+    }
+
+    private static EthSendTransaction responseAt(BatchResponse batchResponse, int index) {
+        if (batchResponse == null
+                || batchResponse.getResponses() == null
+                || index >= batchResponse.getResponses().size()) {
+            return null;
+        }
+        return (EthSendTransaction) batchResponse.getResponses().get(index);
+    }
+
+    private static void fail(List<Submission> submissions, Throwable throwable) {
+        for (Submission submission : submissions) {
+            submission.transactionHash.completeExceptionally(throwable);
+        }
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        return throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause()
+                : throwable;
+    }
+
+    /** A transaction sent by a {@link BulkTransactionSender}. */
+    public static class Submission {
+
+        private final TransactionIntent intent;
+        private final BigInteger nonce;
+        private final BatchingTransactionReceiptProcessor receiptProcessor;
+        private final CompletableFuture<String> transactionHash = new CompletableFuture<>();
+
+        // written by the signing task, read once all transactions of the batch are signed
+        private String signedTransaction;
+        private CompletableFuture<TransactionReceipt> transactionReceipt;
+
+        Submission(
+                TransactionIntent intent,
+                BigInteger nonce,
+                BatchingTransactionReceiptProcessor receiptProcessor) {
+            this.intent = intent;
+            this.nonce = nonce;
+            this.receiptProcessor = receiptProcessor;
+        }
+
+        public TransactionIntent getIntent() {
+            return intent;
+        }
+
+        public BigInteger getNonce() {
+            return nonce;
+        }
+
+        /**
+         * The hash of the transaction, completed once the node accepted it, or exceptionally if it
+         * could not be signed or was rejected.
+         */
+        public CompletableFuture<String> getTransactionHash() {
+            return transactionHash;
+        }
+
+        /**
+         * The receipt of the transaction. Receipts are only polled for once requested, together
+         * with the receipts of the other submissions.
+         */
+        public synchronized CompletableFuture<TransactionReceipt> getTransactionReceipt() {
+            if (transactionReceipt == null) {
+                transactionReceipt =
+                        transactionHash.thenCompose(receiptProcessor::getTransactionReceiptAsync);
+            }
+            return transactionReceipt;
+        }
+
+        private void sign(RawTransactionManager transactionManager, RawTransaction rawTransaction) {
+            try {
+                signedTransaction = transactionManager.sign(rawTransaction);
+            } catch (RuntimeException e) {
+                transactionHash.completeExceptionally(e);
+            }
+        }
+
+        private void processResponse(
+                RawTransactionManager transactionManager, EthSendTransaction response) {
+            if (response == null) {
+                transactionHash.completeExceptionally(
+                        new TransactionException("No response received for transaction request"));
+                return;
+            }
+            if (response.hasError()) {
+                transactionHash.completeExceptionally(
+                        new TransactionException(
+                                "Error processing transaction request: "
+                                        + response.getError().getMessage()));
+                return;
+            }
+
+            String txHashLocal = Hash.sha3(signedTransaction);
+            String txHashRemote = response.getTransactionHash();
+            if (!transactionManager.getTxHashVerifier().verify(txHashLocal, txHashRemote)) {
+                transactionHash.completeExceptionally(
+                        new TxHashMismatchException(txHashLocal, txHashRemote));
+            } else {
+                transactionHash.complete(txHashRemote);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Submission{" + "nonce=" + nonce + ", intent=" + intent + '}';
+        }
+    }
+}
@@ -17,6 +17,7 @@ import java.math.BigInteger;
 
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.Request;
 import org.web3j.protocol.core.methods.request.Transaction;
 import org.web3j.protocol.core.methods.response.EthCall;
 import org.web3j.protocol.core.methods.response.EthGetCode;
@@ -96,14 +97,15 @@ public class ClientTransactionManager extends TransactionManager {
     @Override
     public String sendCall(String to, String data, DefaultBlockParameter defaultBlockParameter)
             throws IOException {
-        EthCall ethCall =
-                web3j.ethCall(
-                                Transaction.createEthCallTransaction(getFromAddress(), to, data),
-                                defaultBlockParameter)
-                        .send();
-
-        assertCallNotReverted(ethCall);
-        return ethCall.getValue();
+        return callValue(createCallRequest(to, data, defaultBlockParameter).send());
+    }
+
+    @Override
+    public Request<?, EthCall> createCallRequest(
+            String to, String data, DefaultBlockParameter defaultBlockParameter) {
+        return web3j.ethCall(
+                Transaction.createEthCallTransaction(getFromAddress(), to, data),
+                defaultBlockParameter);
     }
 
     @Override
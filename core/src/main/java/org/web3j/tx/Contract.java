@@ -21,8 +21,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import org.web3j.abi.DirectCodec;
 import org.web3j.abi.EventEncoder;
 import org.web3j.abi.EventValues;
 import org.web3j.abi.FunctionEncoder;
@@ -36,15 +39,21 @@ import org.web3j.abi.datatypes.Type;
 import org.web3j.crypto.Credentials;
 import org.web3j.ens.EnsResolver;
 import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
 import org.web3j.protocol.core.DefaultBlockParameter;
 import org.web3j.protocol.core.DefaultBlockParameterName;
 import org.web3j.protocol.core.RemoteCall;
 import org.web3j.protocol.core.RemoteFunctionCall;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.request.Transaction;
+import org.web3j.protocol.core.methods.response.EthCall;
 import org.web3j.protocol.core.methods.response.EthGetCode;
 import org.web3j.protocol.core.methods.response.Log;
 import org.web3j.protocol.core.methods.response.TransactionReceipt;
 import org.web3j.protocol.exceptions.TransactionException;
 import org.web3j.tx.exceptions.ContractCallException;
+import org.web3j.tx.gas.ContractCallGasProvider;
+import org.web3j.tx.gas.ContractEIP1559GasProvider;
 import org.web3j.tx.gas.ContractGasProvider;
 import org.web3j.tx.gas.StaticGasProvider;
 import org.web3j.utils.Numeric;
@@ -295,10 +304,44 @@ public abstract class Contract extends ManagedTransaction {
         return FunctionReturnDecoder.decode(value, function.getOutputParameters());
     }
 
-    @SuppressWarnings("unchecked")
     protected <T extends Type> T executeCallSingleValueReturn(Function function)
             throws IOException {
-        List<Type> values = executeCall(function);
+        return singleValue(executeCall(function));
+    }
+
+    protected <T extends Type, R> R executeCallSingleValueReturn(
+            Function function, Class<R> returnType) throws IOException {
+        return convertSingleValue(executeCallSingleValueReturn(function), returnType);
+    }
+
+    /**
+     * Decode the output of a constant function call returning a single value.
+     *
+     * @param function the function called
+     * @param returnType the type to convert the value to
+     * @param output the output of the call
+     * @return the converted value
+     */
+    protected <T extends Type, R> R decodeSingleValueReturn(
+            Function function, Class<R> returnType, String output) {
+        T result =
+                singleValue(FunctionReturnDecoder.decode(output, function.getOutputParameters()));
+        return convertSingleValue(result, returnType);
+    }
+
+    /**
+     * Decode the output of a constant function call.
+     *
+     * @param function the function called
+     * @param output the output of the call
+     * @return {@link List} of values returned by the function call
+     */
+    protected List<Type> decodeMultipleValueReturn(Function function, String output) {
+        return FunctionReturnDecoder.decode(output, function.getOutputParameters());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Type> T singleValue(List<Type> values) {
         if (!values.isEmpty()) {
             return (T) values.get(0);
         } else {
@@ -307,9 +350,7 @@ public abstract class Contract extends ManagedTransaction {
     }
 
     @SuppressWarnings("unchecked")
-    protected <T extends Type, R> R executeCallSingleValueReturn(
-            Function function, Class<R> returnType) throws IOException {
-        T result = executeCallSingleValueReturn(function);
+    private static <T extends Type, R> R convertSingleValue(T result, Class<R> returnType) {
         if (result == null) {
             throw new ContractCallException("Empty value (0x) returned from contract");
         }
@@ -363,16 +404,47 @@ public abstract class Contract extends ManagedTransaction {
             String data, BigInteger weiValue, String funcName, boolean constructor)
             throws TransactionException, IOException {
 
-        TransactionReceipt receipt =
-                send(
-                        contractAddress,
-                        data,
+        Transaction transaction =
+                Transaction.createFunctionCallTransaction(
+                        transactionManager.getFromAddress(),
+                        null,
+                        null,
+                        null,
+                        constructor ? null : contractAddress,
                         weiValue,
-                        gasProvider.getGasPrice(funcName),
-                        gasProvider.getGasLimit(funcName),
-                        constructor);
+                        data);
+        BigInteger gasLimit =
+                ContractCallGasProvider.gasLimitOf(gasProvider, funcName, transaction);
+
+        TransactionReceipt receipt;
+        if (gasProvider instanceof ContractEIP1559GasProvider
+                && ((ContractEIP1559GasProvider) gasProvider).isEIP1559Enabled()) {
+            ContractEIP1559GasProvider eip1559GasProvider =
+                    (ContractEIP1559GasProvider) gasProvider;
+            receipt =
+                    sendEIP1559(
+                            contractAddress,
+                            data,
+                            weiValue,
+                            gasLimit,
+                            eip1559GasProvider.getGasPremium(funcName),
+                            eip1559GasProvider.getFeeCap(funcName),
+                            constructor);
+        } else {
+            receipt =
+                    send(
+                            contractAddress,
+                            data,
+                            weiValue,
+                            gasProvider.getGasPrice(funcName),
+                            gasLimit,
+                            constructor);
+        }
 
         if (!receipt.isStatusOK()) {
+            if (gasProvider instanceof ContractCallGasProvider) {
+                ((ContractCallGasProvider) gasProvider).transactionFailed(transaction);
+            }
             throw new TransactionException(
                     String.format(
                             "Transaction %s has failed with status: %s. "
@@ -391,18 +463,49 @@ public abstract class Contract extends ManagedTransaction {
 
     protected <T extends Type> RemoteFunctionCall<T> executeRemoteCallSingleValueReturn(
             Function function) {
-        return new RemoteFunctionCall<>(function, () -> executeCallSingleValueReturn(function));
+        return new RemoteFunctionCall<>(
+                function,
+                output ->
+                        singleValue(
+                                FunctionReturnDecoder.decode(
+                                        output, function.getOutputParameters())),
+                () -> executeCallSingleValueReturn(function));
     }
 
     protected <T> RemoteFunctionCall<T> executeRemoteCallSingleValueReturn(
             Function function, Class<T> returnType) {
         return new RemoteFunctionCall<>(
-                function, () -> executeCallSingleValueReturn(function, returnType));
+                function,
+                output -> decodeSingleValueReturn(function, returnType, output),
+                () -> executeCallSingleValueReturn(function, returnType));
     }
 
     protected RemoteFunctionCall<List<Type>> executeRemoteCallMultipleValueReturn(
             Function function) {
-        return new RemoteFunctionCall<>(function, () -> executeCallMultipleValueReturn(function));
+        return new RemoteFunctionCall<>(
+                function,
+                output -> decodeMultipleValueReturn(function, output),
+                () -> executeCallMultipleValueReturn(function));
+    }
+
+    /**
+     * Create a constant function call, converting its output with the given decoder.
+     *
+     * @param function to call
+     * @param decoder of the output
+     * @return the call
+     */
+    protected <T> RemoteFunctionCall<T> executeRemoteCall(
+            Function function, DirectCodec.Decoder<T> decoder) {
+        return new RemoteFunctionCall<>(
+                function,
+                decoder,
+                () ->
+                        decoder.decode(
+                                call(
+                                        contractAddress,
+                                        FunctionEncoder.encode(function),
+                                        defaultBlockParameter)));
     }
 
     protected RemoteFunctionCall<TransactionReceipt> executeRemoteCallTransaction(
@@ -415,6 +518,97 @@ public abstract class Contract extends ManagedTransaction {
         return new RemoteFunctionCall<>(function, () -> executeTransaction(function, weiValue));
     }
 
+    /**
+     * Execute a constant function call which has already been encoded, decoding the output with the
+     * given decoder.
+     *
+     * @param encodedFunction the encoded function call
+     * @param decoder of the output
+     * @return the decoded output
+     */
+    protected <T> T executeCallDirect(String encodedFunction, DirectCodec.Decoder<T> decoder)
+            throws IOException {
+        return decodeDirect(call(contractAddress, encodedFunction, defaultBlockParameter), decoder);
+    }
+
+    private static <T> T decodeDirect(String output, DirectCodec.Decoder<T> decoder) {
+        if (output == null || Numeric.cleanHexPrefix(output).isEmpty()) {
+            throw new ContractCallException("Empty value (0x) returned from contract");
+        }
+        return decoder.decode(output);
+    }
+
+    protected <T> RemoteFunctionCall<T> executeRemoteCallDirect(
+            String encodedFunction, Supplier<Function> function, DirectCodec.Decoder<T> decoder) {
+        return new RemoteFunctionCall<>(
+                encodedFunction,
+                function,
+                output -> decodeDirect(output, decoder),
+                () -> executeCallDirect(encodedFunction, decoder));
+    }
+
+    /**
+     * Perform a constant function call asynchronously. Calls which can decode their output are sent
+     * through {@link TransactionManager#sendCallAsync(String, String, DefaultBlockParameter)},
+     * without blocking a thread while waiting for the response.
+     *
+     * @param remoteCall the call, as returned by a wrapper's function
+     * @return a future of the call's result
+     */
+    protected <T> CompletableFuture<T> executeCallAsync(RemoteFunctionCall<T> remoteCall) {
+        if (!remoteCall.hasResultDecoder()) {
+            return remoteCall.sendAsync();
+        }
+        return transactionManager
+                .sendCallAsync(
+                        contractAddress, remoteCall.encodeFunctionCall(), defaultBlockParameter)
+                .thenApply(remoteCall::decodeResult);
+    }
+
+    /**
+     * Add a constant function call to a batch.
+     *
+     * @param batchRequest the batch to add the call to
+     * @param remoteCall the call, as returned by a wrapper's function
+     * @return handle of the call's result within the batch response
+     * @throws UnsupportedOperationException if the call cannot decode its output, or if the
+     *     transaction manager does not perform calls through a single request
+     */
+    protected <T> BatchedCall<T> addToBatch(
+            BatchRequest batchRequest, RemoteFunctionCall<T> remoteCall) {
+        if (!remoteCall.hasResultDecoder()) {
+            throw new UnsupportedOperationException("Call has no result decoder");
+        }
+        Request<?, EthCall> request =
+                transactionManager.createCallRequest(
+                        contractAddress, remoteCall.encodeFunctionCall(), defaultBlockParameter);
+        if (request == null) {
+            throw new UnsupportedOperationException(
+                    "Calls of "
+                            + transactionManager.getClass().getSimpleName()
+                            + " cannot be batched");
+        }
+        batchRequest.add(request);
+        return new BatchedCall<>(request, remoteCall);
+    }
+
+    protected RemoteFunctionCall<TransactionReceipt> executeRemoteCallTransactionDirect(
+            String funcName, String encodedFunction, Supplier<Function> function) {
+        return executeRemoteCallTransactionDirect(
+                funcName, encodedFunction, function, BigInteger.ZERO);
+    }
+
+    protected RemoteFunctionCall<TransactionReceipt> executeRemoteCallTransactionDirect(
+            String funcName,
+            String encodedFunction,
+            Supplier<Function> function,
+            BigInteger weiValue) {
+        return new RemoteFunctionCall<>(
+                encodedFunction,
+                function,
+                () -> executeTransaction(encodedFunction, weiValue, funcName));
+    }
+
     private static <T extends Contract> T create(
             T contract, String binary, String encodedConstructor, BigInteger value)
             throws IOException, TransactionException {
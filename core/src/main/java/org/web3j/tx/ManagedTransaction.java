@@ -115,6 +115,20 @@ public abstract class ManagedTransaction {
                 gasPremium, feeCap, gasLimit, to, data, value);
     }
 
+    protected TransactionReceipt sendEIP1559(
+            String to,
+            String data,
+            BigInteger value,
+            BigInteger gasLimit,
+            BigInteger gasPremium,
+            BigInteger feeCap,
+            boolean constructor)
+            throws IOException, TransactionException {
+
+        return transactionManager.executeTransactionEIP1559(
+                gasPremium, feeCap, gasLimit, to, data, value, constructor);
+    }
+
     protected TransactionReceipt send(
             String to,
             String data,
@@ -22,6 +22,7 @@ import org.web3j.crypto.TransactionEncoder;
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.core.DefaultBlockParameter;
 import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.Request;
 import org.web3j.protocol.core.methods.request.Transaction;
 import org.web3j.protocol.core.methods.response.EthCall;
 import org.web3j.protocol.core.methods.response.EthGetCode;
@@ -148,14 +149,15 @@ public class RawTransactionManager extends TransactionManager {
     @Override
     public String sendCall(String to, String data, DefaultBlockParameter defaultBlockParameter)
             throws IOException {
-        EthCall ethCall =
-                web3j.ethCall(
-                                Transaction.createEthCallTransaction(getFromAddress(), to, data),
-                                defaultBlockParameter)
-                        .send();
+        return callValue(createCallRequest(to, data, defaultBlockParameter).send());
+    }
 
-        assertCallNotReverted(ethCall);
-        return ethCall.getValue();
+    @Override
+    public Request<?, EthCall> createCallRequest(
+            String to, String data, DefaultBlockParameter defaultBlockParameter) {
+        return web3j.ethCall(
+                Transaction.createEthCallTransaction(getFromAddress(), to, data),
+                defaultBlockParameter);
     }
 
     @Override
@@ -17,6 +17,7 @@ import java.math.BigInteger;
 
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.Request;
 import org.web3j.protocol.core.methods.request.Transaction;
 import org.web3j.protocol.core.methods.response.EthCall;
 import org.web3j.protocol.core.methods.response.EthGetCode;
@@ -63,14 +64,14 @@ public class ReadonlyTransactionManager extends TransactionManager {
     @Override
     public String sendCall(String to, String data, DefaultBlockParameter defaultBlockParameter)
             throws IOException {
-        EthCall ethCall =
-                web3j.ethCall(
-                                Transaction.createEthCallTransaction(fromAddress, to, data),
-                                defaultBlockParameter)
-                        .send();
+        return callValue(createCallRequest(to, data, defaultBlockParameter).send());
+    }
 
-        assertCallNotReverted(ethCall);
-        return ethCall.getValue();
+    @Override
+    public Request<?, EthCall> createCallRequest(
+            String to, String data, DefaultBlockParameter defaultBlockParameter) {
+        return web3j.ethCall(
+                Transaction.createEthCallTransaction(fromAddress, to, data), defaultBlockParameter);
     }
 
     @Override
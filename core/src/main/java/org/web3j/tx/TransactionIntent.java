@@ -0,0 +1,76 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx;
+
+import java.math.BigInteger;
+
+import org.web3j.crypto.RawTransaction;
+
+/** A transaction to be sent by a {@link BulkTransactionSender}, before it is assigned a nonce. */
+public class TransactionIntent {
+
+    private final String to;
+    private final BigInteger value;
+    private final String data;
+    private final BigInteger gasLimit;
+
+    public TransactionIntent(String to, BigInteger value, String data, BigInteger gasLimit) {
+        this.to = to;
+        this.value = value;
+        this.data = data != null ? data : "";
+        this.gasLimit = gasLimit;
+    }
+
+    public static TransactionIntent createEtherTransfer(
+            String to, BigInteger value, BigInteger gasLimit) {
+        return new TransactionIntent(to, value, "", gasLimit);
+    }
+
+    public String getTo() {
+        return to;
+    }
+
+    public BigInteger getValue() {
+        return value;
+    }
+
+    public String getData() {
+        return data;
+    }
+
+    public BigInteger getGasLimit() {
+        return gasLimit;
+    }
+
+    RawTransaction toRawTransaction(BigInteger nonce, BigInteger gasPrice) {
+        return RawTransaction.createTransaction(nonce, gasPrice, gasLimit, to, value, data);
+    }
+
+    RawTransaction toRawTransaction(BigInteger nonce, BigInteger gasPremium, BigInteger feeCap) {
+        return RawTransaction.createTransaction(
+                nonce, null, gasLimit, to, value, data, gasPremium, feeCap);
+    }
+
+    @Override
+    public String toString() {
+        return "TransactionIntent{"
+                + "to='"
+                + to
+                + '\''
+                + ", value="
+                + value
+                + ", gasLimit="
+                + gasLimit
+                + '}';
+    }
+}
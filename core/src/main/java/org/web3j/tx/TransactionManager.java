@@ -14,17 +14,24 @@ package org.web3j.tx;
 
 import java.io.IOException;
 import java.math.BigInteger;
+import java.util.concurrent.CompletableFuture;
 
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.request.Transaction;
 import org.web3j.protocol.core.methods.response.EthCall;
 import org.web3j.protocol.core.methods.response.EthGetCode;
 import org.web3j.protocol.core.methods.response.EthSendTransaction;
 import org.web3j.protocol.core.methods.response.TransactionReceipt;
 import org.web3j.protocol.exceptions.TransactionException;
 import org.web3j.tx.exceptions.ContractCallException;
+import org.web3j.tx.gas.ContractCallGasProvider;
+import org.web3j.tx.gas.ContractEIP1559GasProvider;
+import org.web3j.tx.gas.ContractGasProvider;
 import org.web3j.tx.response.PollingTransactionReceiptProcessor;
 import org.web3j.tx.response.TransactionReceiptProcessor;
+import org.web3j.utils.Async;
 
 import static org.web3j.protocol.core.JsonRpc2_0Web3j.DEFAULT_BLOCK_TIME;
 
@@ -108,6 +115,65 @@ public abstract class TransactionManager {
         return processResponse(ethSendTransaction);
     }
 
+    /**
+     * Execute a transaction with the gas price, fees and limit of a gas provider. A {@link
+     * ContractCallGasProvider} sizes the gas limit from the transaction, and is notified if the
+     * transaction fails.
+     *
+     * @param gasProvider the gas provider
+     * @param contractFunc the name of the contract function, passed to the gas provider
+     * @param to the recipient, or null to deploy a contract
+     * @param data the transaction data
+     * @param value the value in Wei
+     * @return the receipt of the transaction, which may have failed
+     * @throws IOException if the call to the node fails
+     * @throws TransactionException if the transaction was not mined while waiting
+     */
+    public TransactionReceipt executeTransaction(
+            ContractGasProvider gasProvider,
+            String contractFunc,
+            String to,
+            String data,
+            BigInteger value)
+            throws IOException, TransactionException {
+        boolean constructor = to == null;
+        Transaction transaction =
+                Transaction.createFunctionCallTransaction(
+                        fromAddress, null, null, null, to, value, data);
+        BigInteger gasLimit =
+                ContractCallGasProvider.gasLimitOf(gasProvider, contractFunc, transaction);
+
+        TransactionReceipt receipt;
+        if (gasProvider instanceof ContractEIP1559GasProvider
+                && ((ContractEIP1559GasProvider) gasProvider).isEIP1559Enabled()) {
+            ContractEIP1559GasProvider eip1559GasProvider =
+                    (ContractEIP1559GasProvider) gasProvider;
+            receipt =
+                    executeTransactionEIP1559(
+                            eip1559GasProvider.getGasPremium(contractFunc),
+                            eip1559GasProvider.getFeeCap(contractFunc),
+                            gasLimit,
+                            to,
+                            data,
+                            value,
+                            constructor);
+        } else {
+            receipt =
+                    executeTransaction(
+                            gasProvider.getGasPrice(contractFunc),
+                            gasLimit,
+                            to,
+                            data,
+                            value,
+                            constructor);
+        }
+
+        if (!receipt.isStatusOK() && gasProvider instanceof ContractCallGasProvider) {
+            ((ContractCallGasProvider) gasProvider).transactionFailed(transaction);
+        }
+        return receipt;
+    }
+
     public EthSendTransaction sendTransaction(
             BigInteger gasPrice, BigInteger gasLimit, String to, String data, BigInteger value)
             throws IOException {
@@ -147,6 +213,38 @@ public abstract class TransactionManager {
     public abstract String sendCall(
             String to, String data, DefaultBlockParameter defaultBlockParameter) throws IOException;
 
+    /**
+     * Create the request performing a call, so that it can be sent asynchronously or added to a
+     * {@link org.web3j.protocol.core.BatchRequest}.
+     *
+     * @param to the contract address
+     * @param data the encoded function call
+     * @param defaultBlockParameter the block to call the contract at
+     * @return the request, or null if calls are not performed through a single request
+     */
+    public Request<?, EthCall> createCallRequest(
+            String to, String data, DefaultBlockParameter defaultBlockParameter) {
+        return null;
+    }
+
+    /**
+     * Perform a call asynchronously. Calls performed through a single request are sent on the
+     * service's asynchronous path, other calls are run on the shared {@link Async} executor.
+     *
+     * @param to the contract address
+     * @param data the encoded function call
+     * @param defaultBlockParameter the block to call the contract at
+     * @return a future of the call's output
+     */
+    public CompletableFuture<String> sendCallAsync(
+            String to, String data, DefaultBlockParameter defaultBlockParameter) {
+        Request<?, EthCall> request = createCallRequest(to, data, defaultBlockParameter);
+        if (request == null) {
+            return Async.run(() -> sendCall(to, data, defaultBlockParameter));
+        }
+        return request.sendAsync().thenApply(TransactionManager::callValue);
+    }
+
     public abstract EthGetCode getCode(
             String contractAddress, DefaultBlockParameter defaultBlockParameter) throws IOException;
 
@@ -167,6 +265,11 @@ public abstract class TransactionManager {
         return transactionReceiptProcessor.waitForTransactionReceipt(transactionHash);
     }
 
+    static String callValue(EthCall ethCall) {
+        assertCallNotReverted(ethCall);
+        return ethCall.getValue();
+    }
+
     static void assertCallNotReverted(EthCall ethCall) {
         if (ethCall.isReverted()) {
             throw new ContractCallException(
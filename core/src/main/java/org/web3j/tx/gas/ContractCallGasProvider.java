@@ -0,0 +1,53 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx.gas;
+
+import java.math.BigInteger;
+
+import org.web3j.protocol.core.methods.request.Transaction;
+
+/**
+ * Gas provider which sizes the gas limit of each transaction from the transaction itself, rather
+ * than from the name of the contract function only.
+ */
+public interface ContractCallGasProvider extends ContractGasProvider {
+
+    /**
+     * Gas limit for a transaction.
+     *
+     * @param contractFunc the name of the contract function
+     * @param transaction the transaction to be sent, without gas price and limit
+     * @return the gas limit
+     */
+    BigInteger getGasLimit(String contractFunc, Transaction transaction);
+
+    /**
+     * Report that a transaction sent with a gas limit of this provider failed, so that the limit
+     * may be revised.
+     *
+     * @param transaction the transaction as passed to {@link #getGasLimit(String, Transaction)}
+     */
+    default void transactionFailed(Transaction transaction) {}
+
+    /**
+     * Gas limit of a transaction from any gas provider, sized from the transaction if the provider
+     * supports it.
+     */
+    static BigInteger gasLimitOf(
+            ContractGasProvider gasProvider, String contractFunc, Transaction transaction) {
+        if (gasProvider instanceof ContractCallGasProvider) {
+            return ((ContractCallGasProvider) gasProvider).getGasLimit(contractFunc, transaction);
+        }
+        return gasProvider.getGasLimit(contractFunc);
+    }
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx.gas;
+
+import java.math.BigInteger;
+
+/**
+ * Gas provider which may also provide EIP-1559 fees, used by {@link org.web3j.tx.Contract} to send
+ * EIP-1559 transactions while they are enabled.
+ */
+public interface ContractEIP1559GasProvider extends ContractGasProvider {
+
+    /** Whether transactions should be sent with EIP-1559 fees rather than a gas price. */
+    boolean isEIP1559Enabled();
+
+    BigInteger getGasPremium(String contractFunc);
+
+    BigInteger getFeeCap(String contractFunc);
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx.gas;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.methods.request.Transaction;
+import org.web3j.protocol.core.methods.response.EthEstimateGas;
+import org.web3j.utils.Numeric;
+
+/**
+ * Gas provider estimating gas limits with {@code eth_estimateGas} and memoizing the estimates by
+ * call shape: the contract, the function selector, the size class of the arguments and whether
+ * value is sent. Gas prices and fees are taken from a delegate provider, such as a {@link
+ * FeeOracleGasProvider}.
+ *
+ * <p>Only the first transaction of a shape waits for an estimate. Estimates are given a safety
+ * margin and are re-estimated in the background, while the previous estimate remains in use, once
+ * they are older than the refresh interval or a transaction sent with them failed. If a shape could
+ * not be estimated, the delegate's gas limit of the function is used until the shape is estimated
+ * again, after the refresh interval.
+ */
+@SuppressWarnings("deprecation")
+public class EstimatingGasProvider implements ContractCallGasProvider, ContractEIP1559GasProvider {
+
+    public static final int DEFAULT_MARGIN_PERCENT = 20;
+    public static final long DEFAULT_REFRESH_INTERVAL = TimeUnit.MINUTES.toMillis(5);
+    public static final int DEFAULT_MAX_SHAPES = 1024;
+
+    private static final int SELECTOR_LENGTH = 10; // 0x prefix and 4 bytes
+
+    private static final Logger log = LoggerFactory.getLogger(EstimatingGasProvider.class);
+
+    private final Web3j web3j;
+    private final ContractGasProvider delegate;
+    private final int marginPercent;
+    private final long refreshIntervalNanos;
+    private final LongSupplier nanoClock;
+    private final Map<String, Estimate> estimates;
+
+    public EstimatingGasProvider(Web3j web3j, ContractGasProvider delegate) {
+        this(web3j, delegate, DEFAULT_MARGIN_PERCENT, DEFAULT_REFRESH_INTERVAL, DEFAULT_MAX_SHAPES);
+    }
+
+    /**
+     * @param web3j node to estimate with
+     * @param delegate provider of gas prices and fees, and of the gas limit if estimation fails
+     * @param marginPercent margin added to estimates, in percent
+     * @param refreshInterval maximum age of an estimate before it is refreshed, in milliseconds
+     * @param maxShapes maximum number of memoized call shapes
+     */
+    public EstimatingGasProvider(
+            Web3j web3j,
+            ContractGasProvider delegate,
+            int marginPercent,
+            long refreshInterval,
+            int maxShapes) {
+        this(web3j, delegate, marginPercent, refreshInterval, maxShapes, System::nanoTime);
+    }
+
+    EstimatingGasProvider(
+            Web3j web3j,
+            ContractGasProvider delegate,
+            int marginPercent,
+            long refreshInterval,
+            int maxShapes,
+            LongSupplier nanoClock) {
+        this.web3j = web3j;
+        this.delegate = delegate;
+        this.marginPercent = marginPercent;
+        this.refreshIntervalNanos = TimeUnit.MILLISECONDS.toNanos(refreshInterval);
+        this.nanoClock = nanoClock;
+        this.estimates =
+                new LinkedHashMap<String, Estimate>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, Estimate> eldest) {
+                        return size() > maxShapes;
+                    }
+                };
+    }
+
+    @Override
+    public BigInteger getGasLimit(String contractFunc, Transaction transaction) {
+        String shape = shapeOf(transaction);
+        Estimate estimate;
+        synchronized (this) {
+            estimate = estimates.get(shape);
+        }
+
+        if (estimate == null) {
+            BigInteger gasLimit = null;
+            try {
+                gasLimit = estimate(transaction);
+            } catch (IOException e) {
+                log.warn("Failed to estimate gas of {}, using the default gas limit", shape, e);
+            }
+            // failed estimates are kept too, so that the shape is not estimated on every send
+            estimate = new Estimate(gasLimit, nanoClock.getAsLong());
+            synchronized (this) {
+                estimates.put(shape, estimate);
+            }
+        } else if (nanoClock.getAsLong() - estimate.estimatedAt >= refreshIntervalNanos) {
+            refresh(shape, estimate, transaction);
+        }
+        return estimate.gasLimit != null ? estimate.gasLimit : delegate.getGasLimit(contractFunc);
+    }
+
+    /** Re-estimate the shape of a failed transaction in the background. */
+    @Override
+    public void transactionFailed(Transaction transaction) {
+        String shape = shapeOf(transaction);
+        Estimate estimate;
+        synchronized (this) {
+            estimate = estimates.get(shape);
+        }
+        if (estimate != null) {
+            refresh(shape, estimate, transaction);
+        }
+    }
+
+    /** Number of memoized call shapes. */
+    public synchronized int getShapeCount() {
+        return estimates.size();
+    }
+
+    private void refresh(String shape, Estimate estimate, Transaction transaction) {
+        synchronized (this) {
+            if (estimate.refreshing) {
+                return;
+            }
+            estimate.refreshing = true;
+        }
+
+        web3j.ethEstimateGas(transaction)
+                .sendAsync()
+                .whenComplete(
+                        (ethEstimateGas, throwable) -> {
+                            if (throwable == null && !ethEstimateGas.hasError()) {
+                                Estimate refreshed =
+                                        new Estimate(
+                                                withMargin(ethEstimateGas.getAmountUsed()),
+                                                nanoClock.getAsLong());
+                                synchronized (this) {
+                                    estimates.put(shape, refreshed);
+                                }
+                            } else {
+                                // keep the previous estimate, retried on a later transaction
+                                log.debug("Failed to refresh the gas estimate of {}", shape);
+                                synchronized (this) {
+                                    estimate.refreshing = false;
+                                }
+                            }
+                        });
+    }
+
+    private BigInteger estimate(Transaction transaction) throws IOException {
+        EthEstimateGas ethEstimateGas = web3j.ethEstimateGas(transaction).send();
+        if (ethEstimateGas.hasError()) {
+            throw new IOException(
+                    "Error estimating gas: " + ethEstimateGas.getError().getMessage());
+        }
+        return withMargin(ethEstimateGas.getAmountUsed());
+    }
+
+    private BigInteger withMargin(BigInteger gasLimit) {
+        return gasLimit.multiply(BigInteger.valueOf(100 + marginPercent))
+                .divide(BigInteger.valueOf(100));
+    }
+
+    /**
+     * The call shape of a transaction. Argument sizes are rounded up to a power of two, so that
+     * calls with similar arguments share an estimate.
+     */
+    static String shapeOf(Transaction transaction) {
+        String data =
+                Numeric.cleanHexPrefix(transaction.getData() != null ? transaction.getData() : "");
+        String selector;
+        int argumentBytes;
+        if (transaction.getTo() == null) {
+            selector = "deploy";
+            argumentBytes = data.length() / 2;
+        } else if (data.length() >= SELECTOR_LENGTH - 2) {
+            selector = data.substring(0, SELECTOR_LENGTH - 2);
+            argumentBytes = (data.length() - SELECTOR_LENGTH + 2) / 2;
+        } else {
+            selector = data;
+            argumentBytes = 0;
+        }
+        int sizeClass =
+                argumentBytes <= 1 ? argumentBytes : Integer.highestOneBit(argumentBytes - 1) << 1;
+        boolean payable =
+                transaction.getValue() != null
+                        && Numeric.decodeQuantity(transaction.getValue()).signum() > 0;
+
+        return (transaction.getTo() != null ? transaction.getTo().toLowerCase() : "")
+                + ":"
+                + selector.toLowerCase()
+                + ":"
+                + sizeClass
+                + (payable ? ":payable" : "");
+    }
+
+    @Override
+    public boolean isEIP1559Enabled() {
+        return delegate instanceof ContractEIP1559GasProvider
+                && ((ContractEIP1559GasProvider) delegate).isEIP1559Enabled();
+    }
+
+    @Override
+    public BigInteger getGasPremium(String contractFunc) {
+        return ((ContractEIP1559GasProvider) delegate).getGasPremium(contractFunc);
+    }
+
+    @Override
+    public BigInteger getFeeCap(String contractFunc) {
+        return ((ContractEIP1559GasProvider) delegate).getFeeCap(contractFunc);
+    }
+
+    @Override
+    public BigInteger getGasPrice(String contractFunc) {
+        return delegate.getGasPrice(contractFunc);
+    }
+
+    @Override
+    public BigInteger getGasPrice() {
+        return delegate.getGasPrice();
+    }
+
+    @Override
+    public BigInteger getGasLimit(String contractFunc) {
+        return delegate.getGasLimit(contractFunc);
+    }
+
+    @Override
+    public BigInteger getGasLimit() {
+        return delegate.getGasLimit();
+    }
+
+    private static class Estimate {
+        private final BigInteger gasLimit; // null if the shape could not be estimated
+        private final long estimatedAt;
+        private boolean refreshing;
+
+        Estimate(BigInteger gasLimit, long estimatedAt) {
+            this.gasLimit = gasLimit;
+            this.estimatedAt = estimatedAt;
+        }
+    }
+}
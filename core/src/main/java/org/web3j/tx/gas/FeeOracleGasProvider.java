@@ -0,0 +1,309 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx.gas;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Flowable;
+import io.reactivex.disposables.Disposable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.DefaultBlockParameterNumber;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.utils.Convert;
+
+/**
+ * Gas provider suggesting fees from the transactions of recent blocks, meant to be shared by all
+ * contracts sending through the same node.
+ *
+ * <p>Once started, it follows new blocks and recomputes its suggestion once per block, so fee
+ * lookups cost no RPC. As in geth's gas price oracle, the lowest priority fees paid in each of the
+ * last blocks are sampled and the suggested gas premium is a percentile of these samples. The
+ * suggested fee cap leaves room for the base fee to double, and the suggested gas price for legacy
+ * transactions is the base fee plus the gas premium.
+ *
+ * <p>Before EIP-1559 activation blocks carry no base fee: the samples are then gas prices and
+ * {@link #isEIP1559Enabled()} is false.
+ */
+@SuppressWarnings("deprecation")
+public class FeeOracleGasProvider implements ContractEIP1559GasProvider {
+
+    public static final int DEFAULT_HISTORY_BLOCKS = 20;
+    public static final int DEFAULT_SAMPLES_PER_BLOCK = 3;
+    public static final int DEFAULT_PERCENTILE = 60;
+    public static final BigInteger DEFAULT_GAS_PREMIUM =
+            Convert.toWei("1", Convert.Unit.GWEI).toBigIntegerExact();
+
+    private static final long RETRY_DELAY_SECONDS = 1;
+
+    private static final Logger log = LoggerFactory.getLogger(FeeOracleGasProvider.class);
+
+    private final Web3j web3j;
+    private final BigInteger gasLimit;
+    private final int historyBlocks;
+    private final int samplesPerBlock;
+    private final int percentile;
+
+    private final Deque<BlockSample> history = new ArrayDeque<>();
+    private volatile Suggestion suggestion;
+    private Disposable subscription;
+
+    public FeeOracleGasProvider(Web3j web3j, BigInteger gasLimit) {
+        this(
+                web3j,
+                gasLimit,
+                DEFAULT_HISTORY_BLOCKS,
+                DEFAULT_SAMPLES_PER_BLOCK,
+                DEFAULT_PERCENTILE);
+    }
+
+    public FeeOracleGasProvider(
+            Web3j web3j,
+            BigInteger gasLimit,
+            int historyBlocks,
+            int samplesPerBlock,
+            int percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        this.web3j = web3j;
+        this.gasLimit = gasLimit;
+        this.historyBlocks = historyBlocks;
+        this.samplesPerBlock = samplesPerBlock;
+        this.percentile = percentile;
+    }
+
+    /**
+     * Load the recent blocks and follow new blocks from the node.
+     *
+     * @throws IOException if the recent blocks could not be loaded
+     */
+    public void start() throws IOException {
+        start(web3j.blockFlowable(true).map(EthBlock::getBlock));
+    }
+
+    /**
+     * Load the recent blocks and follow the given blocks, such as those added by {@link
+     * org.web3j.protocol.rx.Web3jRx#blockEventFlowable(int, boolean)}. Blocks must include full
+     * transaction objects.
+     *
+     * @param blocks new blocks, resubscribed to after an error
+     * @throws IOException if the recent blocks could not be loaded
+     */
+    public synchronized void start(Flowable<EthBlock.Block> blocks) throws IOException {
+        if (subscription != null) {
+            return;
+        }
+        loadHistory();
+        subscription =
+                blocks.retryWhen(
+                                errors ->
+                                        errors.doOnNext(
+                                                        e ->
+                                                                log.warn(
+                                                                        "Failed to follow new blocks",
+                                                                        e))
+                                                .delay(RETRY_DELAY_SECONDS, TimeUnit.SECONDS))
+                        .subscribe(this::update);
+    }
+
+    /** Stop following new blocks, the last suggestion remains available. */
+    public synchronized void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+            subscription = null;
+        }
+    }
+
+    private void loadHistory() throws IOException {
+        EthBlock latest = web3j.ethGetBlockByNumber(DefaultBlockParameterName.LATEST, true).send();
+        if (latest.hasError() || latest.getBlock() == null) {
+            throw new IOException("Failed to load the latest block");
+        }
+        long latestNumber = latest.getBlock().getNumber().longValue();
+        long first = Math.max(0, latestNumber - historyBlocks + 1);
+
+        List<EthBlock.Block> blocks = new ArrayList<>();
+        if (first < latestNumber) {
+            BatchRequest batchRequest = web3j.newBatch();
+            for (long number = first; number < latestNumber; number++) {
+                batchRequest.add(
+                        web3j.ethGetBlockByNumber(new DefaultBlockParameterNumber(number), true));
+            }
+            for (Response<?> response : batchRequest.send().getResponses()) {
+                EthBlock.Block block = ((EthBlock) response).getBlock();
+                if (block != null) {
+                    blocks.add(block);
+                }
+            }
+        }
+        blocks.add(latest.getBlock());
+
+        for (EthBlock.Block block : blocks) {
+            update(block);
+        }
+    }
+
+    /**
+     * Sample a new block and recompute the suggestion. A block replacing one already sampled, after
+     * a chain reorganization, discards the samples of the replaced blocks.
+     *
+     * @param block block including full transaction objects
+     */
+    public synchronized void update(EthBlock.Block block) {
+        long number = block.getNumber().longValue();
+        while (!history.isEmpty() && history.getLast().number >= number) {
+            history.removeLast();
+        }
+        history.addLast(new BlockSample(number, sampleTips(block)));
+        while (history.size() > historyBlocks) {
+            history.removeFirst();
+        }
+
+        List<BigInteger> samples = new ArrayList<>();
+        for (BlockSample sample : history) {
+            samples.addAll(sample.tips);
+        }
+        BigInteger gasPremium = DEFAULT_GAS_PREMIUM;
+        if (!samples.isEmpty()) {
+            Collections.sort(samples);
+            gasPremium = samples.get((samples.size() - 1) * percentile / 100);
+        }
+        suggestion = new Suggestion(number, block.getBaseFeePerGas(), gasPremium);
+    }
+
+    /** The lowest priority fees paid in the block, or gas prices before EIP-1559 activation. */
+    private List<BigInteger> sampleTips(EthBlock.Block block) {
+        BigInteger baseFee = block.getBaseFeePerGas();
+        List<BigInteger> tips = new ArrayList<>();
+        if (block.getTransactions() == null) {
+            return tips;
+        }
+        for (EthBlock.TransactionResult<?> result : block.getTransactions()) {
+            if (!(result instanceof EthBlock.TransactionObject)) {
+                continue;
+            }
+            EthBlock.TransactionObject transaction = (EthBlock.TransactionObject) result;
+            if (transaction.getGasPriceRaw() == null
+                    || (transaction.getFrom() != null
+                            && transaction.getFrom().equalsIgnoreCase(block.getMiner()))) {
+                continue; // miners may include their own transactions for free
+            }
+            BigInteger tip =
+                    baseFee != null
+                            ? transaction.getGasPrice().subtract(baseFee)
+                            : transaction.getGasPrice();
+            if (tip.signum() >= 0) {
+                tips.add(tip);
+            }
+        }
+        Collections.sort(tips);
+        return new ArrayList<>(tips.subList(0, Math.min(samplesPerBlock, tips.size())));
+    }
+
+    @Override
+    public boolean isEIP1559Enabled() {
+        return current().baseFee != null;
+    }
+
+    @Override
+    public BigInteger getGasPremium(String contractFunc) {
+        return current().gasPremium;
+    }
+
+    @Override
+    public BigInteger getFeeCap(String contractFunc) {
+        return current().feeCap;
+    }
+
+    @Override
+    public BigInteger getGasPrice(String contractFunc) {
+        return current().gasPrice;
+    }
+
+    @Override
+    public BigInteger getGasPrice() {
+        return current().gasPrice;
+    }
+
+    @Override
+    public BigInteger getGasLimit(String contractFunc) {
+        return gasLimit;
+    }
+
+    @Override
+    public BigInteger getGasLimit() {
+        return gasLimit;
+    }
+
+    /** The base fee of the last block, or null before EIP-1559 activation. */
+    public BigInteger getBaseFee() {
+        return current().baseFee;
+    }
+
+    /** Number of the block the current suggestion is based on. */
+    public long getBlockNumber() {
+        return current().blockNumber;
+    }
+
+    private Suggestion current() {
+        Suggestion current = suggestion;
+        if (current == null) {
+            throw new IllegalStateException("No blocks have been sampled yet");
+        }
+        return current;
+    }
+
+    private static class BlockSample {
+        private final long number;
+        private final List<BigInteger> tips;
+
+        BlockSample(long number, List<BigInteger> tips) {
+            this.number = number;
+            this.tips = tips;
+        }
+    }
+
+    private static class Suggestion {
+        private final long blockNumber;
+        private final BigInteger baseFee;
+        private final BigInteger gasPremium;
+        private final BigInteger feeCap;
+        private final BigInteger gasPrice;
+
+        Suggestion(long blockNumber, BigInteger baseFee, BigInteger gasPremium) {
+            this.blockNumber = blockNumber;
+            this.baseFee = baseFee;
+            this.gasPremium = gasPremium;
+            if (baseFee != null) {
+                this.feeCap = baseFee.shiftLeft(1).add(gasPremium);
+                this.gasPrice = baseFee.add(gasPremium);
+            } else {
+                this.feeCap = gasPremium;
+                this.gasPrice = gasPremium;
+            }
+        }
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx.response;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.protocol.exceptions.TransactionException;
+
+/**
+ * Transaction receipt processor resolving the receipts of all pending transactions together, with a
+ * single receipt request batch per polling interval.
+ *
+ * <p>Polling only takes place while receipts are pending. Callers of {@link
+ * #waitForTransactionReceipt(String)} block until the receipt of their transaction is resolved, so
+ * concurrent transactions share the same batches. A poll failing with an {@link IOException} counts
+ * as an attempt for every polled transaction and is retried on the next interval.
+ *
+ * @param <T> receipt type
+ * @param <S> receipt response type
+ */
+public abstract class BatchingReceiptProcessor<T extends TransactionReceipt, S extends Response<T>>
+        extends TransactionReceiptProcessor {
+
+    public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+
+    private static final Logger log = LoggerFactory.getLogger(BatchingReceiptProcessor.class);
+
+    private final Web3j web3j;
+    private final long pollingFrequency;
+    private final int attempts;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService scheduler;
+
+    private final Map<String, PendingReceipt<T>> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> scheduledPoll;
+
+    protected BatchingReceiptProcessor(
+            Web3j web3j,
+            long pollingFrequency,
+            int attempts,
+            int maxBatchSize,
+            ScheduledExecutorService scheduler) {
+        super(web3j);
+        this.web3j = web3j;
+        this.pollingFrequency = pollingFrequency;
+        this.attempts = attempts;
+        this.maxBatchSize = maxBatchSize;
+        this.scheduler = scheduler;
+    }
+
+    /** Create the receipt request of a transaction. */
+    protected abstract Request<?, S> receiptRequest(String transactionHash);
+
+    @Override
+    public T waitForTransactionReceipt(String transactionHash)
+            throws IOException, TransactionException {
+        try {
+            return getTransactionReceiptAsync(transactionHash).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransactionException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof TransactionException) {
+                throw (TransactionException) cause;
+            } else if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new TransactionException(cause);
+        }
+    }
+
+    /**
+     * Queue a transaction for the next receipt batch.
+     *
+     * @param transactionHash transaction hash
+     * @return a future completed with the receipt, or a {@link TransactionException} if it was not
+     *     available after the configured number of attempts
+     */
+    public synchronized CompletableFuture<T> getTransactionReceiptAsync(String transactionHash) {
+        PendingReceipt<T> receipt =
+                pending.computeIfAbsent(transactionHash, hash -> new PendingReceipt<>());
+        schedulePoll();
+        return receipt.result;
+    }
+
+    /** Number of transactions whose receipts have not been resolved yet. */
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    private void schedulePoll() {
+        if (scheduledPoll == null && !pending.isEmpty()) {
+            scheduledPoll = scheduler.schedule(this::poll, pollingFrequency, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void poll() {
+        List<String> hashes = new ArrayList<>();
+        synchronized (this) {
+            for (String hash : pending.keySet()) {
+                if (hashes.size() == maxBatchSize) {
+                    break;
+                }
+                hashes.add(hash);
+            }
+        }
+
+        try {
+            List<? extends Response<?>> responses = sendReceiptRequests(hashes).getResponses();
+            for (int i = 0; i < hashes.size(); i++) {
+                processResponse(hashes.get(i), responseAt(responses, i));
+            }
+        } catch (IOException e) {
+            log.warn("Failed to poll {} transaction receipts, retrying", hashes.size(), e);
+            for (String hash : hashes) {
+                retry(hash);
+            }
+        } catch (RuntimeException e) {
+            for (String hash : hashes) {
+                complete(hash).completeExceptionally(e);
+            }
+        } finally {
+            synchronized (this) {
+                scheduledPoll = null;
+                rotate(hashes);
+                schedulePoll();
+            }
+        }
+    }
+
+    private BatchResponse sendReceiptRequests(List<String> hashes) throws IOException {
+        BatchRequest batchRequest = web3j.newBatch();
+        for (String hash : hashes) {
+            batchRequest.add(receiptRequest(hash));
+        }
+        return batchRequest.send();
+    }
+
+    @SuppressWarnings("unchecked")
+    private S responseAt(List<? extends Response<?>> responses, int index) {
+        return responses != null && index < responses.size() ? (S) responses.get(index) : null;
+    }
+
+    private void processResponse(String transactionHash, S response) {
+        if (response == null) {
+            retry(transactionHash);
+        } else if (response.hasError()) {
+            complete(transactionHash)
+                    .completeExceptionally(
+                            new TransactionException(
+                                    "Error processing request: "
+                                            + response.getError().getMessage()));
+        } else {
+            Optional<T> receipt = Optional.ofNullable(response.getResult());
+            if (receipt.isPresent()) {
+                complete(transactionHash).complete(receipt.get());
+            } else {
+                retry(transactionHash);
+            }
+        }
+    }
+
+    /** Leave a receipt pending for the next poll, unless it ran out of attempts. */
+    private void retry(String transactionHash) {
+        if (incrementAttempts(transactionHash) >= attempts) {
+            complete(transactionHash)
+                    .completeExceptionally(
+                            new TransactionException(
+                                    "Transaction receipt was not generated after "
+                                            + ((pollingFrequency * attempts) / 1000
+                                                    + " seconds for transaction: "
+                                                    + transactionHash),
+                                    transactionHash));
+        }
+    }
+
+    private synchronized int incrementAttempts(String transactionHash) {
+        PendingReceipt<T> receipt = pending.get(transactionHash);
+        return receipt != null ? ++receipt.attempts : attempts;
+    }
+
+    /** Remove a pending receipt, the returned future is completed outside of the lock. */
+    private synchronized CompletableFuture<T> complete(String transactionHash) {
+        PendingReceipt<T> receipt = pending.remove(transactionHash);
+        return receipt != null ? receipt.result : new CompletableFuture<>();
+    }
+
+    /** Move the polled receipts still pending behind the others, so that no receipt starves. */
+    private void rotate(List<String> polled) {
+        if (pending.size() <= maxBatchSize) {
+            return;
+        }
+        for (String hash : polled) {
+            PendingReceipt<T> receipt = pending.remove(hash);
+            if (receipt != null) {
+                pending.put(hash, receipt);
+            }
+        }
+    }
+
+    private static class PendingReceipt<T> {
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private int attempts;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx.response;
+
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.EthGetTransactionReceipt;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.utils.ExecutionConfig;
+
+/**
+ * Transaction receipt processor resolving the receipts of all pending transactions together, with a
+ * single {@code eth_getTransactionReceipt} batch per polling interval.
+ */
+public class BatchingTransactionReceiptProcessor
+        extends BatchingReceiptProcessor<TransactionReceipt, EthGetTransactionReceipt> {
+
+    private final Web3j web3j;
+
+    public BatchingTransactionReceiptProcessor(Web3j web3j, long pollingFrequency, int attempts) {
+        this(
+                web3j,
+                pollingFrequency,
+                attempts,
+                DEFAULT_MAX_BATCH_SIZE,
+                ExecutionConfig.sharedScheduler());
+    }
+
+    public BatchingTransactionReceiptProcessor(
+            Web3j web3j,
+            long pollingFrequency,
+            int attempts,
+            int maxBatchSize,
+            ScheduledExecutorService scheduler) {
+        super(web3j, pollingFrequency, attempts, maxBatchSize, scheduler);
+        this.web3j = web3j;
+    }
+
+    @Override
+    protected Request<?, EthGetTransactionReceipt> receiptRequest(String transactionHash) {
+        return web3j.ethGetTransactionReceipt(transactionHash);
+    }
+}
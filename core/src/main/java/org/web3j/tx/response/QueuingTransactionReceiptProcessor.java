@@ -22,7 +22,7 @@ import java.util.concurrent.TimeUnit;
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.core.methods.response.TransactionReceipt;
 import org.web3j.protocol.exceptions.TransactionException;
-import org.web3j.utils.Async;
+import org.web3j.utils.ExecutionConfig;
 
 /**
  * Transaction receipt processor that uses a single thread to query for transaction receipts.
@@ -41,8 +41,22 @@ public class QueuingTransactionReceiptProcessor extends TransactionReceiptProces
 
     public QueuingTransactionReceiptProcessor(
             Web3j web3j, Callback callback, int pollingAttemptsPerTxHash, long pollingFrequency) {
+        this(
+                web3j,
+                callback,
+                pollingAttemptsPerTxHash,
+                pollingFrequency,
+                ExecutionConfig.sharedScheduler());
+    }
+
+    public QueuingTransactionReceiptProcessor(
+            Web3j web3j,
+            Callback callback,
+            int pollingAttemptsPerTxHash,
+            long pollingFrequency,
+            ScheduledExecutorService scheduledExecutorService) {
         super(web3j);
-        this.scheduledExecutorService = Async.defaultExecutorService();
+        this.scheduledExecutorService = scheduledExecutorService;
         this.callback = callback;
         this.pendingTransactions = new LinkedBlockingQueue<>();
         this.pollingAttemptsPerTxHash = pollingAttemptsPerTxHash;
@@ -14,33 +14,54 @@ package org.web3j.utils;
 
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 /** Async task facilitation. */
 public class Async {
 
-    private static final ExecutorService executor = Executors.newCachedThreadPool();
-
-    static {
-        Runtime.getRuntime().addShutdownHook(new Thread(() -> shutdown(executor)));
+    /**
+     * Run a task on the executor of the {@link ExecutionConfig#defaultConfig() default execution
+     * configuration}.
+     *
+     * @param callable task to run
+     * @param <T> type of the task result
+     * @return future completed with the result of the task
+     */
+    public static <T> CompletableFuture<T> run(Callable<T> callable) {
+        return run(callable, ExecutionConfig.defaultConfig().getExecutor());
     }
 
-    public static <T> CompletableFuture<T> run(Callable<T> callable) {
+    /**
+     * Run a task on the provided executor. If the executor rejects the task, the returned future is
+     * completed exceptionally with a {@link RejectedExecutionException}.
+     *
+     * @param callable task to run
+     * @param executor executor to run the task on
+     * @param <T> type of the task result
+     * @return future completed with the result of the task
+     */
+    public static <T> CompletableFuture<T> run(Callable<T> callable, Executor executor) {
         CompletableFuture<T> result = new CompletableFuture<>();
-        CompletableFuture.runAsync(
-                () -> {
-                    // we need to explicitly catch any exceptions,
-                    // otherwise they will be silently discarded
-                    try {
-                        result.complete(callable.call());
-                    } catch (Throwable e) {
-                        result.completeExceptionally(e);
-                    }
-                },
-                executor);
+        try {
+            CompletableFuture.runAsync(
+                    () -> {
+                        // we need to explicitly catch any exceptions,
+                        // otherwise they will be silently discarded
+                        try {
+                            result.complete(callable.call());
+                        } catch (Throwable e) {
+                            result.completeExceptionally(e);
+                        }
+                    },
+                    executor);
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+        }
         return result;
     }
 
@@ -54,7 +75,10 @@ public class Async {
      * <p>A shutdown hook is created to terminate the thread pool on application termination.
      *
      * @return new ScheduledExecutorService
+     * @deprecated creates a new thread pool on every call, use {@link
+     *     ExecutionConfig#sharedScheduler()} or a dedicated {@link ExecutionConfig} instead
      */
+    @Deprecated
     public static ScheduledExecutorService defaultExecutorService() {
         ScheduledExecutorService scheduledExecutorService =
                 Executors.newScheduledThreadPool(getCpuCount());
@@ -69,7 +93,7 @@ public class Async {
      *
      * @param executorService executor service we wish to shut down.
      */
-    private static void shutdown(ExecutorService executorService) {
+    static void shutdown(ExecutorService executorService) {
         executorService.shutdown();
         try {
             if (!executorService.awaitTermination(60, TimeUnit.SECONDS)) {
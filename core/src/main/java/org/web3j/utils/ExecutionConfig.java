@@ -0,0 +1,366 @@
+/*
+ * Copyright 2021 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.utils;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Execution configuration of a {@link org.web3j.protocol.Web3j} instance.
+ *
+ * <p>Groups the executor used to run blocking RPC calls asynchronously with the scheduler used for
+ * polling (filters, receipt processors). All tasks submitted to the executor are counted, see
+ * {@link #getStats()}.
+ *
+ * <p>The {@link #defaultConfig() default configuration} and the {@link #sharedScheduler() shared
+ * scheduler} are created once per JVM and terminated by a shutdown hook. Any other configuration is
+ * terminated by {@link #shutdown()}, which is called when the owning Web3j instance is shut down.
+ */
+public class ExecutionConfig {
+
+    private static final String ASYNC_THREAD_PREFIX = "web3j-async-";
+    private static final String SCHEDULER_THREAD_PREFIX = "web3j-scheduler-";
+
+    private static ScheduledExecutorService sharedScheduler;
+    private static volatile ExecutionConfig defaultConfig;
+
+    private final MeteredExecutorService executor;
+    private final ScheduledExecutorService scheduler;
+    private final boolean ownsExecutor;
+    private final boolean ownsScheduler;
+    private volatile boolean shared;
+
+    private ExecutionConfig(
+            ExecutorService executor,
+            ScheduledExecutorService scheduler,
+            boolean ownsExecutor,
+            boolean ownsScheduler) {
+        this.executor =
+                executor instanceof MeteredExecutorService
+                        ? (MeteredExecutorService) executor
+                        : new MeteredExecutorService(executor);
+        this.scheduler = scheduler;
+        this.ownsExecutor = ownsExecutor;
+        this.ownsScheduler = ownsScheduler;
+    }
+
+    /**
+     * Returns the JVM wide default configuration, used by {@link Async#run} and by Web3j instances
+     * that are not given an explicit configuration.
+     *
+     * <p>Unless replaced via {@link #setDefault(ExecutionConfig)}, this uses an unbounded pool of
+     * named threads for blocking calls and the {@link #sharedScheduler() shared scheduler}.
+     *
+     * @return the default configuration
+     */
+    public static ExecutionConfig defaultConfig() {
+        ExecutionConfig config = defaultConfig;
+        if (config == null) {
+            synchronized (ExecutionConfig.class) {
+                config = defaultConfig;
+                if (config == null) {
+                    config =
+                            new ExecutionConfig(
+                                    Executors.newCachedThreadPool(
+                                            new NamedThreadFactory(ASYNC_THREAD_PREFIX, false)),
+                                    sharedScheduler(),
+                                    true,
+                                    false);
+                    registerShutdownHook(config.executor);
+                    config.shared = true;
+                    defaultConfig = config;
+                }
+            }
+        }
+        return config;
+    }
+
+    /**
+     * Replaces the JVM wide default configuration. The previous default is left running, as it may
+     * still be referenced by existing Web3j instances.
+     *
+     * <p>The new default is no longer terminated by {@link #shutdown()}; a shutdown hook terminates
+     * it on application termination instead.
+     *
+     * @param config configuration to use by default
+     */
+    public static void setDefault(ExecutionConfig config) {
+        synchronized (ExecutionConfig.class) {
+            if (!config.shared) {
+                config.shared = true;
+                if (config.ownsExecutor) {
+                    registerShutdownHook(config.executor);
+                }
+                if (config.ownsScheduler) {
+                    registerShutdownHook(config.scheduler);
+                }
+            }
+            defaultConfig = config;
+        }
+    }
+
+    /**
+     * Returns the scheduler shared by all configurations that do not provide their own. It is sized
+     * to the number of available processors and is terminated by a shutdown hook.
+     *
+     * @return shared polling scheduler
+     */
+    public static synchronized ScheduledExecutorService sharedScheduler() {
+        if (sharedScheduler == null) {
+            sharedScheduler =
+                    Executors.newScheduledThreadPool(
+                            Runtime.getRuntime().availableProcessors(),
+                            new NamedThreadFactory(SCHEDULER_THREAD_PREFIX, true));
+            registerShutdownHook(sharedScheduler);
+        }
+        return sharedScheduler;
+    }
+
+    /**
+     * Configuration running blocking calls on a new virtual thread per task, with polling on the
+     * {@link #sharedScheduler() shared scheduler}. Requires a Java runtime with virtual thread
+     * support.
+     *
+     * @return new configuration
+     * @throws UnsupportedOperationException if virtual threads are not available
+     */
+    public static ExecutionConfig virtualThreads() {
+        return new ExecutionConfig(
+                newVirtualThreadPerTaskExecutor(ASYNC_THREAD_PREFIX),
+                sharedScheduler(),
+                true,
+                false);
+    }
+
+    /**
+     * Configuration running blocking calls on a fixed size pool of named threads with a bounded
+     * work queue, with polling on the {@link #sharedScheduler() shared scheduler}. Tasks submitted
+     * once the queue is full are rejected, which {@link Async#run(java.util.concurrent.Callable,
+     * java.util.concurrent.Executor)} reports as an exceptionally completed future.
+     *
+     * @param threads number of threads in the pool
+     * @param queueCapacity maximum number of tasks waiting for a thread
+     * @return new configuration
+     */
+    public static ExecutionConfig bounded(int threads, int queueCapacity) {
+        ThreadPoolExecutor executor =
+                new ThreadPoolExecutor(
+                        threads,
+                        threads,
+                        60L,
+                        TimeUnit.SECONDS,
+                        new ArrayBlockingQueue<>(queueCapacity),
+                        new NamedThreadFactory(ASYNC_THREAD_PREFIX, false));
+        executor.allowCoreThreadTimeOut(true);
+        return new ExecutionConfig(executor, sharedScheduler(), true, false);
+    }
+
+    /**
+     * Configuration using the provided executors. Both are terminated by {@link #shutdown()}.
+     *
+     * @param executor executor for blocking calls
+     * @param scheduler scheduler for polling
+     * @return new configuration
+     */
+    public static ExecutionConfig of(ExecutorService executor, ScheduledExecutorService scheduler) {
+        return new ExecutionConfig(executor, scheduler, true, true);
+    }
+
+    /**
+     * Configuration using the executor of the {@link #defaultConfig() default configuration} and
+     * the provided scheduler. Only the scheduler is terminated by {@link #shutdown()}.
+     *
+     * @param scheduler scheduler for polling
+     * @return new configuration
+     */
+    public static ExecutionConfig withScheduler(ScheduledExecutorService scheduler) {
+        return new ExecutionConfig(defaultConfig().executor, scheduler, false, true);
+    }
+
+    /**
+     * Whether the current Java runtime supports virtual threads.
+     *
+     * @return true if {@link #virtualThreads()} can be used
+     */
+    public static boolean isVirtualThreadSupported() {
+        try {
+            Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            Thread.class.getMethod("ofVirtual");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    public ExecutorService getExecutor() {
+        return executor;
+    }
+
+    public ScheduledExecutorService getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Take a snapshot of the executor and scheduler statistics.
+     *
+     * @return current statistics
+     */
+    public ExecutionStats getStats() {
+        ExecutionStats stats =
+                new ExecutionStats(
+                        executor.submitted.get(),
+                        executor.started.get(),
+                        executor.completed.get(),
+                        executor.failed.get(),
+                        executor.rejected.get());
+        if (scheduler instanceof ScheduledThreadPoolExecutor) {
+            ScheduledThreadPoolExecutor pool = (ScheduledThreadPoolExecutor) scheduler;
+            stats.setSchedulerStats(
+                    pool.getPoolSize(), pool.getActiveCount(), pool.getQueue().size());
+        }
+        return stats;
+    }
+
+    /**
+     * Terminate the executors owned by this configuration. Has no effect on the default
+     * configuration and on the shared scheduler.
+     */
+    public void shutdown() {
+        if (shared) {
+            return;
+        }
+        if (ownsExecutor) {
+            executor.shutdown();
+        }
+        if (ownsScheduler) {
+            scheduler.shutdown();
+        }
+    }
+
+    private static void registerShutdownHook(ExecutorService executorService) {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> Async.shutdown(executorService)));
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor(String namePrefix) {
+        // Virtual threads are only available from Java 21, so they are looked up reflectively
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder =
+                    builderClass
+                            .getMethod("name", String.class, long.class)
+                            .invoke(builder, namePrefix, 0L);
+            ThreadFactory threadFactory =
+                    (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+            Method newThreadPerTaskExecutor =
+                    Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) newThreadPerTaskExecutor.invoke(null, threadFactory);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException(
+                    "Virtual threads are not supported by this Java runtime", e);
+        }
+    }
+
+    /** Thread factory assigning sequential names with a common prefix. */
+    private static class NamedThreadFactory implements ThreadFactory {
+        private final String namePrefix;
+        private final boolean daemon;
+        private final AtomicInteger nextId = new AtomicInteger();
+
+        NamedThreadFactory(String namePrefix, boolean daemon) {
+            this.namePrefix = namePrefix;
+            this.daemon = daemon;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, namePrefix + nextId.getAndIncrement());
+            thread.setDaemon(daemon);
+            return thread;
+        }
+    }
+
+    /** Executor decorator counting the tasks passing through it. */
+    private static class MeteredExecutorService extends AbstractExecutorService {
+        private final ExecutorService delegate;
+        private final AtomicLong submitted = new AtomicLong();
+        private final AtomicLong started = new AtomicLong();
+        private final AtomicLong completed = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+
+        MeteredExecutorService(ExecutorService delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            submitted.incrementAndGet();
+            try {
+                delegate.execute(
+                        () -> {
+                            started.incrementAndGet();
+                            try {
+                                command.run();
+                            } catch (RuntimeException | Error e) {
+                                failed.incrementAndGet();
+                                throw e;
+                            } finally {
+                                completed.incrementAndGet();
+                            }
+                        });
+            } catch (RejectedExecutionException e) {
+                submitted.decrementAndGet();
+                rejected.incrementAndGet();
+                throw e;
+            }
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2021 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Point in time statistics of an {@link ExecutionConfig}, suitable for export as metrics.
+ *
+ * <p>Scheduler statistics are only available for {@link
+ * java.util.concurrent.ScheduledThreadPoolExecutor} schedulers and are reported as -1 otherwise.
+ */
+public class ExecutionStats {
+
+    private final long submitted;
+    private final long started;
+    private final long completed;
+    private final long failed;
+    private final long rejected;
+
+    private int schedulerPoolSize = -1;
+    private int schedulerActive = -1;
+    private int schedulerQueued = -1;
+
+    ExecutionStats(long submitted, long started, long completed, long failed, long rejected) {
+        this.submitted = submitted;
+        this.started = started;
+        this.completed = completed;
+        this.failed = failed;
+        this.rejected = rejected;
+    }
+
+    void setSchedulerStats(int poolSize, int active, int queued) {
+        this.schedulerPoolSize = poolSize;
+        this.schedulerActive = active;
+        this.schedulerQueued = queued;
+    }
+
+    public long getSubmitted() {
+        return submitted;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public long getActive() {
+        return started - completed;
+    }
+
+    public long getQueued() {
+        return submitted - started;
+    }
+
+    public int getSchedulerPoolSize() {
+        return schedulerPoolSize;
+    }
+
+    public int getSchedulerActive() {
+        return schedulerActive;
+    }
+
+    public int getSchedulerQueued() {
+        return schedulerQueued;
+    }
+
+    /**
+     * Flatten the statistics into named values.
+     *
+     * @return metric name to value map
+     */
+    public Map<String, Long> toMap() {
+        Map<String, Long> metrics = new LinkedHashMap<>();
+        metrics.put("executor.submitted", submitted);
+        metrics.put("executor.completed", completed);
+        metrics.put("executor.failed", failed);
+        metrics.put("executor.rejected", rejected);
+        metrics.put("executor.active", getActive());
+        metrics.put("executor.queued", getQueued());
+        metrics.put("scheduler.poolSize", (long) schedulerPoolSize);
+        metrics.put("scheduler.active", (long) schedulerActive);
+        metrics.put("scheduler.queued", (long) schedulerQueued);
+        return metrics;
+    }
+
+    @Override
+    public String toString() {
+        return "ExecutionStats" + toMap();
+    }
+}
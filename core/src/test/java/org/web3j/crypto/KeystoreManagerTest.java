@@ -0,0 +1,145 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.crypto;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.web3j.crypto.SampleKeys.KEY_PAIR;
+import static org.web3j.crypto.SampleKeys.PASSWORD;
+import static org.web3j.crypto.WalletUtilsTest.createTempDir;
+
+public class KeystoreManagerTest {
+
+    private File tempDir;
+    private KeystoreManager keystoreManager;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        tempDir = createTempDir();
+        keystoreManager = new KeystoreManager(2, 64 * 1024 * 1024);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        keystoreManager.clear();
+        for (File file : tempDir.listFiles()) {
+            file.delete();
+        }
+        tempDir.delete();
+    }
+
+    @Test
+    public void testLoadDirectory() throws Exception {
+        List<Credentials> expected = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ECKeyPair keyPair = Keys.createEcKeyPair();
+            WalletUtils.generateWalletFile(PASSWORD, keyPair, tempDir, false);
+            expected.add(Credentials.create(keyPair));
+        }
+        File invalid = new File(tempDir, "invalid.json");
+        Files.write(invalid.toPath(), "{}".getBytes());
+
+        List<Integer> progress = Collections.synchronizedList(new ArrayList<>());
+        KeystoreManager.Result result =
+                keystoreManager.loadDirectory(
+                        tempDir,
+                        PASSWORD,
+                        (completed, total, file, error) -> {
+                            assertEquals(4, total);
+                            assertEquals(file.equals(invalid), error != null);
+                            progress.add(completed);
+                        });
+
+        Collections.sort(progress);
+        assertEquals(Arrays.asList(1, 2, 3, 4), progress);
+        assertEquals(3, result.getLoaded().size());
+        assertTrue(result.getLoaded().containsAll(expected));
+        assertEquals(Collections.singleton(invalid), result.getFailed().keySet());
+        for (Credentials credentials : expected) {
+            assertEquals(credentials, keystoreManager.getCredentials(credentials.getAddress()));
+        }
+        assertEquals(3, keystoreManager.getAddresses().size());
+    }
+
+    @Test
+    public void testLoadDirectoryWithPasswordPerAddress() throws Exception {
+        WalletUtils.generateWalletFile(PASSWORD, KEY_PAIR, tempDir, false);
+        WalletUtils.generateWalletFile("other", Keys.createEcKeyPair(), tempDir, false);
+        String address = Credentials.create(KEY_PAIR).getAddress();
+
+        KeystoreManager.Result result =
+                keystoreManager.loadDirectory(
+                        tempDir, a -> a.equals(address) ? PASSWORD : "wrong", null);
+
+        assertEquals(Collections.singletonList(Credentials.create(KEY_PAIR)), result.getLoaded());
+        assertEquals(1, result.getFailed().size());
+        assertTrue(result.getFailed().values().iterator().next() instanceof CipherException);
+    }
+
+    @Test
+    public void testLoadDirectoryReportsErrors() throws Exception {
+        WalletUtils.generateWalletFile(PASSWORD, KEY_PAIR, tempDir, false);
+        AssertionError failure = new AssertionError("password store unavailable");
+        List<Exception> reported = Collections.synchronizedList(new ArrayList<>());
+
+        KeystoreManager.Result result =
+                keystoreManager.loadDirectory(
+                        tempDir,
+                        address -> {
+                            throw failure;
+                        },
+                        (completed, total, file, error) -> reported.add(error));
+
+        Exception failed = result.getFailed().values().iterator().next();
+        assertTrue(failed instanceof ExecutionException);
+        assertSame(failure, failed.getCause());
+        assertEquals(1, reported.size());
+        assertSame(failure, reported.get(0).getCause());
+    }
+
+    @Test
+    public void testUnlockAgain() throws Exception {
+        WalletFile walletFile = Wallet.createLight(PASSWORD, KEY_PAIR);
+        Credentials credentials = Credentials.create(KEY_PAIR);
+
+        assertEquals(credentials, keystoreManager.unlock(walletFile, PASSWORD));
+        assertEquals(credentials, keystoreManager.unlock(walletFile, PASSWORD));
+        assertThrows(CipherException.class, () -> keystoreManager.unlock(walletFile, "wrong"));
+
+        keystoreManager.lock(credentials.getAddress().substring(2).toUpperCase());
+        assertNull(keystoreManager.getCredentials(credentials.getAddress()));
+        assertEquals(credentials, keystoreManager.unlock(walletFile, PASSWORD));
+    }
+
+    @Test
+    public void testKdfMemory() throws Exception {
+        WalletFile walletFile = Wallet.create(PASSWORD, KEY_PAIR, 1 << 10, 1);
+
+        assertEquals(128L * 8 * ((1 << 10) + 1), KeystoreManager.kdfMemory(walletFile));
+    }
+}
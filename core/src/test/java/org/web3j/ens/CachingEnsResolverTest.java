@@ -0,0 +1,210 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.ens;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.abi.TypeEncoder;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.EthCall;
+import org.web3j.protocol.core.methods.response.EthSyncing;
+import org.web3j.protocol.core.methods.response.NetVersion;
+import org.web3j.tx.ChainIdLong;
+import org.web3j.utils.Numeric;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CachingEnsResolverTest {
+
+    private static final String RESOLVER_ADDRESS =
+            "0x0000000000000000000000004c641fb9bad9b60ef180c31f56051ce826d21a9a";
+    private static final String CONTRACT_ADDRESS =
+            "0x00000000000000000000000019e03255f667bdfd50a32722df860b1eeaf4d635";
+
+    private Web3jService web3jService;
+    private AtomicLong clock;
+    private CachingEnsResolver ensResolver;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        web3jService = mock(Web3jService.class);
+        clock = new AtomicLong(System.currentTimeMillis());
+        ensResolver =
+                new CachingEnsResolver(
+                        Web3j.build(web3jService),
+                        EnsResolver.DEFAULT_SYNC_THRESHOLD,
+                        40,
+                        1000,
+                        100,
+                        500,
+                        clock::get);
+
+        EthSyncing ethSyncing = new EthSyncing();
+        EthSyncing.Result result = new EthSyncing.Result();
+        result.setSyncing(false);
+        ethSyncing.setResult(result);
+        when(web3jService.send(any(Request.class), eq(EthSyncing.class))).thenReturn(ethSyncing);
+
+        EthBlock.Block block = new EthBlock.Block();
+        block.setTimestamp(
+                Numeric.encodeQuantity(BigInteger.valueOf(System.currentTimeMillis() / 1000)));
+        EthBlock ethBlock = new EthBlock();
+        ethBlock.setResult(block);
+        when(web3jService.send(any(Request.class), eq(EthBlock.class))).thenReturn(ethBlock);
+
+        NetVersion netVersion = new NetVersion();
+        netVersion.setResult(Long.toString(ChainIdLong.MAINNET));
+        when(web3jService.send(any(Request.class), eq(NetVersion.class))).thenReturn(netVersion);
+    }
+
+    @Test
+    public void testResolveIsCached() throws Exception {
+        when(web3jService.send(any(Request.class), eq(EthCall.class)))
+                .thenReturn(ethCall(RESOLVER_ADDRESS), ethCall(CONTRACT_ADDRESS));
+
+        assertEquals(
+                "0x19e03255f667bdfd50a32722df860b1eeaf4d635", ensResolver.resolve("web3j.eth"));
+        assertEquals(
+                "0x19e03255f667bdfd50a32722df860b1eeaf4d635", ensResolver.resolve("web3j.eth"));
+
+        verify(web3jService, times(2)).send(any(Request.class), eq(EthCall.class));
+        verify(web3jService, times(1)).send(any(Request.class), eq(EthSyncing.class));
+        verify(web3jService, times(1)).send(any(Request.class), eq(NetVersion.class));
+    }
+
+    @Test
+    public void testCacheExpires() throws Exception {
+        when(web3jService.send(any(Request.class), eq(EthCall.class)))
+                .thenReturn(
+                        ethCall(RESOLVER_ADDRESS),
+                        ethCall(CONTRACT_ADDRESS),
+                        ethCall(RESOLVER_ADDRESS),
+                        ethCall(CONTRACT_ADDRESS));
+
+        ensResolver.resolve("web3j.eth");
+        clock.addAndGet(1000);
+        ensResolver.resolve("web3j.eth");
+
+        verify(web3jService, times(4)).send(any(Request.class), eq(EthCall.class));
+        verify(web3jService, times(2)).send(any(Request.class), eq(EthSyncing.class));
+        verify(web3jService, times(1)).send(any(Request.class), eq(NetVersion.class));
+    }
+
+    @Test
+    public void testReverseResolveIsCached() throws Exception {
+        when(web3jService.send(any(Request.class), eq(EthCall.class)))
+                .thenReturn(ethCall(RESOLVER_ADDRESS), ethCall(encodedName("web3j.eth")));
+
+        String address = "0x19e03255f667bdfd50a32722df860b1eeaf4d635";
+        assertEquals("web3j.eth", ensResolver.reverseResolve(address));
+        assertEquals(
+                "web3j.eth", ensResolver.reverseResolve(address.toUpperCase().replace("0X", "0x")));
+
+        verify(web3jService, times(2)).send(any(Request.class), eq(EthCall.class));
+    }
+
+    @Test
+    public void testResolveAll() throws Exception {
+        List<Integer> batchSizes = new ArrayList<>();
+        AtomicInteger batches = new AtomicInteger();
+        when(web3jService.sendBatch(any(BatchRequest.class)))
+                .thenAnswer(
+                        invocation -> {
+                            BatchRequest batchRequest = invocation.getArgument(0);
+                            int size = batchRequest.getRequests().size();
+                            batchSizes.add(size);
+                            boolean resolvers = batches.getAndIncrement() == 0;
+                            List<Response<?>> responses = new ArrayList<>();
+                            for (int i = 0; i < size; i++) {
+                                responses.add(
+                                        resolvers
+                                                ? ethCall(RESOLVER_ADDRESS)
+                                                : ethCall(i == 0 ? CONTRACT_ADDRESS : "0x"));
+                            }
+                            return new BatchResponse(batchRequest.getRequests(), responses);
+                        });
+
+        String address = "0x0000000000000000000000000000000000000001";
+        List<String> names = Arrays.asList("web3j.eth", address, "unknown.eth", "web3j.eth");
+        Map<String, String> expected = new LinkedHashMap<>();
+        expected.put("web3j.eth", "0x19e03255f667bdfd50a32722df860b1eeaf4d635");
+        expected.put(address, address);
+
+        assertEquals(expected, ensResolver.resolveAll(names));
+        assertEquals(Arrays.asList(2, 2), batchSizes);
+
+        // resolved names and resolvers are cached
+        assertEquals(
+                Collections.singletonMap("web3j.eth", "0x19e03255f667bdfd50a32722df860b1eeaf4d635"),
+                ensResolver.resolveAll(Collections.singletonList("web3j.eth")));
+        assertEquals(Arrays.asList(2, 2), batchSizes);
+        verify(web3jService, times(1)).send(any(Request.class), eq(EthSyncing.class));
+    }
+
+    @Test
+    public void testResolveAllNotSynced() throws Exception {
+        EthSyncing ethSyncing = new EthSyncing();
+        EthSyncing.Result result = new EthSyncing.Result();
+        result.setSyncing(true);
+        ethSyncing.setResult(result);
+        when(web3jService.send(any(Request.class), eq(EthSyncing.class))).thenReturn(ethSyncing);
+
+        assertThrows(
+                EnsResolutionException.class,
+                () -> ensResolver.resolveAll(Collections.singletonList("web3j.eth")));
+    }
+
+    @Test
+    public void testReverseResolveAllInvalidAddress() {
+        assertThrows(
+                EnsResolutionException.class,
+                () -> ensResolver.reverseResolveAll(Collections.singletonList("0x1234")));
+    }
+
+    private static EthCall ethCall(String result) {
+        EthCall ethCall = new EthCall();
+        ethCall.setResult(result);
+        return ethCall;
+    }
+
+    private static String encodedName(String name) {
+        return "0x0000000000000000000000000000000000000000000000000000000000000020"
+                + TypeEncoder.encode(new Utf8String(name));
+    }
+}
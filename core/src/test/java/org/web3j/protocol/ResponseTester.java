@@ -49,6 +49,15 @@ public abstract class ResponseTester {
         web3jService = new HttpService(okHttpClient, includeRawResponses);
     }
 
+    protected void configureWeb3Service(boolean includeRawResponses, boolean compactResponses) {
+        web3jService =
+                new HttpService(
+                        HttpService.DEFAULT_URL,
+                        okHttpClient,
+                        includeRawResponses,
+                        compactResponses);
+    }
+
     protected <T extends Response> T deserialiseResponse(Class<T> type) {
         T response = null;
         try {
@@ -59,6 +68,16 @@ public abstract class ResponseTester {
         return response;
     }
 
+    protected <T> T parseResponse(ResponseParser<T> parser) {
+        T result = null;
+        try {
+            result = web3jService.sendStreaming(new Request(), parser);
+        } catch (IOException e) {
+            fail(e.getMessage());
+        }
+        return result;
+    }
+
     private class ResponseInterceptor implements Interceptor {
 
         private String jsonResponse;
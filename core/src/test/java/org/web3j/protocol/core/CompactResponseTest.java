@@ -0,0 +1,226 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.core;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.web3j.protocol.ResponseTester;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.EthGetTransactionReceipt;
+import org.web3j.protocol.core.methods.response.EthLog;
+import org.web3j.protocol.core.methods.response.EthTransaction;
+import org.web3j.protocol.core.methods.response.Transaction;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.protocol.core.methods.response.compact.CompactBlock;
+import org.web3j.protocol.core.methods.response.compact.CompactLog;
+import org.web3j.protocol.core.methods.response.compact.CompactTransaction;
+import org.web3j.protocol.core.methods.response.compact.CompactTransactionHash;
+import org.web3j.protocol.core.methods.response.compact.CompactTransactionReceipt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Compact Response tests. */
+public class CompactResponseTest extends ResponseTester {
+
+    private static final String TRANSACTION =
+            "{\n"
+                    + "    \"hash\":\"0xc6ef2fc5426d6ad6fd9e2a26abeab0aa2411b7ab17f30a99d3cb96aed1d1055b\",\n"
+                    + "    \"nonce\":\"0x15\",\n"
+                    + "    \"blockHash\":\"0xbeab0aa2411b7ab17f30a99d3cb9c6ef2fc5426d6ad6fd9e2a26a6aed1d1055b\",\n"
+                    + "    \"blockNumber\":\"0x15df\",\n"
+                    + "    \"transactionIndex\":\"0x1\",\n"
+                    + "    \"from\":\"0x407d73d8a49eeb85d32cf465507dd71d507100c1\",\n"
+                    + "    \"to\":\"0x85a43d8a49eeb85d32cf465507dd71d507100c1\",\n"
+                    + "    \"value\":\"0xde0b6b3a7640000000\",\n"
+                    + "    \"gas\":\"0x7f110\",\n"
+                    + "    \"gasPrice\":\"0x9184e72a000\",\n"
+                    + "    \"input\":\"0x603880600c6000396000f300603880600c6000396000f3603880600c6000396000f360\",\n"
+                    + "    \"creates\":null,\n"
+                    + "    \"publicKey\":null,\n"
+                    + "    \"r\":\"0xf115cc4d7516dd430046504e1c888198e0323e8ded016d755f89c226ba3481dc\",\n"
+                    + "    \"s\":\"0x4a2ae8ee49f1100b5c0202b37ed8bacf4caeddebde6b7f77e12e7a55893e9f62\",\n"
+                    + "    \"v\":\"0x25\"\n"
+                    + "}";
+
+    private static final String LOG =
+            "{\n"
+                    + "    \"removed\":false,\n"
+                    + "    \"logIndex\":\"0x1\",\n"
+                    + "    \"transactionIndex\":\"0x0\",\n"
+                    + "    \"transactionHash\":\"0xdf829c5a142f1fccd7d8216c5785ac562ff41e2dcfdf5785ac562ff41e2dcf\",\n"
+                    + "    \"blockHash\":\"0x8216c5785ac562ff41e2dcfdf5785ac562ff41e2dcfdf829c5a142f1fccd7d\",\n"
+                    + "    \"blockNumber\":\"0x1b4\",\n"
+                    + "    \"address\":\"0x16c5785ac562ff41e2dcfdf829c5a142f1fccd7d\",\n"
+                    + "    \"data\":\"0x0000000000000000000000000000000000000000000000000000000000000000\",\n"
+                    + "    \"type\":\"mined\",\n"
+                    + "    \"topics\":[\"0x59ebeb90bc63057b6515673c3ecf9438e5058bca0f92585014eced636878c9a5\"]\n"
+                    + "}";
+
+    private static final String BLOCK =
+            "{\n"
+                    + "    \"number\":\"0x1b4\",\n"
+                    + "    \"hash\":\"0xdc0818cf78f21a8e70579cb46a43643f78291264dda342ae31049421c82d21ae\",\n"
+                    + "    \"parentHash\":\"0x9646252be9520f6e71339a8df9c55e4d7619deeb018d2a3f2d21fc165dde5eb5\",\n"
+                    + "    \"nonce\":\"0xe04d296d2460cfb8\",\n"
+                    + "    \"sha3Uncles\":\"0x1dcc4de8dec75d7aab85b567b6ccd41ad312451b948a7413f0a142fd40d49347\",\n"
+                    + "    \"logsBloom\":\"0x00000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000\",\n"
+                    + "    \"transactionsRoot\":\"0x56e81f171bcc55a6ff8345e692c0f86e5b48e01b996cadc001622fb5e363b421\",\n"
+                    + "    \"stateRoot\":\"0xd5855eb08b3387c0af375e9cdb6acfc05eb8f519e419b874b6ff2ffda7ed1dff\",\n"
+                    + "    \"receiptsRoot\":\"0x56e81f171bcc55a6ff8345e692c0f86e5b48e01b996cadc001622fb5e363b421\",\n"
+                    + "    \"miner\":\"0x4e65fda2159562a496f9f3522f89122a3088497a\",\n"
+                    + "    \"mixHash\":\"0x57919c4e72e79ad7705a26e7ecd5a08ff546ac4fa37882e9cc57be87a3dab26b\",\n"
+                    + "    \"difficulty\":\"0x27f07\",\n"
+                    + "    \"totalDifficulty\":\"0xa7a1d2b3c4e5f6071829\",\n"
+                    + "    \"extraData\":\"0xd5830104028650617269747986312e31322e31826c69\",\n"
+                    + "    \"size\":\"0x27f07\",\n"
+                    + "    \"gasLimit\":\"0x9f759\",\n"
+                    + "    \"gasUsed\":\"0x9f759\",\n"
+                    + "    \"timestamp\":\"0x54e34e8e\",\n"
+                    + "    \"transactions\":[%s],\n"
+                    + "    \"uncles\":[\"0x1dcc4de8dec75d7aab85b567b6ccd41ad312451b948a7413f0a142fd40d49347\"]\n"
+                    + "}";
+
+    private static final String RECEIPT =
+            "{\n"
+                    + "    \"transactionHash\":\"0xb903239f8543d04b5dc1ba6579132b143087c68db1b2168786408fcbce568238\",\n"
+                    + "    \"transactionIndex\":\"0x1\",\n"
+                    + "    \"blockHash\":\"0xc6ef2fc5426d6ad6fd9e2a26abeab0aa2411b7ab17f30a99d3cb96aed1d1055b\",\n"
+                    + "    \"blockNumber\":\"0xb\",\n"
+                    + "    \"cumulativeGasUsed\":\"0x33bc\",\n"
+                    + "    \"gasUsed\":\"0x4dc\",\n"
+                    + "    \"contractAddress\":null,\n"
+                    + "    \"status\":\"0x1\",\n"
+                    + "    \"from\":\"0x407d73d8a49eeb85d32cf465507dd71d507100c1\",\n"
+                    + "    \"to\":\"0x16c5785ac562ff41e2dcfdf829c5a142f1fccd7d\",\n"
+                    + "    \"logs\":["
+                    + LOG
+                    + "],\n"
+                    + "    \"logsBloom\":\"0x00000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000\"\n"
+                    + "}";
+
+    @Test
+    public void testCompactBlockWithTransactionHashes() {
+        List<EthBlock> responses =
+                deserialiseBoth(
+                        String.format(
+                                BLOCK,
+                                "\"0xc6ef2fc5426d6ad6fd9e2a26abeab0aa2411b7ab17f30a99d3cb96aed1d1055b\""),
+                        EthBlock.class);
+
+        EthBlock.Block block = responses.get(1).getBlock();
+        assertTrue(block instanceof CompactBlock);
+        assertTrue(block.getTransactions().get(0) instanceof CompactTransactionHash);
+        assertEquals(responses.get(0).getBlock(), block);
+        assertEquals(BigInteger.valueOf(0x1b4), block.getNumber());
+        assertEquals(new BigInteger("a7a1d2b3c4e5f6071829", 16), block.getTotalDifficulty());
+        assertEquals(
+                "0xc6ef2fc5426d6ad6fd9e2a26abeab0aa2411b7ab17f30a99d3cb96aed1d1055b",
+                block.getTransactions().get(0).get());
+    }
+
+    @Test
+    public void testCompactBlockWithFullTransactions() {
+        List<EthBlock> responses =
+                deserialiseBoth(String.format(BLOCK, TRANSACTION), EthBlock.class);
+
+        EthBlock.Block block = responses.get(1).getBlock();
+        assertTrue(block instanceof CompactBlock);
+        assertEquals(responses.get(0).getBlock(), block);
+
+        Transaction transaction = (Transaction) block.getTransactions().get(0).get();
+        assertTrue(transaction instanceof CompactTransaction);
+        assertEquals(new BigInteger("de0b6b3a7640000000", 16), transaction.getValue());
+        assertEquals("0x7f110", transaction.getGasRaw());
+        assertEquals(0x25, transaction.getV());
+        assertNull(transaction.getCreates());
+    }
+
+    @Test
+    public void testCompactTransaction() {
+        List<EthTransaction> responses = deserialiseBoth(TRANSACTION, EthTransaction.class);
+
+        Transaction transaction = responses.get(1).getTransaction().get();
+        assertTrue(transaction instanceof CompactTransaction);
+        assertEquals(responses.get(0).getTransaction().get(), transaction);
+        assertEquals("0x407d73d8a49eeb85d32cf465507dd71d507100c1", transaction.getFrom());
+    }
+
+    @Test
+    public void testCompactTransactionNonCanonicalValues() {
+        String json =
+                TRANSACTION
+                        .replace("\"nonce\":\"0x15\"", "\"nonce\":\"0x\"")
+                        .replace("\"gas\":\"0x7f110\"", "\"gas\":\"0x07f110\"")
+                        .replace("\"blockNumber\":\"0x15df\"", "\"blockNumber\":5599")
+                        .replace(
+                                "0x85a43d8a49eeb85d32cf465507dd71d507100c1",
+                                "0x85h43d8a49eeb85d32cf465507dd71d507100c1");
+        List<EthTransaction> responses = deserialiseBoth(json, EthTransaction.class);
+
+        Transaction transaction = responses.get(1).getTransaction().get();
+        assertTrue(transaction instanceof CompactTransaction);
+        assertEquals(responses.get(0).getTransaction().get(), transaction);
+        assertEquals("0x", transaction.getNonceRaw());
+        assertEquals("0x07f110", transaction.getGasRaw());
+        assertEquals(BigInteger.valueOf(0x7f110), transaction.getGas());
+        assertEquals(BigInteger.valueOf(5599), transaction.getBlockNumber());
+        assertEquals("0x85h43d8a49eeb85d32cf465507dd71d507100c1", transaction.getTo());
+    }
+
+    @Test
+    public void testCompactTransactionReceipt() {
+        List<EthGetTransactionReceipt> responses =
+                deserialiseBoth(RECEIPT, EthGetTransactionReceipt.class);
+
+        TransactionReceipt receipt = responses.get(1).getTransactionReceipt().get();
+        assertTrue(receipt instanceof CompactTransactionReceipt);
+        assertTrue(receipt.getLogs().get(0) instanceof CompactLog);
+        assertEquals(responses.get(0).getTransactionReceipt().get(), receipt);
+        assertTrue(receipt.isStatusOK());
+        assertEquals(BigInteger.valueOf(0x4dc), receipt.getGasUsed());
+        assertNull(receipt.getContractAddress());
+    }
+
+    @Test
+    public void testCompactLogs() {
+        List<EthLog> responses = deserialiseBoth("[" + LOG + "," + LOG + "]", EthLog.class);
+
+        List<EthLog.LogResult> logs = responses.get(1).getLogs();
+        assertTrue(logs.get(0) instanceof CompactLog);
+        assertEquals(responses.get(0).getLogs(), logs);
+
+        CompactLog first = (CompactLog) logs.get(0);
+        CompactLog second = (CompactLog) logs.get(1);
+        assertEquals(BigInteger.ONE, first.getLogIndex());
+        assertEquals(
+                "0x59ebeb90bc63057b6515673c3ecf9438e5058bca0f92585014eced636878c9a5",
+                first.getTopics().get(0));
+        assertEquals(first, second);
+    }
+
+    private <T extends Response> List<T> deserialiseBoth(String result, Class<T> type) {
+        buildResponse("{\"id\":1,\"jsonrpc\":\"2.0\",\"result\":" + result + "}");
+
+        configureWeb3Service(false, false);
+        T response = deserialiseResponse(type);
+        configureWeb3Service(false, true);
+        T compactResponse = deserialiseResponse(type);
+        return Arrays.asList(response, compactResponse);
+    }
+}
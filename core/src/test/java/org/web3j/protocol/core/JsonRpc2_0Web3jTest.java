@@ -12,14 +12,28 @@
  */
 package org.web3j.protocol.core;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 
+import org.web3j.protocol.Service;
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.Web3jService;
+import org.web3j.utils.ExecutionConfig;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
@@ -41,6 +55,103 @@ public class JsonRpc2_0Web3jTest {
         verify(service).close();
     }
 
+    @Test
+    public void testDefaultExecutionConfigNotStoppedOnShutdown() throws Exception {
+        ScheduledExecutorService sharedScheduler = ExecutionConfig.sharedScheduler();
+
+        Web3j.build(service).shutdown();
+
+        verify(service).close();
+        assertFalse(sharedScheduler.isShutdown());
+    }
+
+    @Test
+    public void testStopExecutionConfigOnShutdown() throws Exception {
+        ExecutorService executorService = mock(ExecutorService.class);
+        ExecutionConfig executionConfig =
+                ExecutionConfig.of(executorService, scheduledExecutorService);
+
+        Web3j.build(service, 10, executionConfig).shutdown();
+
+        verify(executorService).shutdown();
+        verify(scheduledExecutorService).shutdown();
+        verify(service).close();
+    }
+
+    @Test
+    public void testAsyncRequestsRunOnConfiguredExecutor() throws Exception {
+        AtomicInteger executed = new AtomicInteger();
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        ExecutorService countingExecutor =
+                new AbstractExecutorService() {
+                    @Override
+                    public void execute(Runnable command) {
+                        executed.incrementAndGet();
+                        executorService.execute(command);
+                    }
+
+                    @Override
+                    public void shutdown() {
+                        executorService.shutdown();
+                    }
+
+                    @Override
+                    public List<Runnable> shutdownNow() {
+                        return executorService.shutdownNow();
+                    }
+
+                    @Override
+                    public boolean isShutdown() {
+                        return executorService.isShutdown();
+                    }
+
+                    @Override
+                    public boolean isTerminated() {
+                        return executorService.isTerminated();
+                    }
+
+                    @Override
+                    public boolean awaitTermination(long timeout, TimeUnit unit)
+                            throws InterruptedException {
+                        return executorService.awaitTermination(timeout, unit);
+                    }
+                };
+        Service service =
+                new Service(false) {
+                    @Override
+                    protected InputStream performIO(String payload) {
+                        return new ByteArrayInputStream(
+                                payload.startsWith("[")
+                                        ? "[{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x1\"}]"
+                                                .getBytes(StandardCharsets.UTF_8)
+                                        : "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x1\"}"
+                                                .getBytes(StandardCharsets.UTF_8));
+                    }
+
+                    @Override
+                    public void close() {}
+                };
+        Web3j web3j =
+                Web3j.build(
+                        service,
+                        10,
+                        ExecutionConfig.of(countingExecutor, scheduledExecutorService));
+
+        assertEquals(BigInteger.ONE, web3j.ethBlockNumber().sendAsync().get().getBlockNumber());
+        assertEquals(1, executed.get());
+
+        web3j.newBatch().add(web3j.ethBlockNumber()).sendAsync().get();
+        assertEquals(2, executed.get());
+
+        // the shared service is not changed for other instances
+        Web3j defaultWeb3j = Web3j.build(service);
+        defaultWeb3j.ethBlockNumber().sendAsync().get();
+        defaultWeb3j.newBatch().add(defaultWeb3j.ethBlockNumber()).sendAsync().get();
+        assertEquals(2, executed.get());
+
+        web3j.shutdown();
+    }
+
     @Test
     public void testExceptionOnServiceClosure() throws Exception {
 
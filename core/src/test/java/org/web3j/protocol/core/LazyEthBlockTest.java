@@ -0,0 +1,156 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.core;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.web3j.protocol.ResponseTester;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.LazyEthBlock;
+import org.web3j.protocol.core.methods.response.compact.CompactTransaction;
+import org.web3j.protocol.core.methods.response.compact.LazyTransaction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Lazy block response tests. */
+public class LazyEthBlockTest extends ResponseTester {
+
+    private static final String SENDER = "0x407d73d8a49eeb85d32cf465507dd71d507100c1";
+    private static final String TOKEN = "0x16c5785ac562ff41e2dcfdf829c5a142f1fccd7d";
+
+    private static final String TRANSFER =
+            "{"
+                    + "\"hash\":\"0xc6ef2fc5426d6ad6fd9e2a26abeab0aa2411b7ab17f30a99d3cb96aed1d1055b\","
+                    + "\"nonce\":\"0x15\","
+                    + "\"blockHash\":\"0xbeab0aa2411b7ab17f30a99d3cb9c6ef2fc5426d6ad6fd9e2a26a6aed1d1055b\","
+                    + "\"blockNumber\":\"0x1b4\","
+                    + "\"transactionIndex\":\"0x0\","
+                    + "\"from\":\""
+                    + SENDER
+                    + "\","
+                    + "\"to\":\"0x16C5785AC562FF41E2DCFDF829C5A142F1FCCD7D\","
+                    + "\"value\":\"0x0\","
+                    + "\"gas\":\"0x7f110\","
+                    + "\"gasPrice\":\"0x9184e72a000\","
+                    + "\"input\":\"0xa9059cbb0000000000000000000000004e65fda2159562a496f9f3522f89122a3088497a\","
+                    + "\"accessList\":[{\"address\":\"0x4e65fda2159562a496f9f3522f89122a3088497a\",\"storageKeys\":[]}],"
+                    + "\"r\":\"0xf115cc4d7516dd430046504e1c888198e0323e8ded016d755f89c226ba3481dc\","
+                    + "\"s\":\"0x4a2ae8ee49f1100b5c0202b37ed8bacf4caeddebde6b7f77e12e7a55893e9f62\","
+                    + "\"v\":\"0x25\""
+                    + "}";
+
+    private static final String CREATION =
+            "{"
+                    + "\"hash\":\"0xb903239f8543d04b5dc1ba6579132b143087c68db1b2168786408fcbce568238\","
+                    + "\"nonce\":\"0x16\","
+                    + "\"blockHash\":\"0xbeab0aa2411b7ab17f30a99d3cb9c6ef2fc5426d6ad6fd9e2a26a6aed1d1055b\","
+                    + "\"blockNumber\":\"0x1b4\","
+                    + "\"transactionIndex\":\"0x1\","
+                    + "\"from\":\"0x4e65fda2159562a496f9f3522f89122a3088497a\","
+                    + "\"to\":null,"
+                    + "\"value\":\"0x0\","
+                    + "\"gas\":\"0x7f110\","
+                    + "\"gasPrice\":\"0x9184e72a000\","
+                    + "\"input\":\"0x6038\","
+                    + "\"v\":\"0x25\""
+                    + "}";
+
+    private static final String BLOCK =
+            "{"
+                    + "\"number\":\"0x1b4\","
+                    + "\"hash\":\"0xdc0818cf78f21a8e70579cb46a43643f78291264dda342ae31049421c82d21ae\","
+                    + "\"parentHash\":\"0x9646252be9520f6e71339a8df9c55e4d7619deeb018d2a3f2d21fc165dde5eb5\","
+                    + "\"miner\":\"0x4e65fda2159562a496f9f3522f89122a3088497a\","
+                    + "\"gasLimit\":\"0x9f759\","
+                    + "\"gasUsed\":\"0x9f759\","
+                    + "\"timestamp\":\"0x54e34e8e\","
+                    + "\"transactions\":[%s],"
+                    + "\"uncles\":[]"
+                    + "}";
+
+    @Test
+    public void testTransactionsAreDecodedOnAccess() {
+        String result = String.format(BLOCK, TRANSFER + "," + CREATION);
+        buildResponse("{\"id\":1,\"jsonrpc\":\"2.0\",\"result\":" + result + "}");
+        EthBlock.Block expected = deserialiseResponse(EthBlock.class).getBlock();
+
+        LazyEthBlock.LazyBlock block = deserialiseResponse(LazyEthBlock.class).getBlock();
+        assertEquals(expected.getNumber(), block.getNumber());
+        assertEquals(expected.getHash(), block.getHash());
+
+        List<LazyTransaction> transactions = block.getLazyTransactions();
+        assertEquals(2, transactions.size());
+        assertFalse(transactions.get(0).isDecoded());
+
+        assertEquals(expected.getTransactions().get(0).get(), transactions.get(0).get());
+        assertTrue(transactions.get(0).isDecoded());
+        assertEquals(expected.getTransactions().get(1).get(), transactions.get(1).get());
+    }
+
+    @Test
+    public void testTransactionsAreFilteredWithoutDecoding() {
+        buildResponse(
+                "{\"id\":1,\"jsonrpc\":\"2.0\",\"result\":"
+                        + String.format(BLOCK, TRANSFER + "," + CREATION)
+                        + "}");
+        List<LazyTransaction> transactions =
+                deserialiseResponse(LazyEthBlock.class).getBlock().getLazyTransactions();
+
+        LazyTransaction transfer = transactions.get(0);
+        assertTrue(transfer.isFrom(SENDER.toUpperCase().replace("0X", "0x")));
+        assertTrue(transfer.isTo(TOKEN));
+        assertEquals("0x16C5785AC562FF41E2DCFDF829C5A142F1FCCD7D", transfer.getTo());
+        assertTrue(transfer.hasSelector("0xA9059CBB"));
+        assertFalse(transfer.hasSelector("0x095ea7b3"));
+        assertTrue(transfer.isFrom(SENDER.substring(2)));
+        assertTrue(transfer.hasSelector("a9059cbb"));
+
+        LazyTransaction creation = transactions.get(1);
+        assertFalse(creation.isFrom(SENDER));
+        assertFalse(creation.isTo(TOKEN));
+        assertNull(creation.getTo());
+        assertFalse(creation.hasSelector("0xa9059cbb"));
+
+        assertFalse(transfer.isDecoded());
+        assertFalse(creation.isDecoded());
+    }
+
+    @Test
+    public void testCompactTransactionsAreDecodedWithCompactResponses() {
+        buildResponse(
+                "{\"id\":1,\"jsonrpc\":\"2.0\",\"result\":" + String.format(BLOCK, TRANSFER) + "}");
+        configureWeb3Service(false, true);
+
+        LazyEthBlock.LazyBlock block = deserialiseResponse(LazyEthBlock.class).getBlock();
+        assertTrue(block.getLazyTransactions().get(0).get() instanceof CompactTransaction);
+    }
+
+    @Test
+    public void testBlockWithTransactionHashes() {
+        buildResponse(
+                "{\"id\":1,\"jsonrpc\":\"2.0\",\"result\":"
+                        + String.format(
+                                BLOCK,
+                                "\"0xc6ef2fc5426d6ad6fd9e2a26abeab0aa2411b7ab17f30a99d3cb96aed1d1055b\"")
+                        + "}");
+
+        LazyEthBlock.LazyBlock block = deserialiseResponse(LazyEthBlock.class).getBlock();
+        assertTrue(block.getTransactions().get(0) instanceof EthBlock.TransactionHash);
+        assertTrue(block.getLazyTransactions().isEmpty());
+    }
+}
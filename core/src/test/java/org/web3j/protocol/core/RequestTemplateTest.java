@@ -0,0 +1,120 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.core;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.protocol.ObjectMapperFactory;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.methods.request.Transaction;
+import org.web3j.protocol.core.methods.response.EthBlockNumber;
+import org.web3j.protocol.core.methods.response.EthCall;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+public class RequestTemplateTest {
+
+    private static final String FROM = "0x1111111111111111111111111111111111111111";
+    private static final String TOKEN = "0x2222222222222222222222222222222222222222";
+    private static final String BALANCE_OF = "0x70a08231";
+    private static final String OWNER =
+            "0000000000000000000000003333333333333333333333333333333333333333";
+
+    private final Web3jService web3jService = mock(Web3jService.class);
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+
+    private final RequestTemplate<EthCall> balanceOf =
+            new RequestTemplate<>(
+                    "eth_call",
+                    Arrays.asList(
+                            Transaction.createEthCallTransaction(
+                                    FROM, TOKEN, BALANCE_OF + RequestTemplate.placeholder(0)),
+                            RequestTemplate.placeholder(1)),
+                    web3jService,
+                    EthCall.class);
+
+    @Test
+    public void testRequestIsSerializedAsRegularRequest() throws IOException {
+        Request<?, EthCall> request = balanceOf.newRequest(OWNER, "0x10");
+        request.setId(42);
+
+        Request<?, EthCall> expected =
+                new Request<>(
+                        "eth_call",
+                        Arrays.asList(
+                                Transaction.createEthCallTransaction(
+                                        FROM, TOKEN, BALANCE_OF + OWNER),
+                                DefaultBlockParameter.valueOf(BigInteger.valueOf(16))),
+                        web3jService,
+                        EthCall.class);
+        expected.setId(42);
+
+        assertEquals(
+                objectMapper.writeValueAsString(expected),
+                json(RequestTemplate.writeValueAsBytes(objectMapper, request)));
+        assertEquals(
+                objectMapper.writeValueAsString(expected),
+                objectMapper.writeValueAsString(request));
+        assertEquals(2, balanceOf.getValueCount());
+    }
+
+    @Test
+    public void testValuesAreEscaped() throws IOException {
+        Request<?, EthCall> request = balanceOf.newRequest("\"\u20ac\\", "latest");
+
+        assertEquals(
+                "\"\u20ac\\",
+                objectMapper
+                        .readTree(RequestTemplate.writeValueAsBytes(objectMapper, request))
+                        .get("params")
+                        .get(0)
+                        .get("data")
+                        .asText()
+                        .substring(BALANCE_OF.length()));
+    }
+
+    @Test
+    public void testBatchWithTemplatedRequests() throws IOException {
+        Request<?, EthCall> first = balanceOf.newRequest(OWNER, "latest");
+        Request<?, EthBlockNumber> second =
+                new Request<>(
+                        "eth_blockNumber",
+                        Collections.emptyList(),
+                        web3jService,
+                        EthBlockNumber.class);
+
+        assertEquals(
+                objectMapper.writeValueAsString(Arrays.asList(first, second)),
+                json(
+                        RequestTemplate.writeValueAsBytes(
+                                objectMapper, Arrays.asList(first, second))));
+    }
+
+    @Test
+    public void testValueCountIsChecked() {
+        assertThrows(IllegalArgumentException.class, () -> balanceOf.newRequest(OWNER));
+    }
+
+    private static String json(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
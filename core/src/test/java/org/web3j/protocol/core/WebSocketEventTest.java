@@ -13,6 +13,7 @@
 package org.web3j.protocol.core;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 
@@ -28,8 +29,7 @@ import org.web3j.protocol.websocket.WebSocketListener;
 import org.web3j.protocol.websocket.WebSocketService;
 
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.ArgumentMatchers.matches;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -61,14 +61,14 @@ public class WebSocketEventTest {
 
         doAnswer(
                         invocation -> {
-                            String message = invocation.getArgument(0, String.class);
+                            byte[] message = invocation.getArgument(0, byte[].class);
                             int requestId = getRequestId(message);
 
                             sendSubscriptionConfirmation(requestId);
                             return null;
                         })
                 .when(webSocketClient)
-                .send(anyString());
+                .sendText(any(byte[].class));
 
         webSocketService.connect();
     }
@@ -78,8 +78,8 @@ public class WebSocketEventTest {
         web3j.newHeadsNotifications();
 
         verify(webSocketClient)
-                .send(
-                        matches(
+                .sendText(
+                        textMatching(
                                 "\\{\"jsonrpc\":\"2.0\",\"method\":\"eth_subscribe\","
                                         + "\"params\":\\[\"newHeads\"],\"id\":[0-9]{1,}}"));
     }
@@ -89,8 +89,8 @@ public class WebSocketEventTest {
         web3j.logsNotifications(new ArrayList<>(), new ArrayList<>());
 
         verify(webSocketClient)
-                .send(
-                        matches(
+                .sendText(
+                        textMatching(
                                 "\\{\"jsonrpc\":\"2.0\",\"method\":\"eth_subscribe\","
                                         + "\"params\":\\[\"logs\",\\{}],\"id\":[0-9]{1,}}"));
     }
@@ -100,14 +100,18 @@ public class WebSocketEventTest {
         web3j.logsNotifications(Collections.singletonList("0x1"), Collections.singletonList("0x2"));
 
         verify(webSocketClient)
-                .send(
-                        matches(
+                .sendText(
+                        textMatching(
                                 "\\{\"jsonrpc\":\"2.0\",\"method\":\"eth_subscribe\","
                                         + "\"params\":\\[\"logs\",\\{\"address\":\\[\"0x1\"],"
                                         + "\"topics\":\\[\"0x2\"]}],\"id\":[0-9]{1,}}"));
     }
 
-    private int getRequestId(String message) throws IOException {
+    private static byte[] textMatching(String regex) {
+        return argThat(payload -> new String(payload, StandardCharsets.UTF_8).matches(regex));
+    }
+
+    private int getRequestId(byte[] message) throws IOException {
         JsonNode messageJson = objectMapper.readTree(message);
         return messageJson.get("id").asInt();
     }
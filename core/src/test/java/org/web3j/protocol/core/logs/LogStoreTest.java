@@ -0,0 +1,219 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.core.logs;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.DefaultBlockParameterNumber;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.request.EthFilter;
+import org.web3j.protocol.core.methods.response.EthLog;
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.utils.Numeric;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class LogStoreTest {
+
+    private static final String TOKEN = "0x" + repeat("1", 40);
+    private static final String OTHER_TOKEN = "0x" + repeat("2", 40);
+    private static final String TRANSFER = "0x" + repeat("a", 64);
+    private static final String APPROVAL = "0x" + repeat("b", 64);
+
+    @TempDir Path directory;
+
+    private final List<Log> chainLogs = new ArrayList<>();
+    private final List<long[]> fetchedRanges = new ArrayList<>();
+
+    private Web3j web3j;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        Web3jService web3jService = mock(Web3jService.class);
+        web3j = Web3j.build(web3jService);
+        when(web3jService.send(any(Request.class), eq(EthLog.class)))
+                .thenAnswer(invocation -> getLogs(invocation.getArgument(0)));
+
+        // a log per block, several pages of records per segment
+        for (long block = 0; block < 1000; block++) {
+            chainLogs.add(
+                    createLog(
+                            block,
+                            block % 2 == 0 ? TOKEN : OTHER_TOKEN,
+                            block % 3 == 0 ? APPROVAL : TRANSFER,
+                            topic(block)));
+        }
+    }
+
+    @Test
+    public void testFetchesOnlyMissingRanges() throws IOException {
+        LogStore logStore = new LogStore(directory, Arrays.asList(TOKEN, OTHER_TOKEN), 300);
+
+        List<Log> logs = logStore.getLogs(web3j, filter(100, 199, TOKEN, OTHER_TOKEN));
+        assertEquals(chainLogs.subList(100, 200), logs);
+        assertEquals(1, fetchedRanges.size());
+
+        fetchedRanges.clear();
+        logs = logStore.getLogs(web3j, filter(0, 899, TOKEN, OTHER_TOKEN));
+        assertEquals(chainLogs.subList(0, 900), logs);
+        assertEquals(
+                Arrays.asList("0-99", "200-499", "500-799", "800-899"), describe(fetchedRanges));
+
+        fetchedRanges.clear();
+        logStore.getLogs(web3j, filter(150, 650, TOKEN));
+        assertTrue(fetchedRanges.isEmpty());
+        assertEquals(900, logStore.getLogCount());
+    }
+
+    @Test
+    public void testFiltersByAddressAndTopics() throws IOException {
+        LogStore logStore = new LogStore(directory, Arrays.asList(TOKEN, OTHER_TOKEN));
+        logStore.getLogs(web3j, filter(0, 999, TOKEN, OTHER_TOKEN));
+
+        EthFilter filter = filter(0, 999, TOKEN).addSingleTopic(APPROVAL);
+        assertEquals(
+                chainLogs.stream()
+                        .filter(log -> log.getAddress().equals(TOKEN))
+                        .filter(log -> log.getTopics().get(0).equals(APPROVAL))
+                        .collect(Collectors.toList()),
+                logStore.getStoredLogs(filter));
+
+        filter =
+                filter(0, 999, TOKEN, OTHER_TOKEN)
+                        .addNullTopic()
+                        .addOptionalTopics(topic(7), topic(8), topic(9));
+        assertEquals(
+                Arrays.asList(chainLogs.get(7), chainLogs.get(8), chainLogs.get(9)),
+                logStore.getStoredLogs(filter));
+
+        // an empty list of options matches any topic at its position
+        filter = filter(0, 999, TOKEN).addOptionalTopics().addSingleTopic(topic(10));
+        assertEquals(Collections.singletonList(chainLogs.get(10)), logStore.getStoredLogs(filter));
+
+        // more topic positions than the logs have
+        filter = filter(0, 999, TOKEN).addNullTopic().addNullTopic().addNullTopic();
+        assertTrue(logStore.getStoredLogs(filter).isEmpty());
+    }
+
+    @Test
+    public void testReopensStoredSegments() throws IOException {
+        new LogStore(directory, Collections.singletonList(TOKEN))
+                .getLogs(web3j, filter(0, 499, TOKEN));
+
+        fetchedRanges.clear();
+        LogStore logStore = new LogStore(directory, Collections.singletonList(TOKEN));
+        assertArrayEquals(new long[] {500, 999}, logStore.getMissingRanges(0, 999).get(0));
+        List<Log> logs = logStore.getStoredLogs(filter(0, 999, TOKEN));
+        assertEquals(250, logs.size());
+        assertTrue(fetchedRanges.isEmpty());
+
+        assertThrows(
+                IOException.class,
+                () -> new LogStore(directory, Collections.singletonList(OTHER_TOKEN)));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> logStore.getStoredLogs(filter(0, 999, OTHER_TOKEN)));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> logStore.append(400, 600, Collections.emptyList()));
+    }
+
+    private EthLog getLogs(Request<?, ?> request) {
+        EthFilter filter = (EthFilter) request.getParams().get(0);
+        long from = LogQuery.blockNumber(filter.getFromBlock());
+        long to = LogQuery.blockNumber(filter.getToBlock());
+        fetchedRanges.add(new long[] {from, to});
+
+        List<EthLog.LogResult> results = new ArrayList<>();
+        for (Log log : chainLogs) {
+            long block = log.getBlockNumber().longValue();
+            if (block >= from && block <= to && filter.getAddress().contains(log.getAddress())) {
+                results.add(toLogObject(log));
+            }
+        }
+        EthLog ethLog = new EthLog();
+        ethLog.setResult(results);
+        return ethLog;
+    }
+
+    private static Log createLog(long block, String address, String... topics) {
+        return new Log(
+                false,
+                "0x0",
+                "0x1",
+                topic(block + 1000),
+                topic(block + 2000),
+                Numeric.encodeQuantity(BigInteger.valueOf(block)),
+                address,
+                Numeric.toHexString(BigInteger.valueOf(block).toByteArray()),
+                null,
+                Arrays.asList(topics));
+    }
+
+    private static EthLog.LogObject toLogObject(Log log) {
+        return new EthLog.LogObject(
+                log.isRemoved(),
+                log.getLogIndexRaw(),
+                log.getTransactionIndexRaw(),
+                log.getTransactionHash(),
+                log.getBlockHash(),
+                log.getBlockNumberRaw(),
+                log.getAddress(),
+                log.getData(),
+                log.getType(),
+                log.getTopics());
+    }
+
+    private static EthFilter filter(long from, long to, String... addresses) {
+        return new EthFilter(
+                new DefaultBlockParameterNumber(from),
+                new DefaultBlockParameterNumber(to),
+                Arrays.asList(addresses));
+    }
+
+    private static String topic(long value) {
+        return Numeric.toHexStringWithPrefixZeroPadded(BigInteger.valueOf(value), 64);
+    }
+
+    private static List<String> describe(List<long[]> ranges) {
+        return ranges.stream().map(r -> r[0] + "-" + r[1]).collect(Collectors.toList());
+    }
+
+    private static String repeat(String value, int count) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            builder.append(value);
+        }
+        return builder.toString();
+    }
+}
@@ -12,26 +12,47 @@
  */
 package org.web3j.protocol.http;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.OkHttpClient;
 import okhttp3.Protocol;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
+import okio.Buffer;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
+import org.web3j.protocol.ObjectMapperFactory;
+import org.web3j.protocol.RequestMetrics;
+import org.web3j.protocol.ServiceInstrumentation;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
 import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.EthBlock;
 import org.web3j.protocol.core.methods.response.EthBlockNumber;
 import org.web3j.protocol.core.methods.response.EthSubscribe;
 import org.web3j.protocol.exceptions.ClientConnectionException;
 import org.web3j.protocol.websocket.events.NewHeadsNotification;
+import org.web3j.utils.ExecutionConfig;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -107,6 +128,444 @@ public class HttpServiceTest {
         fail("No exception");
     }
 
+    @Test
+    public void sendAsyncUsesAsynchronousCall() throws Exception {
+        HttpService mockedHttpService =
+                mockAsyncHttpService(200, "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x4b7\"}");
+
+        Request<String, EthBlockNumber> request =
+                new Request<>(
+                        "eth_blockNumber",
+                        Collections.emptyList(),
+                        mockedHttpService,
+                        EthBlockNumber.class);
+
+        EthBlockNumber ethBlockNumber = request.sendAsync().get();
+        assertEquals(ethBlockNumber.getBlockNumber().longValue(), 1207L);
+    }
+
+    @Test
+    public void sendAsyncHttpWebException() {
+        String content = "400 error";
+        HttpService mockedHttpService = mockAsyncHttpService(400, content);
+
+        Request<String, EthBlockNumber> request =
+                new Request<>(
+                        "eth_blockNumber",
+                        Collections.emptyList(),
+                        mockedHttpService,
+                        EthBlockNumber.class);
+
+        CompletableFuture<EthBlockNumber> future = request.sendAsync();
+        ExecutionException e = assertThrows(ExecutionException.class, future::get);
+        assertTrue(e.getCause() instanceof ClientConnectionException);
+        assertEquals(e.getCause().getMessage(), "Invalid response received: 400; " + content);
+    }
+
+    @Test
+    public void sendBatchAsyncUsesAsynchronousCall() throws Exception {
+        HttpService mockedHttpService =
+                mockAsyncHttpService(
+                        200,
+                        "[{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x4b7\"},"
+                                + "{\"jsonrpc\":\"2.0\",\"id\":2,\"result\":\"0x4b8\"}]");
+
+        BatchRequest batchRequest =
+                new BatchRequest(mockedHttpService)
+                        .add(
+                                new Request<>(
+                                        "eth_blockNumber",
+                                        Collections.emptyList(),
+                                        mockedHttpService,
+                                        EthBlockNumber.class))
+                        .add(
+                                new Request<>(
+                                        "eth_blockNumber",
+                                        Collections.emptyList(),
+                                        mockedHttpService,
+                                        EthBlockNumber.class));
+
+        BatchResponse batchResponse = batchRequest.sendAsync().get();
+        assertEquals(batchResponse.getResponses().size(), 2);
+        assertEquals(
+                ((EthBlockNumber) batchResponse.getResponses().get(1)).getBlockNumber().longValue(),
+                1208L);
+    }
+
+    private static HttpService mockAsyncHttpService(int code, String content) {
+        Response response =
+                new Response.Builder()
+                        .code(code)
+                        .message("")
+                        .body(ResponseBody.create(content, HttpService.JSON_MEDIA_TYPE))
+                        .request(new okhttp3.Request.Builder().url(HttpService.DEFAULT_URL).build())
+                        .protocol(Protocol.HTTP_1_1)
+                        .build();
+
+        OkHttpClient httpClient = Mockito.mock(OkHttpClient.class);
+        Mockito.when(httpClient.newCall(Mockito.any()))
+                .thenAnswer(
+                        invocation -> {
+                            Call call = Mockito.mock(Call.class);
+                            Mockito.when(call.execute())
+                                    .thenThrow(new AssertionError("Blocking call executed"));
+                            Mockito.doAnswer(
+                                            enqueue -> {
+                                                Callback callback = enqueue.getArgument(0);
+                                                callback.onResponse(call, response);
+                                                return null;
+                                            })
+                                    .when(call)
+                                    .enqueue(Mockito.any());
+
+                            return call;
+                        });
+        return new HttpService(httpClient);
+    }
+
+    @Test
+    public void sendWritesRequestAsUtf8Body() throws Exception {
+        OkHttpClient httpClient =
+                mockHttpClient(response(200, "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x1\"}"));
+        HttpService mockedHttpService = new HttpService(httpClient);
+
+        Request<String, EthBlockNumber> request =
+                new Request<>(
+                        "eth_call",
+                        Collections.singletonList("\u00fc\u20ac"),
+                        mockedHttpService,
+                        EthBlockNumber.class);
+        request.send();
+
+        ArgumentCaptor<okhttp3.Request> httpRequest =
+                ArgumentCaptor.forClass(okhttp3.Request.class);
+        Mockito.verify(httpClient).newCall(httpRequest.capture());
+        Buffer body = new Buffer();
+        httpRequest.getValue().body().writeTo(body);
+
+        byte[] expected = ObjectMapperFactory.getObjectMapper().writeValueAsBytes(request);
+        assertEquals(httpRequest.getValue().body().contentLength(), expected.length);
+        assertArrayEquals(body.readByteArray(), expected);
+    }
+
+    @Test
+    public void rateLimitsClassifyUtf8Payload() {
+        byte[] batch =
+                ("[{\"method\":\"eth_call\",\"params\":[\"\u20ac\"]},"
+                                + "{\"method\":\"eth_sendRawTransaction\",\"params\":[]}]")
+                        .getBytes(StandardCharsets.UTF_8);
+
+        assertEquals(RateLimits.permitsOf(batch), 2);
+        assertEquals(RateLimits.priorityOf(batch), RateLimiter.Priority.WRITE);
+        assertEquals(
+                RateLimits.priorityOf("{\"method\":\"eth_call\"}".getBytes(StandardCharsets.UTF_8)),
+                RateLimiter.Priority.READ);
+    }
+
+    @Test
+    public void sendRetriesRateLimitedRequest() throws Exception {
+        OkHttpClient httpClient =
+                mockHttpClient(
+                        response(429, "Too many requests"),
+                        response(200, "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x4b7\"}"));
+        HttpService mockedHttpService = new HttpService(httpClient);
+        mockedHttpService.setRateLimiter(new RateLimiter(100));
+
+        Request<String, EthBlockNumber> request =
+                new Request<>(
+                        "eth_blockNumber",
+                        Collections.emptyList(),
+                        mockedHttpService,
+                        EthBlockNumber.class);
+
+        assertEquals(request.send().getBlockNumber().longValue(), 1207L);
+        Mockito.verify(httpClient, Mockito.times(2)).newCall(Mockito.any());
+    }
+
+    @Test
+    public void sendAsyncRetriesLimitExceededError() throws Exception {
+        OkHttpClient httpClient =
+                mockHttpClient(
+                        response(
+                                200,
+                                "{\"jsonrpc\":\"2.0\",\"id\":1,\"error\":"
+                                        + "{\"code\":-32005,\"message\":\"limit exceeded\"}}"),
+                        response(200, "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x4b7\"}"));
+        HttpService mockedHttpService = new HttpService(httpClient);
+        mockedHttpService.setRateLimiter(new RateLimiter(100));
+
+        Request<String, EthBlockNumber> request =
+                new Request<>(
+                        "eth_blockNumber",
+                        Collections.emptyList(),
+                        mockedHttpService,
+                        EthBlockNumber.class);
+
+        assertEquals(request.sendAsync().get().getBlockNumber().longValue(), 1207L);
+        Mockito.verify(httpClient, Mockito.times(2)).newCall(Mockito.any());
+    }
+
+    @Test
+    public void sendRetriesLimitExceededErrorWithErrorStatus() throws Exception {
+        OkHttpClient httpClient =
+                mockHttpClient(
+                        response(
+                                503,
+                                "{\"jsonrpc\":\"2.0\",\"id\":1,\"error\":"
+                                        + "{\"code\":-32005,\"message\":\"limit exceeded\"}}"),
+                        response(200, "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x4b7\"}"));
+        HttpService mockedHttpService = new HttpService(httpClient);
+        mockedHttpService.setRateLimiter(new RateLimiter(100));
+
+        Request<String, EthBlockNumber> request =
+                new Request<>(
+                        "eth_blockNumber",
+                        Collections.emptyList(),
+                        mockedHttpService,
+                        EthBlockNumber.class);
+
+        assertEquals(request.send().getBlockNumber().longValue(), 1207L);
+        Mockito.verify(httpClient, Mockito.times(2)).newCall(Mockito.any());
+    }
+
+    @Test
+    public void sendDoesNotRetryBatchWithSucceededRequests() throws Exception {
+        OkHttpClient httpClient =
+                mockHttpClient(
+                        response(
+                                200,
+                                "[{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x4b7\"},"
+                                        + "{\"jsonrpc\":\"2.0\",\"id\":2,\"error\":"
+                                        + "{\"code\":-32005,\"message\":\"limit exceeded\"}}]"));
+        HttpService mockedHttpService = new HttpService(httpClient);
+        mockedHttpService.setRateLimiter(new RateLimiter(100));
+
+        BatchResponse response =
+                new BatchRequest(mockedHttpService)
+                        .add(
+                                new Request<>(
+                                        "eth_blockNumber",
+                                        Collections.emptyList(),
+                                        mockedHttpService,
+                                        EthBlockNumber.class))
+                        .add(
+                                new Request<>(
+                                        "eth_blockNumber",
+                                        Collections.emptyList(),
+                                        mockedHttpService,
+                                        EthBlockNumber.class))
+                        .send();
+
+        assertEquals(
+                ((EthBlockNumber) response.getResponses().get(0)).getBlockNumber().longValue(),
+                1207L);
+        assertTrue(response.getResponses().get(1).hasError());
+        Mockito.verify(httpClient, Mockito.times(1)).newCall(Mockito.any());
+    }
+
+    @Test
+    public void sendDoesNotRetryResultMentioningLimitExceededCode() throws Exception {
+        OkHttpClient httpClient =
+                mockHttpClient(
+                        response(
+                                200,
+                                "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":"
+                                        + "{\"code\":-32005},\"error\":null}"));
+        HttpService mockedHttpService = new HttpService(httpClient);
+        mockedHttpService.setRateLimiter(new RateLimiter(100));
+
+        new Request<>(
+                        "eth_getBlockByNumber",
+                        Collections.emptyList(),
+                        mockedHttpService,
+                        EthBlock.class)
+                .send();
+
+        Mockito.verify(httpClient, Mockito.times(1)).newCall(Mockito.any());
+    }
+
+    @Test
+    public void sendReturnsRateLimitedResponseOnceRetriesAreExhausted() {
+        OkHttpClient httpClient = mockHttpClient(response(429, "Too many requests"));
+        HttpService mockedHttpService = new HttpService(httpClient);
+        mockedHttpService.setRateLimiter(
+                new RateLimiter(100, 100, 2, ExecutionConfig.sharedScheduler()));
+
+        Request<String, EthBlockNumber> request =
+                new Request<>(
+                        "eth_blockNumber",
+                        Collections.emptyList(),
+                        mockedHttpService,
+                        EthBlockNumber.class);
+
+        ClientConnectionException e = assertThrows(ClientConnectionException.class, request::send);
+        assertEquals(e.getMessage(), "Invalid response received: 429; Too many requests");
+        Mockito.verify(httpClient, Mockito.times(3)).newCall(Mockito.any());
+    }
+
+    private static Response response(int code, String content) {
+        // a zero Retry-After keeps the backoff out of the tests
+        return new Response.Builder()
+                .code(code)
+                .message("")
+                .header("Retry-After", "0")
+                .body(ResponseBody.create(content, HttpService.JSON_MEDIA_TYPE))
+                .request(new okhttp3.Request.Builder().url(HttpService.DEFAULT_URL).build())
+                .protocol(Protocol.HTTP_1_1)
+                .build();
+    }
+
+    /** Mock a client returning the given responses in turn, repeating the last one. */
+    private static OkHttpClient mockHttpClient(Response... responses) {
+        AtomicInteger calls = new AtomicInteger();
+        OkHttpClient httpClient = Mockito.mock(OkHttpClient.class);
+        Mockito.when(httpClient.newCall(Mockito.any()))
+                .thenAnswer(
+                        invocation -> {
+                            Response response =
+                                    responses[
+                                            Math.min(
+                                                    calls.getAndIncrement(), responses.length - 1)];
+                            Call call = Mockito.mock(Call.class);
+                            Mockito.when(call.execute()).thenReturn(response);
+                            Mockito.doAnswer(
+                                            enqueue -> {
+                                                Callback callback = enqueue.getArgument(0);
+                                                callback.onResponse(call, response);
+                                                return null;
+                                            })
+                                    .when(call)
+                                    .enqueue(Mockito.any());
+
+                            return call;
+                        });
+        return httpClient;
+    }
+
+    @Test
+    public void sendReportsRequestMetrics() throws Exception {
+        String content =
+                "{\"jsonrpc\":\"2.0\",\"id\":1,\"error\":"
+                        + "{\"code\":-32000,\"message\":\"header not found\"}}";
+        HttpService mockedHttpService = new HttpService(mockHttpClient(response(200, content)));
+        RecordingInstrumentation instrumentation = new RecordingInstrumentation();
+        mockedHttpService.setInstrumentation(instrumentation);
+
+        Request<String, EthBlockNumber> request =
+                new Request<>(
+                        "eth_blockNumber",
+                        Collections.emptyList(),
+                        mockedHttpService,
+                        EthBlockNumber.class);
+        request.send();
+
+        assertEquals(instrumentation.started.size(), 1);
+        assertEquals(instrumentation.completed.size(), 1);
+        RequestMetrics metrics = instrumentation.completed.get(0);
+        assertEquals(metrics.getMethod(), "eth_blockNumber");
+        assertFalse(metrics.isBatch());
+        assertEquals(metrics.getBatchSize(), 1);
+        assertEquals(
+                metrics.getRequestBytes(),
+                ObjectMapperFactory.getObjectMapper().writeValueAsString(request).length());
+        assertEquals(metrics.getResponseBytes(), content.length());
+        assertEquals(metrics.getErrorCodes(), Collections.singletonList(-32000));
+        assertFalse(metrics.isSuccessful());
+        assertTrue(metrics.getNetworkNanos() >= 0);
+        assertTrue(metrics.getParseNanos() >= 0);
+        assertEquals(
+                metrics.getTotalNanos(),
+                metrics.getSerializeNanos() + metrics.getNetworkNanos() + metrics.getParseNanos());
+    }
+
+    @Test
+    public void sendAsyncReportsFailedRequest() {
+        HttpService mockedHttpService = mockAsyncHttpService(400, "400 error");
+        RecordingInstrumentation instrumentation = new RecordingInstrumentation();
+        mockedHttpService.setInstrumentation(instrumentation);
+
+        Request<String, EthBlockNumber> request =
+                new Request<>(
+                        "eth_blockNumber",
+                        Collections.emptyList(),
+                        mockedHttpService,
+                        EthBlockNumber.class);
+        assertThrows(ExecutionException.class, () -> request.sendAsync().get());
+
+        assertEquals(instrumentation.completed.size(), 1);
+        RequestMetrics metrics = instrumentation.completed.get(0);
+        assertTrue(metrics.getException() instanceof ClientConnectionException);
+        assertEquals(metrics.getResponseBytes(), -1);
+        assertTrue(metrics.getErrorCodes().isEmpty());
+    }
+
+    @Test
+    public void sendBatchAsyncReportsBatchMetrics() throws Exception {
+        String content =
+                "[{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x4b7\"},"
+                        + "{\"jsonrpc\":\"2.0\",\"id\":2,\"error\":"
+                        + "{\"code\":-32601,\"message\":\"method not found\"}}]";
+        HttpService mockedHttpService = mockAsyncHttpService(200, content);
+        RecordingInstrumentation instrumentation = new RecordingInstrumentation();
+        mockedHttpService.setInstrumentation(instrumentation);
+
+        new BatchRequest(mockedHttpService)
+                .add(
+                        new Request<>(
+                                "eth_blockNumber",
+                                Collections.emptyList(),
+                                mockedHttpService,
+                                EthBlockNumber.class))
+                .add(
+                        new Request<>(
+                                "eth_unknown",
+                                Collections.emptyList(),
+                                mockedHttpService,
+                                EthBlockNumber.class))
+                .sendAsync()
+                .get();
+
+        assertEquals(instrumentation.completed.size(), 1);
+        RequestMetrics metrics = instrumentation.completed.get(0);
+        assertEquals(metrics.getMethod(), RequestMetrics.BATCH_METHOD);
+        assertEquals(metrics.getMethods(), Arrays.asList("eth_blockNumber", "eth_unknown"));
+        assertEquals(metrics.getBatchSize(), 2);
+        assertEquals(metrics.getResponseBytes(), content.length());
+        assertEquals(metrics.getErrorCodes(), Collections.singletonList(-32601));
+    }
+
+    @Test
+    public void requestsWithoutInstrumentationShareDisabledMetrics() {
+        Request<String, EthBlockNumber> request =
+                new Request<>(
+                        "eth_blockNumber",
+                        Collections.emptyList(),
+                        httpService,
+                        EthBlockNumber.class);
+        RequestMetrics metrics = RequestMetrics.start(ServiceInstrumentation.NONE, request);
+        InputStream response = new ByteArrayInputStream(new byte[] {'{', '}'});
+
+        assertSame(metrics, RequestMetrics.start(ServiceInstrumentation.NONE, request));
+        assertSame(metrics.countResponse(response), response);
+        metrics.markSerialized(new byte[] {'{', '}'});
+        assertEquals(metrics.getRequestBytes(), -1);
+    }
+
+    private static class RecordingInstrumentation implements ServiceInstrumentation {
+        private final List<RequestMetrics> started = new ArrayList<>();
+        private final List<RequestMetrics> completed = new ArrayList<>();
+
+        @Override
+        public void requestStarted(RequestMetrics metrics) {
+            started.add(metrics);
+        }
+
+        @Override
+        public void requestCompleted(RequestMetrics metrics) {
+            completed.add(metrics);
+        }
+    }
+
     @Test
     public void subscriptionNotSupported() {
         Request<Object, EthSubscribe> subscribeRequest =
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2021 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.http;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final Map<Runnable, Long> scheduled = new LinkedHashMap<>();
+
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    public void setUp() {
+        ScheduledExecutorService scheduler = Mockito.mock(ScheduledExecutorService.class);
+        Mockito.when(
+                        scheduler.schedule(
+                                Mockito.any(Runnable.class), Mockito.anyLong(), Mockito.any()))
+                .thenAnswer(
+                        invocation -> {
+                            long delay = invocation.getArgument(1);
+                            TimeUnit unit = invocation.getArgument(2);
+                            scheduled.put(
+                                    invocation.getArgument(0), clock.get() + unit.toNanos(delay));
+                            return Mockito.mock(ScheduledFuture.class);
+                        });
+
+        rateLimiter = new RateLimiter(10, 2, 3, scheduler, clock::get);
+    }
+
+    @Test
+    public void testBurstIsAdmittedImmediately() {
+        assertTrue(acquire(RateLimiter.Priority.READ, 1).isDone());
+        assertTrue(acquire(RateLimiter.Priority.READ, 1).isDone());
+
+        CompletableFuture<Void> third = acquire(RateLimiter.Priority.READ, 1);
+        assertFalse(third.isDone());
+        assertEquals(rateLimiter.getQueueLength(), 1);
+
+        advance(TimeUnit.MILLISECONDS.toNanos(100));
+        assertTrue(third.isDone());
+    }
+
+    @Test
+    public void testWritesAreAdmittedBeforeReads() {
+        acquire(RateLimiter.Priority.READ, 2);
+
+        CompletableFuture<Void> read = acquire(RateLimiter.Priority.READ, 1);
+        CompletableFuture<Void> write = acquire(RateLimiter.Priority.WRITE, 1);
+
+        advance(TimeUnit.MILLISECONDS.toNanos(100));
+        assertTrue(write.isDone());
+        assertFalse(read.isDone());
+
+        advance(TimeUnit.MILLISECONDS.toNanos(100));
+        assertTrue(read.isDone());
+    }
+
+    @Test
+    public void testBatchIsAdmittedAsAWhole() {
+        acquire(RateLimiter.Priority.READ, 1);
+
+        CompletableFuture<Void> batch = acquire(RateLimiter.Priority.READ, 2);
+        assertFalse(batch.isDone());
+
+        advance(TimeUnit.MILLISECONDS.toNanos(100));
+        assertTrue(batch.isDone());
+        assertEquals(rateLimiter.getAvailablePermits(), 0.0, 1e-9);
+    }
+
+    @Test
+    public void testCancelledRequestIsWithdrawn() {
+        acquire(RateLimiter.Priority.READ, 2);
+
+        CompletableFuture<Void> cancelled = acquire(RateLimiter.Priority.READ, 1);
+        CompletableFuture<Void> next = acquire(RateLimiter.Priority.READ, 1);
+        cancelled.cancel(false);
+
+        advance(TimeUnit.MILLISECONDS.toNanos(100));
+        assertTrue(next.isDone());
+    }
+
+    @Test
+    public void testBackoffSuspendsAdmission() {
+        rateLimiter.backoff(Duration.ofSeconds(5));
+
+        CompletableFuture<Void> request = acquire(RateLimiter.Priority.WRITE, 1);
+        advance(TimeUnit.SECONDS.toNanos(4));
+        assertFalse(request.isDone());
+
+        advance(TimeUnit.SECONDS.toNanos(1));
+        assertTrue(request.isDone());
+    }
+
+    @Test
+    public void testBackoffIsExponential() {
+        rateLimiter.backoff(null);
+        rateLimiter.backoff(null);
+
+        CompletableFuture<Void> request = acquire(RateLimiter.Priority.READ, 1);
+        advance(TimeUnit.MILLISECONDS.toNanos(1999));
+        assertFalse(request.isDone());
+
+        advance(TimeUnit.MILLISECONDS.toNanos(1));
+        assertTrue(request.isDone());
+
+        rateLimiter.onSuccess();
+        rateLimiter.backoff(null);
+
+        CompletableFuture<Void> next = acquire(RateLimiter.Priority.READ, 1);
+        advance(TimeUnit.SECONDS.toNanos(1));
+        assertTrue(next.isDone());
+    }
+
+    @Test
+    public void testUpdateCapsPermitsToRemainingQuota() {
+        rateLimiter.update(1, Instant.now().plusSeconds(60));
+
+        assertTrue(acquire(RateLimiter.Priority.READ, 1).isDone());
+        assertFalse(acquire(RateLimiter.Priority.READ, 1).isDone());
+    }
+
+    @Test
+    public void testUpdatePausesUntilWindowReset() {
+        rateLimiter.update(0, Instant.now().plusSeconds(30));
+
+        CompletableFuture<Void> request = acquire(RateLimiter.Priority.READ, 1);
+        advance(TimeUnit.SECONDS.toNanos(20));
+        assertFalse(request.isDone());
+
+        advance(TimeUnit.SECONDS.toNanos(10));
+        assertTrue(request.isDone());
+    }
+
+    private CompletableFuture<Void> acquire(RateLimiter.Priority priority, int permits) {
+        return rateLimiter.acquireAsync(priority, permits);
+    }
+
+    /** Advance the clock and run the drains which have become due. */
+    private void advance(long nanos) {
+        long now = clock.addAndGet(nanos);
+        List<Runnable> due = new ArrayList<>();
+        scheduled
+                .entrySet()
+                .removeIf(
+                        entry -> {
+                            if (entry.getValue() <= now) {
+                                due.add(entry.getKey());
+                                return true;
+                            }
+                            return false;
+                        });
+        due.forEach(Runnable::run);
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.rx;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.utils.Numeric;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ChainTrackerTest {
+
+    private final Map<Long, EthBlock.Block> canonical = new HashMap<>();
+    private final Map<String, EthBlock.Block> blocksByHash = new HashMap<>();
+
+    private Web3jService web3jService;
+    private ChainTracker chainTracker;
+    private int batches;
+    private boolean failing;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        web3jService = mock(Web3jService.class);
+        when(web3jService.send(any(Request.class), eq(EthBlock.class)))
+                .thenAnswer(invocation -> getBlock(invocation.getArgument(0)));
+        when(web3jService.sendBatch(any(BatchRequest.class)))
+                .thenAnswer(
+                        invocation -> {
+                            batches++;
+                            BatchRequest batchRequest = invocation.getArgument(0);
+                            List<EthBlock> responses = new ArrayList<>();
+                            for (Request<?, ?> request : batchRequest.getRequests()) {
+                                responses.add(getBlock(request));
+                            }
+                            return new BatchResponse(batchRequest.getRequests(), responses);
+                        });
+
+        Web3j web3j = Web3j.build(web3jService, 1000, Executors.newSingleThreadScheduledExecutor());
+        chainTracker = new ChainTracker(web3j, 8, 2, 4, false);
+    }
+
+    @Test
+    public void testFollowsChainAndFillsGaps() throws IOException {
+        extend("a", 10, 10);
+        assertEquals(events("ADDED 10"), describe(chainTracker.update()));
+        assertTrue(chainTracker.update().isEmpty());
+
+        extend("a", 11, 16);
+        batches = 0;
+        assertEquals(
+                events(
+                        "ADDED 11",
+                        "ADDED 12",
+                        "ADDED 13",
+                        "ADDED 14",
+                        "ADDED 15",
+                        "ADDED 16",
+                        "CONFIRMED 10",
+                        "CONFIRMED 11",
+                        "CONFIRMED 12",
+                        "CONFIRMED 13",
+                        "CONFIRMED 14"),
+                describe(chainTracker.update()));
+        // heights 11 to 15 fetched in batches of 4
+        assertEquals(2, batches);
+        assertEquals(7, chainTracker.getChain().size());
+    }
+
+    @Test
+    public void testReorg() throws IOException {
+        extend("a", 10, 13);
+        chainTracker.update(canonical.get(10L));
+        chainTracker.update();
+
+        extend("b", 12, 14);
+        assertEquals(
+                events(
+                        "REMOVED a13",
+                        "REMOVED a12",
+                        "ADDED b12",
+                        "ADDED b13",
+                        "ADDED b14",
+                        "CONFIRMED b12"),
+                chainTracker.update().stream()
+                        .map(ChainTrackerTest::describeWithBranch)
+                        .collect(Collectors.toList()));
+        assertEquals(
+                events("a10", "a11", "b12", "b13", "b14"),
+                chainTracker.getChain().stream()
+                        .map(ChainTrackerTest::branch)
+                        .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testReorgDeeperThanHistory() throws IOException {
+        extend("a", 1, 10);
+        chainTracker.update(canonical.get(1L));
+        chainTracker.update();
+        assertEquals(8, chainTracker.getChain().size());
+
+        extend("b", 2, 11);
+        List<BlockEvent> events = chainTracker.update();
+        assertEquals(8, events.stream().filter(BlockEvent::isRemoved).count());
+        assertEquals(
+                events("b3", "b4", "b5", "b6", "b7", "b8", "b9"),
+                events.stream()
+                        .filter(BlockEvent::isConfirmed)
+                        .map(event -> branch(event.getBlock()))
+                        .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testFailedUpdateLeavesChainUnchanged() throws IOException {
+        extend("a", 10, 11);
+        chainTracker.update(canonical.get(10L));
+        List<EthBlock.Block> chain = chainTracker.getChain();
+
+        extend("a", 12, 14);
+        failing = true;
+        assertThrows(IOException.class, () -> chainTracker.update());
+        assertEquals(chain, chainTracker.getChain());
+
+        failing = false;
+        assertEquals(
+                events(
+                        "ADDED 11",
+                        "ADDED 12",
+                        "ADDED 13",
+                        "ADDED 14",
+                        "CONFIRMED 10",
+                        "CONFIRMED 11",
+                        "CONFIRMED 12"),
+                describe(chainTracker.update()));
+    }
+
+    /** Make the given heights canonical on a branch, linked to the canonical parent. */
+    private void extend(String branch, long from, long to) {
+        for (long number = from; number <= to; number++) {
+            EthBlock.Block block = new EthBlock.Block();
+            block.setNumber(Numeric.encodeQuantity(BigInteger.valueOf(number)));
+            block.setHash(hash(branch, number));
+            EthBlock.Block parent = canonical.get(number - 1);
+            block.setParentHash(parent != null ? parent.getHash() : hash("g", number - 1));
+            canonical.put(number, block);
+            blocksByHash.put(block.getHash(), block);
+        }
+        canonical.keySet().removeIf(number -> number > to);
+    }
+
+    private EthBlock getBlock(Request<?, ?> request) throws IOException {
+        String param = (String) request.getParams().get(0);
+        EthBlock.Block block;
+        if (request.getMethod().equals("eth_getBlockByHash")) {
+            block = blocksByHash.get(param);
+        } else if (failing) {
+            throw new IOException("fail");
+        } else if (param.equals("latest")) {
+            block = canonical.get(canonical.keySet().stream().max(Long::compare).get());
+        } else {
+            block = canonical.get(Numeric.decodeQuantity(param).longValue());
+        }
+        EthBlock ethBlock = new EthBlock();
+        ethBlock.setResult(block);
+        return ethBlock;
+    }
+
+    private static String hash(String branch, long number) {
+        byte[] bytes = new byte[32];
+        bytes[0] = (byte) branch.charAt(0);
+        bytes[31] = (byte) number;
+        return Numeric.toHexString(bytes);
+    }
+
+    private static String branch(EthBlock.Block block) {
+        return (char) Numeric.hexStringToByteArray(block.getHash())[0] + "" + block.getNumber();
+    }
+
+    private static List<String> describe(List<BlockEvent> events) {
+        return events.stream()
+                .map(event -> event.getType() + " " + event.getBlock().getNumber())
+                .collect(Collectors.toList());
+    }
+
+    private static String describeWithBranch(BlockEvent event) {
+        return event.getType() + " " + branch(event.getBlock());
+    }
+
+    private static List<String> events(String... events) {
+        return Arrays.asList(events);
+    }
+}
@@ -16,7 +16,10 @@ import java.io.IOException;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -32,14 +35,21 @@ import org.mockito.stubbing.OngoingStubbing;
 import org.web3j.protocol.ObjectMapperFactory;
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
 import org.web3j.protocol.core.DefaultBlockParameter;
 import org.web3j.protocol.core.DefaultBlockParameterNumber;
 import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
 import org.web3j.protocol.core.methods.response.EthBlock;
 import org.web3j.protocol.core.methods.response.EthFilter;
 import org.web3j.protocol.core.methods.response.EthLog;
+import org.web3j.protocol.core.methods.response.EthTransaction;
 import org.web3j.protocol.core.methods.response.EthUninstallFilter;
 import org.web3j.protocol.core.methods.response.Transaction;
+import org.web3j.protocol.exceptions.JsonRpcErrorException;
+import org.web3j.protocol.websocket.events.PendingTransactionNotification;
+import org.web3j.protocol.websocket.events.PendingTransactionObjectNotification;
 import org.web3j.utils.Numeric;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -51,6 +61,8 @@ import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class JsonRpc2_0RxTest {
@@ -362,6 +374,12 @@ public class JsonRpc2_0RxTest {
         assertTrue(subscription.isDisposed());
     }
 
+    private EthTransaction createEthTransaction(String transactionHash) {
+        EthTransaction ethTransaction = new EthTransaction();
+        ethTransaction.setResult(createTransaction(transactionHash));
+        return ethTransaction;
+    }
+
     private EthBlock createBlock(int number) {
         EthBlock ethBlock = new EthBlock();
         EthBlock.Block block = new EthBlock.Block();
@@ -392,6 +410,123 @@ public class JsonRpc2_0RxTest {
         return transaction;
     }
 
+    @Test
+    public void testPendingTransactionFlowableFetchesHashesInBatches() throws Exception {
+        String hash1 = "0x31c2342b1e0b8ffda1507fbffddf213c4b3c1e819ff6a84b943faabb0ebf2403";
+        String hash2 = "0xccc0d2e07c1febcaca0c3341c4e1268204b06fefa4bb0c8c0d693d8e581c82da";
+        EthFilter ethFilter =
+                objectMapper.readValue(
+                        "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x1\"}", EthFilter.class);
+        // every poll returns the same hashes, which are only fetched once
+        EthLog ethLog =
+                objectMapper.readValue(
+                        "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":[\""
+                                + hash1
+                                + "\",\""
+                                + hash2
+                                + "\",\""
+                                + hash1
+                                + "\"]}",
+                        EthLog.class);
+        when(web3jService.subscribe(any(Request.class), eq("eth_unsubscribe"), any()))
+                .thenThrow(new UnsupportedOperationException("Subscriptions are not supported"));
+        when(web3jService.send(any(Request.class), eq(EthFilter.class))).thenReturn(ethFilter);
+        when(web3jService.send(any(Request.class), eq(EthLog.class))).thenReturn(ethLog);
+
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        when(web3jService.sendBatchAsync(any(BatchRequest.class)))
+                .thenAnswer(
+                        invocation -> {
+                            BatchRequest batchRequest = invocation.getArgument(0);
+                            batchSizes.add(batchRequest.getRequests().size());
+                            List<EthTransaction> responses = new ArrayList<>();
+                            for (Request<?, ?> request : batchRequest.getRequests()) {
+                                responses.add(
+                                        createEthTransaction((String) request.getParams().get(0)));
+                            }
+                            return CompletableFuture.completedFuture(
+                                    new BatchResponse(batchRequest.getRequests(), responses));
+                        });
+
+        JsonRpc2_0Rx rx = new JsonRpc2_0Rx(web3j, Executors.newSingleThreadScheduledExecutor());
+        List<String> hashes =
+                rx.pendingTransactionFlowable(50, 100, 2, 4)
+                        .take(2)
+                        .map(Transaction::getHash)
+                        .toList()
+                        .blockingGet();
+
+        assertEquals(hashes, Arrays.asList(hash1, hash2));
+        assertEquals(batchSizes, Collections.singletonList(2));
+    }
+
+    @Test
+    public void testPendingTransactionFlowableUsesFullTransactionSubscription() throws Exception {
+        PendingTransactionObjectNotification notification =
+                objectMapper.readValue(
+                        "{\"jsonrpc\":\"2.0\",\"method\":\"eth_subscription\",\"params\":"
+                                + "{\"subscription\":\"0x1\",\"result\":{\"hash\":\"0x1234\"}}}",
+                        PendingTransactionObjectNotification.class);
+        when(web3jService.subscribe(
+                        any(Request.class),
+                        eq("eth_unsubscribe"),
+                        eq(PendingTransactionObjectNotification.class)))
+                .thenReturn(Flowable.just(notification, notification));
+
+        List<Transaction> transactions = web3j.pendingTransactionFlowable().toList().blockingGet();
+
+        assertEquals(transactions.size(), 1);
+        assertEquals(transactions.get(0).getHash(), "0x1234");
+        verify(web3jService, never()).sendBatchAsync(any(BatchRequest.class));
+    }
+
+    @Test
+    public void testPendingTransactionFlowableFallsBackOnUnsupportedSubscription() {
+        when(web3jService.subscribe(
+                        any(Request.class),
+                        eq("eth_unsubscribe"),
+                        eq(PendingTransactionObjectNotification.class)))
+                .thenReturn(
+                        Flowable.error(
+                                new IOException(
+                                        "Subscription request failed with error: invalid params",
+                                        new JsonRpcErrorException(
+                                                new Response.Error(
+                                                        JsonRpcErrorException.INVALID_PARAMS,
+                                                        "too many arguments")))));
+        when(web3jService.subscribe(
+                        any(Request.class),
+                        eq("eth_unsubscribe"),
+                        eq(PendingTransactionNotification.class)))
+                .thenReturn(Flowable.never());
+
+        web3j.pendingTransactionFlowable().test().assertNoErrors();
+
+        verify(web3jService)
+                .subscribe(
+                        any(Request.class),
+                        eq("eth_unsubscribe"),
+                        eq(PendingTransactionNotification.class));
+    }
+
+    @Test
+    public void testPendingTransactionFlowablePassesOnOtherErrors() {
+        IOException error = new IOException("Connection was closed");
+        when(web3jService.subscribe(
+                        any(Request.class),
+                        eq("eth_unsubscribe"),
+                        eq(PendingTransactionObjectNotification.class)))
+                .thenReturn(Flowable.error(error));
+
+        web3j.pendingTransactionFlowable().test().assertError(error);
+
+        verify(web3jService, never())
+                .subscribe(
+                        any(Request.class),
+                        eq("eth_unsubscribe"),
+                        eq(PendingTransactionNotification.class));
+    }
+
     @Test
     void testReplayBlocksFlowableWhenIOExceptionOnBlockResolving() throws IOException {
         Web3j web3j = mock(Web3j.class, RETURNS_DEEP_STUBS);
@@ -13,11 +13,30 @@
 package org.web3j.protocol.websocket;
 
 import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
+import org.java_websocket.WebSocket;
+import org.java_websocket.handshake.ClientHandshake;
+import org.java_websocket.server.WebSocketServer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -64,4 +83,94 @@ public class WebSocketClientTest {
 
         verify(listener).onClose();
     }
+
+    @Test
+    public void testConcurrentSendTextKeepsMessagesIntact() throws Exception {
+        int threads = 8;
+        int messagesPerThread = 50;
+        ConcurrentLinkedQueue<String> received = new ConcurrentLinkedQueue<>();
+        ConcurrentLinkedQueue<Object> failures = new ConcurrentLinkedQueue<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch allReceived = new CountDownLatch(threads * messagesPerThread);
+
+        WebSocketServer server =
+                new WebSocketServer(new InetSocketAddress("127.0.0.1", freePort())) {
+                    @Override
+                    public void onOpen(WebSocket conn, ClientHandshake handshake) {}
+
+                    @Override
+                    public void onClose(WebSocket conn, int code, String reason, boolean remote) {
+                        failures.add("closed: " + code + " " + reason);
+                    }
+
+                    @Override
+                    public void onMessage(WebSocket conn, String message) {
+                        received.add(message);
+                        allReceived.countDown();
+                    }
+
+                    @Override
+                    public void onMessage(WebSocket conn, ByteBuffer message) {
+                        failures.add("binary message");
+                    }
+
+                    @Override
+                    public void onError(WebSocket conn, Exception ex) {
+                        failures.add(ex);
+                    }
+
+                    @Override
+                    public void onStart() {
+                        started.countDown();
+                    }
+                };
+        server.start();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        WebSocketClient sender = new WebSocketClient(new URI("ws://127.0.0.1:" + server.getPort()));
+        try {
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            assertTrue(sender.connectBlocking());
+
+            CountDownLatch go = new CountDownLatch(1);
+            List<Future<?>> senders = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                senders.add(
+                        executor.submit(
+                                () -> {
+                                    go.await();
+                                    for (int i = 0; i < messagesPerThread; i++) {
+                                        sender.sendText(
+                                                ("{\"id\":\"" + thread + "-" + i + "\u20ac\"}")
+                                                        .getBytes(StandardCharsets.UTF_8));
+                                    }
+                                    return null;
+                                }));
+            }
+            go.countDown();
+            for (Future<?> future : senders) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+
+            assertTrue(allReceived.await(10, TimeUnit.SECONDS));
+            assertTrue(failures.isEmpty(), failures.toString());
+            Set<String> expected = new HashSet<>();
+            for (int t = 0; t < threads; t++) {
+                for (int i = 0; i < messagesPerThread; i++) {
+                    expected.add("{\"id\":\"" + t + "-" + i + "\u20ac\"}");
+                }
+            }
+            assertEquals(expected, new HashSet<>(received));
+        } finally {
+            executor.shutdownNow();
+            sender.closeBlocking();
+            server.stop();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
 }
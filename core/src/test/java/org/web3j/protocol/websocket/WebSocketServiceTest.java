@@ -14,8 +14,11 @@ package org.web3j.protocol.websocket;
 
 import java.io.IOException;
 import java.net.ConnectException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
@@ -31,6 +34,8 @@ import org.junit.jupiter.api.Test;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 
+import org.web3j.protocol.RequestMetrics;
+import org.web3j.protocol.ServiceInstrumentation;
 import org.web3j.protocol.core.BatchRequest;
 import org.web3j.protocol.core.BatchResponse;
 import org.web3j.protocol.core.Request;
@@ -45,12 +50,12 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.atMostOnce;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -177,8 +182,9 @@ public class WebSocketServiceTest {
         service.sendAsync(request, Web3ClientVersion.class);
 
         verify(webSocketClient)
-                .send(
-                        "{\"jsonrpc\":\"2.0\",\"method\":\"web3_clientVersion\",\"params\":[],\"id\":1}");
+                .sendText(
+                        text(
+                                "{\"jsonrpc\":\"2.0\",\"method\":\"web3_clientVersion\",\"params\":[],\"id\":1}"));
     }
 
     @Test
@@ -202,11 +208,12 @@ public class WebSocketServiceTest {
         CompletableFuture<BatchResponse> reply = service.sendBatchAsync(request);
 
         verify(webSocketClient)
-                .send(
-                        "["
-                                + "{\"jsonrpc\":\"2.0\",\"method\":\"web3_clientVersion\",\"params\":[],\"id\":0},"
-                                + "{\"jsonrpc\":\"2.0\",\"method\":\"net_version\",\"params\":[],\"id\":1}"
-                                + "]");
+                .sendText(
+                        text(
+                                "["
+                                        + "{\"jsonrpc\":\"2.0\",\"method\":\"web3_clientVersion\",\"params\":[],\"id\":0},"
+                                        + "{\"jsonrpc\":\"2.0\",\"method\":\"net_version\",\"params\":[],\"id\":1}"
+                                        + "]"));
 
         sendClientNetVersionReply();
 
@@ -223,6 +230,32 @@ public class WebSocketServiceTest {
         assertEquals(netVersion.getNetVersion(), "59");
     }
 
+    @Test
+    public void testReportRequestMetrics() throws Exception {
+        List<RequestMetrics> completed = new ArrayList<>();
+        service.setInstrumentation(
+                new ServiceInstrumentation() {
+                    @Override
+                    public void requestCompleted(RequestMetrics metrics) {
+                        completed.add(metrics);
+                    }
+                });
+
+        service.sendAsync(request, Web3ClientVersion.class);
+        assertTrue(completed.isEmpty());
+        sendErrorReply();
+
+        assertEquals(completed.size(), 1);
+        RequestMetrics metrics = completed.get(0);
+        assertEquals(metrics.getMethod(), "web3_clientVersion");
+        assertEquals(
+                metrics.getRequestBytes(),
+                "{\"jsonrpc\":\"2.0\",\"method\":\"web3_clientVersion\",\"params\":[],\"id\":1}"
+                        .length());
+        assertTrue(metrics.getResponseBytes() > 0);
+        assertEquals(metrics.getErrorCodes(), Collections.singletonList(-1));
+    }
+
     @Test
     public void testIgnoreInvalidReplies() {
         service.sendAsync(request, Web3ClientVersion.class);
@@ -314,7 +347,7 @@ public class WebSocketServiceTest {
                             return null;
                         })
                 .when(webSocketClient)
-                .send(anyString());
+                .sendText(any(byte[].class));
 
         // Send reply asynchronously
         runAsync(
@@ -562,20 +595,30 @@ public class WebSocketServiceTest {
     }
 
     private void verifyStartedSubscriptionHandshake() {
-        verify(webSocketClient)
-                .send(
-                        "{\"jsonrpc\":\"2.0\",\"method\":\"eth_subscribe\","
-                                + "\"params\":[\"newHeads\",{}],\"id\":1}");
+        // the request is awaited before it is sent from the subscribing thread
+        verify(webSocketClient, timeout(1000))
+                .sendText(
+                        text(
+                                "{\"jsonrpc\":\"2.0\",\"method\":\"eth_subscribe\","
+                                        + "\"params\":[\"newHeads\",{}],\"id\":1}"));
     }
 
     private void verifyUnsubscribed() {
         verify(webSocketClient)
-                .send(
-                        startsWith(
+                .sendText(
+                        textStartingWith(
                                 "{\"jsonrpc\":\"2.0\",\"method\":\"eth_unsubscribe\","
                                         + "\"params\":[\"0xcd0c3e8af590364c09d0fa6a1210faf5\"]"));
     }
 
+    private static byte[] text(String expected) {
+        return argThat(payload -> expected.equals(new String(payload, StandardCharsets.UTF_8)));
+    }
+
+    private static byte[] textStartingWith(String prefix) {
+        return argThat(payload -> new String(payload, StandardCharsets.UTF_8).startsWith(prefix));
+    }
+
     private void sendSubscriptionConfirmation() throws Exception {
         waitForRequestSent();
 
@@ -0,0 +1,265 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.crypto.Hash;
+import org.web3j.crypto.SampleKeys;
+import org.web3j.crypto.TransactionDecoder;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthGetTransactionCount;
+import org.web3j.protocol.core.methods.response.EthGetTransactionReceipt;
+import org.web3j.protocol.core.methods.response.EthSendTransaction;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.protocol.exceptions.TransactionException;
+import org.web3j.tx.response.BatchingTransactionReceiptProcessor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BulkTransactionSenderTest {
+
+    private static final BigInteger START_NONCE = BigInteger.valueOf(5);
+    private static final BigInteger GAS_PRICE = BigInteger.valueOf(1_000_000_000L);
+    private static final BigInteger GAS_LIMIT = BigInteger.valueOf(21_000);
+
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
+    private final List<Integer> batchSizes = new ArrayList<>();
+    private final List<BigInteger> sentNonces = new ArrayList<>();
+
+    private Web3jService web3jService;
+    private Web3j web3j;
+    private BulkTransactionSender sender;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        web3jService = mock(Web3jService.class);
+        web3j = Web3j.build(web3jService);
+
+        EthGetTransactionCount transactionCount = new EthGetTransactionCount();
+        transactionCount.setResult(START_NONCE.toString());
+        when(web3jService.send(any(Request.class), eq(EthGetTransactionCount.class)))
+                .thenReturn(transactionCount);
+
+        sender =
+                new BulkTransactionSender(
+                        web3j,
+                        new RawTransactionManager(web3j, SampleKeys.CREDENTIALS, 1L),
+                        2,
+                        Executors.newFixedThreadPool(2),
+                        new BatchingTransactionReceiptProcessor(web3j, 10, 5, 100, scheduler));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void testSendsSequentialNoncesInBatches() throws Exception {
+        mockSendRawTransaction(null);
+
+        List<BulkTransactionSender.Submission> submissions =
+                sender.sendTransactions(intents(5), GAS_PRICE);
+
+        for (BulkTransactionSender.Submission submission : submissions) {
+            assertTrue(submission.getTransactionHash().get(5, TimeUnit.SECONDS).startsWith("0x"));
+        }
+        assertEquals(Arrays.asList(2, 2, 1), batchSizes);
+        assertEquals(nonces(5), sentNonces);
+        assertEquals(
+                nonces(5),
+                submissions.stream()
+                        .map(BulkTransactionSender.Submission::getNonce)
+                        .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testRejectedTransactionFailsOnlyItsSubmission() throws Exception {
+        BigInteger rejectedNonce = START_NONCE.add(BigInteger.valueOf(2));
+        mockSendRawTransaction(rejectedNonce);
+
+        List<BulkTransactionSender.Submission> submissions =
+                sender.sendTransactions(intents(4), GAS_PRICE);
+
+        ExecutionException exception =
+                assertThrows(
+                        ExecutionException.class,
+                        () -> submissions.get(2).getTransactionHash().get(5, TimeUnit.SECONDS));
+        assertTrue(exception.getCause() instanceof TransactionException);
+        submissions.get(0).getTransactionHash().get(5, TimeUnit.SECONDS);
+        submissions.get(1).getTransactionHash().get(5, TimeUnit.SECONDS);
+        submissions.get(3).getTransactionHash().get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testShortBatchResponseFailsUnmatchedSubmissionsOnly() throws Exception {
+        mockSendRawTransaction(null, 1, false);
+
+        List<BulkTransactionSender.Submission> submissions =
+                sender.sendTransactions(intents(4), GAS_PRICE);
+
+        submissions.get(0).getTransactionHash().get(5, TimeUnit.SECONDS);
+        ExecutionException exception =
+                assertThrows(
+                        ExecutionException.class,
+                        () -> submissions.get(1).getTransactionHash().get(5, TimeUnit.SECONDS));
+        assertTrue(exception.getCause() instanceof TransactionException);
+        submissions.get(2).getTransactionHash().get(5, TimeUnit.SECONDS);
+        submissions.get(3).getTransactionHash().get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testFailedBatchDoesNotStopLaterBatches() throws Exception {
+        mockSendRawTransaction(null, 0, true);
+
+        List<BulkTransactionSender.Submission> submissions =
+                sender.sendTransactions(intents(4), GAS_PRICE);
+
+        for (int i = 0; i < 2; i++) {
+            BulkTransactionSender.Submission submission = submissions.get(i);
+            ExecutionException exception =
+                    assertThrows(
+                            ExecutionException.class,
+                            () -> submission.getTransactionHash().get(5, TimeUnit.SECONDS));
+            assertTrue(exception.getCause() instanceof IOException);
+        }
+        submissions.get(2).getTransactionHash().get(5, TimeUnit.SECONDS);
+        submissions.get(3).getTransactionHash().get(5, TimeUnit.SECONDS);
+        assertEquals(Arrays.asList(2, 2), batchSizes);
+    }
+
+    @Test
+    public void testReceiptsAreResolvedTogether() throws Exception {
+        mockSendRawTransaction(null);
+        when(web3jService.sendBatch(any(BatchRequest.class)))
+                .thenAnswer(
+                        invocation -> {
+                            BatchRequest batchRequest = invocation.getArgument(0);
+                            List<Response<?>> responses = new ArrayList<>();
+                            for (Request<?, ?> request : batchRequest.getRequests()) {
+                                TransactionReceipt receipt = new TransactionReceipt();
+                                receipt.setTransactionHash((String) request.getParams().get(0));
+                                EthGetTransactionReceipt response = new EthGetTransactionReceipt();
+                                response.setResult(receipt);
+                                responses.add(response);
+                            }
+                            return new BatchResponse(batchRequest.getRequests(), responses);
+                        });
+
+        List<BulkTransactionSender.Submission> submissions =
+                sender.sendTransactions(intents(3), GAS_PRICE);
+
+        for (BulkTransactionSender.Submission submission : submissions) {
+            TransactionReceipt receipt =
+                    submission.getTransactionReceipt().get(5, TimeUnit.SECONDS);
+            assertEquals(submission.getTransactionHash().get(), receipt.getTransactionHash());
+        }
+    }
+
+    @Test
+    public void testNoncesReservedOnFastRawTransactionManager() throws Exception {
+        mockSendRawTransaction(null);
+        FastRawTransactionManager transactionManager =
+                new FastRawTransactionManager(web3j, SampleKeys.CREDENTIALS, 1L);
+        BulkTransactionSender fastSender = new BulkTransactionSender(web3j, transactionManager);
+
+        fastSender.sendTransactions(intents(3), GAS_PRICE);
+
+        assertEquals(START_NONCE.add(BigInteger.valueOf(3)), transactionManager.getNonce());
+    }
+
+    private void mockSendRawTransaction(BigInteger rejectedNonce) {
+        mockSendRawTransaction(rejectedNonce, 0, false);
+    }
+
+    /**
+     * Answer raw transaction batches, the first batch missing {@code missingResponses} trailing
+     * responses or failing altogether.
+     */
+    private void mockSendRawTransaction(
+            BigInteger rejectedNonce, int missingResponses, boolean failFirstBatch) {
+        when(web3jService.sendBatchAsync(any(BatchRequest.class)))
+                .thenAnswer(
+                        invocation -> {
+                            BatchRequest batchRequest = invocation.getArgument(0);
+                            boolean first = batchSizes.isEmpty();
+                            batchSizes.add(batchRequest.getRequests().size());
+                            if (first && failFirstBatch) {
+                                CompletableFuture<BatchResponse> failed = new CompletableFuture<>();
+                                failed.completeExceptionally(new IOException("connection reset"));
+                                return failed;
+                            }
+                            List<Response<?>> responses = new ArrayList<>();
+                            for (Request<?, ?> request : batchRequest.getRequests()) {
+                                String signed = (String) request.getParams().get(0);
+                                BigInteger nonce = TransactionDecoder.decode(signed).getNonce();
+                                sentNonces.add(nonce);
+                                EthSendTransaction response = new EthSendTransaction();
+                                if (nonce.equals(rejectedNonce)) {
+                                    response.setError(new Response.Error(-32000, "rejected"));
+                                } else {
+                                    response.setResult(Hash.sha3(signed));
+                                }
+                                responses.add(response);
+                            }
+                            if (first) {
+                                responses =
+                                        responses.subList(0, responses.size() - missingResponses);
+                            }
+                            return CompletableFuture.completedFuture(
+                                    new BatchResponse(batchRequest.getRequests(), responses));
+                        });
+    }
+
+    private static List<TransactionIntent> intents(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(
+                        i ->
+                                TransactionIntent.createEtherTransfer(
+                                        SampleKeys.ADDRESS, BigInteger.valueOf(i + 1), GAS_LIMIT))
+                .collect(Collectors.toList());
+    }
+
+    private static List<BigInteger> nonces(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> START_NONCE.add(BigInteger.valueOf(i)))
+                .collect(Collectors.toList());
+    }
+}
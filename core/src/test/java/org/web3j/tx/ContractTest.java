@@ -17,12 +17,14 @@ import java.math.BigInteger;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.function.BiFunction;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import org.web3j.abi.DirectCodec;
 import org.web3j.abi.EventEncoder;
 import org.web3j.abi.EventValues;
 import org.web3j.abi.FunctionEncoder;
@@ -36,6 +38,7 @@ import org.web3j.abi.datatypes.generated.Uint256;
 import org.web3j.crypto.Credentials;
 import org.web3j.crypto.SampleKeys;
 import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
 import org.web3j.protocol.core.*;
 import org.web3j.protocol.core.methods.request.Transaction;
 import org.web3j.protocol.core.methods.response.EthCall;
@@ -46,6 +49,7 @@ import org.web3j.protocol.core.methods.response.Log;
 import org.web3j.protocol.core.methods.response.TransactionReceipt;
 import org.web3j.protocol.exceptions.TransactionException;
 import org.web3j.tx.exceptions.ContractCallException;
+import org.web3j.tx.gas.ContractEIP1559GasProvider;
 import org.web3j.tx.gas.ContractGasProvider;
 import org.web3j.tx.gas.DefaultGasProvider;
 import org.web3j.tx.gas.StaticGasProvider;
@@ -65,6 +69,7 @@ import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -264,16 +269,101 @@ public class ContractTest extends ManagedTransactionTester {
         assertEquals(emptyList(), contract.callMultipleValue().send());
     }
 
+    @Test
+    public void testCallDirect() throws Exception {
+        prepareCall(
+                "0x0000000000000000000000000000000000000000000000000000000000000037"
+                        + "0000000000000000000000000000000000000000000000000000000000000007");
+
+        RemoteFunctionCall<BigInteger> call = contract.callDirect();
+
+        assertEquals(BigInteger.valueOf(62), call.send());
+        assertEquals("0x12345678", call.encodeFunctionCall());
+    }
+
+    @Test
+    public void testCallDirectEmpty() throws Exception {
+        prepareCall("0x");
+
+        assertThrows(ContractCallException.class, () -> contract.callDirect().send());
+    }
+
+    @Test
+    public void testCallAsync() throws Exception {
+        Request<?, EthCall> request =
+                prepareCall(
+                        "0x0000000000000000000000000000000000000000000000000000000000000037"
+                                + "0000000000000000000000000000000000000000000000000000000000000007");
+
+        assertEquals(BigInteger.valueOf(62), contract.callDirectAsync().get());
+        verify(request).sendAsync();
+        verify(request, never()).send();
+    }
+
+    @Test
+    public void testCallAsyncReverted() throws Exception {
+        prepareCall(OWNER_REVERT_MSG_HASH);
+
+        ExecutionException thrown =
+                assertThrows(ExecutionException.class, () -> contract.callDirectAsync().get());
+        assertTrue(thrown.getCause() instanceof ContractCallException);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCallBatched() throws Exception {
+        EthCall singleValue = new EthCall();
+        singleValue.setResult(
+                "0x0000000000000000000000000000000000000000000000000000000000000020"
+                        + "0000000000000000000000000000000000000000000000000000000000000000");
+        EthCall direct = new EthCall();
+        direct.setResult(
+                "0x0000000000000000000000000000000000000000000000000000000000000037"
+                        + "0000000000000000000000000000000000000000000000000000000000000007");
+        Request<?, EthCall> singleValueRequest = mock(Request.class);
+        Request<?, EthCall> directRequest = mock(Request.class);
+        when(web3j.ethCall(any(Transaction.class), any(DefaultBlockParameter.class)))
+                .thenReturn((Request) singleValueRequest, (Request) directRequest);
+
+        BatchRequest batchRequest = new BatchRequest(mock(Web3jService.class));
+        BatchedCall<Utf8String> singleValueCall = contract.callSingleValueBatched(batchRequest);
+        BatchedCall<BigInteger> directCall = contract.callDirectBatched(batchRequest);
+
+        assertEquals(Arrays.asList(singleValueRequest, directRequest), batchRequest.getRequests());
+        BatchResponse batchResponse =
+                new BatchResponse(batchRequest.getRequests(), Arrays.asList(singleValue, direct));
+        assertEquals(BigInteger.valueOf(62), directCall.get(batchResponse));
+        assertEquals(new Utf8String(""), singleValueCall.get(batchResponse));
+    }
+
+    @Test
+    public void testCallBatchedReverted() throws Exception {
+        Request<?, EthCall> request = prepareCall(OWNER_REVERT_MSG_HASH);
+
+        BatchRequest batchRequest = new BatchRequest(mock(Web3jService.class));
+        BatchedCall<BigInteger> call = contract.callDirectBatched(batchRequest);
+        EthCall ethCall = request.send();
+
+        assertThrows(
+                ContractCallException.class,
+                () ->
+                        call.get(
+                                new BatchResponse(
+                                        batchRequest.getRequests(), singletonList(ethCall))));
+    }
+
     @SuppressWarnings("unchecked")
-    private void prepareCall(String result) throws IOException {
+    private Request<?, EthCall> prepareCall(String result) throws IOException {
         EthCall ethCall = new EthCall();
         ethCall.setResult(result);
 
         Request<?, EthCall> request = mock(Request.class);
         when(request.send()).thenReturn(ethCall);
+        when(request.sendAsync()).thenReturn(CompletableFuture.completedFuture(ethCall));
 
         when(web3j.ethCall(any(Transaction.class), any(DefaultBlockParameter.class)))
                 .thenReturn((Request) request);
+        return request;
     }
 
     @Test
@@ -444,6 +534,46 @@ public class ContractTest extends ManagedTransactionTester {
                         anyBoolean());
     }
 
+    @Test
+    public void testEIP1559GasProvider() throws IOException, TransactionException {
+        ContractEIP1559GasProvider gasProvider = mock(ContractEIP1559GasProvider.class);
+        when(gasProvider.isEIP1559Enabled()).thenReturn(true);
+        when(gasProvider.getGasPremium("test")).thenReturn(BigInteger.ONE);
+        when(gasProvider.getFeeCap("test")).thenReturn(BigInteger.TEN);
+        when(gasProvider.getGasLimit("test")).thenReturn(BigInteger.valueOf(21000));
+        TransactionManager txManager = mock(TransactionManager.class);
+
+        when(txManager.executeTransactionEIP1559(
+                        any(BigInteger.class),
+                        any(BigInteger.class),
+                        any(BigInteger.class),
+                        anyString(),
+                        anyString(),
+                        any(BigInteger.class),
+                        anyBoolean()))
+                .thenReturn(new TransactionReceipt());
+
+        contract = new TestContract(ADDRESS, web3j, txManager, gasProvider);
+
+        Function func =
+                new Function(
+                        "test",
+                        Collections.<Type>emptyList(),
+                        Collections.<TypeReference<?>>emptyList());
+        contract.executeTransaction(func);
+
+        verify(txManager)
+                .executeTransactionEIP1559(
+                        eq(BigInteger.ONE),
+                        eq(BigInteger.TEN),
+                        eq(BigInteger.valueOf(21000)),
+                        anyString(),
+                        anyString(),
+                        any(BigInteger.class),
+                        anyBoolean());
+        verify(gasProvider, never()).getGasPrice("test");
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     public void testInvalidTransactionReceipt() throws Throwable {
@@ -586,7 +716,7 @@ public class ContractTest extends ManagedTransactionTester {
             super(binary, contractAddress, web3j, transactionManager, gasProvider);
         }
 
-        public RemoteCall<Utf8String> callSingleValue() {
+        public RemoteFunctionCall<Utf8String> callSingleValue() {
             Function function =
                     new Function(
                             "call",
@@ -607,6 +737,27 @@ public class ContractTest extends ManagedTransactionTester {
             return executeRemoteCallMultipleValueReturn(function);
         }
 
+        public RemoteFunctionCall<BigInteger> callDirect() {
+            return executeRemoteCallDirect(
+                    "0x12345678",
+                    () -> new Function("call", Collections.emptyList(), Collections.emptyList()),
+                    output ->
+                            DirectCodec.decodeUint(output, 0, 256)
+                                    .add(DirectCodec.decodeUint(output, 1, 256)));
+        }
+
+        public CompletableFuture<BigInteger> callDirectAsync() {
+            return executeCallAsync(callDirect());
+        }
+
+        public BatchedCall<BigInteger> callDirectBatched(BatchRequest batchRequest) {
+            return addToBatch(batchRequest, callDirect());
+        }
+
+        public BatchedCall<Utf8String> callSingleValueBatched(BatchRequest batchRequest) {
+            return addToBatch(batchRequest, callSingleValue());
+        }
+
         public RemoteCall<TransactionReceipt> performTransaction(Address address, Uint256 amount) {
             Function function =
                     new Function(
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx.gas;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.request.Transaction;
+import org.web3j.protocol.core.methods.response.EthEstimateGas;
+import org.web3j.utils.Numeric;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class EstimatingGasProviderTest {
+
+    private static final String FROM = "0x1111111111111111111111111111111111111111";
+    private static final String CONTRACT = "0x2222222222222222222222222222222222222222";
+    private static final String TRANSFER = "0xa9059cbb";
+    private static final String WORD =
+            "0000000000000000000000000000000000000000000000000000000000000001";
+
+    private final Web3jService web3jService = mock(Web3jService.class);
+    private final Web3j web3j = Web3j.build(web3jService);
+    private final ContractGasProvider delegate =
+            new StaticGasProvider(BigInteger.TEN, BigInteger.valueOf(500_000));
+    private final AtomicLong clock = new AtomicLong();
+
+    private final EstimatingGasProvider gasProvider =
+            new EstimatingGasProvider(
+                    web3j, delegate, 20, TimeUnit.MINUTES.toMillis(1), 16, clock::get);
+
+    @Test
+    public void testEstimatesAreMemoizedByShape() throws IOException {
+        when(web3jService.send(any(Request.class), eq(EthEstimateGas.class)))
+                .thenReturn(estimate(50_000));
+
+        assertEquals(
+                BigInteger.valueOf(60_000),
+                gasProvider.getGasLimit("transfer", call(TRANSFER + WORD)));
+        assertEquals(
+                BigInteger.valueOf(60_000),
+                gasProvider.getGasLimit("transfer", call(TRANSFER + WORD.replace('1', '2'))));
+        verify(web3jService, times(1)).send(any(Request.class), eq(EthEstimateGas.class));
+
+        // three words fall into a larger size class than one word
+        gasProvider.getGasLimit("transfer", call(TRANSFER + WORD + WORD + WORD));
+        verify(web3jService, times(2)).send(any(Request.class), eq(EthEstimateGas.class));
+        assertEquals(2, gasProvider.getShapeCount());
+
+        assertEquals(BigInteger.TEN, gasProvider.getGasPrice("transfer"));
+    }
+
+    @Test
+    public void testShapeOf() {
+        assertEquals(
+                EstimatingGasProvider.shapeOf(call(TRANSFER + WORD + WORD + WORD)),
+                EstimatingGasProvider.shapeOf(call(TRANSFER + WORD + WORD + WORD + WORD)));
+        assertEquals(
+                CONTRACT + ":a9059cbb:32", EstimatingGasProvider.shapeOf(call(TRANSFER + WORD)));
+        assertEquals(
+                CONTRACT + ":a9059cbb:32:payable",
+                EstimatingGasProvider.shapeOf(
+                        Transaction.createFunctionCallTransaction(
+                                FROM,
+                                null,
+                                null,
+                                null,
+                                CONTRACT,
+                                BigInteger.ONE,
+                                TRANSFER + WORD)));
+    }
+
+    @Test
+    public void testStaleEstimatesAreRefreshedInBackground() throws IOException {
+        when(web3jService.send(any(Request.class), eq(EthEstimateGas.class)))
+                .thenReturn(estimate(50_000));
+        CompletableFuture<EthEstimateGas> refreshed = new CompletableFuture<>();
+        when(web3jService.sendAsync(any(Request.class), eq(EthEstimateGas.class)))
+                .thenReturn(refreshed);
+
+        Transaction transaction = call(TRANSFER + WORD);
+        gasProvider.getGasLimit("transfer", transaction);
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(2));
+
+        // the stale estimate is used while it is refreshed, only once
+        assertEquals(BigInteger.valueOf(60_000), gasProvider.getGasLimit("transfer", transaction));
+        assertEquals(BigInteger.valueOf(60_000), gasProvider.getGasLimit("transfer", transaction));
+        verify(web3jService, times(1)).sendAsync(any(Request.class), eq(EthEstimateGas.class));
+
+        refreshed.complete(estimate(100_000));
+        assertEquals(BigInteger.valueOf(120_000), gasProvider.getGasLimit("transfer", transaction));
+        verify(web3jService, times(1)).send(any(Request.class), eq(EthEstimateGas.class));
+    }
+
+    @Test
+    public void testFailedTransactionIsReEstimated() throws IOException {
+        when(web3jService.send(any(Request.class), eq(EthEstimateGas.class)))
+                .thenReturn(estimate(50_000));
+        when(web3jService.sendAsync(any(Request.class), eq(EthEstimateGas.class)))
+                .thenReturn(CompletableFuture.completedFuture(estimate(70_000)));
+
+        Transaction transaction = call(TRANSFER + WORD);
+        gasProvider.getGasLimit("transfer", transaction);
+        gasProvider.transactionFailed(transaction);
+
+        assertEquals(BigInteger.valueOf(84_000), gasProvider.getGasLimit("transfer", transaction));
+    }
+
+    @Test
+    public void testFallsBackToDelegateOnEstimateError() throws IOException {
+        EthEstimateGas error = new EthEstimateGas();
+        error.setError(new Response.Error(3, "execution reverted"));
+        when(web3jService.send(any(Request.class), eq(EthEstimateGas.class))).thenReturn(error);
+        when(web3jService.sendAsync(any(Request.class), eq(EthEstimateGas.class)))
+                .thenReturn(CompletableFuture.completedFuture(estimate(50_000)));
+        ContractGasProvider functionGasProvider =
+                new StaticGasProvider(BigInteger.TEN, BigInteger.valueOf(500_000)) {
+                    @Override
+                    public BigInteger getGasLimit(String contractFunc) {
+                        return BigInteger.valueOf(300_000);
+                    }
+                };
+        EstimatingGasProvider gasProvider =
+                new EstimatingGasProvider(
+                        web3j,
+                        functionGasProvider,
+                        20,
+                        TimeUnit.MINUTES.toMillis(1),
+                        16,
+                        clock::get);
+
+        Transaction transaction = call(TRANSFER + WORD);
+        assertEquals(BigInteger.valueOf(300_000), gasProvider.getGasLimit("transfer", transaction));
+
+        // the failure is kept until the refresh interval passed
+        assertEquals(BigInteger.valueOf(300_000), gasProvider.getGasLimit("transfer", transaction));
+        verify(web3jService, times(1)).send(any(Request.class), eq(EthEstimateGas.class));
+        verify(web3jService, never()).sendAsync(any(Request.class), eq(EthEstimateGas.class));
+
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(2));
+        gasProvider.getGasLimit("transfer", transaction);
+        assertEquals(BigInteger.valueOf(60_000), gasProvider.getGasLimit("transfer", transaction));
+        verify(web3jService, times(1)).send(any(Request.class), eq(EthEstimateGas.class));
+    }
+
+    private static Transaction call(String data) {
+        return Transaction.createFunctionCallTransaction(
+                FROM, null, null, null, CONTRACT, null, data);
+    }
+
+    private static EthEstimateGas estimate(long gas) {
+        EthEstimateGas ethEstimateGas = new EthEstimateGas();
+        ethEstimateGas.setResult(Numeric.encodeQuantity(BigInteger.valueOf(gas)));
+        return ethEstimateGas;
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.tx.gas;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.reactivex.processors.PublishProcessor;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.utils.Numeric;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class FeeOracleGasProviderTest {
+
+    private static final BigInteger GAS_LIMIT = BigInteger.valueOf(100_000);
+    private static final String MINER = "0x1111111111111111111111111111111111111111";
+    private static final String SENDER = "0x2222222222222222222222222222222222222222";
+
+    private final Web3jService web3jService = mock(Web3jService.class);
+    private final Web3j web3j = Web3j.build(web3jService);
+
+    @Test
+    public void testSuggestsPercentileOfLowestTips() {
+        FeeOracleGasProvider gasProvider = new FeeOracleGasProvider(web3j, GAS_LIMIT, 2, 2, 50);
+
+        // tips of 1 to 5, only the 2 lowest are sampled
+        gasProvider.update(createBlock(1, 100L, 101, 102, 103, 104, 105));
+        assertTrue(gasProvider.isEIP1559Enabled());
+        assertEquals(BigInteger.ONE, gasProvider.getGasPremium("transfer"));
+
+        // tips of 10 and 20, samples 1, 2, 10, 20
+        gasProvider.update(createBlock(2, 200L, 210, 220));
+        assertEquals(BigInteger.valueOf(2), gasProvider.getGasPremium("transfer"));
+        assertEquals(BigInteger.valueOf(402), gasProvider.getFeeCap("transfer"));
+        assertEquals(BigInteger.valueOf(202), gasProvider.getGasPrice("transfer"));
+        assertEquals(GAS_LIMIT, gasProvider.getGasLimit("transfer"));
+
+        // the first block leaves the history, samples 10, 20, 30, 40
+        gasProvider.update(createBlock(3, 200L, 230, 240));
+        assertEquals(BigInteger.valueOf(20), gasProvider.getGasPremium("transfer"));
+        assertEquals(3, gasProvider.getBlockNumber());
+    }
+
+    @Test
+    public void testReplacedBlocksAreDiscarded() {
+        FeeOracleGasProvider gasProvider = new FeeOracleGasProvider(web3j, GAS_LIMIT, 10, 3, 100);
+        gasProvider.update(createBlock(1, 100L, 101));
+        gasProvider.update(createBlock(2, 100L, 190));
+        assertEquals(BigInteger.valueOf(90), gasProvider.getGasPremium("transfer"));
+
+        gasProvider.update(createBlock(2, 100L, 105));
+        assertEquals(BigInteger.valueOf(5), gasProvider.getGasPremium("transfer"));
+    }
+
+    @Test
+    public void testLegacyGasPriceBeforeEIP1559() {
+        FeeOracleGasProvider gasProvider = new FeeOracleGasProvider(web3j, GAS_LIMIT);
+        gasProvider.update(createBlock(1, null, 30, 10, 20));
+
+        assertFalse(gasProvider.isEIP1559Enabled());
+        assertNull(gasProvider.getBaseFee());
+        assertEquals(BigInteger.valueOf(20), gasProvider.getGasPrice());
+    }
+
+    @Test
+    public void testNoSuggestionBeforeStart() {
+        FeeOracleGasProvider gasProvider = new FeeOracleGasProvider(web3j, GAS_LIMIT);
+        assertThrows(IllegalStateException.class, () -> gasProvider.getGasPrice("transfer"));
+    }
+
+    @Test
+    public void testStartLoadsHistoryAndFollowsBlocks() throws IOException {
+        EthBlock latest = new EthBlock();
+        latest.setResult(createBlock(10, 100L, 150));
+        when(web3jService.send(any(Request.class), eq(EthBlock.class))).thenReturn(latest);
+        List<Integer> batchSizes = new ArrayList<>();
+        when(web3jService.sendBatch(any(BatchRequest.class)))
+                .thenAnswer(
+                        invocation -> {
+                            BatchRequest batchRequest = invocation.getArgument(0);
+                            batchSizes.add(batchRequest.getRequests().size());
+                            List<Response<?>> responses = new ArrayList<>();
+                            for (Request<?, ?> request : batchRequest.getRequests()) {
+                                long number =
+                                        Numeric.decodeQuantity((String) request.getParams().get(0))
+                                                .longValue();
+                                EthBlock ethBlock = new EthBlock();
+                                ethBlock.setResult(createBlock(number, 100L, 110));
+                                responses.add(ethBlock);
+                            }
+                            return new BatchResponse(batchRequest.getRequests(), responses);
+                        });
+
+        FeeOracleGasProvider gasProvider = new FeeOracleGasProvider(web3j, GAS_LIMIT, 5, 3, 50);
+        PublishProcessor<EthBlock.Block> blocks = PublishProcessor.create();
+        gasProvider.start(blocks);
+
+        // blocks 6 to 9 in one batch, samples 10, 10, 10, 10, 50
+        assertEquals(1, batchSizes.size());
+        assertEquals(4, batchSizes.get(0));
+        assertEquals(10, gasProvider.getBlockNumber());
+        assertEquals(BigInteger.valueOf(10), gasProvider.getGasPremium("transfer"));
+
+        blocks.onNext(createBlock(11, 300L, 400, 400));
+        assertEquals(11, gasProvider.getBlockNumber());
+        assertEquals(BigInteger.valueOf(300), gasProvider.getBaseFee());
+
+        gasProvider.stop();
+        assertFalse(blocks.hasSubscribers());
+    }
+
+    private static EthBlock.Block createBlock(long number, Long baseFee, long... gasPrices) {
+        EthBlock.Block block = new EthBlock.Block();
+        block.setNumber(Numeric.encodeQuantity(BigInteger.valueOf(number)));
+        block.setMiner(MINER);
+        if (baseFee != null) {
+            block.setBaseFeePerGas(Numeric.encodeQuantity(BigInteger.valueOf(baseFee)));
+        }
+        List<EthBlock.TransactionResult> transactions = new ArrayList<>();
+        for (long gasPrice : gasPrices) {
+            EthBlock.TransactionObject transaction = new EthBlock.TransactionObject();
+            transaction.setFrom(SENDER);
+            transaction.setGasPrice(Numeric.encodeQuantity(BigInteger.valueOf(gasPrice)));
+            transactions.add(transaction);
+        }
+        // the miner's own transactions are not sampled
+        EthBlock.TransactionObject minerTransaction = new EthBlock.TransactionObject();
+        minerTransaction.setFrom(MINER);
+        minerTransaction.setGasPrice("0x0");
+        transactions.add(minerTransaction);
+        block.setTransactions(transactions);
+        return block;
+    }
+}
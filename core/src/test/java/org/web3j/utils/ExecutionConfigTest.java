@@ -0,0 +1,138 @@
+/*
+ * Copyright 2021 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.utils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class ExecutionConfigTest {
+
+    @Test
+    public void testDefaultConfigIsShared() {
+        ExecutionConfig config = ExecutionConfig.defaultConfig();
+
+        assertSame(config, ExecutionConfig.defaultConfig());
+        assertSame(ExecutionConfig.sharedScheduler(), config.getScheduler());
+
+        config.shutdown();
+        assertFalse(config.getExecutor().isShutdown());
+        assertFalse(config.getScheduler().isShutdown());
+    }
+
+    @Test
+    public void testShutdownOwnedExecutors() {
+        ExecutorService executor = mock(ExecutorService.class);
+        ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+
+        ExecutionConfig.of(executor, scheduler).shutdown();
+
+        verify(executor).shutdown();
+        verify(scheduler).shutdown();
+    }
+
+    @Test
+    public void testWithSchedulerOnlyShutsDownScheduler() {
+        ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+
+        ExecutionConfig config = ExecutionConfig.withScheduler(scheduler);
+        config.shutdown();
+
+        verify(scheduler).shutdown();
+        assertFalse(config.getExecutor().isShutdown());
+    }
+
+    @Test
+    public void testBoundedRejectsWhenQueueFull() throws Exception {
+        ExecutionConfig config = ExecutionConfig.bounded(1, 1);
+        CountDownLatch latch = new CountDownLatch(1);
+
+        CompletableFuture<String> running =
+                Async.run(
+                        () -> {
+                            latch.await();
+                            return "running";
+                        },
+                        config.getExecutor());
+        CompletableFuture<String> queued = Async.run(() -> "queued", config.getExecutor());
+        CompletableFuture<String> rejected = Async.run(() -> "rejected", config.getExecutor());
+
+        ExecutionException e = assertThrows(ExecutionException.class, rejected::get);
+        assertTrue(e.getCause() instanceof RejectedExecutionException);
+        assertEquals(1, config.getStats().getRejected());
+
+        latch.countDown();
+        assertEquals("running", running.get());
+        assertEquals("queued", queued.get());
+
+        ExecutionStats stats = config.getStats();
+        assertEquals(2, stats.getSubmitted());
+        assertEquals(0, stats.getQueued());
+        assertEquals(2L, stats.toMap().get("executor.submitted"));
+
+        config.shutdown();
+        assertTrue(config.getExecutor().isShutdown());
+        assertFalse(config.getScheduler().isShutdown());
+    }
+
+    @Test
+    public void testVirtualThreads() throws Exception {
+        assumeTrue(ExecutionConfig.isVirtualThreadSupported());
+
+        ExecutionConfig config = ExecutionConfig.virtualThreads();
+        String threadName =
+                Async.run(() -> Thread.currentThread().getName(), config.getExecutor()).get();
+
+        assertTrue(threadName.startsWith("web3j-async-"));
+        config.shutdown();
+    }
+
+    @Test
+    public void testVirtualThreadsUnsupported() {
+        assumeTrue(!ExecutionConfig.isVirtualThreadSupported());
+
+        assertThrows(UnsupportedOperationException.class, ExecutionConfig::virtualThreads);
+    }
+
+    @Test
+    public void testDefaultConfigNotShutDownAfterReplacement() {
+        ExecutionConfig previous = ExecutionConfig.defaultConfig();
+        ExecutionConfig replacement =
+                ExecutionConfig.of(
+                        mock(ExecutorService.class), mock(ScheduledExecutorService.class));
+        try {
+            ExecutionConfig.setDefault(replacement);
+            assertSame(replacement, ExecutionConfig.defaultConfig());
+
+            replacement.shutdown();
+            verify(replacement.getScheduler(), never()).shutdown();
+        } finally {
+            ExecutionConfig.setDefault(previous);
+        }
+    }
+}
@@ -39,6 +39,7 @@ public class Bip32ECKeyPair extends ECKeyPair {
     private int parentFingerprint;
 
     private ECPoint publicKeyPoint;
+    private byte[] identifier;
 
     public Bip32ECKeyPair(
             BigInteger privateKey,
@@ -54,6 +55,16 @@ public class Bip32ECKeyPair extends ECKeyPair {
         this.parentFingerprint = parent != null ? parent.getFingerprint() : 0;
     }
 
+    private Bip32ECKeyPair(Bip32ECKeyPair keyPair) {
+        super(null, keyPair.getPublicKey());
+        this.parentHasPrivate = false;
+        this.childNumber = keyPair.childNumber;
+        this.depth = keyPair.depth;
+        this.chainCode = keyPair.chainCode;
+        this.parentFingerprint = keyPair.parentFingerprint;
+        this.publicKeyPoint = keyPair.getPublicKeyPoint();
+    }
+
     public static Bip32ECKeyPair create(BigInteger privateKey, byte[] chainCode) {
         return new Bip32ECKeyPair(
                 privateKey, Sign.publicKeyFromPrivate(privateKey), 0, chainCode, null);
@@ -63,6 +74,19 @@ public class Bip32ECKeyPair extends ECKeyPair {
         return create(Numeric.toBigInt(privateKey), chainCode);
     }
 
+    /**
+     * Create a public only (extended public key) root, from which non-hardened children can be
+     * derived without the private key.
+     *
+     * @param publicKey compressed or uncompressed SEC encoded public key
+     * @param chainCode chain code
+     * @return public only key pair
+     */
+    public static Bip32ECKeyPair createPublic(byte[] publicKey, byte[] chainCode) {
+        ECPoint point = Sign.CURVE.getCurve().decodePoint(publicKey).normalize();
+        return create(null, point, 0, chainCode, null);
+    }
+
     public static Bip32ECKeyPair generateKeyPair(byte[] seed) {
         byte[] i = hmacSha512("Bitcoin seed".getBytes(), seed);
         byte[] il = Arrays.copyOfRange(i, 0, 32);
@@ -86,22 +110,26 @@ public class Bip32ECKeyPair extends ECKeyPair {
         return curr;
     }
 
-    private Bip32ECKeyPair deriveChildKey(int childNumber) {
-        if (!hasPrivateKey()) {
-            byte[] parentPublicKey = getPublicKeyPoint().getEncoded(true);
-            ByteBuffer data = ByteBuffer.allocate(37);
-            data.put(parentPublicKey);
-            data.putInt(childNumber);
-            byte[] i = hmacSha512(getChainCode(), data.array());
-            byte[] il = Arrays.copyOfRange(i, 0, 32);
+    /**
+     * Returns this key pair without its private key. Only non-hardened children can be derived from
+     * the result, and they are derived by point addition instead of from private keys.
+     *
+     * @return public only key pair
+     */
+    public Bip32ECKeyPair toPublicKeyPair() {
+        return getPrivateKey() == null ? this : new Bip32ECKeyPair(this);
+    }
+
+    Bip32ECKeyPair deriveChildKey(int childNumber) {
+        if (getPrivateKey() == null) {
+            if (isHardened(childNumber)) {
+                throw new IllegalArgumentException(
+                        "Hardened child cannot be derived from a public key");
+            }
+            byte[] i = hmacSha512(getChainCode(), publicChildData(childNumber));
             byte[] chainCode = Arrays.copyOfRange(i, 32, 64);
-            Arrays.fill(i, (byte) 0);
-            BigInteger ilInt = new BigInteger(1, il);
-            Arrays.fill(il, (byte) 0);
-            ECPoint ki = Sign.publicPointFromPrivate(ilInt).add(getPublicKeyPoint());
 
-            return new Bip32ECKeyPair(
-                    null, Sign.publicFromPoint(ki.getEncoded(true)), childNumber, chainCode, this);
+            return create(null, childPublicKeyPoint(i), childNumber, chainCode, this);
         } else {
             ByteBuffer data = ByteBuffer.allocate(37);
             if (isHardened(childNumber)) {
@@ -119,15 +147,55 @@ public class Bip32ECKeyPair extends ECKeyPair {
             Arrays.fill(il, (byte) 0);
             BigInteger privateKey = getPrivateKey().add(ilInt).mod(Sign.CURVE.getN());
 
-            return new Bip32ECKeyPair(
+            return create(
                     privateKey,
-                    Sign.publicKeyFromPrivate(privateKey),
+                    Sign.publicPointFromPrivate(privateKey).normalize(),
                     childNumber,
                     chainCode,
                     this);
         }
     }
 
+    /** Derive the public key point of a non-hardened child, without creating the child key pair. */
+    ECPoint deriveChildPublicKeyPoint(int childNumber) {
+        if (isHardened(childNumber)) {
+            return deriveChildKey(childNumber).getPublicKeyPoint();
+        }
+        return childPublicKeyPoint(hmacSha512(getChainCode(), publicChildData(childNumber)));
+    }
+
+    private byte[] publicChildData(int childNumber) {
+        ByteBuffer data = ByteBuffer.allocate(37);
+        data.put(getPublicKeyPoint().getEncoded(true));
+        data.putInt(childNumber);
+        return data.array();
+    }
+
+    private ECPoint childPublicKeyPoint(byte[] i) {
+        byte[] il = Arrays.copyOfRange(i, 0, 32);
+        Arrays.fill(i, 0, 32, (byte) 0);
+        BigInteger ilInt = new BigInteger(1, il);
+        Arrays.fill(il, (byte) 0);
+        return Sign.publicPointFromPrivate(ilInt).add(getPublicKeyPoint()).normalize();
+    }
+
+    private static Bip32ECKeyPair create(
+            BigInteger privateKey,
+            ECPoint publicKeyPoint,
+            int childNumber,
+            byte[] chainCode,
+            Bip32ECKeyPair parent) {
+        Bip32ECKeyPair keyPair =
+                new Bip32ECKeyPair(
+                        privateKey,
+                        Sign.publicFromPoint(publicKeyPoint.getEncoded(false)),
+                        childNumber,
+                        chainCode,
+                        parent);
+        keyPair.publicKeyPoint = publicKeyPoint;
+        return keyPair;
+    }
+
     private int getFingerprint() {
         byte[] id = getIdentifier();
         return id[3] & 0xFF | (id[2] & 0xFF) << 8 | (id[1] & 0xFF) << 16 | (id[0] & 0xFF) << 24;
@@ -150,12 +218,23 @@ public class Bip32ECKeyPair extends ECKeyPair {
     }
 
     private byte[] getIdentifier() {
-        return sha256hash160(getPublicKeyPoint().getEncoded(true));
+        if (identifier == null) {
+            identifier = sha256hash160(getPublicKeyPoint().getEncoded(true));
+        }
+        return identifier;
     }
 
     public ECPoint getPublicKeyPoint() {
         if (publicKeyPoint == null) {
-            publicKeyPoint = Sign.publicPointFromPrivate(getPrivateKey());
+            if (getPrivateKey() != null) {
+                publicKeyPoint = Sign.publicPointFromPrivate(getPrivateKey());
+            } else {
+                byte[] encoded = new byte[65];
+                encoded[0] = 0x04;
+                byte[] publicKey = Numeric.toBytesPadded(getPublicKey(), 64);
+                System.arraycopy(publicKey, 0, encoded, 1, 64);
+                publicKeyPoint = Sign.CURVE.getCurve().decodePoint(encoded);
+            }
         }
         return publicKeyPoint;
     }
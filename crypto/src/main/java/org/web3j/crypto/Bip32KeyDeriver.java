@@ -0,0 +1,207 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.crypto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.bouncycastle.math.ec.ECPoint;
+
+import org.web3j.utils.Numeric;
+
+/**
+ * BIP-32 derivation of many keys or addresses below a common root.
+ *
+ * <p>{@link Bip32ECKeyPair#deriveKeyPair(Bip32ECKeyPair, int[])} walks the whole path from the root
+ * for every key. This deriver keeps the intermediate nodes of recently used paths, so that deriving
+ * {@code m/44'/60'/0'/0/i} for consecutive {@code i} only derives the last step. Addresses are
+ * derived from public keys only, which also works for a {@link Bip32ECKeyPair#toPublicKeyPair()
+ * public only} root and non-hardened paths.
+ */
+public class Bip32KeyDeriver {
+
+    /** Receives derived addresses, concurrently when deriving in parallel. */
+    public interface AddressConsumer {
+        void accept(int childNumber, String address);
+    }
+
+    public static final int DEFAULT_MAX_CACHED_NODES = 1024;
+
+    private static final int CHUNK_SIZE = 256;
+
+    private final Bip32ECKeyPair root;
+    private final Map<String, Bip32ECKeyPair> nodes;
+
+    public Bip32KeyDeriver(Bip32ECKeyPair root) {
+        this(root, DEFAULT_MAX_CACHED_NODES);
+    }
+
+    public Bip32KeyDeriver(Bip32ECKeyPair root, int maxCachedNodes) {
+        this.root = root;
+        this.nodes =
+                new LinkedHashMap<String, Bip32ECKeyPair>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, Bip32ECKeyPair> eldest) {
+                        return size() > maxCachedNodes;
+                    }
+                };
+    }
+
+    /**
+     * Derive the key pair of a path below the root, reusing the cached parent node.
+     *
+     * @param path child numbers below the root
+     * @return the derived key pair
+     */
+    public Bip32ECKeyPair deriveKeyPair(int[] path) {
+        if (path == null || path.length == 0) {
+            return root;
+        }
+        return parent(path).deriveChildKey(path[path.length - 1]);
+    }
+
+    /**
+     * Derive the address of a path below the root, from the public key only.
+     *
+     * @param path child numbers below the root
+     * @return {@code 0x} prefixed address
+     */
+    public String deriveAddress(int[] path) {
+        if (path == null || path.length == 0) {
+            return address(root.getPublicKeyPoint());
+        }
+        return address(parent(path).deriveChildPublicKeyPoint(path[path.length - 1]));
+    }
+
+    /**
+     * Derive the addresses of a range of children of a common parent.
+     *
+     * @param parentPath child numbers of the parent below the root
+     * @param fromChildNumber first child number
+     * @param count number of addresses
+     * @return addresses in child number order
+     */
+    public List<String> deriveAddresses(int[] parentPath, int fromChildNumber, int count) {
+        String[] addresses = new String[count];
+        deriveAddresses(
+                parentPath,
+                fromChildNumber,
+                count,
+                1,
+                (childNumber, address) -> addresses[childNumber - fromChildNumber] = address);
+        return Arrays.asList(addresses);
+    }
+
+    /**
+     * Derive the addresses of a range of children of a common parent on multiple threads, passing
+     * each address to the consumer as soon as it is derived. Only the parent node is kept, so
+     * ranges of any size can be streamed.
+     *
+     * @param parentPath child numbers of the parent below the root
+     * @param fromChildNumber first child number
+     * @param count number of addresses
+     * @param parallelism number of deriving threads, the consumer is called on the calling thread
+     *     when this is 1, and concurrently from pool threads otherwise
+     * @param consumer receives each child number and its address, in no particular order when
+     *     deriving in parallel
+     */
+    public void deriveAddresses(
+            int[] parentPath,
+            int fromChildNumber,
+            int count,
+            int parallelism,
+            AddressConsumer consumer) {
+        if (count < 0
+                || parallelism <= 0
+                || Integer.toUnsignedLong(fromChildNumber) + count - 1 > 0xFFFFFFFFL) {
+            throw new IllegalArgumentException("Invalid child number range or parallelism");
+        }
+        Bip32ECKeyPair parent =
+                parentPath == null || parentPath.length == 0 ? root : node(parentPath);
+
+        if (parallelism == 1 || count <= CHUNK_SIZE) {
+            deriveRange(parent, fromChildNumber, count, consumer);
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int offset = 0; offset < count; offset += CHUNK_SIZE) {
+                int from = fromChildNumber + offset;
+                int size = Math.min(CHUNK_SIZE, count - offset);
+                futures.add(executor.submit(() -> deriveRange(parent, from, size, consumer)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while deriving addresses", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException
+                    ? (RuntimeException) cause
+                    : new IllegalStateException(cause);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /** Forget all cached intermediate nodes. */
+    public void clear() {
+        synchronized (nodes) {
+            nodes.clear();
+        }
+    }
+
+    private static void deriveRange(
+            Bip32ECKeyPair parent, int fromChildNumber, int count, AddressConsumer consumer) {
+        for (int i = 0; i < count; i++) {
+            int childNumber = fromChildNumber + i;
+            consumer.accept(childNumber, address(parent.deriveChildPublicKeyPoint(childNumber)));
+        }
+    }
+
+    private Bip32ECKeyPair parent(int[] path) {
+        return path.length == 1 ? root : node(Arrays.copyOf(path, path.length - 1));
+    }
+
+    /** Returns the node of a non-empty path, deriving and caching its missing ancestors. */
+    private Bip32ECKeyPair node(int[] path) {
+        String key = Arrays.toString(path);
+        Bip32ECKeyPair node;
+        synchronized (nodes) {
+            node = nodes.get(key);
+        }
+        if (node == null) {
+            node = parent(path).deriveChildKey(path[path.length - 1]);
+            synchronized (nodes) {
+                nodes.put(key, node);
+            }
+        }
+        return node;
+    }
+
+    private static String address(ECPoint publicKeyPoint) {
+        byte[] encoded = publicKeyPoint.getEncoded(false);
+        return Numeric.toHexString(Keys.getAddress(Arrays.copyOfRange(encoded, 1, 65)));
+    }
+}
@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -65,6 +66,8 @@ public class StructuredDataEncoder {
     final String identifierRegex = "^[a-zA-Z_$][a-zA-Z_$0-9]*$";
     final Pattern identifierPattern = Pattern.compile(identifierRegex);
 
+    private final Map<String, byte[]> typeHashes = new ConcurrentHashMap<>();
+
     public StructuredDataEncoder(String jsonMessageInString) throws IOException, RuntimeException {
         // Parse String Message into object and validate
         this.jsonMessageObject = parseJSONMessage(jsonMessageInString);
@@ -135,7 +138,21 @@ public class StructuredDataEncoder {
     }
 
     public byte[] typeHash(String primaryType) {
-        return Numeric.hexStringToByteArray(sha3String(encodeType(primaryType)));
+        return typeHashes
+                .computeIfAbsent(
+                        primaryType,
+                        type -> Numeric.hexStringToByteArray(sha3String(encodeType(type))))
+                .clone();
+    }
+
+    /**
+     * Compile the types and domain of this message, so that further messages of the same types can
+     * be hashed without re-encoding the types and domain.
+     *
+     * @return the compiled schema, bound to the domain of this message
+     */
+    public StructuredDataSchema compile() {
+        return StructuredDataSchema.compile(jsonMessageObject.getTypes(), hashDomain());
     }
 
     public List<Integer> getArrayDimensionsFromDeclaration(String declaration) {
@@ -0,0 +1,425 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.crypto;
+
+import java.math.BigInteger;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Bool;
+import org.web3j.abi.datatypes.BytesType;
+import org.web3j.abi.datatypes.NumericType;
+import org.web3j.abi.datatypes.Utf8String;
+import org.web3j.utils.Numeric;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.web3j.crypto.Hash.sha3;
+
+/**
+ * An <a href="https://eips.ethereum.org/EIPS/eip-712">EIP-712</a> type set and domain, compiled
+ * once for hashing many messages.
+ *
+ * <p>Type encodings, type hashes and the domain separator are computed when the schema is compiled,
+ * along with an encoder per field, so that hashing a message only encodes its values. Struct values
+ * are given either as a {@link Map} by field name, or as a {@link List} or array in field
+ * declaration order. Atomic values may be Java values such as {@link BigInteger}, {@link Long},
+ * {@code byte[]} and {@link Boolean}, ABI types such as {@link Address}, or the hex and decimal
+ * strings of a JSON message.
+ *
+ * <p>Unlike {@link StructuredDataEncoder}, dependencies are resolved transitively and through array
+ * types, and array elements are encoded as specified by EIP-712, each nested array being hashed.
+ * Instances are immutable and safe to share between threads.
+ */
+public class StructuredDataSchema {
+
+    public static final String DOMAIN_TYPE = "EIP712Domain";
+
+    private static final byte[] MESSAGE_PREFIX = {0x19, 0x01};
+
+    private static final Pattern ATOMIC_TYPE_PATTERN =
+            Pattern.compile("^(u?int)(\\d*)$|^bytes(\\d+)$|^(address|bool|string|bytes)$");
+    private static final Pattern ARRAY_SUFFIX_PATTERN = Pattern.compile("\\[(\\d*)\\]$");
+
+    private final Map<String, StructEncoder> structs;
+    private final byte[] domainSeparator;
+
+    private StructuredDataSchema(Map<String, StructEncoder> structs, byte[] domainSeparator) {
+        this.structs = structs;
+        this.domainSeparator = domainSeparator;
+    }
+
+    /**
+     * Compile a type set, without a domain.
+     *
+     * @param types field name and type pairs of each struct type, in declaration order
+     * @return the compiled schema
+     * @throws IllegalArgumentException if a field type is neither atomic nor a struct of the set
+     * @see #withDomain(Map)
+     */
+    public static StructuredDataSchema compile(Map<String, List<Map.Entry<String, String>>> types) {
+        Map<String, StructEncoder> structs = new HashMap<>();
+        for (Map.Entry<String, List<Map.Entry<String, String>>> type : types.entrySet()) {
+            structs.put(type.getKey(), new StructEncoder(type.getKey(), type.getValue()));
+        }
+        for (StructEncoder struct : structs.values()) {
+            struct.resolve(structs);
+        }
+        for (StructEncoder struct : structs.values()) {
+            struct.encodeType(structs);
+        }
+        return new StructuredDataSchema(Collections.unmodifiableMap(structs), null);
+    }
+
+    static StructuredDataSchema compile(
+            Map<String, List<StructuredData.Entry>> types, byte[] domainSeparator) {
+        Map<String, List<Map.Entry<String, String>>> fields = new LinkedHashMap<>();
+        for (Map.Entry<String, List<StructuredData.Entry>> type : types.entrySet()) {
+            List<Map.Entry<String, String>> entries = new ArrayList<>();
+            for (StructuredData.Entry entry : type.getValue()) {
+                entries.add(
+                        new AbstractMap.SimpleImmutableEntry<>(entry.getName(), entry.getType()));
+            }
+            fields.put(type.getKey(), entries);
+        }
+        return compile(fields).withDomainSeparator(domainSeparator);
+    }
+
+    /**
+     * Returns this schema bound to a domain, the domain separator is computed once.
+     *
+     * @param domain values of the {@value #DOMAIN_TYPE} fields, by name or in declaration order
+     * @return the schema with the domain
+     */
+    public StructuredDataSchema withDomain(Object domain) {
+        return withDomainSeparator(hashStruct(DOMAIN_TYPE, domain));
+    }
+
+    /** Returns this schema bound to a precomputed domain separator. */
+    public StructuredDataSchema withDomainSeparator(byte[] domainSeparator) {
+        return new StructuredDataSchema(
+                structs, domainSeparator == null ? null : domainSeparator.clone());
+    }
+
+    public byte[] getDomainSeparator() {
+        return domainSeparator == null ? null : domainSeparator.clone();
+    }
+
+    public String encodeType(String type) {
+        return struct(type).encodedType;
+    }
+
+    public byte[] typeHash(String type) {
+        return struct(type).typeHash.clone();
+    }
+
+    /** @return the field names of a struct type, in declaration order */
+    public List<String> getFieldNames(String type) {
+        return Collections.unmodifiableList(Arrays.asList(struct(type).fieldNames));
+    }
+
+    /**
+     * Encode a struct value, the type hash followed by the encoding of each field.
+     *
+     * @param type struct type
+     * @param data field values, by name or in declaration order
+     * @return the encoded data
+     */
+    public byte[] encodeData(String type, Object data) {
+        return struct(type).encodeData(data);
+    }
+
+    /** Returns {@code hashStruct(data)} of a struct value. */
+    public byte[] hashStruct(String type, Object data) {
+        return sha3(encodeData(type, data));
+    }
+
+    /**
+     * Hash a message for signing, {@code keccak256("\x19\x01" || domainSeparator ||
+     * hashStruct(message))}.
+     *
+     * @param primaryType struct type of the message
+     * @param message field values, by name or in declaration order
+     * @return the hash to sign
+     * @throws IllegalStateException if the schema is not bound to a domain
+     */
+    public byte[] hashTypedData(String primaryType, Object message) {
+        if (domainSeparator == null) {
+            throw new IllegalStateException("Schema is not bound to a domain");
+        }
+        byte[] data = new byte[66];
+        System.arraycopy(MESSAGE_PREFIX, 0, data, 0, 2);
+        System.arraycopy(domainSeparator, 0, data, 2, 32);
+        System.arraycopy(hashStruct(primaryType, message), 0, data, 34, 32);
+        return sha3(data);
+    }
+
+    private StructEncoder struct(String type) {
+        StructEncoder struct = structs.get(type);
+        if (struct == null) {
+            throw new IllegalArgumentException("Unknown struct type " + type);
+        }
+        return struct;
+    }
+
+    /** Writes the 32 byte encoding of a value. */
+    private interface ValueEncoder {
+        void encode(Object value, byte[] out, int offset);
+    }
+
+    private static class StructEncoder implements ValueEncoder {
+        private final String name;
+        private final String[] fieldNames;
+        private final String[] fieldTypes;
+        private final ValueEncoder[] encoders;
+        private final List<String> dependencies = new ArrayList<>();
+        private String encodedType;
+        private byte[] typeHash;
+
+        StructEncoder(String name, List<Map.Entry<String, String>> fields) {
+            this.name = name;
+            this.fieldNames = new String[fields.size()];
+            this.fieldTypes = new String[fields.size()];
+            this.encoders = new ValueEncoder[fields.size()];
+            for (int i = 0; i < fields.size(); i++) {
+                fieldNames[i] = fields.get(i).getKey();
+                fieldTypes[i] = fields.get(i).getValue();
+            }
+        }
+
+        void resolve(Map<String, StructEncoder> structs) {
+            for (int i = 0; i < fieldTypes.length; i++) {
+                encoders[i] = encoder(fieldTypes[i], structs, dependencies);
+            }
+        }
+
+        void encodeType(Map<String, StructEncoder> structs) {
+            TreeSet<String> referenced = new TreeSet<>();
+            List<String> pending = new ArrayList<>(dependencies);
+            while (!pending.isEmpty()) {
+                String dependency = pending.remove(pending.size() - 1);
+                if (!dependency.equals(name) && referenced.add(dependency)) {
+                    pending.addAll(structs.get(dependency).dependencies);
+                }
+            }
+
+            StringBuilder builder = new StringBuilder();
+            appendStruct(builder);
+            for (String dependency : referenced) {
+                structs.get(dependency).appendStruct(builder);
+            }
+            encodedType = builder.toString();
+            typeHash = sha3(encodedType.getBytes(UTF_8));
+        }
+
+        private void appendStruct(StringBuilder builder) {
+            builder.append(name).append('(');
+            for (int i = 0; i < fieldNames.length; i++) {
+                if (i > 0) {
+                    builder.append(',');
+                }
+                builder.append(fieldTypes[i]).append(' ').append(fieldNames[i]);
+            }
+            builder.append(')');
+        }
+
+        byte[] encodeData(Object data) {
+            byte[] out = new byte[32 * (fieldNames.length + 1)];
+            System.arraycopy(typeHash, 0, out, 0, 32);
+            if (data instanceof Map) {
+                Map<?, ?> values = (Map<?, ?>) data;
+                for (int i = 0; i < fieldNames.length; i++) {
+                    Object value = values.get(fieldNames[i]);
+                    if (value == null) {
+                        throw new IllegalArgumentException(
+                                "Missing value of " + name + "." + fieldNames[i]);
+                    }
+                    encoders[i].encode(value, out, 32 * (i + 1));
+                }
+            } else {
+                List<?> values = toList(data);
+                if (values == null || values.size() != fieldNames.length) {
+                    throw new IllegalArgumentException(
+                            "Expected a map or "
+                                    + fieldNames.length
+                                    + " values for struct "
+                                    + name);
+                }
+                for (int i = 0; i < fieldNames.length; i++) {
+                    encoders[i].encode(values.get(i), out, 32 * (i + 1));
+                }
+            }
+            return out;
+        }
+
+        @Override
+        public void encode(Object value, byte[] out, int offset) {
+            System.arraycopy(sha3(encodeData(value)), 0, out, offset, 32);
+        }
+    }
+
+    private static ValueEncoder encoder(
+            String type, Map<String, StructEncoder> structs, List<String> dependencies) {
+        Matcher arrayMatcher = ARRAY_SUFFIX_PATTERN.matcher(type);
+        if (arrayMatcher.find()) {
+            int length =
+                    arrayMatcher.group(1).isEmpty() ? -1 : Integer.parseInt(arrayMatcher.group(1));
+            ValueEncoder element =
+                    encoder(type.substring(0, arrayMatcher.start()), structs, dependencies);
+            return arrayEncoder(type, length, element);
+        }
+
+        StructEncoder struct = structs.get(type);
+        if (struct != null) {
+            if (!dependencies.contains(type)) {
+                dependencies.add(type);
+            }
+            return struct;
+        }
+
+        Matcher matcher = ATOMIC_TYPE_PATTERN.matcher(type);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Unknown type " + type);
+        }
+        if (matcher.group(1) != null) {
+            int bits = matcher.group(2).isEmpty() ? 256 : Integer.parseInt(matcher.group(2));
+            if (bits == 0 || bits > 256 || bits % 8 != 0) {
+                throw new IllegalArgumentException("Invalid integer type " + type);
+            }
+            return integerEncoder(type, matcher.group(1).equals("int"), bits);
+        } else if (matcher.group(3) != null) {
+            int length = Integer.parseInt(matcher.group(3));
+            if (length == 0 || length > 32) {
+                throw new IllegalArgumentException("Invalid bytes type " + type);
+            }
+            return (value, out, offset) -> {
+                byte[] bytes = toBytes(value);
+                if (bytes.length > length) {
+                    throw new IllegalArgumentException(
+                            "Value of " + bytes.length + " bytes exceeds " + type);
+                }
+                System.arraycopy(bytes, 0, out, offset, bytes.length);
+            };
+        }
+        switch (matcher.group(4)) {
+            case "address":
+                return (value, out, offset) -> {
+                    byte[] address =
+                            value instanceof Address
+                                    ? Numeric.hexStringToByteArray(((Address) value).getValue())
+                                    : toBytes(value);
+                    if (address.length > 32) {
+                        throw new IllegalArgumentException("Invalid address " + value);
+                    }
+                    System.arraycopy(address, 0, out, offset + 32 - address.length, address.length);
+                };
+            case "bool":
+                return (value, out, offset) -> {
+                    boolean bool =
+                            value instanceof Bool
+                                    ? ((Bool) value).getValue()
+                                    : value instanceof Boolean
+                                            ? (Boolean) value
+                                            : Boolean.parseBoolean(value.toString());
+                    out[offset + 31] = (byte) (bool ? 1 : 0);
+                };
+            case "string":
+                return (value, out, offset) -> {
+                    String string =
+                            value instanceof Utf8String
+                                    ? ((Utf8String) value).getValue()
+                                    : (String) value;
+                    System.arraycopy(sha3(string.getBytes(UTF_8)), 0, out, offset, 32);
+                };
+            default:
+                return (value, out, offset) ->
+                        System.arraycopy(sha3(toBytes(value)), 0, out, offset, 32);
+        }
+    }
+
+    private static ValueEncoder integerEncoder(String type, boolean signed, int bits) {
+        return (value, out, offset) -> {
+            BigInteger integer = toBigInteger(value);
+            if (signed
+                    ? integer.bitLength() >= bits
+                    : integer.signum() < 0 || integer.bitLength() > bits) {
+                throw new IllegalArgumentException(
+                        "Value " + integer + " is out of range of " + type);
+            }
+            byte[] bytes = integer.toByteArray();
+            int length = Math.min(bytes.length, 32);
+            if (integer.signum() < 0) {
+                Arrays.fill(out, offset, offset + 32 - length, (byte) 0xff);
+            }
+            System.arraycopy(bytes, bytes.length - length, out, offset + 32 - length, length);
+        };
+    }
+
+    private static ValueEncoder arrayEncoder(String type, int length, ValueEncoder element) {
+        return (value, out, offset) -> {
+            List<?> items = toList(value);
+            if (items == null || (length >= 0 && items.size() != length)) {
+                throw new IllegalArgumentException("Invalid array value for " + type);
+            }
+            byte[] encoded = new byte[32 * items.size()];
+            for (int i = 0; i < items.size(); i++) {
+                element.encode(items.get(i), encoded, 32 * i);
+            }
+            System.arraycopy(sha3(encoded), 0, out, offset, 32);
+        };
+    }
+
+    private static BigInteger toBigInteger(Object value) {
+        if (value instanceof BigInteger) {
+            return (BigInteger) value;
+        } else if (value instanceof NumericType) {
+            return ((NumericType) value).getValue();
+        } else if (value instanceof Long
+                || value instanceof Integer
+                || value instanceof Short
+                || value instanceof Byte) {
+            return BigInteger.valueOf(((Number) value).longValue());
+        }
+        String string = value.toString();
+        return Numeric.containsHexPrefix(string)
+                ? Numeric.toBigInt(string)
+                : new BigInteger(string);
+    }
+
+    private static byte[] toBytes(Object value) {
+        if (value instanceof byte[]) {
+            return (byte[]) value;
+        } else if (value instanceof BytesType) {
+            return ((BytesType) value).getValue();
+        }
+        return Numeric.hexStringToByteArray(value.toString());
+    }
+
+    private static List<?> toList(Object value) {
+        if (value instanceof List) {
+            return (List<?>) value;
+        } else if (value instanceof Object[]) {
+            return Arrays.asList((Object[]) value);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.crypto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+
+import org.web3j.utils.Numeric;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.web3j.crypto.Bip32ECKeyPair.HARDENED_BIT;
+
+public class Bip32KeyDeriverTest {
+
+    private static final int[] ACCOUNT_PATH = {
+        44 | HARDENED_BIT, 60 | HARDENED_BIT, 0 | HARDENED_BIT
+    };
+
+    private final Bip32ECKeyPair master =
+            Bip32ECKeyPair.generateKeyPair(
+                    MnemonicUtils.generateSeed(SampleKeys.MNEMONIC, SampleKeys.PASSWORD));
+    private final Bip32KeyDeriver deriver = new Bip32KeyDeriver(master);
+
+    @Test
+    public void testDeriveKeyPair() {
+        for (int i = 0; i < 3; i++) {
+            int[] path = {44 | HARDENED_BIT, 60 | HARDENED_BIT, 0 | HARDENED_BIT, 0, i};
+            Bip32ECKeyPair expected = Bip32ECKeyPair.deriveKeyPair(master, path);
+
+            assertEquals(expected, deriver.deriveKeyPair(path));
+            assertEquals(
+                    Numeric.prependHexPrefix(Keys.getAddress(expected)),
+                    deriver.deriveAddress(path));
+        }
+        assertEquals(master, deriver.deriveKeyPair(new int[0]));
+    }
+
+    @Test
+    public void testDeriveAddressesFromPublicKey() {
+        Bip32ECKeyPair account = Bip32ECKeyPair.deriveKeyPair(master, ACCOUNT_PATH);
+        Bip32KeyDeriver publicDeriver = new Bip32KeyDeriver(account.toPublicKeyPair());
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            expected.add(
+                    Credentials.create(Bip32ECKeyPair.deriveKeyPair(account, new int[] {0, i}))
+                            .getAddress());
+        }
+
+        assertEquals(expected, publicDeriver.deriveAddresses(new int[] {0}, 0, 5));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> publicDeriver.deriveKeyPair(new int[] {0 | HARDENED_BIT}));
+    }
+
+    @Test
+    public void testDeriveAddressesInParallel() {
+        int[] parentPath = {44 | HARDENED_BIT, 60 | HARDENED_BIT, 0 | HARDENED_BIT, 0};
+        List<String> expected = deriver.deriveAddresses(parentPath, 100, 600);
+
+        Map<Integer, String> addresses = new ConcurrentHashMap<>();
+        deriver.deriveAddresses(parentPath, 100, 600, 4, addresses::put);
+
+        assertEquals(600, addresses.size());
+        for (int i = 0; i < 600; i++) {
+            assertEquals(expected.get(i), addresses.get(100 + i));
+        }
+    }
+
+    @Test
+    public void testDeriveAddressesInvalidRange() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> deriver.deriveAddresses(null, -1, 2, 1, (childNumber, address) -> {}));
+    }
+}
@@ -20,6 +20,8 @@ import org.web3j.utils.Numeric;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.web3j.crypto.Bip32ECKeyPair.HARDENED_BIT;
 import static org.web3j.crypto.Hash.sha256;
 
@@ -137,6 +139,28 @@ public class Bip32Test {
                 new int[] {0 | HARDENED_BIT});
     }
 
+    @Test
+    public void derivePublicKeyPairVector1() {
+        Bip32ECKeyPair master =
+                Bip32ECKeyPair.generateKeyPair(
+                        Numeric.hexStringToByteArray("000102030405060708090a0b0c0d0e0f"));
+        Bip32ECKeyPair parent =
+                Bip32ECKeyPair.deriveKeyPair(
+                                master, new int[] {0 | HARDENED_BIT, 1, 2 | HARDENED_BIT})
+                        .toPublicKeyPair();
+
+        // Chain M/0H/1/2H/2/1000000000
+        Bip32ECKeyPair pair = Bip32ECKeyPair.deriveKeyPair(parent, new int[] {2, 1000000000});
+
+        assertNull(pair.getPrivateKey());
+        assertEquals(
+                "xpub6H1LXWLaKsWFhvm6RVpEL9P4KfRZSW7abD2ttkWP3SSQvnyA8FSVqNTEcYFgJS2UaFcxupHiYkro49S8yGasTvXEYBVPamhGW6cFJodrTHy",
+                Base58.encode(addChecksum(serializePublic(pair))));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> Bip32ECKeyPair.deriveKeyPair(parent, new int[] {2 | HARDENED_BIT}));
+    }
+
     private void testGenerated(String seed, String expectedPriv, String expectedPub, int[] path) {
         Bip32ECKeyPair pair = Bip32ECKeyPair.generateKeyPair(Numeric.hexStringToByteArray(seed));
         assertNotNull(pair);
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.crypto;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import org.web3j.abi.datatypes.Address;
+import org.web3j.utils.Numeric;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.web3j.crypto.Hash.sha3;
+
+public class StructuredDataSchemaTest {
+
+    private static final String RESOURCES = "build/resources/test/structured_data_json_files/";
+
+    @Test
+    public void testCompileFromEncoder() throws IOException {
+        StructuredDataEncoder dataEncoder =
+                new StructuredDataEncoder(getResource("ValidStructuredData.json"));
+        StructuredDataSchema schema = dataEncoder.compile();
+
+        assertArrayEquals(dataEncoder.hashDomain(), schema.getDomainSeparator());
+        assertEquals(dataEncoder.encodeType("Mail"), schema.encodeType("Mail"));
+        assertArrayEquals(dataEncoder.typeHash("Mail"), schema.typeHash("Mail"));
+        assertEquals(
+                "0xbe609aee343fb3c4b28e1df9e632fca64fcfaede20f02e86244efddf30957bd2",
+                Numeric.toHexString(
+                        schema.hashTypedData("Mail", dataEncoder.jsonMessageObject.getMessage())));
+    }
+
+    @Test
+    public void test0xProtocolControlSample() throws IOException {
+        StructuredDataEncoder dataEncoder =
+                new StructuredDataEncoder(getResource("0xProtocolControlSample.json"));
+
+        assertEquals(
+                "0xccb29124860915763e8cd9257da1260abc7df668fde282272587d84b594f37f6",
+                Numeric.toHexString(
+                        dataEncoder
+                                .compile()
+                                .hashTypedData(
+                                        "Order", dataEncoder.jsonMessageObject.getMessage())));
+    }
+
+    @Test
+    public void testHashTypedValuesInDeclarationOrder() throws IOException {
+        StructuredDataSchema schema =
+                new StructuredDataEncoder(getResource("ValidStructuredData.json")).compile();
+
+        byte[] hash =
+                schema.hashStruct(
+                        "Mail",
+                        Arrays.asList(
+                                Arrays.asList(
+                                        "Cow",
+                                        new Address("0xCD2a3d9F938E13CD947Ec05AbC7FE734Df8DD826")),
+                                new Object[] {
+                                    "Bob",
+                                    Numeric.hexStringToByteArray(
+                                            "0xbBbBBBBbbBBBbbbBbbBbbbbBBbBbbbbBbBbbBBbB")
+                                },
+                                "Hello, Bob!"));
+
+        assertEquals(
+                "0xc52c0ee5d84264471806290a3f2c4cecfc5490626bf912d01f240d7a274b371e",
+                Numeric.toHexString(hash));
+        assertEquals(Arrays.asList("from", "to", "contents"), schema.getFieldNames("Mail"));
+    }
+
+    @Test
+    public void testWithDomain() throws IOException {
+        StructuredDataEncoder dataEncoder =
+                new StructuredDataEncoder(getResource("ValidStructuredData.json"));
+        Map<String, Object> domain = new HashMap<>();
+        domain.put("name", "Ether Mail");
+        domain.put("version", "1");
+        domain.put("chainId", 1L);
+        domain.put("verifyingContract", "0xCcCCccccCCCCcCCCCCCcCcCccCcCCCcCcccccccC");
+
+        StructuredDataSchema schema = dataEncoder.compile().withDomain(domain);
+
+        assertArrayEquals(dataEncoder.hashDomain(), schema.getDomainSeparator());
+    }
+
+    @Test
+    public void testTransitiveDependencies() {
+        Map<String, List<Map.Entry<String, String>>> types = new LinkedHashMap<>();
+        types.put("A", Collections.singletonList(field("b", "B[]")));
+        types.put("B", Collections.singletonList(field("c", "C")));
+        types.put("C", Collections.singletonList(field("x", "uint256")));
+
+        StructuredDataSchema schema = StructuredDataSchema.compile(types);
+
+        assertEquals("A(B[] b)B(C c)C(uint256 x)", schema.encodeType("A"));
+    }
+
+    @Test
+    public void testArrays() {
+        Map<String, List<Map.Entry<String, String>>> types = new LinkedHashMap<>();
+        types.put(
+                "Values", Arrays.asList(field("numbers", "int8[2]"), field("names", "string[][]")));
+        StructuredDataSchema schema = StructuredDataSchema.compile(types);
+
+        byte[] numbers = new byte[64];
+        Arrays.fill(numbers, 0, 32, (byte) 0xff);
+        numbers[63] = 1;
+        byte[] names = new byte[32];
+        System.arraycopy(sha3(sha3("a".getBytes(StandardCharsets.UTF_8))), 0, names, 0, 32);
+        byte[] expected = new byte[96];
+        System.arraycopy(schema.typeHash("Values"), 0, expected, 0, 32);
+        System.arraycopy(sha3(numbers), 0, expected, 32, 32);
+        System.arraycopy(sha3(names), 0, expected, 64, 32);
+
+        assertArrayEquals(
+                expected,
+                schema.encodeData(
+                        "Values",
+                        Arrays.asList(
+                                Arrays.asList(-1, BigInteger.ONE),
+                                Collections.singletonList(Collections.singletonList("a")))));
+    }
+
+    @Test
+    public void testInvalidValues() {
+        Map<String, List<Map.Entry<String, String>>> types = new LinkedHashMap<>();
+        types.put("Order", Arrays.asList(field("amount", "uint8"), field("tag", "bytes4")));
+        StructuredDataSchema schema = StructuredDataSchema.compile(types);
+
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> schema.hashStruct("Order", Arrays.asList(256, "0x01")));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> schema.hashStruct("Order", Arrays.asList(1, "0x0102030405")));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> schema.hashStruct("Order", Collections.singletonMap("amount", 1)));
+        assertThrows(IllegalStateException.class, () -> schema.hashTypedData("Order", null));
+        assertThrows(
+                IllegalArgumentException.class,
+                () ->
+                        StructuredDataSchema.compile(
+                                Collections.singletonMap(
+                                        "Order",
+                                        Collections.singletonList(field("amount", "uint7")))));
+    }
+
+    private static Map.Entry<String, String> field(String name, String type) {
+        return new AbstractMap.SimpleImmutableEntry<>(name, type);
+    }
+
+    private static String getResource(String jsonFile) throws IOException {
+        return new String(
+                Files.readAllBytes(Paths.get(RESOURCES + jsonFile).toAbsolutePath()),
+                StandardCharsets.UTF_8);
+    }
+}
@@ -19,6 +19,7 @@ import org.web3j.protocol.Web3jService;
 import org.web3j.protocol.core.JsonRpc2_0Web3j;
 import org.web3j.protocol.core.Request;
 import org.web3j.protocol.core.methods.response.EthSendTransaction;
+import org.web3j.utils.ExecutionConfig;
 
 public class JsonRpc2_0Eea extends JsonRpc2_0Web3j implements Eea {
     public JsonRpc2_0Eea(Web3jService web3jService) {
@@ -32,6 +33,11 @@ public class JsonRpc2_0Eea extends JsonRpc2_0Web3j implements Eea {
         super(web3jService, pollingInterval, scheduledExecutorService);
     }
 
+    public JsonRpc2_0Eea(
+            Web3jService web3jService, long pollingInterval, ExecutionConfig executionConfig) {
+        super(web3jService, pollingInterval, executionConfig);
+    }
+
     @Override
     public Request<?, EthSendTransaction> eeaSendRawTransaction(
             final String signedTransactionData) {
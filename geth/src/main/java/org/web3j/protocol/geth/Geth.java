@@ -22,7 +22,6 @@ import org.web3j.protocol.core.Request;
 import org.web3j.protocol.core.methods.response.MinerStartResponse;
 import org.web3j.protocol.geth.response.PersonalEcRecover;
 import org.web3j.protocol.geth.response.PersonalImportRawKey;
-import org.web3j.protocol.websocket.events.PendingTransactionNotification;
 import org.web3j.protocol.websocket.events.SyncingNotfication;
 
 /** JSON-RPC Request object building factory for Geth. */
@@ -43,15 +42,6 @@ public interface Geth extends Admin {
 
     Request<?, BooleanResponse> minerStop();
 
-    /**
-     * Creates an {@link Flowable} instance that emits a notification when a new transaction is
-     * added to the pending state and is signed with a key that is available in the node.
-     *
-     * @return a {@link Flowable} instance that emits a notification when a new transaction is added
-     *     to the pending state
-     */
-    Flowable<PendingTransactionNotification> newPendingTransactionsNotifications();
-
     /**
      * Creates an {@link Flowable} instance that emits a notification when a node starts or stops
      * syncing.
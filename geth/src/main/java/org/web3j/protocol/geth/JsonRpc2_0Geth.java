@@ -26,7 +26,6 @@ import org.web3j.protocol.core.methods.response.EthSubscribe;
 import org.web3j.protocol.core.methods.response.MinerStartResponse;
 import org.web3j.protocol.geth.response.PersonalEcRecover;
 import org.web3j.protocol.geth.response.PersonalImportRawKey;
-import org.web3j.protocol.websocket.events.PendingTransactionNotification;
 import org.web3j.protocol.websocket.events.SyncingNotfication;
 
 /** JSON-RPC 2.0 factory implementation for Geth. */
@@ -86,17 +85,6 @@ public class JsonRpc2_0Geth extends JsonRpc2_0Admin implements Geth {
                 "miner_stop", Collections.<String>emptyList(), web3jService, BooleanResponse.class);
     }
 
-    public Flowable<PendingTransactionNotification> newPendingTransactionsNotifications() {
-        return web3jService.subscribe(
-                new Request<>(
-                        "eth_subscribe",
-                        Arrays.asList("newPendingTransactions"),
-                        web3jService,
-                        EthSubscribe.class),
-                "eth_unsubscribe",
-                PendingTransactionNotification.class);
-    }
-
     @Override
     public Flowable<SyncingNotfication> syncingStatusNotifications() {
         return web3jService.subscribe(
@@ -13,6 +13,7 @@
 package org.web3j.protocol.geth;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -25,8 +26,7 @@ import org.web3j.protocol.websocket.WebSocketListener;
 import org.web3j.protocol.websocket.WebSocketService;
 
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.ArgumentMatchers.matches;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -58,14 +58,14 @@ public class JsonRpc2_0GethTest {
 
         doAnswer(
                         invocation -> {
-                            String message = invocation.getArgument(0, String.class);
+                            byte[] message = invocation.getArgument(0, byte[].class);
                             int requestId = getRequestId(message);
 
                             sendSubscriptionConfirmation(requestId);
                             return null;
                         })
                 .when(webSocketClient)
-                .send(anyString());
+                .sendText(any(byte[].class));
 
         webSocketService.connect();
     }
@@ -75,8 +75,8 @@ public class JsonRpc2_0GethTest {
         geth.newPendingTransactionsNotifications();
 
         verify(webSocketClient)
-                .send(
-                        matches(
+                .sendText(
+                        textMatching(
                                 "\\{\"jsonrpc\":\"2.0\",\"method\":\"eth_subscribe\",\"params\":"
                                         + "\\[\"newPendingTransactions\"],\"id\":[0-9]{1,}}"));
     }
@@ -86,13 +86,17 @@ public class JsonRpc2_0GethTest {
         geth.syncingStatusNotifications();
 
         verify(webSocketClient)
-                .send(
-                        matches(
+                .sendText(
+                        textMatching(
                                 "\\{\"jsonrpc\":\"2.0\",\"method\":\"eth_subscribe\","
                                         + "\"params\":\\[\"syncing\"],\"id\":[0-9]{1,}}"));
     }
 
-    private int getRequestId(String message) throws IOException {
+    private static byte[] textMatching(String regex) {
+        return argThat(payload -> new String(payload, StandardCharsets.UTF_8).matches(regex));
+    }
+
+    private int getRequestId(byte[] message) throws IOException {
         JsonNode messageJson = objectMapper.readTree(message);
         return messageJson.get("id").asInt();
     }
@@ -20,6 +20,7 @@ import okhttp3.Headers;
 import okhttp3.OkHttpClient;
 
 import org.web3j.protocol.http.HttpService;
+import org.web3j.protocol.http.RateLimiter;
 
 /**
  * HttpService for working with <a href="https://nodesmith.io/">Nodesmith's</a> hosted
@@ -50,6 +51,14 @@ public class NodesmithHttpService extends HttpService {
         Optional<RateLimitInfo> info = createRateLimitFromHeaders(headers);
         if (info.isPresent()) {
             this.latestRateLimitInfo = info.get();
+
+            // keep the client side limiter within the remaining quota
+            RateLimiter rateLimiter = getRateLimiter();
+            if (rateLimiter != null) {
+                rateLimiter.update(
+                        latestRateLimitInfo.getRemainingInWindow(),
+                        latestRateLimitInfo.getWindowResetTime());
+            }
         }
     }
 
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.parity;
+
+import java.math.BigInteger;
+import java.util.List;
+
+import org.web3j.protocol.parity.methods.response.Trace;
+
+/**
+ * Traces of a window of blocks, as emitted by {@link TraceIngester}. Once a batch has been
+ * processed, {@link #getNextBlock()} is the checkpoint to resume ingestion from.
+ */
+public class TraceBatch {
+
+    private final BigInteger fromBlock;
+    private final BigInteger toBlock;
+    private final List<Trace> traces;
+
+    public TraceBatch(BigInteger fromBlock, BigInteger toBlock, List<Trace> traces) {
+        this.fromBlock = fromBlock;
+        this.toBlock = toBlock;
+        this.traces = traces;
+    }
+
+    public BigInteger getFromBlock() {
+        return fromBlock;
+    }
+
+    /** Last block of the window, inclusive. */
+    public BigInteger getToBlock() {
+        return toBlock;
+    }
+
+    public List<Trace> getTraces() {
+        return traces;
+    }
+
+    public BigInteger getNextBlock() {
+        return toBlock.add(BigInteger.ONE);
+    }
+
+    @Override
+    public String toString() {
+        return "TraceBatch{"
+                + "fromBlock="
+                + fromBlock
+                + ", toBlock="
+                + toBlock
+                + ", traces="
+                + traces.size()
+                + '}';
+    }
+}
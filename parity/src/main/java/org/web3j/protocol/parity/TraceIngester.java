@@ -0,0 +1,229 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.parity;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import io.reactivex.Flowable;
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+
+import org.web3j.protocol.Service;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.DefaultBlockParameterNumber;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.parity.methods.request.TraceFilter;
+import org.web3j.protocol.parity.methods.response.ParityTracesResponse;
+import org.web3j.protocol.parity.methods.response.Trace;
+import org.web3j.utils.ExecutionConfig;
+
+/**
+ * Ingests the traces of large block ranges.
+ *
+ * <p>The range is split into windows of blocks which are fetched concurrently, up to a maximum
+ * number of windows in flight, with each response parsed one trace at a time. Windows are emitted
+ * in block order as {@link TraceBatch} instances, and no further windows are fetched while the
+ * subscriber is not requesting, so at most the windows in flight are held in memory.
+ *
+ * <p>To resume an interrupted ingestion, start again from the {@link TraceBatch#getNextBlock()} of
+ * the last batch processed. Individual traces can be obtained with {@code
+ * concatMapIterable(TraceBatch::getTraces)}.
+ */
+public class TraceIngester {
+
+    public static final int DEFAULT_WINDOW_SIZE = 100;
+    public static final int DEFAULT_MAX_CONCURRENCY = 4;
+
+    private final Web3jService web3jService;
+    private final Parity parity;
+    private final int windowSize;
+    private final int maxConcurrency;
+    private final Scheduler scheduler;
+
+    public TraceIngester(Web3jService web3jService) {
+        this(
+                web3jService,
+                DEFAULT_WINDOW_SIZE,
+                DEFAULT_MAX_CONCURRENCY,
+                ExecutionConfig.defaultConfig());
+    }
+
+    /**
+     * Create a trace ingester.
+     *
+     * @param web3jService service to fetch traces with
+     * @param windowSize number of blocks fetched by a single request, or batch of requests
+     * @param maxConcurrency maximum number of windows fetched concurrently
+     * @param executionConfig execution config whose executor performs the requests
+     */
+    public TraceIngester(
+            Web3jService web3jService,
+            int windowSize,
+            int maxConcurrency,
+            ExecutionConfig executionConfig) {
+        if (windowSize <= 0 || maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Window size and concurrency must be positive");
+        }
+        this.web3jService = web3jService;
+        this.parity = Parity.build(web3jService);
+        this.windowSize = windowSize;
+        this.maxConcurrency = maxConcurrency;
+        this.scheduler = Schedulers.from(executionConfig.getExecutor());
+    }
+
+    /**
+     * Ingest traces with {@code trace_filter}, one request per window.
+     *
+     * @param fromBlock first block, inclusive
+     * @param toBlock last block, inclusive
+     * @param fromAddress sender addresses to filter by, or null for any
+     * @param toAddress recipient addresses to filter by, or null for any
+     * @return a {@link Flowable} emitting a batch per window, in block order
+     */
+    public Flowable<TraceBatch> traceFilter(
+            BigInteger fromBlock,
+            BigInteger toBlock,
+            List<String> fromAddress,
+            List<String> toAddress) {
+        return windows(fromBlock, toBlock)
+                .concatMapEager(
+                        window ->
+                                fetch(
+                                        window,
+                                        () ->
+                                                fetchTraceFilter(
+                                                        window.getFromBlock(),
+                                                        window.getToBlock(),
+                                                        fromAddress,
+                                                        toAddress)),
+                        maxConcurrency,
+                        1);
+    }
+
+    /**
+     * Ingest traces with {@code trace_block}, one batch request per window.
+     *
+     * @param fromBlock first block, inclusive
+     * @param toBlock last block, inclusive
+     * @return a {@link Flowable} emitting a batch per window, in block order
+     */
+    public Flowable<TraceBatch> traceBlocks(BigInteger fromBlock, BigInteger toBlock) {
+        return windows(fromBlock, toBlock)
+                .concatMapEager(
+                        window ->
+                                fetch(
+                                        window,
+                                        () ->
+                                                fetchTraceBlocks(
+                                                        window.getFromBlock(),
+                                                        window.getToBlock())),
+                        maxConcurrency,
+                        1);
+    }
+
+    private Flowable<TraceBatch> windows(BigInteger fromBlock, BigInteger toBlock) {
+        if (fromBlock.compareTo(toBlock) > 0) {
+            return Flowable.empty();
+        }
+        long first = fromBlock.longValueExact();
+        long count = toBlock.longValueExact() - first + 1;
+        long windows = (count + windowSize - 1) / windowSize;
+        return Flowable.rangeLong(0, windows)
+                .map(
+                        index -> {
+                            long start = first + index * windowSize;
+                            long end = Math.min(start + windowSize, first + count) - 1;
+                            return new TraceBatch(
+                                    BigInteger.valueOf(start), BigInteger.valueOf(end), null);
+                        });
+    }
+
+    private Flowable<TraceBatch> fetch(TraceBatch window, TraceFetcher fetcher) {
+        return Flowable.fromCallable(
+                        () ->
+                                new TraceBatch(
+                                        window.getFromBlock(),
+                                        window.getToBlock(),
+                                        fetcher.fetch()))
+                .subscribeOn(scheduler);
+    }
+
+    private List<Trace> fetchTraceFilter(
+            BigInteger fromBlock,
+            BigInteger toBlock,
+            List<String> fromAddress,
+            List<String> toAddress)
+            throws IOException {
+        Request<?, ParityTracesResponse> request =
+                parity.traceFilter(
+                        new TraceFilter(
+                                new DefaultBlockParameterNumber(fromBlock),
+                                new DefaultBlockParameterNumber(toBlock),
+                                fromAddress,
+                                toAddress));
+
+        if (web3jService instanceof Service) {
+            return ((Service) web3jService).sendStreaming(request, TracesParser::parseResponse);
+        }
+        return getTraces(request.send());
+    }
+
+    private List<Trace> fetchTraceBlocks(BigInteger fromBlock, BigInteger toBlock)
+            throws IOException {
+        BatchRequest batchRequest = new BatchRequest(web3jService);
+        for (BigInteger block = fromBlock;
+                block.compareTo(toBlock) <= 0;
+                block = block.add(BigInteger.ONE)) {
+            batchRequest.add(parity.traceBlock(new DefaultBlockParameterNumber(block)));
+        }
+
+        List<Trace> traces = new ArrayList<>();
+        if (web3jService instanceof Service) {
+            Map<Long, List<Trace>> responses =
+                    ((Service) web3jService)
+                            .sendBatchStreaming(batchRequest, TracesParser::parseBatchResponse);
+            for (Request<?, ?> request : batchRequest.getRequests()) {
+                List<Trace> blockTraces = responses.get(request.getId());
+                if (blockTraces == null) {
+                    throw new IOException("Missing response for request " + request.getId());
+                }
+                traces.addAll(blockTraces);
+            }
+        } else {
+            BatchResponse batchResponse = batchRequest.send();
+            for (Response<?> response : batchResponse.getResponses()) {
+                traces.addAll(getTraces((ParityTracesResponse) response));
+            }
+        }
+        return traces;
+    }
+
+    private static List<Trace> getTraces(ParityTracesResponse response) throws IOException {
+        if (response.hasError()) {
+            throw new IOException("Error processing request: " + response.getError().getMessage());
+        }
+        return response.getTraces();
+    }
+
+    @FunctionalInterface
+    private interface TraceFetcher {
+        List<Trace> fetch() throws IOException;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.parity;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import org.web3j.protocol.ObjectMapperFactory;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.parity.methods.response.Trace;
+
+/**
+ * Streaming parser for trace responses, reading one trace at a time instead of building the
+ * response as a whole. JSON-RPC errors are raised as exceptions.
+ */
+final class TracesParser {
+
+    private static final JsonFactory JSON_FACTORY =
+            ObjectMapperFactory.getObjectMapper().getFactory();
+
+    private TracesParser() {}
+
+    static List<Trace> parseResponse(InputStream result) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(result)) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT);
+            return readResponse(parser, null);
+        }
+    }
+
+    /** Parse a batch of responses, keyed by request id as they may be in any order. */
+    static Map<Long, List<Trace>> parseBatchResponse(InputStream result) throws IOException {
+        Map<Long, List<Trace>> responses = new HashMap<>();
+        try (JsonParser parser = JSON_FACTORY.createParser(result)) {
+            expect(parser.nextToken(), JsonToken.START_ARRAY);
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                long[] id = new long[1];
+                List<Trace> traces = readResponse(parser, id);
+                responses.put(id[0], traces);
+            }
+        }
+        return responses;
+    }
+
+    private static List<Trace> readResponse(JsonParser parser, long[] id) throws IOException {
+        List<Trace> traces = Collections.emptyList();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            if (parser.nextToken() == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            switch (name) {
+                case "id":
+                    if (id != null) {
+                        id[0] = parser.getValueAsLong();
+                    }
+                    break;
+                case "result":
+                    traces = readTraces(parser);
+                    break;
+                case "error":
+                    Response.Error error = parser.readValueAs(Response.Error.class);
+                    throw new IOException("Error processing request: " + error.getMessage());
+                default:
+                    parser.skipChildren();
+            }
+        }
+        return traces;
+    }
+
+    private static List<Trace> readTraces(JsonParser parser) throws IOException {
+        expect(parser.currentToken(), JsonToken.START_ARRAY);
+        List<Trace> traces = new ArrayList<>();
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            traces.add(parser.readValueAs(Trace.class));
+        }
+        return traces;
+    }
+
+    private static void expect(JsonToken token, JsonToken expected) throws IOException {
+        if (token != expected) {
+            throw new IOException("Invalid trace response, expected " + expected + ": " + token);
+        }
+    }
+}
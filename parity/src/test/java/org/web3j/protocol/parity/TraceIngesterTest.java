@@ -0,0 +1,208 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.protocol.parity;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.protocol.http.HttpService;
+import org.web3j.protocol.parity.methods.response.Trace;
+import org.web3j.utils.ExecutionConfig;
+import org.web3j.utils.Numeric;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.web3j.protocol.http.HttpService.JSON_MEDIA_TYPE;
+
+public class TraceIngesterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private TraceIngester traceIngester;
+    private List<String> methods;
+
+    @BeforeEach
+    public void setUp() {
+        methods = new ArrayList<>();
+        OkHttpClient httpClient =
+                new OkHttpClient.Builder().addInterceptor(new TraceInterceptor()).build();
+        traceIngester =
+                new TraceIngester(
+                        new HttpService(httpClient), 10, 3, ExecutionConfig.defaultConfig());
+    }
+
+    @Test
+    public void testTraceFilterEmitsWindowsInOrder() {
+        List<TraceBatch> batches =
+                traceIngester
+                        .traceFilter(BigInteger.ZERO, BigInteger.valueOf(24), null, null)
+                        .toList()
+                        .blockingGet();
+
+        assertEquals(batches.size(), 3);
+        assertEquals(batches.get(0).getFromBlock(), BigInteger.ZERO);
+        assertEquals(batches.get(0).getToBlock(), BigInteger.valueOf(9));
+        assertEquals(batches.get(2).getFromBlock(), BigInteger.valueOf(20));
+        assertEquals(batches.get(2).getToBlock(), BigInteger.valueOf(24));
+        assertEquals(batches.get(2).getNextBlock(), BigInteger.valueOf(25));
+        assertEquals(blockNumbers(batches), range(0, 24));
+        assertTrue(methods.stream().allMatch("trace_filter"::equals));
+        assertEquals(methods.size(), 3);
+    }
+
+    @Test
+    public void testTraceBlocksBatchesRequests() {
+        List<TraceBatch> batches =
+                traceIngester
+                        .traceBlocks(BigInteger.valueOf(5), BigInteger.valueOf(30))
+                        .toList()
+                        .blockingGet();
+
+        assertEquals(batches.size(), 3);
+        assertEquals(blockNumbers(batches), range(5, 30));
+        // one batch per window
+        assertEquals(methods.size(), 3);
+    }
+
+    @Test
+    public void testResumeFromCheckpoint() {
+        TraceBatch first =
+                traceIngester
+                        .traceFilter(BigInteger.ZERO, BigInteger.valueOf(24), null, null)
+                        .blockingFirst();
+
+        List<TraceBatch> remaining =
+                traceIngester
+                        .traceFilter(first.getNextBlock(), BigInteger.valueOf(24), null, null)
+                        .toList()
+                        .blockingGet();
+
+        assertEquals(blockNumbers(remaining), range(10, 24));
+    }
+
+    @Test
+    public void testErrorResponse() {
+        traceIngester
+                .traceFilter(BigInteger.ZERO, BigInteger.valueOf(1000), null, null)
+                .test()
+                .awaitDone(10, TimeUnit.SECONDS)
+                .assertError(
+                        e ->
+                                e instanceof IOException
+                                        && e.getMessage()
+                                                .equals("Error processing request: pruned"));
+    }
+
+    private static List<Long> blockNumbers(List<TraceBatch> batches) {
+        return batches.stream()
+                .flatMap(batch -> batch.getTraces().stream())
+                .map(Trace::getBlockNumber)
+                .map(BigInteger::longValue)
+                .collect(Collectors.toList());
+    }
+
+    private static List<Long> range(long from, long to) {
+        List<Long> range = new ArrayList<>();
+        for (long i = from; i <= to; i++) {
+            range.add(i);
+        }
+        return range;
+    }
+
+    /** Responds with a single reward trace per block, failing for blocks above 500. */
+    private class TraceInterceptor implements Interceptor {
+
+        @Override
+        public okhttp3.Response intercept(Chain chain) throws IOException {
+            Buffer buffer = new Buffer();
+            chain.request().body().writeTo(buffer);
+            JsonNode request = objectMapper.readTree(buffer.readUtf8());
+
+            String body;
+            if (request.isArray()) {
+                // respond out of order
+                List<String> responses = new ArrayList<>();
+                for (JsonNode item : request) {
+                    long block =
+                            Numeric.decodeQuantity(item.get("params").get(0).asText()).longValue();
+                    responses.add(0, response(item, block, block));
+                }
+                body = "[" + String.join(",", responses) + "]";
+                record(request.get(0));
+            } else {
+                JsonNode filter = request.get("params").get(0);
+                long from = Numeric.decodeQuantity(filter.get("fromBlock").asText()).longValue();
+                long to = Numeric.decodeQuantity(filter.get("toBlock").asText()).longValue();
+                body = response(request, from, to);
+                record(request);
+            }
+
+            try {
+                // complete windows out of order
+                Thread.sleep(ThreadLocalRandom.current().nextInt(20));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            return new okhttp3.Response.Builder()
+                    .body(ResponseBody.create(body, JSON_MEDIA_TYPE))
+                    .request(chain.request())
+                    .protocol(Protocol.HTTP_1_1)
+                    .code(200)
+                    .message("")
+                    .build();
+        }
+
+        private synchronized void record(JsonNode request) {
+            methods.add(request.get("method").asText());
+        }
+
+        private String response(JsonNode request, long from, long to) {
+            String id = request.get("id").asText();
+            if (to > 500) {
+                return "{\"jsonrpc\":\"2.0\",\"id\":"
+                        + id
+                        + ",\"error\":{\"code\":-32000,\"message\":\"pruned\"}}";
+            }
+            List<String> traces = new ArrayList<>();
+            for (long block = from; block <= to; block++) {
+                traces.add(
+                        "{\"action\":{\"author\":\"0xb8d2ac822f3d0445f5b83d32b0b176c2cb3d0e60\","
+                                + "\"value\":\"0x0\",\"rewardType\":\"block\"},"
+                                + "\"blockNumber\":"
+                                + block
+                                + ",\"subtraces\":0,\"traceAddress\":[],\"type\":\"reward\"}");
+            }
+            return "{\"jsonrpc\":\"2.0\",\"id\":"
+                    + id
+                    + ",\"result\":["
+                    + String.join(",", traces)
+                    + "]}";
+        }
+    }
+}
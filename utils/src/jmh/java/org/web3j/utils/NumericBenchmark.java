@@ -0,0 +1,83 @@
+/*
+ * Copyright 2019 Web3 Labs Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.web3j.utils;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the {@link Numeric} hex codec, run with {@code ./gradlew :utils:jmh}.
+ *
+ * <p>Only methods available in earlier releases are measured, so results can be compared across
+ * revisions.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NumericBenchmark {
+
+    private String quantity = "0x1b4e3c";
+    private String largeQuantity = "0xde0b6b3a76400000";
+    private BigInteger value = BigInteger.valueOf(0x1b4e3cL);
+    private BigInteger address = new BigInteger("11c52b08330e05d731e38c856c1043288f7d9744", 16);
+    private String hash = "0xc6ef2fc5426d6ad6fd9e2a26abeab0aa2411b7ab17f30a99d3cb96aed1d1055b";
+    private byte[] hashBytes = Numeric.hexStringToByteArray(hash);
+
+    @Benchmark
+    public BigInteger decodeQuantity() {
+        return Numeric.decodeQuantity(quantity);
+    }
+
+    @Benchmark
+    public BigInteger decodeLargeQuantity() {
+        return Numeric.decodeQuantity(largeQuantity);
+    }
+
+    @Benchmark
+    public String encodeQuantity() {
+        return Numeric.encodeQuantity(value);
+    }
+
+    @Benchmark
+    public String toHexStringNoPrefixZeroPadded() {
+        return Numeric.toHexStringNoPrefixZeroPadded(value, 64);
+    }
+
+    @Benchmark
+    public String toHexStringNoPrefixZeroPaddedAddress() {
+        return Numeric.toHexStringNoPrefixZeroPadded(address, 64);
+    }
+
+    @Benchmark
+    public byte[] hexStringToByteArray() {
+        return Numeric.hexStringToByteArray(hash);
+    }
+
+    @Benchmark
+    public String toHexString() {
+        return Numeric.toHexString(hashBytes);
+    }
+}
@@ -23,24 +23,64 @@ import org.web3j.exceptions.MessageEncodingException;
  * Message codec functions.
  *
  * <p>Implementation as per https://github.com/ethereum/wiki/wiki/JSON-RPC#hex-value-encoding
+ *
+ * <p>Quantities which fit into a {@code long} are converted without going through {@link
+ * BigInteger}.
  */
 public final class Numeric {
 
     private static final String HEX_PREFIX = "0x";
     private static final char[] HEX_CHAR_MAP = "0123456789abcdef".toCharArray();
 
+    // hex digit value of each ASCII character, -1 for non hex characters
+    private static final int[] HEX_VALUE_MAP = new int[128];
+
+    // maximum number of hex digits which always fit into a positive long
+    private static final int MAX_LONG_HEX_DIGITS = 15;
+
+    static {
+        Arrays.fill(HEX_VALUE_MAP, -1);
+        for (int i = 0; i < 16; i++) {
+            HEX_VALUE_MAP[Character.toLowerCase(HEX_CHAR_MAP[i])] = i;
+            HEX_VALUE_MAP[Character.toUpperCase(HEX_CHAR_MAP[i])] = i;
+        }
+    }
+
     private Numeric() {}
 
     public static String encodeQuantity(BigInteger value) {
-        if (value.signum() != -1) {
-            return HEX_PREFIX + value.toString(16);
+        if (value.signum() == -1) {
+            throw new MessageEncodingException("Negative values are not supported");
+        } else if (value.bitLength() < Long.SIZE) {
+            return encodeQuantity(value.longValue());
         } else {
+            return HEX_PREFIX + value.toString(16);
+        }
+    }
+
+    public static String encodeQuantity(long value) {
+        if (value < 0) {
             throw new MessageEncodingException("Negative values are not supported");
         }
+        int digits = hexDigits(value);
+        char[] output = new char[digits + 2];
+        output[0] = '0';
+        output[1] = 'x';
+        writeHexDigits(value, output, 2, digits);
+        return new String(output);
     }
 
     public static BigInteger decodeQuantity(String value) {
-        if (isLongValue(value)) {
+        if (containsHexPrefix(value)
+                && value.length() > 2
+                && value.length() <= MAX_LONG_HEX_DIGITS + 2) {
+            long result = parseHexDigits(value, 2, value.length());
+            if (result >= 0) {
+                return BigInteger.valueOf(result);
+            }
+        }
+
+        if (!containsHexPrefix(value) && isLongValue(value)) {
             return BigInteger.valueOf(Long.parseLong(value));
         }
 
@@ -54,6 +94,82 @@ public final class Numeric {
         }
     }
 
+    /**
+     * Decode a hex encoded quantity directly into a {@code long}.
+     *
+     * @param value hex quantity, with a {@code 0x} prefix
+     * @return the decoded value
+     * @throws MessageDecodingException if the value is not a valid quantity or does not fit into a
+     *     {@code long}
+     */
+    public static long decodeQuantityAsLong(CharSequence value) {
+        return decodeQuantityAsLong(value, 0, value.length());
+    }
+
+    /**
+     * Decode a hex encoded quantity held in part of a character sequence directly into a {@code
+     * long}.
+     *
+     * @param value character sequence containing the quantity
+     * @param offset offset of the quantity, including its {@code 0x} prefix
+     * @param length length of the quantity
+     * @return the decoded value
+     * @throws MessageDecodingException if the value is not a valid quantity or does not fit into a
+     *     {@code long}
+     */
+    public static long decodeQuantityAsLong(CharSequence value, int offset, int length) {
+        if (length < 3 || value.charAt(offset) != '0' || value.charAt(offset + 1) != 'x') {
+            throw new MessageDecodingException("Value must be in format 0x[1-9]+[0-9]* or 0x0");
+        }
+
+        int start = offset + 2;
+        int end = offset + length;
+        while (start < end - 1 && value.charAt(start) == '0') {
+            start++;
+        }
+        int digits = end - start;
+        if (digits > MAX_LONG_HEX_DIGITS + 1
+                || (digits == MAX_LONG_HEX_DIGITS + 1 && hexValue(value.charAt(start)) > 7)) {
+            throw new MessageDecodingException("Value exceeds the range of a long");
+        }
+        long result = parseHexDigits(value, start, end);
+        if (result < 0) {
+            throw new MessageDecodingException("Value must be in format 0x[1-9]+[0-9]* or 0x0");
+        }
+        return result;
+    }
+
+    /**
+     * Parse hex digits which fit into a positive long, returns -1 if any character is not a hex
+     * digit.
+     */
+    private static long parseHexDigits(CharSequence value, int start, int end) {
+        long result = 0;
+        for (int i = start; i < end; i++) {
+            int digit = hexValue(value.charAt(i));
+            if (digit < 0) {
+                return -1;
+            }
+            result = (result << 4) | digit;
+        }
+        return result;
+    }
+
+    private static int hexValue(char c) {
+        return c < HEX_VALUE_MAP.length ? HEX_VALUE_MAP[c] : -1;
+    }
+
+    private static int hexDigits(long value) {
+        return Math.max(1, (Long.SIZE - Long.numberOfLeadingZeros(value) + 3) >>> 2);
+    }
+
+    private static void writeHexDigits(long value, char[] output, int offset, int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            output[i] = HEX_CHAR_MAP[(int) (value & 0x0F)];
+            value >>>= 4;
+        }
+    }
+
     private static boolean isLongValue(String value) {
         try {
             Long.parseLong(value);
@@ -154,25 +270,31 @@ public final class Numeric {
     }
 
     private static String toHexStringZeroPadded(BigInteger value, int size, boolean withPrefix) {
-        String result = toHexStringNoPrefix(value);
+        boolean isLong = value.signum() >= 0 && value.bitLength() < Long.SIZE;
+        String result = isLong ? null : toHexStringNoPrefix(value);
 
-        int length = result.length();
+        int length = isLong ? hexDigits(value.longValue()) : result.length();
         if (length > size) {
             throw new UnsupportedOperationException(
-                    "Value " + result + "is larger then length " + size);
+                    "Value " + toHexStringNoPrefix(value) + "is larger then length " + size);
         } else if (value.signum() < 0) {
             throw new UnsupportedOperationException("Value cannot be negative");
         }
 
-        if (length < size) {
-            result = Strings.zeros(size - length) + result;
-        }
-
+        int prefixLength = withPrefix ? HEX_PREFIX.length() : 0;
+        char[] output = new char[prefixLength + size];
         if (withPrefix) {
-            return HEX_PREFIX + result;
+            output[0] = '0';
+            output[1] = 'x';
+        }
+        int digitsOffset = prefixLength + size - length;
+        Arrays.fill(output, prefixLength, digitsOffset, '0');
+        if (isLong) {
+            writeHexDigits(value.longValue(), output, digitsOffset, length);
         } else {
-            return result;
+            result.getChars(0, length, output, digitsOffset);
         }
+        return new String(output);
     }
 
     public static byte[] toBytesPadded(BigInteger value, int length) {
@@ -227,14 +349,55 @@ public final class Numeric {
         return data;
     }
 
+    /**
+     * Decode hex digits held in part of a character sequence into a caller provided buffer. An odd
+     * number of digits is decoded as if it had a leading zero.
+     *
+     * @param input character sequence containing the hex digits, without a {@code 0x} prefix
+     * @param offset offset of the first hex digit
+     * @param length number of hex digits
+     * @param output buffer to decode into, which must have room for {@code (length + 1) / 2} bytes
+     * @param outputOffset offset in the buffer to decode to
+     * @return the number of bytes written
+     * @throws MessageDecodingException if any of the characters is not a hex digit
+     */
+    public static int hexStringToByteArray(
+            CharSequence input, int offset, int length, byte[] output, int outputOffset) {
+        int i = offset;
+        int j = outputOffset;
+        int end = offset + length;
+        if (length % 2 != 0) {
+            int value = hexValue(input.charAt(i));
+            if (value < 0) {
+                throw invalidHexCharacter(input, i);
+            }
+            output[j++] = (byte) value;
+            i++;
+        }
+        for (; i < end; i += 2) {
+            int high = hexValue(input.charAt(i));
+            int low = hexValue(input.charAt(i + 1));
+            if ((high | low) < 0) {
+                throw invalidHexCharacter(input, high < 0 ? i : i + 1);
+            }
+            output[j++] = (byte) ((high << 4) + low);
+        }
+        return j - outputOffset;
+    }
+
+    private static MessageDecodingException invalidHexCharacter(CharSequence input, int index) {
+        return new MessageDecodingException(
+                "Invalid hex character '" + input.charAt(index) + "' at index " + index);
+    }
+
     public static String toHexString(byte[] input, int offset, int length, boolean withPrefix) {
-        final String output = new String(toHexCharArray(input, offset, length, withPrefix));
+        final String output = new String(toHexCharArray(input, offset, length));
         return withPrefix ? new StringBuilder(HEX_PREFIX).append(output).toString() : output;
     }
 
-    private static char[] toHexCharArray(byte[] input, int offset, int length, boolean withPrefix) {
+    private static char[] toHexCharArray(byte[] input, int offset, int length) {
         final char[] output = new char[length << 1];
-        for (int i = offset, j = 0; i < length; i++, j++) {
+        for (int i = offset, j = 0; i < offset + length; i++, j++) {
             final int v = input[i] & 0xFF;
             output[j++] = HEX_CHAR_MAP[v >>> 4];
             output[j] = HEX_CHAR_MAP[v & 0x0F];
@@ -242,6 +405,26 @@ public final class Numeric {
         return output;
     }
 
+    /**
+     * Encode part of a byte array as hex digits into a caller provided buffer.
+     *
+     * @param input bytes to encode
+     * @param offset offset of the first byte to encode
+     * @param length number of bytes to encode
+     * @param output buffer to encode into, which must have room for {@code 2 * length} characters
+     * @param outputOffset offset in the buffer to encode to
+     * @return the number of characters written
+     */
+    public static int toHexChars(
+            byte[] input, int offset, int length, char[] output, int outputOffset) {
+        for (int i = offset, j = outputOffset; i < offset + length; i++) {
+            int v = input[i] & 0xFF;
+            output[j++] = HEX_CHAR_MAP[v >>> 4];
+            output[j++] = HEX_CHAR_MAP[v & 0x0F];
+        }
+        return length << 1;
+    }
+
     public static String toHexString(byte[] input) {
         return toHexString(input, 0, input.length, true);
     }
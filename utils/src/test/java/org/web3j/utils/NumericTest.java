@@ -14,6 +14,7 @@ package org.web3j.utils;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.Arrays;
 
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
@@ -114,6 +115,46 @@ public class NumericTest {
                 ("0x99dc848b94efc27edfad28def049810f"));
     }
 
+    @Test
+    public void testQuantityDecodeUpperCase() {
+        assertEquals(Numeric.decodeQuantity("0xABCdef"), (BigInteger.valueOf(0xabcdefL)));
+        assertEquals(
+                Numeric.decodeQuantity("0xFFFFFFFFFFFFFFFF"),
+                (new BigInteger("ffffffffffffffff", 16)));
+    }
+
+    @Test
+    public void testQuantityDecodeAsLong() {
+        assertEquals(Numeric.decodeQuantityAsLong("0x0"), (0L));
+        assertEquals(Numeric.decodeQuantityAsLong("0x400"), (1024L));
+        assertEquals(Numeric.decodeQuantityAsLong("0x0400"), (1024L));
+        assertEquals(Numeric.decodeQuantityAsLong("0x7fffffffffffffff"), (Long.MAX_VALUE));
+        assertEquals(Numeric.decodeQuantityAsLong("0x00007fffffffffffffff"), (Long.MAX_VALUE));
+        assertEquals(Numeric.decodeQuantityAsLong("{\"gas\":\"0x5208\"}", 8, 6), (21000L));
+    }
+
+    @Test
+    public void testQuantityDecodeAsLongInvalid() {
+        assertThrows(MessageDecodingException.class, () -> Numeric.decodeQuantityAsLong("0x"));
+        assertThrows(MessageDecodingException.class, () -> Numeric.decodeQuantityAsLong("1234"));
+        assertThrows(MessageDecodingException.class, () -> Numeric.decodeQuantityAsLong("0x12g"));
+        assertThrows(
+                MessageDecodingException.class,
+                () -> Numeric.decodeQuantityAsLong("0x8000000000000000"));
+        assertThrows(
+                MessageDecodingException.class,
+                () -> Numeric.decodeQuantityAsLong("0x10000000000000000"));
+    }
+
+    @Test
+    public void testQuantityEncodeLong() {
+        assertEquals(Numeric.encodeQuantity(0L), ("0x0"));
+        assertEquals(Numeric.encodeQuantity(1L), ("0x1"));
+        assertEquals(Numeric.encodeQuantity(1024L), ("0x400"));
+        assertEquals(Numeric.encodeQuantity(Long.MAX_VALUE), ("0x7fffffffffffffff"));
+        assertThrows(MessageEncodingException.class, () -> Numeric.encodeQuantity(-1L));
+    }
+
     @Test
     public void testQuantityEncodeNegative() {
 
@@ -176,6 +217,23 @@ public class NumericTest {
         assertArrayEquals(Numeric.hexStringToByteArray(HEX_RANGE_STRING), (HEX_RANGE_ARRAY));
 
         assertArrayEquals(Numeric.hexStringToByteArray("0x123"), (new byte[] {0x1, 0x23}));
+        assertArrayEquals(
+                Numeric.hexStringToByteArray("0xABCDEF"),
+                (new byte[] {(byte) 0xab, (byte) 0xcd, (byte) 0xef}));
+    }
+
+    @Test
+    public void testHexStringToByteArrayBuffer() {
+        byte[] output = new byte[4];
+        assertEquals(Numeric.hexStringToByteArray("\"0x0123\"", 3, 4, output, 1), (2));
+        assertArrayEquals(output, (new byte[] {0, 0x1, 0x23, 0}));
+
+        assertEquals(Numeric.hexStringToByteArray("abc", 0, 3, output, 0), (2));
+        assertArrayEquals(output, (new byte[] {0xa, (byte) 0xbc, 0x23, 0}));
+
+        assertThrows(
+                MessageDecodingException.class,
+                () -> Numeric.hexStringToByteArray("0x12", 0, 4, new byte[2], 0));
     }
 
     @Test
@@ -183,6 +241,16 @@ public class NumericTest {
         assertEquals(Numeric.toHexString(new byte[] {}), ("0x"));
         assertEquals(Numeric.toHexString(new byte[] {0x1}), ("0x01"));
         assertEquals(Numeric.toHexString(HEX_RANGE_ARRAY), (HEX_RANGE_STRING));
+        assertEquals(Numeric.toHexString(HEX_RANGE_ARRAY, 2, 3, true), ("0x456789"));
+        assertEquals(Numeric.toHexString(HEX_RANGE_ARRAY, 2, 3, false), ("456789"));
+    }
+
+    @Test
+    public void testToHexChars() {
+        char[] output = new char[8];
+        Arrays.fill(output, '-');
+        assertEquals(Numeric.toHexChars(HEX_RANGE_ARRAY, 6, 2, output, 2), (4));
+        assertArrayEquals(output, ("--cdef--".toCharArray()));
     }
 
     @Test